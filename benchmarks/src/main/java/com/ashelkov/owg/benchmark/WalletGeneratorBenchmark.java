@@ -0,0 +1,98 @@
+package com.ashelkov.owg.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.io.WalletOptions;
+import com.ashelkov.owg.io.command.coin.AvalancheCommand;
+import com.ashelkov.owg.io.plugin.CoinPlugin;
+import com.ashelkov.owg.io.plugin.CoinPlugins;
+import com.ashelkov.owg.wallet.SeedContext;
+import com.ashelkov.owg.wallet.SingleCoinWallet;
+import com.ashelkov.owg.wallet.generators.SingleCoinWalletGenerator;
+import com.ashelkov.owg.wallet.util.Bip39SeedEngine;
+
+/**
+ * Address generation throughput of every [[SingleCoinWalletGenerator]], through the same [[CoinPlugin]] dispatch as
+ * the CLI. Each operation generates a wallet from a fresh [[SeedContext]] (so no derivation state is carried over from
+ * previous operations) on a single thread; the seed itself is computed once, up front.
+ *
+ * The [[thousandAddresses]] benchmark reports addresses per second, the others wallets per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WalletGeneratorBenchmark {
+
+    private static final String MNEMONIC =
+            "abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon about";
+
+    private static final int NUM_ADDRESSES = 1000;
+
+    @Param
+    private Coin coin;
+
+    @Param({"false", "true"})
+    private boolean genPrivKey;
+
+    @Param({"false", "true"})
+    private boolean genPubKey;
+
+    private byte[] seed;
+    private CoinPlugin plugin;
+    private WalletOptions options;
+    private int[] path;
+
+    @Setup
+    public void setup() {
+        seed = Bip39SeedEngine.generateSeed(MNEMONIC, "");
+        plugin = CoinPlugins.get(coin);
+        options = new WalletOptions(genPrivKey, genPubKey, false, false, false, AvalancheCommand.DEFAULT_CHAINS);
+        path = new int[plugin.getPathFields().size()];
+    }
+
+    private SingleCoinWalletGenerator newGenerator() {
+        return plugin.createGenerator(new SeedContext(seed), options);
+    }
+
+    /**
+     * Equivalent of 'solo COIN' with no options.
+     */
+    @Benchmark
+    public SingleCoinWallet defaultWallet() {
+        return newGenerator().generateDefaultWallet();
+    }
+
+    /**
+     * Equivalent of 'solo -n=1 COIN'.
+     */
+    @Benchmark
+    public SingleCoinWallet oneAddress() {
+        return newGenerator().generatePathWallet(path, 1);
+    }
+
+    /**
+     * Equivalent of 'solo -n=1000 COIN'.
+     */
+    @Benchmark
+    @OperationsPerInvocation(NUM_ADDRESSES)
+    public SingleCoinWallet thousandAddresses() {
+        return newGenerator().generatePathWallet(path, NUM_ADDRESSES);
+    }
+}
@@ -1,25 +1,56 @@
 package com.ashelkov.owg;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 import com.beust.jcommander.ParameterException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.web3j.crypto.MnemonicUtils;
 
+import com.ashelkov.owg.address.codec.AddressCodecs;
 import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.coin.xmr.SubaddressTable;
+import com.ashelkov.owg.io.AddressFileValidator;
+import com.ashelkov.owg.io.BatchWalletGenerator;
+import com.ashelkov.owg.io.ManifestWalletGenerator;
 import com.ashelkov.owg.io.Params;
+import com.ashelkov.owg.io.WalletOptions;
+import com.ashelkov.owg.io.command.BatchCommand;
+import com.ashelkov.owg.io.command.ClientCommand;
+import com.ashelkov.owg.io.command.ManifestCommand;
 import com.ashelkov.owg.io.command.MultiCommand;
+import com.ashelkov.owg.io.command.ServeCommand;
 import com.ashelkov.owg.io.command.SoloCommand;
-import com.ashelkov.owg.io.command.coin.AvalancheCommand;
+import com.ashelkov.owg.io.command.ValidateCommand;
 import com.ashelkov.owg.io.command.coin.MoneroCommand;
-import com.ashelkov.owg.io.command.coin.XRPCommand;
+import com.ashelkov.owg.io.output.Writer;
+import com.ashelkov.owg.io.plugin.CoinPlugins;
+import com.ashelkov.owg.io.server.WalletClient;
+import com.ashelkov.owg.io.server.WalletRequest;
+import com.ashelkov.owg.io.server.WalletServer;
 import com.ashelkov.owg.util.Utils;
 import com.ashelkov.owg.wallet.SingleCoinWallet;
 import com.ashelkov.owg.wallet.MultiCoinWallet;
+import com.ashelkov.owg.wallet.SeedContext;
 import com.ashelkov.owg.wallet.Wallet;
-import com.ashelkov.owg.wallet.generators.*;
+import com.ashelkov.owg.wallet.generators.MoneroWalletGenerator;
+import com.ashelkov.owg.wallet.generators.SingleCoinWalletGenerator;
+import com.ashelkov.owg.wallet.util.Bip39SeedEngine;
 
 /**
  * Main class for OWG CLI.
@@ -32,83 +63,306 @@ public final class Application {
     private Application() {}
 
     /**
-     * Create factory for selected coin using given random seed.
+     * Create factory for selected coin using given seed context, with the options given on the command line.
      *
      * @param coin Coin for which to create factory
-     * @param seed Random seed
+     * @param context Derivation state for the random seed
      * @return Factory ready to generate wallet
      */
-    private static SingleCoinWalletGenerator getWalletGenerator(Coin coin, byte[] seed) {
-        return switch (coin) {
-            case BTC ->
-                new BitcoinWalletGenerator(seed, params.isGenPrivKey(), params.isGenPubKey());
-
-            case LTC ->
-                new LitecoinWalletGenerator(seed, params.isGenPrivKey(), params.isGenPubKey());
-
-            case DOGE ->
-                new DogecoinWalletGenerator(seed, params.isGenPrivKey(), params.isGenPubKey());
-
-            case ETH ->
-                new EthereumWalletGenerator(seed, params.isGenPrivKey(), params.isGenPubKey());
-
-            case XMR ->
-                new MoneroWalletGenerator(
-                        seed,
-                        MoneroCommand.getInstance().isGenViewKey(),
-                        MoneroCommand.getInstance().isGenSpendKey(),
-                        params.isGenPrivKey());
-
-            case XRP ->
-                new XRPWalletGenerator(
-                        seed,
-                        XRPCommand.getInstance().isLegacy(),
-                        params.isGenPrivKey(),
-                        params.isGenPubKey());
-
-            case XLM ->
-                new StellarWalletGenerator(seed, params.isGenPrivKey());
-
-            case ALGO ->
-                new AlgorandWalletGenerator(seed, params.isGenPrivKey(), params.isGenPubKey());
-
-            case ERG ->
-                new ErgoWalletGenerator(seed, params.isGenPrivKey(), params.isGenPubKey());
-
-            case HNS ->
-                new HandshakeWalletGenerator(seed, params.isGenPrivKey(), params.isGenPubKey());
-
-            case AVAX ->
-                new AvalancheWalletGenerator(
-                        seed,
-                        AvalancheCommand.getInstance().getChains(),
-                        params.isGenPrivKey(),
-                        params.isGenPubKey());
-        };
+    private static SingleCoinWalletGenerator getWalletGenerator(Coin coin, SeedContext context) {
+        return getWalletGenerator(coin, context, params.getWalletOptions());
     }
 
     /**
-     * Generate a wallet containing the default address for every coin supported by the OWG.
+     * Create factory for selected coin using given seed context and wallet options.
      *
-     * @param seed Random seed
+     * @param coin Coin for which to create factory
+     * @param context Derivation state for the random seed
+     * @param options Keys and coin-specific options to use
+     * @return Factory ready to generate wallet
+     */
+    private static SingleCoinWalletGenerator getWalletGenerator(Coin coin, SeedContext context, WalletOptions options) {
+        return CoinPlugins.get(coin).createGenerator(context, options);
+    }
+
+    /**
+     * Build or extend the Monero subaddress lookup table requested through the [[MoneroCommand]] options.
+     *
+     * @param generator Monero wallet factory
+     */
+    private static void buildSubaddressTable(MoneroWalletGenerator generator) {
+
+        MoneroCommand command = MoneroCommand.getInstance();
+
+        try (SubaddressTable table = generator.buildSubaddressTable(
+                command.getLookupTablePath(),
+                command.getLookupAccounts(),
+                command.getLookupIndexes()))
+        {
+            System.out.printf(
+                    "Saved subaddress lookup table to file: %s (%d accounts x %d indexes)%n",
+                    command.getLookupTablePath(),
+                    table.getAccounts(),
+                    table.getIndexes());
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Generate a wallet containing the default address for every coin supported by the OWG. The sub-wallets are
+     * generated concurrently, on at most 'threads' threads, but assembled in [[Coin]] order.
+     *
+     * @param context Derivation state for the random seed, shared by every coin
+     * @param threads Maximum number of coins for which to generate wallets at once
      * @return New wallet
      */
-    private static MultiCoinWallet generateMultiWallet(byte[] seed) {
+    private static MultiCoinWallet generateMultiWallet(SeedContext context, int threads) {
 
-        List<SingleCoinWallet> subWallets = new ArrayList<>(Coin.values().length);
+        Coin[] coins = Coin.values();
+        List<Future<SingleCoinWallet>> futures = new ArrayList<>(coins.length);
+        List<SingleCoinWallet> subWallets = new ArrayList<>(coins.length);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, coins.length));
 
-        for (Coin coin : Coin.values()) {
-            try {
-                SingleCoinWalletGenerator singleCoinWalletGenerator = getWalletGenerator(coin, seed);
-                subWallets.add(singleCoinWalletGenerator.generateDefaultWallet());
-            } catch (Exception e) {
-                System.exit(1);
+        try {
+            for (Coin coin : coins) {
+                futures.add(executor.submit(() -> getWalletGenerator(coin, context).generateDefaultWallet()));
             }
+
+            for (Future<SingleCoinWallet> future : futures) {
+                subWallets.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while generating wallet");
+            System.exit(1);
+        } catch (ExecutionException e) {
+            logger.error(String.valueOf(e.getCause()));
+            System.exit(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new MultiCoinWallet(subWallets);
+    }
+
+    /**
+     * Generate a wallet containing the default address for every coin supported by the OWG, one coin after another on
+     * the calling thread.
+     *
+     * @param context Derivation state for the random seed, shared by every coin
+     * @param options Keys and coin-specific options to use
+     * @return New wallet
+     */
+    private static MultiCoinWallet generateMultiWallet(SeedContext context, WalletOptions options) {
+
+        List<SingleCoinWallet> subWallets = new ArrayList<>(Coin.values().length);
+        for (Coin coin : Coin.values()) {
+            subWallets.add(getWalletGenerator(coin, context, options).generateDefaultWallet());
         }
 
         return new MultiCoinWallet(subWallets);
     }
 
+    /**
+     * Generate the batch of wallets requested through the [[BatchCommand]]: either each from its own fresh mnemonic,
+     * or from a file (or standard input) of existing mnemonics. The wallets are generated concurrently (each on a
+     * single thread) and saved in generation/input order.
+     *
+     * @return True if every input mnemonic was valid
+     */
+    private static boolean generateBatch() {
+
+        if (params.getCustomMnemonic() != null) {
+            logger.error("A custom mnemonic cannot be used with the batch command; use an input file of mnemonics");
+            System.exit(1);
+        }
+        if ((params.getBatchCount() == null) == (params.getBatchInputPath() == null)) {
+            logger.error("The batch command requires exactly one of a wallet count or an input file of mnemonics");
+            System.exit(1);
+        }
+
+        Coin coin = params.getBatchCoin();
+        WalletOptions options = params.getWalletOptions();
+        Function<SeedContext, Wallet> walletFactory = (coin == null)
+                ? context -> generateMultiWallet(context, options)
+                : context -> getWalletGenerator(coin, context, options).generateDefaultWallet();
+        BatchWalletGenerator generator = new BatchWalletGenerator(
+                walletFactory,
+                params.getEntropy(),
+                params.getMnemonicPassword(),
+                params.getThreads(),
+                params.getBatchWindow());
+
+        try (Writer writer = params.getBatchOutputWriter()) {
+            if (params.getBatchCount() != null) {
+                generator.generate(params.getBatchCount(), writer);
+
+            } else if (params.isBatchStdin()) {
+                generator.derive(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)), writer);
+
+            } else {
+                Path input = params.getBatchInputPath();
+                try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                    generator.derive(reader, writer);
+                }
+            }
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+            System.exit(1);
+        }
+
+        if (params.getBatchInputPath() != null) {
+            System.err.printf(
+                    "Generated %d wallets; %d invalid mnemonics skipped%n",
+                    generator.getWalletCount(),
+                    generator.getInvalidCount());
+        }
+
+        return generator.getInvalidCount() == 0;
+    }
+
+    /**
+     * Validate the file of addresses given to the [[ValidateCommand]], writing a report line for every address to
+     * standard output and a summary to standard error.
+     *
+     * @return True if every address is valid
+     */
+    private static boolean validateAddresses() {
+
+        Coin coin = params.getValidateCoin();
+        AddressFileValidator validator = new AddressFileValidator(
+                (coin == null) ? null : AddressCodecs.forCoin(coin),
+                params.getThreads());
+
+        try {
+            validator.validate(
+                    params.getValidateInputPath(),
+                    new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+            System.exit(1);
+        }
+
+        System.err.printf(
+                "Validated %d addresses: %d valid, %d invalid%n",
+                validator.getValidCount() + validator.getInvalidCount(),
+                validator.getValidCount(),
+                validator.getInvalidCount());
+
+        return validator.getInvalidCount() == 0;
+    }
+
+    /**
+     * Generate the wallet described by the manifest given to the [[ManifestCommand]]: one sub-wallet per job, in
+     * manifest order, generated as the wallet is written.
+     *
+     * @param context Derivation state for the random seed, shared by every job
+     * @return New wallet
+     */
+    private static MultiCoinWallet generateManifestWallet(SeedContext context) {
+
+        List<ManifestWalletGenerator.Job> jobs = null;
+
+        try (BufferedReader reader = params.isManifestStdin()
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(params.getManifestInputPath(), StandardCharsets.UTF_8))
+        {
+            jobs = ManifestWalletGenerator.plan(ManifestWalletGenerator.parse(reader));
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            System.exit(1);
+        }
+
+        WalletOptions options = params.getWalletOptions();
+        ManifestWalletGenerator generator = new ManifestWalletGenerator(
+                coin -> getWalletGenerator(coin, context, options),
+                params.getThreads(),
+                params.getManifestWindow());
+
+        return generator.generate(jobs);
+    }
+
+    /**
+     * Generate the wallet described by a request to the wallet server.
+     *
+     * @param request Validated request
+     * @param context Derivation state for the seed of the request
+     * @return New wallet
+     */
+    private static Wallet generateRequestedWallet(WalletRequest request, SeedContext context) {
+
+        if (request.getCoin() == null) {
+            return generateMultiWallet(context, request.getOptions());
+        }
+
+        return getWalletGenerator(request.getCoin(), context, request.getOptions())
+                .generatePathWallet(request.getBipPath(), request.getNumAddresses());
+    }
+
+    /**
+     * Run the wallet server requested through the [[ServeCommand]] until the process is terminated. A throwaway
+     * multi-coin wallet is generated first, so that every coin's classes are loaded before the first request.
+     *
+     * @return True if the server shut down cleanly
+     */
+    private static boolean serve() {
+
+        generateRequestedWallet(
+                WalletRequest.parse(""),
+                new SeedContext(Bip39SeedEngine.generateSeed(generateMnemonic(params.getEntropy()), null)));
+
+        WalletServer server = new WalletServer(
+                params.getServeSocketPath(),
+                params.getThreads(),
+                params.getServeQueue(),
+                params.getServeTimeout(),
+                Application::generateRequestedWallet);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+
+        try {
+            server.serve();
+        } catch (IOException e) {
+            logger.error(e.getMessage());
+            return false;
+        } finally {
+            server.close();
+        }
+
+        return true;
+    }
+
+    /**
+     * Send the request given to the [[ClientCommand]] to a running wallet server, and write the wallet it returns to
+     * standard output.
+     *
+     * @return True if the server answered with a wallet
+     */
+    private static boolean requestWallet() {
+
+        try {
+            new WalletClient(params.getClientSocketPath()).request(params.getClientRequest(), System.out);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Generate a fresh random mnemonic.
+     *
+     * @param entropy Bits of entropy
+     * @return Mnemonic
+     */
+    private static String generateMnemonic(int entropy) {
+        byte[] randomSeed = new byte[entropy / 8];
+        Utils.getSecureRandom().nextBytes(randomSeed);
+        return MnemonicUtils.generateMnemonic(randomSeed);
+    }
+
     /**
      * Application entry point.
      *
@@ -143,6 +397,34 @@ public final class Application {
             System.exit(0);
         }
 
+        //
+        // Validate addresses (no wallet needed)
+        //
+
+        if (ValidateCommand.NAME.equals(params.getCommand())) {
+            System.exit(validateAddresses() ? 0 : 1);
+        }
+
+        //
+        // Generate a batch of wallets (each with its own mnemonic)
+        //
+
+        if (BatchCommand.NAME.equals(params.getCommand())) {
+            System.exit(generateBatch() ? 0 : 1);
+        }
+
+        //
+        // Serve wallets over a local socket, or request one from the server
+        //
+
+        if (ServeCommand.NAME.equals(params.getCommand())) {
+            System.exit(serve() ? 0 : 1);
+        }
+
+        if (ClientCommand.NAME.equals(params.getCommand())) {
+            System.exit(requestWallet() ? 0 : 1);
+        }
+
         //
         // Generate mnemonic
         //
@@ -152,44 +434,66 @@ public final class Application {
             mnemonic = params.getCustomMnemonic();
 
         } else {
-            byte[] randomSeed = new byte[params.getEntropy() / 8];
-            Utils.getSecureRandom().nextBytes(randomSeed);
-            mnemonic = MnemonicUtils.generateMnemonic(randomSeed);
+            mnemonic = generateMnemonic(params.getEntropy());
         }
 
         //
         // Generate seed
         //
 
-        byte[] seedFromMnemonic = MnemonicUtils.generateSeed(mnemonic, params.getMnemonicPassword());
+        byte[] seedFromMnemonic = Bip39SeedEngine.generateSeed(mnemonic, params.getMnemonicPassword());
+        SeedContext seedContext = new SeedContext(seedFromMnemonic);
 
         //
         // Generate wallet/addresses
         //
 
         Wallet wallet = null;
+        SingleCoinWalletGenerator singleCoinWalletGenerator = null;
 
         switch (params.getCommand()) {
             case SoloCommand.NAME -> {
                 try {
-                    SingleCoinWalletGenerator singleCoinWalletGenerator = getWalletGenerator(params.getCoin(), seedFromMnemonic);
+                    singleCoinWalletGenerator = getWalletGenerator(params.getCoin(), seedContext);
+                    singleCoinWalletGenerator.setParallelism(params.getThreads());
+                    // Writers traverse the wallet once, so addresses are derived as they are written
+                    singleCoinWalletGenerator.setLazy(true);
                     wallet = singleCoinWalletGenerator.generatePathWallet(params.getBipPath(), params.getNumAddresses());
+
+                    if ((params.getCoin() == Coin.XMR) && (MoneroCommand.getInstance().getLookupTablePath() != null)) {
+                        buildSubaddressTable((MoneroWalletGenerator)singleCoinWalletGenerator);
+                    }
                 } catch (Exception e) {
                     System.exit(1);
                 }
             }
 
             case MultiCommand.NAME ->
-                wallet = generateMultiWallet(seedFromMnemonic);
+                wallet = generateMultiWallet(seedContext, params.getThreads());
+
+            case ManifestCommand.NAME ->
+                wallet = generateManifestWallet(seedContext);
 
             default ->
                 throw new IllegalArgumentException("Unrecognized command");
         }
 
+        logger.debug(seedContext.toString());
+
         //
         // Output wallet/addresses
         //
 
-        params.getOutputWriter().saveWallet(mnemonic, wallet);
+        try (Writer writer = params.getOutputWriter()) {
+            writer.saveWallet(mnemonic, wallet);
+        } catch (IOException | UncheckedIOException e) {
+            logger.error(e.getMessage());
+            System.exit(1);
+        }
+
+        // The solo wallet has been traversed, so its worker threads are no longer needed
+        if (singleCoinWalletGenerator != null) {
+            singleCoinWalletGenerator.shutdown();
+        }
     }
 }
@@ -0,0 +1,175 @@
+package com.ashelkov.owg.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.ashelkov.owg.address.codec.AddressCodec;
+import com.ashelkov.owg.address.codec.AddressCodecs;
+import com.ashelkov.owg.address.codec.DecodedAddress;
+
+/**
+ * Validates a file of addresses, one per line, reporting a result for every line.
+ *
+ * The file is streamed in chunks of lines; the chunks are validated concurrently, and their reports are written in
+ * file order. At most a few chunks per thread are in flight at once, so memory use does not depend on the size of the
+ * file. Each report line has the tab-separated fields: line number, VALID/INVALID, coin, address type (or the reason
+ * the address is invalid), and the address itself.
+ */
+public final class AddressFileValidator {
+
+    public static final String VALID = "VALID";
+    public static final String INVALID = "INVALID";
+
+    private static final int CHUNK_SIZE = 4096;
+    private static final int CHUNKS_PER_THREAD = 2;
+
+    private final AddressCodec codec;
+    private final int threads;
+
+    private long validCount = 0;
+    private long invalidCount = 0;
+
+    /**
+     * @param codec Codec of the expected coin, or null to detect the coin of each address
+     * @param threads Number of threads with which to validate addresses
+     */
+    public AddressFileValidator(AddressCodec codec, int threads) {
+        this.codec = codec;
+        this.threads = threads;
+    }
+
+    /**
+     * Validate every line of a file.
+     *
+     * @param input File of addresses
+     * @param output Destination of the per-line report
+     * @throws IOException if the file cannot be read or the report cannot be written
+     */
+    public void validate(Path input, Writer output) throws IOException {
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Deque<Future<ChunkReport>> pending = new ArrayDeque<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            long lineNumber = 1;
+            List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                chunk.add(line);
+
+                if (chunk.size() == CHUNK_SIZE) {
+                    pending.add(submit(executor, chunk, lineNumber));
+                    lineNumber += CHUNK_SIZE;
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+
+                    if (pending.size() >= (threads * CHUNKS_PER_THREAD)) {
+                        write(pending.poll(), output);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                pending.add(submit(executor, chunk, lineNumber));
+            }
+
+            while (!pending.isEmpty()) {
+                write(pending.poll(), output);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        output.flush();
+    }
+
+    public long getValidCount() {
+        return validCount;
+    }
+
+    public long getInvalidCount() {
+        return invalidCount;
+    }
+
+    private Future<ChunkReport> submit(ExecutorService executor, List<String> lines, long firstLine) {
+        return executor.submit(() -> validateChunk(lines, firstLine));
+    }
+
+    private void write(Future<ChunkReport> future, Writer output) throws IOException {
+
+        ChunkReport report;
+        try {
+            report = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while validating addresses", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to validate addresses", e.getCause());
+        }
+
+        output.write(report.text);
+        validCount += report.valid;
+        invalidCount += report.invalid;
+    }
+
+    /**
+     * Validate a chunk of lines and format their report.
+     *
+     * @param lines Lines of the chunk
+     * @param firstLine Line number of the first line of the chunk
+     * @return Report for the chunk
+     */
+    private ChunkReport validateChunk(List<String> lines, long firstLine) {
+
+        StringBuilder text = new StringBuilder(lines.size() * 128);
+        int valid = 0;
+
+        for (int i = 0; i < lines.size(); ++i) {
+            String address = lines.get(i).strip();
+            text.append(firstLine + i).append('\t');
+
+            try {
+                DecodedAddress decoded = (codec == null) ? AddressCodecs.decode(address) : codec.decode(address);
+                text.append(VALID).append('\t')
+                        .append(decoded.getCoin()).append('\t')
+                        .append(decoded.getType()).append('\t');
+                ++valid;
+            } catch (IllegalArgumentException e) {
+                text.append(INVALID).append('\t')
+                        .append((codec == null) ? "-" : codec.getCoin().name()).append('\t')
+                        .append(address.isEmpty() ? "Empty line" : e.getMessage()).append('\t');
+            }
+
+            text.append(address).append(System.lineSeparator());
+        }
+
+        return new ChunkReport(text.toString(), valid, lines.size() - valid);
+    }
+
+    /**
+     * Formatted report and counts for a chunk of lines.
+     */
+    private static final class ChunkReport {
+
+        private final String text;
+        private final int valid;
+        private final int invalid;
+
+        private ChunkReport(String text, int valid, int invalid) {
+            this.text = text;
+            this.valid = valid;
+            this.invalid = invalid;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.ashelkov.owg.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import com.beust.jcommander.ParameterException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.web3j.crypto.MnemonicUtils;
+
+import com.ashelkov.owg.io.output.Writer;
+import com.ashelkov.owg.io.validation.MnemonicValidator;
+import com.ashelkov.owg.util.Utils;
+import com.ashelkov.owg.wallet.SeedContext;
+import com.ashelkov.owg.wallet.Wallet;
+import com.ashelkov.owg.wallet.util.Bip39SeedEngine;
+
+/**
+ * Generates a batch of independent wallets, either each from its own fresh random mnemonic, or from a stream of
+ * existing mnemonics (one per line, optionally followed by a tab and the password of that mnemonic).
+ *
+ * Fresh entropy is drawn, and input lines are read, on the calling thread; validating the mnemonic, stretching it into
+ * a seed and deriving the wallet (the expensive parts) happen on a pool of worker threads, one wallet per task.
+ * Wallets are handed to the [[Writer]] on the calling thread, in generation/input order. At most 'window' wallets are
+ * in flight at once, so memory use does not depend on the size of the batch.
+ */
+public final class BatchWalletGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchWalletGenerator.class);
+
+    private static final char PASSWORD_SEPARATOR = '\t';
+
+    private final Function<SeedContext, Wallet> walletFactory;
+    private final int entropyBits;
+    private final String mnemonicPassword;
+    private final int threads;
+    private final int window;
+    private final MnemonicValidator mnemonicValidator = new MnemonicValidator();
+
+    private long walletCount = 0;
+    private long invalidCount = 0;
+
+    /**
+     * @param walletFactory Derives the wallet for a seed; called concurrently from several threads
+     * @param entropyBits Number of bits of entropy for each fresh mnemonic
+     * @param mnemonicPassword Password for mnemonics which do not come with their own (may be null)
+     * @param threads Number of wallets to generate concurrently
+     * @param window Maximum number of wallets in flight (generated, or being generated, but not yet written)
+     */
+    public BatchWalletGenerator(
+            Function<SeedContext, Wallet> walletFactory,
+            int entropyBits,
+            String mnemonicPassword,
+            int threads,
+            int window)
+    {
+        this.walletFactory = walletFactory;
+        this.entropyBits = entropyBits;
+        this.mnemonicPassword = mnemonicPassword;
+        this.threads = threads;
+        this.window = Math.max(window, 1);
+    }
+
+    /**
+     * Generate a batch of wallets from fresh random mnemonics.
+     *
+     * @param count Number of wallets to generate
+     * @param output Destination of the wallets
+     */
+    public void generate(int count, Writer output) {
+
+        SecureRandom random = Utils.getSecureRandom();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Deque<Future<GeneratedWallet>> pending = new ArrayDeque<>();
+
+        try {
+            for (int i = 0; i < count; ++i) {
+                byte[] entropy = new byte[entropyBits / 8];
+                random.nextBytes(entropy);
+
+                submit(executor, pending, () -> generateWallet(MnemonicUtils.generateMnemonic(entropy), null), output);
+            }
+
+            drain(pending, output);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generate a batch of wallets from existing mnemonics. Blank lines are skipped; invalid mnemonics are reported
+     * (by line number) and skipped.
+     *
+     * @param input Mnemonics, one per line, each optionally followed by a tab and its password
+     * @param output Destination of the wallets
+     * @throws IOException if the input cannot be read
+     */
+    public void derive(BufferedReader input, Writer output) throws IOException {
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Deque<Future<GeneratedWallet>> pending = new ArrayDeque<>();
+
+        try {
+            long lineNumber = 0;
+            String line;
+
+            while ((line = input.readLine()) != null) {
+                ++lineNumber;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                int separator = line.indexOf(PASSWORD_SEPARATOR);
+                String mnemonic = ((separator < 0) ? line : line.substring(0, separator)).strip();
+                String password = (separator < 0) ? mnemonicPassword : line.substring(separator + 1);
+                long number = lineNumber;
+
+                submit(executor, pending, () -> deriveWallet(number, mnemonic, password), output);
+            }
+
+            drain(pending, output);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public long getWalletCount() {
+        return walletCount;
+    }
+
+    public long getInvalidCount() {
+        return invalidCount;
+    }
+
+    /**
+     * Validate a mnemonic, then generate its seed and wallet.
+     *
+     * @param lineNumber Input line of the mnemonic
+     * @param mnemonic Mnemonic phrase
+     * @param password Password for the mnemonic (may be null)
+     * @return Mnemonic and wallet, or the reason the mnemonic is invalid
+     */
+    private GeneratedWallet deriveWallet(long lineNumber, String mnemonic, String password) {
+
+        try {
+            mnemonicValidator.validate("line " + lineNumber, mnemonic);
+        } catch (ParameterException e) {
+            return new GeneratedWallet(String.format("Line %d: %s", lineNumber, e.getMessage()));
+        }
+
+        return generateWallet(mnemonic, password);
+    }
+
+    /**
+     * Generate the seed and wallet for a mnemonic.
+     *
+     * @param mnemonic Mnemonic phrase
+     * @param password Password for the mnemonic, or null to use the batch password
+     * @return Mnemonic and wallet
+     */
+    private GeneratedWallet generateWallet(String mnemonic, String password) {
+
+        String passphrase = (password != null) ? password : mnemonicPassword;
+        SeedContext context = new SeedContext(Bip39SeedEngine.generateSeed(mnemonic, passphrase));
+
+        return new GeneratedWallet(mnemonic, walletFactory.apply(context));
+    }
+
+    /**
+     * Queue a wallet for generation, first writing the oldest queued wallet if the window is full.
+     */
+    private void submit(
+            ExecutorService executor,
+            Deque<Future<GeneratedWallet>> pending,
+            Callable<GeneratedWallet> task,
+            Writer output)
+    {
+        if (pending.size() >= window) {
+            write(pending.poll(), output);
+        }
+
+        pending.add(executor.submit(task));
+    }
+
+    private void drain(Deque<Future<GeneratedWallet>> pending, Writer output) {
+        while (!pending.isEmpty()) {
+            write(pending.poll(), output);
+        }
+    }
+
+    private void write(Future<GeneratedWallet> future, Writer output) {
+
+        GeneratedWallet generated;
+        try {
+            generated = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating wallets", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to generate wallet", e.getCause());
+        }
+
+        if (generated.error != null) {
+            logger.warn(generated.error);
+            ++invalidCount;
+            return;
+        }
+
+        output.saveWallet(generated.mnemonic, generated.wallet);
+        ++walletCount;
+    }
+
+    /**
+     * Mnemonic and the wallet derived from it, or the reason no wallet could be derived.
+     */
+    private static final class GeneratedWallet {
+
+        private final String mnemonic;
+        private final Wallet wallet;
+        private final String error;
+
+        private GeneratedWallet(String mnemonic, Wallet wallet) {
+            this.mnemonic = mnemonic;
+            this.wallet = wallet;
+            this.error = null;
+        }
+
+        private GeneratedWallet(String error) {
+            this.mnemonic = null;
+            this.wallet = null;
+            this.error = error;
+        }
+    }
+}
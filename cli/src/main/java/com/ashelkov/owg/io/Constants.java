@@ -6,7 +6,10 @@ package com.ashelkov.owg.io;
 public class Constants {
 
     // Limit on number of addresses to generate for a single coin
-    public static final int ADDRESS_LIMIT = 100;
+    public static final int ADDRESS_LIMIT = 1000000;
+
+    // Limit on number of jobs (after expanding ranges) in a single manifest
+    public static final int MANIFEST_JOB_LIMIT = 1000000;
 
     private Constants() {}
 }
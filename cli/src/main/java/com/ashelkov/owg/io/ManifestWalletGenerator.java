@@ -0,0 +1,450 @@
+package com.ashelkov.owg.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.io.util.PathUtils;
+import com.ashelkov.owg.wallet.MultiCoinWallet;
+import com.ashelkov.owg.wallet.SingleCoinWallet;
+import com.ashelkov.owg.wallet.generators.AddressRange;
+import com.ashelkov.owg.wallet.generators.SingleCoinWalletGenerator;
+
+import static com.ashelkov.owg.io.Constants.ADDRESS_LIMIT;
+import static com.ashelkov.owg.io.Constants.MANIFEST_JOB_LIMIT;
+
+/**
+ * Generates one wallet, from a single seed, out of a manifest of jobs. Each line of a manifest is a job: a coin, the
+ * BIP-44 path fields used by that coin (as for its solo subcommand) and a number of addresses, as whitespace-separated
+ * 'key=value' fields. The account and change fields also accept an inclusive range ('0-49'), which expands into one
+ * job per value. Blank lines and lines starting with '#' are ignored:
+ *
+ *     # BTC accounts 0-49, both change chains, 20 addresses each
+ *     coin=BTC account=0-49 change=0-1 num-addresses=20
+ *     coin=ETH num-addresses=10000
+ *     coin=XMR account=0-199 num-addresses=10
+ *
+ * Jobs are planned before they run: neighbouring jobs which continue each other's address range (such as the accounts
+ * of a range over an account-only coin) are merged. Every job derives from one shared [[SeedContext]] through one
+ * generator per coin, so a path prefix shared by several jobs (the purpose, coin and account nodes) is derived only
+ * once, however many jobs use it.
+ *
+ * The result is a [[MultiCoinWallet]] with one sub-wallet per job, in manifest order, which generates its sub-wallets
+ * as it is traversed: small jobs run concurrently on a pool of worker threads, at most 'window' ahead of the reader;
+ * large jobs produce lazy wallets, whose addresses are derived in parallel chunks as they are read (on one fork/join
+ * pool per coin, shared by all large jobs of that coin). A writer can therefore stream the whole manifest without
+ * holding it in memory.
+ */
+public final class ManifestWalletGenerator {
+
+    //
+    // Manifest Keys
+    //
+
+    private static final String KEY_COIN = "coin";
+    private static final String KEY_NUM_ADDRESSES = "num-addresses";
+
+    private static final String COMMENT = "#";
+    private static final char SEPARATOR = '=';
+    private static final char RANGE_SEPARATOR = '-';
+
+    private static final int DEFAULT_NUM_ADDRESSES = 1;
+
+    // Jobs with more addresses than this are generated lazily, in parallel chunks
+    private static final int LAZY_THRESHOLD = AddressRange.DEFAULT_CHUNK_SIZE;
+
+    private final Function<Coin, SingleCoinWalletGenerator> generatorFactory;
+    private final int threads;
+    private final int window;
+
+    private final Map<Coin, SingleCoinWalletGenerator> eagerGenerators = new EnumMap<>(Coin.class);
+    private final Map<Coin, SingleCoinWalletGenerator> lazyGenerators = new EnumMap<>(Coin.class);
+
+    /**
+     * @param generatorFactory Creates the generator of a coin; every generator must share the same seed context
+     * @param threads Number of jobs to run concurrently, and parallelism of large jobs
+     * @param window Maximum number of jobs in flight (generated, or being generated, but not yet read)
+     */
+    public ManifestWalletGenerator(
+            Function<Coin, SingleCoinWalletGenerator> generatorFactory,
+            int threads,
+            int window)
+    {
+        this.generatorFactory = generatorFactory;
+        this.threads = threads;
+        this.window = Math.max(window, 1);
+    }
+
+    /**
+     * Read and validate the jobs of a manifest, expanding ranges.
+     *
+     * @param input Manifest, one job per line
+     * @return Jobs, in manifest order
+     * @throws IllegalArgumentException if a line is invalid (the message gives its line number)
+     * @throws IOException if the manifest cannot be read
+     */
+    public static List<Job> parse(BufferedReader input) throws IOException {
+
+        List<Job> jobs = new ArrayList<>();
+        long lineNumber = 0;
+        String line;
+
+        while ((line = input.readLine()) != null) {
+            ++lineNumber;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith(COMMENT)) {
+                continue;
+            }
+
+            try {
+                parseLine(lineNumber, line, jobs);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("Line %d: %s", lineNumber, e.getMessage()));
+            }
+        }
+
+        if (jobs.isEmpty()) {
+            throw new IllegalArgumentException("Manifest contains no jobs");
+        }
+
+        return jobs;
+    }
+
+    /**
+     * Merge each run of neighbouring jobs for the same coin and path prefix whose address ranges continue each other
+     * into a single job. The last element of a partial path is the field incremented for each address, so a job
+     * covers the values [last, last + numAddresses); the exception is a Monero job starting at subaddress 0,0, which
+     * includes the standard address on top of its subaddresses, and is therefore never merged.
+     *
+     * @param jobs Jobs, in manifest order
+     * @return Planned jobs, in manifest order
+     */
+    public static List<Job> plan(List<Job> jobs) {
+
+        List<Job> planned = new ArrayList<>(jobs.size());
+        Job current = null;
+
+        for (Job job : jobs) {
+            if ((current != null) && current.isContinuedBy(job)) {
+                current = current.extend(job.numAddresses);
+            } else {
+                if (current != null) {
+                    planned.add(current);
+                }
+                current = job;
+            }
+        }
+        planned.add(current);
+
+        return planned;
+    }
+
+    /**
+     * Build the wallet of a set of jobs. Nothing is generated until the sub-wallets are traversed, and every traversal
+     * runs the jobs again.
+     *
+     * @param jobs Planned jobs
+     * @return Wallet with one sub-wallet per job, in job order
+     */
+    public MultiCoinWallet generate(List<Job> jobs) {
+        return new MultiCoinWallet(new JobWallets(List.copyOf(jobs)));
+    }
+
+    private static void parseLine(long lineNumber, String line, List<Job> jobs) {
+
+        Map<String, String> fields = new HashMap<>();
+
+        for (String field : line.split("\\s+")) {
+            int separator = field.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException(String.format("Invalid field '%s'", field));
+            }
+
+            String key = field.substring(0, separator);
+            if (!key.equals(KEY_COIN) && !key.equals(KEY_NUM_ADDRESSES) && !PathUtils.ALL_FIELDS.contains(key)) {
+                throw new IllegalArgumentException(String.format("Unrecognized key '%s'", key));
+            }
+            if (fields.put(key, field.substring(separator + 1)) != null) {
+                throw new IllegalArgumentException(String.format("Duplicate key '%s'", key));
+            }
+        }
+
+        String coinName = fields.get(KEY_COIN);
+        if (coinName == null) {
+            throw new IllegalArgumentException("A job requires a coin");
+        }
+
+        Coin coin;
+        try {
+            coin = Coin.valueOf(coinName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Unsupported coin '%s'", coinName));
+        }
+
+        List<String> used = PathUtils.getPathFields(coin);
+        for (String key : PathUtils.ALL_FIELDS) {
+            if (fields.containsKey(key) && !used.contains(key)) {
+                throw new IllegalArgumentException(String.format("Coin %s does not accept '%s'", coin, key));
+            }
+        }
+
+        int numAddresses = DEFAULT_NUM_ADDRESSES;
+        if (fields.containsKey(KEY_NUM_ADDRESSES)) {
+            numAddresses = parseInt(KEY_NUM_ADDRESSES, fields.get(KEY_NUM_ADDRESSES));
+            if ((numAddresses < 1) || (numAddresses > ADDRESS_LIMIT)) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid number of addresses %d; must be 1 to %d",
+                        numAddresses,
+                        ADDRESS_LIMIT));
+            }
+        }
+
+        int[] accounts = parseRange(fields, PathUtils.ACCOUNT, Integer.MAX_VALUE);
+        int[] changes = parseRange(fields, PathUtils.CHANGE, 1);
+        int index = parseInt(PathUtils.INDEX, fields.getOrDefault(PathUtils.INDEX, "0"));
+        if (index < 0) {
+            throw new IllegalArgumentException(String.format("Invalid index %d; must be positive", index));
+        }
+
+        // Fields the coin does not use are fixed at their default, so expand only over used ones
+        int lastAccount = used.contains(PathUtils.ACCOUNT) ? accounts[1] : accounts[0];
+        int lastChange = used.contains(PathUtils.CHANGE) ? changes[1] : changes[0];
+
+        long expanded = ((long)(lastAccount - accounts[0]) + 1) * ((long)(lastChange - changes[0]) + 1);
+        if (jobs.size() + expanded > MANIFEST_JOB_LIMIT) {
+            throw new IllegalArgumentException(
+                    String.format("Manifest exceeds the limit of %d jobs", MANIFEST_JOB_LIMIT));
+        }
+
+        for (int account = accounts[0]; account <= lastAccount; ++account) {
+            for (int change = changes[0]; change <= lastChange; ++change) {
+                jobs.add(new Job(lineNumber, coin, PathUtils.buildPath(coin, account, change, index), numAddresses));
+            }
+        }
+    }
+
+    /**
+     * Parse a path field holding a single value or an inclusive range.
+     *
+     * @return First and last value
+     */
+    private static int[] parseRange(Map<String, String> fields, String key, int max) {
+
+        String value = fields.get(key);
+        if (value == null) {
+            return new int[] {SingleCoinWalletGenerator.DEFAULT_FIELD_VAL, SingleCoinWalletGenerator.DEFAULT_FIELD_VAL};
+        }
+
+        int separator = value.indexOf(RANGE_SEPARATOR);
+        int first = parseInt(key, (separator < 0) ? value : value.substring(0, separator));
+        int last = (separator < 0) ? first : parseInt(key, value.substring(separator + 1));
+
+        if ((first < 0) || (last < first) || (last > max)) {
+            throw new IllegalArgumentException(String.format("Invalid %s '%s'", key, value));
+        }
+
+        return new int[] {first, last};
+    }
+
+    private static int parseInt(String key, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Invalid integer '%s' for '%s'", value, key));
+        }
+    }
+
+    /**
+     * Run a job, using the shared generator of its coin (created on first use).
+     */
+    private SingleCoinWallet run(Job job) {
+
+        SingleCoinWalletGenerator generator;
+        boolean lazy = job.numAddresses > LAZY_THRESHOLD;
+
+        synchronized (this) {
+            Map<Coin, SingleCoinWalletGenerator> generators = lazy ? lazyGenerators : eagerGenerators;
+            generator = generators.get(job.coin);
+
+            if (generator == null) {
+                generator = generatorFactory.apply(job.coin);
+                if (lazy) {
+                    generator.setLazy(true);
+                    generator.setParallelism(threads);
+                }
+                generators.put(job.coin, generator);
+            }
+        }
+
+        return generator.generatePathWallet(job.partialPath, job.numAddresses);
+    }
+
+    /**
+     * One job: a number of addresses of one coin, starting from a partial path.
+     */
+    public static final class Job {
+
+        private final long lineNumber;
+        private final Coin coin;
+        private final int[] partialPath;
+        private final int numAddresses;
+
+        private Job(long lineNumber, Coin coin, int[] partialPath, int numAddresses) {
+            this.lineNumber = lineNumber;
+            this.coin = coin;
+            this.partialPath = partialPath;
+            this.numAddresses = numAddresses;
+        }
+
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        public Coin getCoin() {
+            return coin;
+        }
+
+        public int[] getPartialPath() {
+            return partialPath.clone();
+        }
+
+        public int getNumAddresses() {
+            return numAddresses;
+        }
+
+        /**
+         * Check whether another job covers the addresses immediately following this job's.
+         */
+        private boolean isContinuedBy(Job next) {
+
+            int last = partialPath.length - 1;
+
+            return !startsAtStandardAddress()
+                    && (next.coin == coin)
+                    && Arrays.equals(next.partialPath, 0, last, partialPath, 0, last)
+                    && ((long)partialPath[last] + numAddresses == next.partialPath[last])
+                    && ((long)numAddresses + next.numAddresses <= ADDRESS_LIMIT);
+        }
+
+        /**
+         * Check whether this is a Monero job starting at subaddress 0,0 (the standard address). Once more than one
+         * address is requested, such a job adds the standard address without counting it (see
+         * [[com.ashelkov.owg.wallet.generators.MoneroWalletGenerator]]), so its range cannot be extended.
+         */
+        private boolean startsAtStandardAddress() {
+            return (coin == Coin.XMR) && Arrays.stream(partialPath).allMatch(field -> field == 0);
+        }
+
+        private Job extend(int moreAddresses) {
+            return new Job(lineNumber, coin, partialPath, numAddresses + moreAddresses);
+        }
+    }
+
+    /**
+     * Sub-wallets of a manifest wallet, generated on demand: [[get]] runs a single job on the calling thread, and
+     * iteration runs the jobs on a pool of worker threads, ahead of the reader.
+     */
+    private final class JobWallets extends AbstractList<SingleCoinWallet> {
+
+        private final List<Job> jobs;
+
+        private JobWallets(List<Job> jobs) {
+            this.jobs = jobs;
+        }
+
+        @Override
+        public SingleCoinWallet get(int i) {
+            return run(jobs.get(i));
+        }
+
+        @Override
+        public int size() {
+            return jobs.size();
+        }
+
+        @Override
+        public Iterator<SingleCoinWallet> iterator() {
+            return new JobIterator(jobs);
+        }
+    }
+
+    /**
+     * Iterator which keeps up to 'window' jobs running on a worker pool, and hands out their wallets in job order. The
+     * pool is shut down once the last wallet has been handed out; its threads are daemons, so an abandoned iteration
+     * does not keep the process alive.
+     */
+    private final class JobIterator implements Iterator<SingleCoinWallet> {
+
+        private final List<Job> jobs;
+        private final Deque<Future<SingleCoinWallet>> pending = new ArrayDeque<>();
+
+        private ExecutorService executor = null;
+        private int submitted = 0;
+        private int returned = 0;
+
+        private JobIterator(List<Job> jobs) {
+            this.jobs = jobs;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return returned < jobs.size();
+        }
+
+        @Override
+        public SingleCoinWallet next() {
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            if (executor == null) {
+                executor = Executors.newFixedThreadPool(threads, runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+
+            while ((submitted < jobs.size()) && (pending.size() < window)) {
+                Job job = jobs.get(submitted++);
+                pending.add(executor.submit(() -> run(job)));
+            }
+
+            try {
+                return pending.poll().get();
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while running manifest jobs", e);
+
+            } catch (ExecutionException e) {
+                Job job = jobs.get(returned);
+                throw new IllegalStateException(
+                        String.format("Job on line %d failed: %s", job.lineNumber, e.getCause()),
+                        e.getCause());
+
+            } finally {
+                if (++returned == jobs.size()) {
+                    executor.shutdown();
+                }
+            }
+        }
+    }
+}
@@ -11,12 +11,21 @@ import com.beust.jcommander.converters.PathConverter;
 import org.apache.commons.lang3.SystemUtils;
 
 import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.io.command.BatchCommand;
+import com.ashelkov.owg.io.command.ClientCommand;
+import com.ashelkov.owg.io.command.ManifestCommand;
 import com.ashelkov.owg.io.command.SoloCommand;
 import com.ashelkov.owg.io.command.MultiCommand;
-import com.ashelkov.owg.io.command.coin.*;
+import com.ashelkov.owg.io.command.ServeCommand;
+import com.ashelkov.owg.io.command.ValidateCommand;
+import com.ashelkov.owg.io.command.coin.AvalancheCommand;
+import com.ashelkov.owg.io.command.coin.MoneroCommand;
+import com.ashelkov.owg.io.command.coin.XRPCommand;
 import com.ashelkov.owg.io.output.OutputFormat;
 import com.ashelkov.owg.io.output.Writer;
 import com.ashelkov.owg.io.output.WriterFactory;
+import com.ashelkov.owg.io.plugin.CoinPlugin;
+import com.ashelkov.owg.io.plugin.CoinPlugins;
 import com.ashelkov.owg.io.util.CommandUtils;
 import com.ashelkov.owg.io.validation.*;
 
@@ -74,19 +83,11 @@ final public class Params {
     // Main commands
     private static final SoloCommand SOLO_COMMAND = SoloCommand.getInstance();
     private static final MultiCommand MULTI_COMMAND = MultiCommand.getInstance();
-
-    // Solo subcommands
-    private static final BitcoinCommand BITCOIN_COMMAND = BitcoinCommand.getInstance();
-    private static final LitecoinCommand LITECOIN_COMMAND = LitecoinCommand.getInstance();
-    private static final DogecoinCommand DOGECOIN_COMMAND = DogecoinCommand.getInstance();
-    private static final EthereumCommand ETHEREUM_COMMAND = EthereumCommand.getInstance();
-    private static final MoneroCommand MONERO_COMMAND = MoneroCommand.getInstance();
-    private static final XRPCommand XRP_COMMAND = XRPCommand.getInstance();
-    private static final StellarCommand STELLAR_COMMAND = StellarCommand.getInstance();
-    private static final AlgorandCommand ALGORAND_COMMAND = AlgorandCommand.getInstance();
-    private static final ErgoCommand ERGO_COMMAND = ErgoCommand.getInstance();
-    private static final HandshakeCommand HANDSHAKE_COMMAND = HandshakeCommand.getInstance();
-    private static final AvalancheCommand AVALANCHE_COMMAND = AvalancheCommand.getInstance();
+    private static final ValidateCommand VALIDATE_COMMAND = ValidateCommand.getInstance();
+    private static final BatchCommand BATCH_COMMAND = BatchCommand.getInstance();
+    private static final ServeCommand SERVE_COMMAND = ServeCommand.getInstance();
+    private static final ClientCommand CLIENT_COMMAND = ClientCommand.getInstance();
+    private static final ManifestCommand MANIFEST_COMMAND = ManifestCommand.getInstance();
 
     //
     // CLI Parameters
@@ -99,7 +100,8 @@ final public class Params {
 
     @Parameter(
             names = {OPT_OUTPUT_FILE_S, OPT_OUTPUT_FILE_L},
-            description = "Path for output files (directory path or complete filepath with extension)",
+            description = "Path for output files (directory path or complete filepath with extension), or '-' to "
+                    + "write NDJSON output to the console",
             converter = PathConverter.class)
     private Path outputPath = DEFAULT_OUTPUT_DIR;
 
@@ -168,19 +170,16 @@ final public class Params {
                     .addObject(singleton)
                     .addCommand(SoloCommand.NAME, SOLO_COMMAND)
                     .addCommand(MultiCommand.NAME, MULTI_COMMAND)
+                    .addCommand(ValidateCommand.NAME, VALIDATE_COMMAND)
+                    .addCommand(BatchCommand.NAME, BATCH_COMMAND)
+                    .addCommand(ServeCommand.NAME, SERVE_COMMAND)
+                    .addCommand(ClientCommand.NAME, CLIENT_COMMAND)
+                    .addCommand(ManifestCommand.NAME, MANIFEST_COMMAND)
                     .build();
 
-            CommandUtils.addSubCommand(commander, SoloCommand.NAME, Coin.BTC.name(), BITCOIN_COMMAND);
-            CommandUtils.addSubCommand(commander, SoloCommand.NAME, Coin.LTC.name(), LITECOIN_COMMAND);
-            CommandUtils.addSubCommand(commander, SoloCommand.NAME, Coin.DOGE.name(), DOGECOIN_COMMAND);
-            CommandUtils.addSubCommand(commander, SoloCommand.NAME, Coin.ETH.name(), ETHEREUM_COMMAND);
-            CommandUtils.addSubCommand(commander, SoloCommand.NAME, Coin.XMR.name(), MONERO_COMMAND);
-            CommandUtils.addSubCommand(commander, SoloCommand.NAME, Coin.XRP.name(), XRP_COMMAND);
-            CommandUtils.addSubCommand(commander, SoloCommand.NAME, Coin.XLM.name(), STELLAR_COMMAND);
-            CommandUtils.addSubCommand(commander, SoloCommand.NAME, Coin.ALGO.name(), ALGORAND_COMMAND);
-            CommandUtils.addSubCommand(commander, SoloCommand.NAME, Coin.ERG.name(), ERGO_COMMAND);
-            CommandUtils.addSubCommand(commander, SoloCommand.NAME, Coin.HNS.name(), HANDSHAKE_COMMAND);
-            CommandUtils.addSubCommand(commander, SoloCommand.NAME, Coin.AVAX.name(), AVALANCHE_COMMAND);
+            for (CoinPlugin plugin : CoinPlugins.getAll()) {
+                CommandUtils.addSubCommand(commander, SoloCommand.NAME, plugin.getCoin().name(), plugin.getCommand());
+            }
         }
 
         return singleton;
@@ -217,6 +216,15 @@ final public class Params {
         return WriterFactory.buildWriter(outputFormat, outputPath, overwrite, outputFilename);
     }
 
+    public Writer getBatchOutputWriter() {
+        return WriterFactory.buildBatchWriter(
+                outputFormat,
+                outputPath,
+                overwrite,
+                outputFilename,
+                BATCH_COMMAND.isSingleFile());
+    }
+
     public boolean isGenPrivKey() {
         return genPrivKey;
     }
@@ -257,22 +265,91 @@ final public class Params {
         return SOLO_COMMAND.getNumAddresses();
     }
 
-    public int[] getBipPath() {
-        return switch (getCoin()) {
-            case BTC -> BITCOIN_COMMAND.getBipPath();
-            case LTC -> LITECOIN_COMMAND.getBipPath();
-            case DOGE -> DOGECOIN_COMMAND.getBipPath();
-            case ETH -> ETHEREUM_COMMAND.getBipPath();
-            case XMR -> MONERO_COMMAND.getBipPath();
-            case XRP -> XRP_COMMAND.getBipPath();
-            case XLM -> STELLAR_COMMAND.getBipPath();
-            case ALGO -> ALGORAND_COMMAND.getBipPath();
-            case ERG -> ERGO_COMMAND.getBipPath();
-            case HNS -> HANDSHAKE_COMMAND.getBipPath();
-            case AVAX -> AVALANCHE_COMMAND.getBipPath();
+    public Integer getThreads() {
+        return switch (getCommand()) {
+            case MultiCommand.NAME -> MULTI_COMMAND.getThreads();
+            case ValidateCommand.NAME -> VALIDATE_COMMAND.getThreads();
+            case BatchCommand.NAME -> BATCH_COMMAND.getThreads();
+            case ServeCommand.NAME -> SERVE_COMMAND.getThreads();
+            case ManifestCommand.NAME -> MANIFEST_COMMAND.getThreads();
+            default -> SOLO_COMMAND.getThreads();
         };
     }
 
+    public Path getValidateInputPath() {
+        return VALIDATE_COMMAND.getInputPath();
+    }
+
+    public Coin getValidateCoin() {
+        return VALIDATE_COMMAND.getCoin();
+    }
+
+    public Integer getBatchCount() {
+        return BATCH_COMMAND.getCount();
+    }
+
+    public Coin getBatchCoin() {
+        return BATCH_COMMAND.getCoin();
+    }
+
+    public Path getBatchInputPath() {
+        return BATCH_COMMAND.getInputPath();
+    }
+
+    public boolean isBatchStdin() {
+        return BATCH_COMMAND.isStdin();
+    }
+
+    public Integer getBatchWindow() {
+        return BATCH_COMMAND.getWindow();
+    }
+
+    public Path getManifestInputPath() {
+        return MANIFEST_COMMAND.getInputPath();
+    }
+
+    public boolean isManifestStdin() {
+        return MANIFEST_COMMAND.isStdin();
+    }
+
+    public Integer getManifestWindow() {
+        return MANIFEST_COMMAND.getWindow();
+    }
+
+    public Path getServeSocketPath() {
+        return SERVE_COMMAND.getSocketPath();
+    }
+
+    public Integer getServeQueue() {
+        return SERVE_COMMAND.getQueue();
+    }
+
+    public Integer getServeTimeout() {
+        return SERVE_COMMAND.getTimeout();
+    }
+
+    public Path getClientSocketPath() {
+        return CLIENT_COMMAND.getSocketPath();
+    }
+
+    public String getClientRequest() {
+        return CLIENT_COMMAND.getRequest();
+    }
+
+    public WalletOptions getWalletOptions() {
+        return new WalletOptions(
+                genPrivKey,
+                genPubKey,
+                MoneroCommand.getInstance().isGenViewKey(),
+                MoneroCommand.getInstance().isGenSpendKey(),
+                XRPCommand.getInstance().isLegacy(),
+                AvalancheCommand.getInstance().getChains());
+    }
+
+    public int[] getBipPath() {
+        return CoinPlugins.get(getCoin()).getCommand().getBipPath();
+    }
+
     //
     // Methods
     //
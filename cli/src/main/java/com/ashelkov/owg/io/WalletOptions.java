@@ -0,0 +1,68 @@
+package com.ashelkov.owg.io;
+
+import java.util.List;
+
+import com.ashelkov.owg.coin.avax.Chain;
+
+/**
+ * Immutable set of the options which control what goes into a generated wallet: which keys to output, and the
+ * coin-specific options of Monero, XRP and Avalanche wallets. Captured once (from the command line, or from a request
+ * to the wallet server) so that wallets can be generated on any thread without reading shared parser state.
+ */
+public final class WalletOptions {
+
+    private final boolean genPrivKey;
+    private final boolean genPubKey;
+    private final boolean genViewKey;
+    private final boolean genSpendKey;
+    private final boolean legacy;
+    private final List<Chain> chains;
+
+    /**
+     * @param genPrivKey Output the private key of each address
+     * @param genPubKey Output the public key of each address
+     * @param genViewKey Output the private view key of Monero wallets
+     * @param genSpendKey Output the private spend key of Monero wallets
+     * @param legacy Use legacy (secp256k1) XRP addresses
+     * @param chains Avalanche chains for which to generate addresses
+     */
+    public WalletOptions(
+            boolean genPrivKey,
+            boolean genPubKey,
+            boolean genViewKey,
+            boolean genSpendKey,
+            boolean legacy,
+            List<Chain> chains)
+    {
+        this.genPrivKey = genPrivKey;
+        this.genPubKey = genPubKey;
+        this.genViewKey = genViewKey;
+        this.genSpendKey = genSpendKey;
+        this.legacy = legacy;
+        this.chains = List.copyOf(chains);
+    }
+
+    public boolean isGenPrivKey() {
+        return genPrivKey;
+    }
+
+    public boolean isGenPubKey() {
+        return genPubKey;
+    }
+
+    public boolean isGenViewKey() {
+        return genViewKey;
+    }
+
+    public boolean isGenSpendKey() {
+        return genSpendKey;
+    }
+
+    public boolean isLegacy() {
+        return legacy;
+    }
+
+    public List<Chain> getChains() {
+        return chains;
+    }
+}
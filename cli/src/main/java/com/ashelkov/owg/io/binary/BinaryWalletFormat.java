@@ -0,0 +1,91 @@
+package com.ashelkov.owg.io.binary;
+
+import com.ashelkov.owg.bip.Coin;
+
+/**
+ * Layout of the OWG binary wallet inventory format ('.owgb'): a compact, columnar, memory-mappable record of generated
+ * addresses, written by [[com.ashelkov.owg.io.output.BinaryWalletWriter]] and read by [[BinaryWalletReader]].
+ *
+ * Addresses are stored by their raw payload (the key hash, public key, or pair of public keys which the text address
+ * encodes, without version bytes or checksum), grouped into one segment per coin. Within a segment every column has a
+ * fixed width, so that any entry can be located by index:
+ *
+ *     header:    magic (8) | version (4) | segment count (4) | entry count (8) | kind count (4) | reserved (4)
+ *     directory: one 56-byte descriptor per segment:
+ *                coin code (4) | payload width (4) | entry count (8) |
+ *                wallet column offset (8) | path column offset (8) | depth column offset (8) |
+ *                kind column offset (8) | payload column offset (8)
+ *     kinds:     for each address kind (e.g. "P2WPKH", "subaddress"): length (1) | ASCII name
+ *     columns:   wallet (4 per entry) | path (5 x 4 per entry) | depth (1 per entry) | kind (1 per entry) |
+ *                payload (width per entry)
+ *
+ * All integers are little-endian, and every column starts at a multiple of 8 bytes. The coin code is the SLIP-0044
+ * code of the coin. The wallet column holds the 1-based number of the wallet to which the address belongs. The path
+ * column holds the BIP-32 path components of the address (hardened components keep their hardened bit), padded with
+ * zeros to 5 components; the depth column holds the number of components actually used. Monero addresses are stored
+ * with the path m/44'/128'/account/index. The kind column holds an index into the kind names. Payloads and kind names
+ * are those of [[com.ashelkov.owg.address.codec.AddressCodec]], whether the generator supplied them or the writer
+ * decoded them from the text address.
+ *
+ * Extended public keys and private/public keys are not stored.
+ */
+public final class BinaryWalletFormat {
+
+    // "OWGWBIN1" as little-endian bytes
+    public static final long MAGIC = 0x314e49425747574fL;
+    public static final int VERSION = 1;
+
+    public static final int HEADER_LENGTH = 32;
+    public static final int DESCRIPTOR_LENGTH = 56;
+    public static final int PATH_DEPTH = 5;
+    public static final int MAX_KINDS = 256;
+    public static final int MAX_KIND_NAME_LENGTH = 255;
+    public static final int COLUMN_ALIGNMENT = 8;
+
+    // Header field offsets
+    public static final int OFFSET_MAGIC = 0;
+    public static final int OFFSET_VERSION = 8;
+    public static final int OFFSET_SEGMENT_COUNT = 12;
+    public static final int OFFSET_ENTRY_COUNT = 16;
+    public static final int OFFSET_KIND_COUNT = 24;
+
+    // Segment descriptor field offsets
+    public static final int OFFSET_COIN = 0;
+    public static final int OFFSET_PAYLOAD_WIDTH = 4;
+    public static final int OFFSET_SEGMENT_ENTRIES = 8;
+    public static final int OFFSET_WALLET_COLUMN = 16;
+    public static final int OFFSET_PATH_COLUMN = 24;
+    public static final int OFFSET_DEPTH_COLUMN = 32;
+    public static final int OFFSET_KIND_COLUMN = 40;
+    public static final int OFFSET_PAYLOAD_COLUMN = 48;
+
+    /**
+     * Round a file offset up to the next column boundary.
+     *
+     * @param offset File offset
+     * @return Aligned offset
+     */
+    public static long align(long offset) {
+        return (offset + (COLUMN_ALIGNMENT - 1)) & ~(long)(COLUMN_ALIGNMENT - 1);
+    }
+
+    /**
+     * Find the coin with a given SLIP-0044 code.
+     *
+     * @param code Coin code
+     * @return Coin
+     * @throws IllegalArgumentException if no supported coin has the code
+     */
+    public static Coin coinForCode(int code) {
+
+        for (Coin coin : Coin.values()) {
+            if (coin.getCode() == code) {
+                return coin;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("Unsupported coin code %d", code));
+    }
+
+    private BinaryWalletFormat() {}
+}
@@ -0,0 +1,452 @@
+package com.ashelkov.owg.io.binary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.wallet.util.BIP44Utils;
+import com.ashelkov.owg.wallet.util.EncodingUtils;
+
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.DESCRIPTOR_LENGTH;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.HEADER_LENGTH;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.MAGIC;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.MAX_KINDS;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.MAX_KIND_NAME_LENGTH;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_COIN;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_DEPTH_COLUMN;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_ENTRY_COUNT;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_KIND_COLUMN;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_KIND_COUNT;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_MAGIC;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_PATH_COLUMN;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_PAYLOAD_COLUMN;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_PAYLOAD_WIDTH;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_SEGMENT_COUNT;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_SEGMENT_ENTRIES;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_VERSION;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_WALLET_COLUMN;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.PATH_DEPTH;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.VERSION;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.coinForCode;
+
+/**
+ * Reader for files in the binary columnar format described by [[BinaryWalletFormat]].
+ *
+ * Every column is memory-mapped read-only, so opening a file reads only its header, and entries are read straight from
+ * the page cache: random access by index, range scans and payload searches all run without loading the file into the
+ * heap. A reader (and its segments) may be used from several threads at once; [[Entry]] views may not.
+ */
+public final class BinaryWalletReader implements Closeable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long entryCount;
+    private final List<String> kinds;
+    private final List<Segment> segments;
+
+    private BinaryWalletReader(Path path, FileChannel channel, long entryCount, List<String> kinds) {
+        this.path = path;
+        this.channel = channel;
+        this.entryCount = entryCount;
+        this.kinds = kinds;
+        this.segments = new ArrayList<>();
+    }
+
+    /**
+     * Open a binary wallet file.
+     *
+     * @param path Location of the file
+     * @return Open reader
+     * @throws IOException if the file cannot be read, or is not a valid binary wallet file
+     */
+    public static BinaryWalletReader open(Path path) throws IOException {
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return read(path, channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the total number of entries in the file.
+     *
+     * @return Entry count
+     */
+    public long size() {
+        return entryCount;
+    }
+
+    /**
+     * Get the segments of the file, one per coin.
+     *
+     * @return Segments
+     */
+    public List<Segment> getSegments() {
+        return Collections.unmodifiableList(segments);
+    }
+
+    /**
+     * Get the segment holding the addresses of a coin.
+     *
+     * @param coin Coin
+     * @return Segment, or null if the file has no addresses for the coin
+     */
+    public Segment getSegment(Coin coin) {
+
+        for (Segment segment : segments) {
+            if (segment.coin == coin) {
+                return segment;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Get the names of the address kinds used in the file.
+     *
+     * @return Kind names, by index
+     */
+    public List<String> getKinds() {
+        return kinds;
+    }
+
+    /**
+     * Release the file. Mapped columns remain valid until they are garbage collected, but must no longer be used.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "BinaryWalletReader(path = %s, segments = %d, entries = %d)",
+                path,
+                segments.size(),
+                entryCount);
+    }
+
+    private static BinaryWalletReader read(Path path, FileChannel channel) throws IOException {
+
+        long fileLength = channel.size();
+        if (fileLength < HEADER_LENGTH) {
+            throw new IOException(String.format("'%s' is not a binary wallet file", path));
+        }
+
+        MappedByteBuffer header = map(channel, 0, HEADER_LENGTH);
+        int segmentCount = header.getInt(OFFSET_SEGMENT_COUNT);
+        int kindCount = header.getInt(OFFSET_KIND_COUNT);
+        long entryCount = header.getLong(OFFSET_ENTRY_COUNT);
+
+        if ((header.getLong(OFFSET_MAGIC) != MAGIC)
+                || (header.getInt(OFFSET_VERSION) != VERSION)
+                || (segmentCount < 0)
+                || (segmentCount > Coin.values().length)
+                || (kindCount < 0)
+                || (kindCount > MAX_KINDS)) {
+            throw new IOException(String.format("'%s' is not a valid binary wallet file", path));
+        }
+
+        // Directory and kind names; kind names are at most 256 bytes each
+        long directoryLength = (long)segmentCount * DESCRIPTOR_LENGTH;
+        long kindsLength = (long)kindCount * (1 + MAX_KIND_NAME_LENGTH);
+        long metadataLength = Math.min(fileLength, HEADER_LENGTH + directoryLength + kindsLength);
+        MappedByteBuffer metadata = map(channel, 0, metadataLength);
+
+        List<String> kinds = new ArrayList<>(kindCount);
+        int position = HEADER_LENGTH + (segmentCount * DESCRIPTOR_LENGTH);
+        for (int i = 0; i < kindCount; ++i) {
+            if (position >= metadataLength) {
+                throw new IOException(String.format("'%s' is truncated", path));
+            }
+            int length = metadata.get(position) & 0xFF;
+            if ((position + 1 + length) > metadataLength) {
+                throw new IOException(String.format("'%s' is truncated", path));
+            }
+            byte[] name = new byte[length];
+            metadata.get(position + 1, name);
+            kinds.add(new String(name, StandardCharsets.US_ASCII));
+            position += 1 + length;
+        }
+
+        BinaryWalletReader reader =
+                new BinaryWalletReader(path, channel, entryCount, Collections.unmodifiableList(kinds));
+
+        long total = 0;
+        for (int i = 0; i < segmentCount; ++i) {
+            Segment segment = reader.new Segment(metadata, HEADER_LENGTH + (i * DESCRIPTOR_LENGTH), fileLength);
+            reader.segments.add(segment);
+            total += segment.size;
+        }
+
+        if (total != entryCount) {
+            throw new IOException(String.format("'%s' is not a valid binary wallet file", path));
+        }
+
+        return reader;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * The addresses of one coin.
+     */
+    public final class Segment {
+
+        private final Coin coin;
+        private final int payloadWidth;
+        private final int size;
+        private final MappedByteBuffer wallets;
+        private final MappedByteBuffer paths;
+        private final MappedByteBuffer depths;
+        private final MappedByteBuffer kindIndexes;
+        private final MappedByteBuffer payloads;
+
+        private Segment(MappedByteBuffer metadata, int descriptor, long fileLength) throws IOException {
+
+            this.coin = coinForCode(metadata.getInt(descriptor + OFFSET_COIN));
+            this.payloadWidth = metadata.getInt(descriptor + OFFSET_PAYLOAD_WIDTH);
+            long entries = metadata.getLong(descriptor + OFFSET_SEGMENT_ENTRIES);
+
+            if ((payloadWidth <= 0) || (entries < 0) || ((entries * payloadWidth) > Integer.MAX_VALUE)) {
+                throw new IOException(String.format("Segment %s of '%s' is invalid or too large to map", coin, path));
+            }
+            this.size = (int)entries;
+
+            this.wallets = mapColumn(metadata.getLong(descriptor + OFFSET_WALLET_COLUMN), Integer.BYTES, fileLength);
+            this.paths = mapColumn(
+                    metadata.getLong(descriptor + OFFSET_PATH_COLUMN),
+                    PATH_DEPTH * Integer.BYTES,
+                    fileLength);
+            this.depths = mapColumn(metadata.getLong(descriptor + OFFSET_DEPTH_COLUMN), 1, fileLength);
+            this.kindIndexes = mapColumn(metadata.getLong(descriptor + OFFSET_KIND_COLUMN), 1, fileLength);
+            this.payloads = mapColumn(metadata.getLong(descriptor + OFFSET_PAYLOAD_COLUMN), payloadWidth, fileLength);
+        }
+
+        public Coin getCoin() {
+            return coin;
+        }
+
+        public int getPayloadWidth() {
+            return payloadWidth;
+        }
+
+        /**
+         * Get the number of entries in the segment.
+         *
+         * @return Entry count
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Get a view of one entry.
+         *
+         * @param index Entry index
+         * @return Entry view
+         */
+        public Entry get(int index) {
+            Entry entry = new Entry(this);
+            entry.moveTo(index);
+            return entry;
+        }
+
+        /**
+         * Visit the entries in the index range ['from', 'to'), in order. The visitor is handed the same [[Entry]] view,
+         * moved to each entry in turn, so it must not keep the view past the call.
+         *
+         * @param from Index of the first entry to visit
+         * @param to Index just past the last entry to visit
+         * @param visitor Entry visitor
+         */
+        public void scan(int from, int to, Consumer<Entry> visitor) {
+
+            if ((from < 0) || (from > to) || (to > size)) {
+                throw new IndexOutOfBoundsException(
+                        String.format("Invalid range [%d, %d) of a %d-entry segment", from, to, size));
+            }
+
+            Entry entry = new Entry(this);
+            for (int i = from; i < to; ++i) {
+                entry.moveTo(i);
+                visitor.accept(entry);
+            }
+        }
+
+        /**
+         * Find the first entry with a given payload.
+         *
+         * @param payload Raw address payload
+         * @return Index of the entry, or -1 if no entry has the payload
+         */
+        public int indexOf(byte[] payload) {
+
+            if (payload.length != payloadWidth) {
+                return -1;
+            }
+
+            for (int i = 0; i < size; ++i) {
+                int offset = i * payloadWidth;
+                int j = 0;
+                while ((j < payloadWidth) && (payloads.get(offset + j) == payload[j])) {
+                    ++j;
+                }
+                if (j == payloadWidth) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        private MappedByteBuffer mapColumn(long offset, int width, long fileLength) throws IOException {
+
+            long length = (long)size * width;
+            if ((offset < 0) || ((offset + length) > fileLength) || (length > Integer.MAX_VALUE)) {
+                throw new IOException(String.format("Segment %s of '%s' is invalid or too large to map", coin, path));
+            }
+
+            return map(channel, offset, length);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Segment(coin = %s, entries = %d, payload width = %d)", coin, size, payloadWidth);
+        }
+    }
+
+    /**
+     * View of one entry of a [[Segment]]. Fields are read from the mapped columns on demand.
+     */
+    public final class Entry {
+
+        private final Segment segment;
+        private int index;
+
+        private Entry(Segment segment) {
+            this.segment = segment;
+        }
+
+        private void moveTo(int index) {
+            if ((index < 0) || (index >= segment.size)) {
+                throw new IndexOutOfBoundsException(
+                        String.format("Index %d out of bounds for a %d-entry segment", index, segment.size));
+            }
+            this.index = index;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public Coin getCoin() {
+            return segment.coin;
+        }
+
+        /**
+         * Get the number of the wallet to which the address belongs.
+         *
+         * @return 1-based wallet number
+         */
+        public int getWallet() {
+            return segment.wallets.getInt(index * Integer.BYTES);
+        }
+
+        /**
+         * Get the kind of the address (e.g. "P2WPKH", "subaddress").
+         *
+         * @return Kind name
+         */
+        public String getKind() {
+            return kinds.get(segment.kindIndexes.get(index) & 0xFF);
+        }
+
+        /**
+         * Get the number of components in the path of the address.
+         *
+         * @return Path depth
+         */
+        public int getDepth() {
+            return segment.depths.get(index) & 0xFF;
+        }
+
+        /**
+         * Get one component of the path of the address.
+         *
+         * @param component Component number, less than the path depth
+         * @return Path component
+         */
+        public int getPathComponent(int component) {
+            return segment.paths.getInt((index * PATH_DEPTH * Integer.BYTES) + (component * Integer.BYTES));
+        }
+
+        /**
+         * Get the path of the address.
+         *
+         * @return Path components
+         */
+        public int[] getPath() {
+
+            int[] result = new int[getDepth()];
+            for (int i = 0; i < result.length; ++i) {
+                result[i] = getPathComponent(i);
+            }
+
+            return result;
+        }
+
+        /**
+         * Copy the raw payload of the address into a buffer.
+         *
+         * @param out Output buffer; must have room for the segment payload width from 'outOffset'
+         * @param outOffset Offset at which to write the payload
+         */
+        public void getPayload(byte[] out, int outOffset) {
+            segment.payloads.get(index * segment.payloadWidth, out, outOffset, segment.payloadWidth);
+        }
+
+        /**
+         * Get the raw payload of the address.
+         *
+         * @return Payload
+         */
+        public byte[] getPayload() {
+            byte[] result = new byte[segment.payloadWidth];
+            getPayload(result, 0);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%d\t%s\t%s\t%s\t%s",
+                    getWallet(),
+                    segment.coin,
+                    BIP44Utils.convertPathToText(getPath()),
+                    getKind(),
+                    EncodingUtils.bytesToHex(getPayload()));
+        }
+    }
+}
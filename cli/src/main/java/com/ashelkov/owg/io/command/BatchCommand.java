@@ -0,0 +1,136 @@
+package com.ashelkov.owg.io.command;
+
+import java.nio.file.Path;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.beust.jcommander.converters.IntegerConverter;
+import com.beust.jcommander.converters.PathConverter;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.io.validation.PositiveIntegerValidator;
+
+/**
+ * JCommander command for producing many independent wallets, each from its own fresh mnemonic, or re-deriving the
+ * wallets of a file of existing mnemonics.
+ */
+@Parameters(
+        separators = "=",
+        commandDescription = "Generate many independent wallets, from fresh random mnemonics or a file of mnemonics")
+final public class BatchCommand {
+
+    //
+    // CLI Parameter Constants
+    //
+
+    private static final String OPT_COUNT_L = "--count";
+    private static final String OPT_COUNT_S = "-n";
+
+    private static final String OPT_INPUT_L = "--input";
+    private static final String OPT_INPUT_S = "-i";
+
+    private static final String OPT_COIN_L = "--coin";
+    private static final String OPT_COIN_S = "-c";
+
+    private static final String OPT_SINGLE_FILE_L = "--single-file";
+    private static final String OPT_SINGLE_FILE_S = "-s";
+
+    private static final String OPT_THREADS_L = "--threads";
+    private static final String OPT_THREADS_S = "-t";
+
+    private static final String OPT_WINDOW_L = "--window";
+    private static final String OPT_WINDOW_S = "-W";
+
+    public static final String NAME = "batch";
+    public static final String STDIN = "-";
+
+    //
+    // CLI Parameters
+    //
+
+    @Parameter(
+            names = {OPT_COUNT_S, OPT_COUNT_L},
+            description = "Number of wallets to generate from fresh random mnemonics",
+            converter = IntegerConverter.class,
+            validateValueWith = PositiveIntegerValidator.class)
+    private Integer count = null;
+
+    @Parameter(
+            names = {OPT_INPUT_S, OPT_INPUT_L},
+            description = "File of existing mnemonics from which to generate wallets, one per line, each optionally "
+                    + "followed by a tab and its password ('-' for standard input)",
+            converter = PathConverter.class)
+    private Path inputPath = null;
+
+    @Parameter(
+            names = {OPT_COIN_S, OPT_COIN_L},
+            description = "Coin of the wallets (default: multi-coin wallets containing every supported coin)")
+    private Coin coin = null;
+
+    @Parameter(
+            names = {OPT_SINGLE_FILE_S, OPT_SINGLE_FILE_L},
+            description = "Save every wallet to a single file instead of one file per wallet (WALLET format only)")
+    private boolean singleFile = false;
+
+    @Parameter(
+            names = {OPT_THREADS_S, OPT_THREADS_L},
+            description = "Number of wallets to generate concurrently (default: number of processors)",
+            converter = IntegerConverter.class,
+            validateValueWith = PositiveIntegerValidator.class)
+    private Integer threads = Runtime.getRuntime().availableProcessors();
+
+    @Parameter(
+            names = {OPT_WINDOW_S, OPT_WINDOW_L},
+            description = "Maximum number of wallets in flight at once (default: twice the number of threads)",
+            converter = IntegerConverter.class,
+            validateValueWith = PositiveIntegerValidator.class)
+    private Integer window = null;
+
+    //
+    // Singleton Setup
+    //
+
+    private static BatchCommand singleton = null;
+
+    private BatchCommand() {}
+
+    public static BatchCommand getInstance() {
+        if (singleton == null) {
+            singleton = new BatchCommand();
+        }
+
+        return singleton;
+    }
+
+    //
+    // Getters
+    //
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public Path getInputPath() {
+        return inputPath;
+    }
+
+    public boolean isStdin() {
+        return (inputPath != null) && STDIN.equals(inputPath.toString());
+    }
+
+    public Coin getCoin() {
+        return coin;
+    }
+
+    public boolean isSingleFile() {
+        return singleFile;
+    }
+
+    public Integer getThreads() {
+        return threads;
+    }
+
+    public Integer getWindow() {
+        return (window != null) ? window : (2 * threads);
+    }
+}
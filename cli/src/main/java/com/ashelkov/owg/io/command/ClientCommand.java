@@ -0,0 +1,72 @@
+package com.ashelkov.owg.io.command;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.beust.jcommander.converters.PathConverter;
+
+/**
+ * JCommander command for sending one wallet request to a server started with the [[ServeCommand]].
+ */
+@Parameters(
+        separators = "=",
+        commandDescription = "Request a wallet from a local wallet server")
+final public class ClientCommand {
+
+    //
+    // CLI Parameter Constants
+    //
+
+    private static final String OPT_SOCKET_L = "--socket";
+    private static final String OPT_SOCKET_S = "-S";
+
+    public static final String NAME = "client";
+
+    //
+    // CLI Parameters
+    //
+
+    @Parameter(
+            names = {OPT_SOCKET_S, OPT_SOCKET_L},
+            description = "Path of the server socket",
+            converter = PathConverter.class,
+            required = true)
+    private Path socketPath = null;
+
+    @Parameter(description = "Request fields, as key=value pairs (e.g. command=solo coin=BTC num-addresses=5)")
+    private List<String> fields = new ArrayList<>();
+
+    //
+    // Singleton Setup
+    //
+
+    private static ClientCommand singleton = null;
+
+    private ClientCommand() {}
+
+    public static ClientCommand getInstance() {
+        if (singleton == null) {
+            singleton = new ClientCommand();
+        }
+
+        return singleton;
+    }
+
+    //
+    // Getters
+    //
+
+    public Path getSocketPath() {
+        return socketPath;
+    }
+
+    /**
+     * @return Request fields, one per line
+     */
+    public String getRequest() {
+        return String.join("\n", fields);
+    }
+}
@@ -0,0 +1,97 @@
+package com.ashelkov.owg.io.command;
+
+import java.nio.file.Path;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.beust.jcommander.converters.IntegerConverter;
+import com.beust.jcommander.converters.PathConverter;
+
+import com.ashelkov.owg.io.validation.PositiveIntegerValidator;
+
+/**
+ * JCommander command for producing one wallet from a manifest of jobs, each a coin, a BIP-44 path (or range of paths)
+ * and a number of addresses, all derived from the same seed.
+ */
+@Parameters(
+        separators = "=",
+        commandDescription = "Generate one wallet from a manifest of (coin, path, number of addresses) jobs")
+final public class ManifestCommand {
+
+    //
+    // CLI Parameter Constants
+    //
+
+    private static final String OPT_INPUT_L = "--input";
+    private static final String OPT_INPUT_S = "-i";
+
+    private static final String OPT_THREADS_L = "--threads";
+    private static final String OPT_THREADS_S = "-t";
+
+    private static final String OPT_WINDOW_L = "--window";
+    private static final String OPT_WINDOW_S = "-W";
+
+    public static final String NAME = "manifest";
+    public static final String STDIN = "-";
+
+    //
+    // CLI Parameters
+    //
+
+    @Parameter(
+            names = {OPT_INPUT_S, OPT_INPUT_L},
+            description = "Manifest file, one job per line ('-' for standard input)",
+            converter = PathConverter.class,
+            required = true)
+    private Path inputPath = null;
+
+    @Parameter(
+            names = {OPT_THREADS_S, OPT_THREADS_L},
+            description = "Number of threads with which to run jobs (default: number of processors)",
+            converter = IntegerConverter.class,
+            validateValueWith = PositiveIntegerValidator.class)
+    private Integer threads = Runtime.getRuntime().availableProcessors();
+
+    @Parameter(
+            names = {OPT_WINDOW_S, OPT_WINDOW_L},
+            description = "Maximum number of jobs in flight at once (default: twice the number of threads)",
+            converter = IntegerConverter.class,
+            validateValueWith = PositiveIntegerValidator.class)
+    private Integer window = null;
+
+    //
+    // Singleton Setup
+    //
+
+    private static ManifestCommand singleton = null;
+
+    private ManifestCommand() {}
+
+    public static ManifestCommand getInstance() {
+        if (singleton == null) {
+            singleton = new ManifestCommand();
+        }
+
+        return singleton;
+    }
+
+    //
+    // Getters
+    //
+
+    public Path getInputPath() {
+        return inputPath;
+    }
+
+    public boolean isStdin() {
+        return STDIN.equals(inputPath.toString());
+    }
+
+    public Integer getThreads() {
+        return threads;
+    }
+
+    public Integer getWindow() {
+        return (window != null) ? window : (2 * threads);
+    }
+}
@@ -1,15 +1,39 @@
 package com.ashelkov.owg.io.command;
 
+import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
+import com.beust.jcommander.converters.IntegerConverter;
+
+import com.ashelkov.owg.io.validation.PositiveIntegerValidator;
 
 /**
  * JCommander command for producing a wallet of multiple cryptocurrency types.
  */
-@Parameters(commandDescription = "Generate a wallet for multiple cryptocurrencies")
+@Parameters(
+        separators = "=",
+        commandDescription = "Generate a wallet for multiple cryptocurrencies")
 final public class MultiCommand {
 
+    //
+    // CLI Parameter Constants
+    //
+
+    private static final String OPT_THREADS_L = "--threads";
+    private static final String OPT_THREADS_S = "-t";
+
     public static final String NAME = "multi";
 
+    //
+    // CLI Parameters
+    //
+
+    @Parameter(
+            names = {OPT_THREADS_S, OPT_THREADS_L},
+            description = "Number of coins for which to generate wallets concurrently (default: number of processors)",
+            converter = IntegerConverter.class,
+            validateValueWith = PositiveIntegerValidator.class)
+    private Integer threads = Runtime.getRuntime().availableProcessors();
+
     //
     // Singleton Setup
     //
@@ -25,4 +49,12 @@ final public class MultiCommand {
 
         return singleton;
     }
-}
\ No newline at end of file
+
+    //
+    // Getters
+    //
+
+    public Integer getThreads() {
+        return threads;
+    }
+}
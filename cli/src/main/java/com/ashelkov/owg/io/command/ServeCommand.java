@@ -0,0 +1,107 @@
+package com.ashelkov.owg.io.command;
+
+import java.nio.file.Path;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.beust.jcommander.converters.IntegerConverter;
+import com.beust.jcommander.converters.PathConverter;
+
+import com.ashelkov.owg.io.validation.NonNegativeIntegerValidator;
+import com.ashelkov.owg.io.validation.PositiveIntegerValidator;
+
+/**
+ * JCommander command for running a long-lived local wallet server, which answers requests from the [[ClientCommand]]
+ * over a Unix domain socket.
+ */
+@Parameters(
+        separators = "=",
+        commandDescription = "Run a local wallet server on a Unix domain socket")
+final public class ServeCommand {
+
+    //
+    // CLI Parameter Constants
+    //
+
+    private static final String OPT_SOCKET_L = "--socket";
+    private static final String OPT_SOCKET_S = "-S";
+
+    private static final String OPT_THREADS_L = "--threads";
+    private static final String OPT_THREADS_S = "-t";
+
+    private static final String OPT_QUEUE_L = "--queue";
+    private static final String OPT_QUEUE_S = "-q";
+
+    private static final String OPT_TIMEOUT_L = "--timeout";
+    private static final String OPT_TIMEOUT_S = "-T";
+
+    public static final String NAME = "serve";
+
+    //
+    // CLI Parameters
+    //
+
+    @Parameter(
+            names = {OPT_SOCKET_S, OPT_SOCKET_L},
+            description = "Path at which to create the server socket",
+            converter = PathConverter.class,
+            required = true)
+    private Path socketPath = null;
+
+    @Parameter(
+            names = {OPT_THREADS_S, OPT_THREADS_L},
+            description = "Number of requests to serve concurrently (default: number of processors)",
+            converter = IntegerConverter.class,
+            validateValueWith = PositiveIntegerValidator.class)
+    private Integer threads = Runtime.getRuntime().availableProcessors();
+
+    @Parameter(
+            names = {OPT_QUEUE_S, OPT_QUEUE_L},
+            description = "Number of requests which may wait for a free thread before new requests are refused",
+            converter = IntegerConverter.class,
+            validateValueWith = NonNegativeIntegerValidator.class)
+    private Integer queue = 16;
+
+    @Parameter(
+            names = {OPT_TIMEOUT_S, OPT_TIMEOUT_L},
+            description = "Seconds within which a request must be answered",
+            converter = IntegerConverter.class,
+            validateValueWith = PositiveIntegerValidator.class)
+    private Integer timeout = 60;
+
+    //
+    // Singleton Setup
+    //
+
+    private static ServeCommand singleton = null;
+
+    private ServeCommand() {}
+
+    public static ServeCommand getInstance() {
+        if (singleton == null) {
+            singleton = new ServeCommand();
+        }
+
+        return singleton;
+    }
+
+    //
+    // Getters
+    //
+
+    public Path getSocketPath() {
+        return socketPath;
+    }
+
+    public Integer getThreads() {
+        return threads;
+    }
+
+    public Integer getQueue() {
+        return queue;
+    }
+
+    public Integer getTimeout() {
+        return timeout;
+    }
+}
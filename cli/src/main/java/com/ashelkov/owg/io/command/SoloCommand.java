@@ -21,6 +21,9 @@ final public class SoloCommand {
     private static final String OPT_NUM_ADDRESSES_L = "--num-addresses";
     private static final String OPT_NUM_ADDRESSES_S = "-n";
 
+    private static final String OPT_THREADS_L = "--threads";
+    private static final String OPT_THREADS_S = "-t";
+
     public static final String NAME = "solo";
 
     //
@@ -31,9 +34,16 @@ final public class SoloCommand {
             names = {OPT_NUM_ADDRESSES_S, OPT_NUM_ADDRESSES_L},
             description = "Number of addresses to generate",
             converter = IntegerConverter.class,
-            validateValueWith = {PositiveIntegerValidator.class, AddressLimitValidator.class})
+            validateValueWith = {NonNegativeIntegerValidator.class, AddressLimitValidator.class})
     private Integer numAddresses = 1;
 
+    @Parameter(
+            names = {OPT_THREADS_S, OPT_THREADS_L},
+            description = "Number of threads with which to generate addresses",
+            converter = IntegerConverter.class,
+            validateValueWith = PositiveIntegerValidator.class)
+    private Integer threads = 1;
+
     //
     // Singleton Setup
     //
@@ -57,4 +67,8 @@ final public class SoloCommand {
     public Integer getNumAddresses() {
         return numAddresses;
     }
+
+    public Integer getThreads() {
+        return threads;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.ashelkov.owg.io.command;
+
+import java.nio.file.Path;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.beust.jcommander.converters.IntegerConverter;
+import com.beust.jcommander.converters.PathConverter;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.io.validation.PositiveIntegerValidator;
+
+/**
+ * JCommander command for validating a file of addresses.
+ */
+@Parameters(
+        separators = "=",
+        commandDescription = "Decode and checksum-verify a file of addresses (one per line)")
+final public class ValidateCommand {
+
+    //
+    // CLI Parameter Constants
+    //
+
+    private static final String OPT_INPUT_L = "--input";
+    private static final String OPT_INPUT_S = "-i";
+
+    private static final String OPT_COIN_L = "--coin";
+    private static final String OPT_COIN_S = "-c";
+
+    private static final String OPT_THREADS_L = "--threads";
+    private static final String OPT_THREADS_S = "-t";
+
+    public static final String NAME = "validate";
+
+    //
+    // CLI Parameters
+    //
+
+    @Parameter(
+            names = {OPT_INPUT_S, OPT_INPUT_L},
+            description = "File of addresses to validate, one per line",
+            converter = PathConverter.class,
+            required = true)
+    private Path inputPath;
+
+    @Parameter(
+            names = {OPT_COIN_S, OPT_COIN_L},
+            description = "Coin of the addresses (default: detect the coin of each address)")
+    private Coin coin = null;
+
+    @Parameter(
+            names = {OPT_THREADS_S, OPT_THREADS_L},
+            description = "Number of threads with which to validate addresses (default: number of processors)",
+            converter = IntegerConverter.class,
+            validateValueWith = PositiveIntegerValidator.class)
+    private Integer threads = Runtime.getRuntime().availableProcessors();
+
+    //
+    // Singleton Setup
+    //
+
+    private static ValidateCommand singleton = null;
+
+    private ValidateCommand() {}
+
+    public static ValidateCommand getInstance() {
+        if (singleton == null) {
+            singleton = new ValidateCommand();
+        }
+
+        return singleton;
+    }
+
+    //
+    // Getters
+    //
+
+    public Path getInputPath() {
+        return inputPath;
+    }
+
+    public Coin getCoin() {
+        return coin;
+    }
+
+    public Integer getThreads() {
+        return threads;
+    }
+}
@@ -4,7 +4,7 @@ import com.beust.jcommander.Parameter;
 import com.beust.jcommander.converters.IntegerConverter;
 
 import com.ashelkov.owg.io.validation.BinaryIntegerValidator;
-import com.ashelkov.owg.io.validation.PositiveIntegerValidator;
+import com.ashelkov.owg.io.validation.NonNegativeIntegerValidator;
 import com.ashelkov.owg.wallet.generators.SingleCoinWalletGenerator;
 
 /**
@@ -33,7 +33,7 @@ public abstract class ACICoinSubCommand extends CoinSubCommand {
             names = {OPT_ACCOUNT_S, OPT_ACCOUNT_L},
             description = "BIP 44 account field for address",
             converter = IntegerConverter.class,
-            validateValueWith = PositiveIntegerValidator.class)
+            validateValueWith = NonNegativeIntegerValidator.class)
     protected int account = SingleCoinWalletGenerator.DEFAULT_FIELD_VAL;
 
     @Parameter(
@@ -47,7 +47,7 @@ public abstract class ACICoinSubCommand extends CoinSubCommand {
             names = {OPT_INDEX_S, OPT_INDEX_L},
             description = "BIP 44 index field for address",
             converter = IntegerConverter.class,
-            validateValueWith = PositiveIntegerValidator.class)
+            validateValueWith = NonNegativeIntegerValidator.class)
     protected int index = SingleCoinWalletGenerator.DEFAULT_FIELD_VAL;
 
     //
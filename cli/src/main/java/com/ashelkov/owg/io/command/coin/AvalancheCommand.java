@@ -20,7 +20,7 @@ final public class AvalancheCommand extends IndexCoinSubCommand {
     // Defaults
     //
 
-    private static final List<Chain> DEFAULT_CHAINS = Arrays.asList(Chain.EXCHANGE);
+    public static final List<Chain> DEFAULT_CHAINS = Arrays.asList(Chain.EXCHANGE);
 
     //
     // CLI Parameter Constants
@@ -3,7 +3,7 @@ package com.ashelkov.owg.io.command.coin;
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.converters.IntegerConverter;
 
-import com.ashelkov.owg.io.validation.PositiveIntegerValidator;
+import com.ashelkov.owg.io.validation.NonNegativeIntegerValidator;
 import com.ashelkov.owg.wallet.generators.SingleCoinWalletGenerator;
 
 /**
@@ -26,7 +26,7 @@ public abstract class IndexCoinSubCommand extends CoinSubCommand {
             names = {OPT_INDEX_S, OPT_INDEX_L},
             description = "BIP 44 index field for address",
             converter = IntegerConverter.class,
-            validateValueWith = PositiveIntegerValidator.class)
+            validateValueWith = NonNegativeIntegerValidator.class)
     protected int index = SingleCoinWalletGenerator.DEFAULT_FIELD_VAL;
 
     //
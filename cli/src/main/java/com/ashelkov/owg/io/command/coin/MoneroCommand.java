@@ -1,9 +1,13 @@
 package com.ashelkov.owg.io.command.coin;
 
+import java.nio.file.Path;
+
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
 import com.beust.jcommander.converters.IntegerConverter;
+import com.beust.jcommander.converters.PathConverter;
 
+import com.ashelkov.owg.io.validation.NonNegativeIntegerValidator;
 import com.ashelkov.owg.io.validation.PositiveIntegerValidator;
 import com.ashelkov.owg.wallet.generators.SingleCoinWalletGenerator;
 
@@ -31,6 +35,17 @@ final public class MoneroCommand extends CoinSubCommand {
     private static final String OPT_VIEW_KEY_L = "--view-key";
     private static final String OPT_VIEW_KEY_S = "-v";
 
+    private static final String OPT_LOOKUP_TABLE_L = "--lookup-table";
+    private static final String OPT_LOOKUP_TABLE_S = "-T";
+
+    private static final String OPT_LOOKUP_ACCOUNTS_L = "--lookup-accounts";
+
+    private static final String OPT_LOOKUP_INDEXES_L = "--lookup-indexes";
+
+    // Same subaddress lookahead as the reference Monero wallet
+    public static final int DEFAULT_LOOKUP_ACCOUNTS = 50;
+    public static final int DEFAULT_LOOKUP_INDEXES = 200;
+
     //
     // CLI Parameters
     //
@@ -39,14 +54,14 @@ final public class MoneroCommand extends CoinSubCommand {
             names = {OPT_SUB_ADDRESS_ACCOUNT_S, OPT_SUB_ADDRESS_ACCOUNT_L},
             description = "Monero subaddress account",
             converter = IntegerConverter.class,
-            validateValueWith = PositiveIntegerValidator.class)
+            validateValueWith = NonNegativeIntegerValidator.class)
     protected int account = SingleCoinWalletGenerator.DEFAULT_FIELD_VAL;
 
     @Parameter(
             names = {OPT_SUB_ADDRESS_INDEX_S, OPT_SUB_ADDRESS_INDEX_L},
             description = "Monero subaddress index",
             converter = IntegerConverter.class,
-            validateValueWith = PositiveIntegerValidator.class)
+            validateValueWith = NonNegativeIntegerValidator.class)
     protected int index = SingleCoinWalletGenerator.DEFAULT_FIELD_VAL;
 
     @Parameter(
@@ -59,6 +74,26 @@ final public class MoneroCommand extends CoinSubCommand {
             description = "Output the view key(s)")
     protected boolean genViewKey = false;
 
+    @Parameter(
+            names = {OPT_LOOKUP_TABLE_S, OPT_LOOKUP_TABLE_L},
+            description = "Build or extend the subaddress lookup table file at this path",
+            converter = PathConverter.class)
+    protected Path lookupTablePath = null;
+
+    @Parameter(
+            names = {OPT_LOOKUP_ACCOUNTS_L},
+            description = "Number of subaddress accounts covered by the lookup table",
+            converter = IntegerConverter.class,
+            validateValueWith = PositiveIntegerValidator.class)
+    protected int lookupAccounts = DEFAULT_LOOKUP_ACCOUNTS;
+
+    @Parameter(
+            names = {OPT_LOOKUP_INDEXES_L},
+            description = "Number of subaddress indexes per account covered by the lookup table",
+            converter = IntegerConverter.class,
+            validateValueWith = PositiveIntegerValidator.class)
+    protected int lookupIndexes = DEFAULT_LOOKUP_INDEXES;
+
     //
     // Singleton Setup
     //
@@ -90,4 +125,16 @@ final public class MoneroCommand extends CoinSubCommand {
     public boolean isGenViewKey() {
         return genViewKey;
     }
+
+    public Path getLookupTablePath() {
+        return lookupTablePath;
+    }
+
+    public int getLookupAccounts() {
+        return lookupAccounts;
+    }
+
+    public int getLookupIndexes() {
+        return lookupIndexes;
+    }
 }
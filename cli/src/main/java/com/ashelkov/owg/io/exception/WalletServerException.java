@@ -0,0 +1,20 @@
+package com.ashelkov.owg.io.exception;
+
+import java.io.IOException;
+
+/**
+ * Thrown when the wallet server answers a request with an error status.
+ */
+public class WalletServerException extends IOException {
+
+    private final int status;
+
+    public WalletServerException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,56 @@
+package com.ashelkov.owg.io.output;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ashelkov.owg.io.util.FileUtils;
+import com.ashelkov.owg.wallet.Wallet;
+
+/**
+ * Derived [[Writer]] to save each of a batch of wallets to its own '.wal' file in a directory. The files are numbered
+ * in the order in which the wallets are saved: '{name}-1.wal', '{name}-2.wal', etc., where the name is the custom
+ * filename if one was given, or else the wallet identifier.
+ */
+public final class BatchWalletWriter extends Writer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchWalletWriter.class);
+
+    private final Path directory;
+    private final boolean overwrite;
+    private final String customFilename;
+
+    private int saved = 0;
+
+    public BatchWalletWriter(Path directory, boolean overwrite, String customFilename) {
+        this.directory = directory;
+        this.overwrite = overwrite;
+        this.customFilename = customFilename;
+    }
+
+    /**
+     * Save the given wallet to the next numbered '.wal' file.
+     *
+     * @param mnemonic Mnemonic phrase used to produce wallet
+     * @param wallet Wallet to output
+     */
+    public void saveWallet(String mnemonic, Wallet wallet) {
+
+        // Files are resolved relative to the directory only if it exists
+        if ((saved == 0) && !Files.isDirectory(directory)) {
+            try {
+                FileUtils.createDirectory(directory);
+            } catch (IOException e) {
+                logger.error(e.toString());
+                System.exit(1);
+            }
+        }
+
+        ++saved;
+        String name = (customFilename != null) ? customFilename : wallet.getIdentifier();
+        new WalletWriter(directory, overwrite, String.format("%s-%d", name, saved)).saveWallet(mnemonic, wallet);
+    }
+}
@@ -0,0 +1,441 @@
+package com.ashelkov.owg.io.output;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ashelkov.owg.address.AvalancheAddress;
+import com.ashelkov.owg.address.BIP44Address;
+import com.ashelkov.owg.address.MoneroAddress;
+import com.ashelkov.owg.address.codec.AddressCodec;
+import com.ashelkov.owg.address.codec.AddressCodecs;
+import com.ashelkov.owg.address.codec.DecodedAddress;
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.io.util.FileUtils;
+import com.ashelkov.owg.wallet.MultiCoinWallet;
+import com.ashelkov.owg.wallet.SingleCoinWallet;
+import com.ashelkov.owg.wallet.Wallet;
+
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.DESCRIPTOR_LENGTH;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.HEADER_LENGTH;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.MAGIC;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.MAX_KINDS;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_COIN;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_ENTRY_COUNT;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_KIND_COUNT;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_MAGIC;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_PAYLOAD_WIDTH;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_SEGMENT_COUNT;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_SEGMENT_ENTRIES;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_VERSION;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.OFFSET_WALLET_COLUMN;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.PATH_DEPTH;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.VERSION;
+import static com.ashelkov.owg.io.binary.BinaryWalletFormat.align;
+
+/**
+ * Derived [[Writer]] to save the addresses of any number of wallets to a single file in the binary columnar format
+ * described by [[com.ashelkov.owg.io.binary.BinaryWalletFormat]] ('.owgb').
+ *
+ * The raw payload of each address is taken from the address object when its generator supplied it; only addresses
+ * without one are parsed back from their text (which costs a base58 or bech32 decode and a checksum hash per address).
+ * Each column of each coin segment is streamed into its own temporary file next to the output file; the columns are
+ * laid out into the output file when the writer is closed. Memory use therefore does not depend on the number of
+ * addresses. Mnemonics and keys are not saved.
+ *
+ * If saving a wallet fails, the writer is marked as failed: closing it then removes the column files and the incomplete
+ * output file instead of laying out the columns.
+ */
+public final class BinaryWalletWriter extends Writer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryWalletWriter.class);
+
+    private static final String DEFAULT_FILE_EXT = "owgb";
+
+    private final Path basePath;
+    private final boolean overwrite;
+    private final String customFilename;
+
+    private final Map<Coin, Segment> segments = new EnumMap<>(Coin.class);
+    private final Map<String, Integer> kinds = new LinkedHashMap<>();
+    private final int[] moneroPath = new int[4];
+
+    private Path outputPath = null;
+    private FileChannel channel = null;
+    private int saved = 0;
+    private long entries = 0;
+    private boolean failed = false;
+
+    public BinaryWalletWriter(Path basePath, boolean overwrite, String customFilename) {
+        this.basePath = basePath;
+        this.overwrite = overwrite;
+        this.customFilename = customFilename;
+    }
+
+    /**
+     * Append the addresses of the given wallet to the column files, creating the output file on the first call.
+     *
+     * @param mnemonic Mnemonic phrase used to produce wallet (not saved)
+     * @param wallet Wallet to output
+     * @throws UncheckedIOException if the output or column files cannot be written
+     */
+    public void saveWallet(String mnemonic, Wallet wallet) {
+
+        if (failed) {
+            throw new IllegalStateException("Cannot save wallets after a failed save");
+        }
+
+        try {
+            if (channel == null) {
+                open(wallet);
+            }
+
+            ++saved;
+
+            if (wallet instanceof MultiCoinWallet multiCoinWallet) {
+                for (SingleCoinWallet subWallet : multiCoinWallet.getSubWallets()) {
+                    writeSingleCoinWallet(subWallet);
+                }
+            } else {
+                writeSingleCoinWallet((SingleCoinWallet) wallet);
+            }
+
+        } catch (IOException e) {
+            failed = true;
+            throw new UncheckedIOException(e);
+
+        } catch (RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Lay out the header and columns into the output file, and remove the column files. If a save failed, or the
+     * layout fails, the incomplete output file is removed as well.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+
+        if (channel == null) {
+            return;
+        }
+
+        boolean complete = false;
+        try {
+            if (!failed) {
+                layOut();
+                complete = true;
+            }
+        } finally {
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+            channel.close();
+            channel = null;
+
+            if (!complete) {
+                Files.deleteIfExists(outputPath);
+                logger.debug(String.format("Removed incomplete file '%s'", outputPath));
+            }
+        }
+
+        if (!complete) {
+            return;
+        }
+
+        FileUtils.setFilePermissions(outputPath);
+
+        System.out.printf("Saved %d addresses from %d wallets to file: %s%n", entries, saved, outputPath);
+    }
+
+    private void open(Wallet wallet) throws IOException {
+
+        String filename = (customFilename != null) ? customFilename : wallet.getIdentifier();
+        outputPath = FileUtils.resolvePath(basePath, filename, DEFAULT_FILE_EXT);
+
+        logger.debug(String.format("Attempting to save wallets to file '%s'", outputPath));
+
+        channel = FileUtils.getFileChannel(outputPath, overwrite);
+    }
+
+    private void writeSingleCoinWallet(SingleCoinWallet wallet) throws IOException {
+
+        Coin coin = wallet.getCoin();
+        AddressCodec codec = AddressCodecs.forCoin(coin);
+        Segment segment = segments.get(coin);
+
+        if (segment == null) {
+            segment = new Segment(coin, outputPath.toAbsolutePath().getParent());
+            segments.put(coin, segment);
+        }
+
+        for (BIP44Address address : wallet.getAddresses()) {
+            int[] path = address.getPath();
+
+            if (address instanceof MoneroAddress moneroAddress) {
+                moneroPath[0] = path[0];
+                moneroPath[1] = path[1];
+                moneroPath[2] = moneroAddress.getAccount();
+                moneroPath[3] = moneroAddress.getIndex();
+                add(segment, moneroPath, decode(codec, moneroAddress));
+
+            } else if (address instanceof AvalancheAddress avalancheAddress) {
+                if (avalancheAddress.getDecodedMap() != null) {
+                    for (DecodedAddress decoded : avalancheAddress.getDecodedMap().values()) {
+                        add(segment, path, decoded);
+                    }
+                } else {
+                    for (String chainAddress : avalancheAddress.getAddressMap().values()) {
+                        add(segment, path, codec.decode(chainAddress));
+                    }
+                }
+
+            } else {
+                add(segment, path, decode(codec, address));
+            }
+        }
+    }
+
+    /**
+     * Get the raw payload and kind of an address, decoding its text only if its generator did not supply them.
+     */
+    private static DecodedAddress decode(AddressCodec codec, BIP44Address address) {
+        DecodedAddress decoded = address.getDecoded();
+        return (decoded != null) ? decoded : codec.decode(address.getAddress());
+    }
+
+    private void add(Segment segment, int[] path, DecodedAddress decoded) throws IOException {
+
+        if (path.length > PATH_DEPTH) {
+            throw new IllegalArgumentException(String.format("Paths deeper than %d cannot be saved", PATH_DEPTH));
+        }
+
+        Integer kind = kinds.get(decoded.getType());
+        if (kind == null) {
+            if (kinds.size() == MAX_KINDS) {
+                throw new IllegalStateException("Too many address kinds");
+            }
+            kind = kinds.size();
+            kinds.put(decoded.getType(), kind);
+        }
+
+        segment.add(saved, path, kind, decoded.getPayload());
+        ++entries;
+    }
+
+    /**
+     * Write the header, segment directory and kind names, followed by every column of every segment.
+     */
+    private void layOut() throws IOException {
+
+        List<byte[]> kindNames = new ArrayList<>(kinds.size());
+        int kindsLength = 0;
+        for (String kind : kinds.keySet()) {
+            byte[] name = kind.getBytes(StandardCharsets.US_ASCII);
+            kindNames.add(name);
+            kindsLength += 1 + name.length;
+        }
+
+        long metadataLength = HEADER_LENGTH + ((long)segments.size() * DESCRIPTOR_LENGTH) + kindsLength;
+        long offset = align(metadataLength);
+
+        ByteBuffer metadata = ByteBuffer.allocate((int)offset).order(ByteOrder.LITTLE_ENDIAN);
+        metadata.putLong(OFFSET_MAGIC, MAGIC);
+        metadata.putInt(OFFSET_VERSION, VERSION);
+        metadata.putInt(OFFSET_SEGMENT_COUNT, segments.size());
+        metadata.putLong(OFFSET_ENTRY_COUNT, entries);
+        metadata.putInt(OFFSET_KIND_COUNT, kinds.size());
+
+        int descriptor = HEADER_LENGTH;
+        for (Segment segment : segments.values()) {
+            metadata.putInt(descriptor + OFFSET_COIN, segment.coin.getCode());
+            metadata.putInt(descriptor + OFFSET_PAYLOAD_WIDTH, segment.payloadWidth);
+            metadata.putLong(descriptor + OFFSET_SEGMENT_ENTRIES, segment.size);
+
+            for (int column = 0; column < Segment.COLUMN_COUNT; ++column) {
+                metadata.putLong(descriptor + OFFSET_WALLET_COLUMN + (8 * column), offset);
+                offset = align(offset + segment.columns[column].length());
+            }
+
+            descriptor += DESCRIPTOR_LENGTH;
+        }
+
+        metadata.position(descriptor);
+        for (byte[] name : kindNames) {
+            metadata.put((byte)name.length);
+            metadata.put(name);
+        }
+
+        metadata.position(0);
+        writeFully(metadata);
+
+        for (Segment segment : segments.values()) {
+            for (Column column : segment.columns) {
+                column.transferTo(channel);
+                pad();
+            }
+        }
+    }
+
+    /**
+     * Pad the output file with zeros up to the next column boundary.
+     */
+    private void pad() throws IOException {
+        long position = channel.position();
+        writeFully(ByteBuffer.allocate((int)(align(position) - position)));
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Columns of the addresses of one coin. The order of the columns matches the order of their offsets in the
+     * segment descriptor.
+     */
+    private static final class Segment implements Closeable {
+
+        private static final int COLUMN_COUNT = 5;
+
+        private final Coin coin;
+        private final Column[] columns = new Column[COLUMN_COUNT];
+        private final Column wallets;
+        private final Column paths;
+        private final Column depths;
+        private final Column kinds;
+        private final Column payloads;
+
+        private int payloadWidth = -1;
+        private long size = 0;
+
+        private Segment(Coin coin, Path directory) throws IOException {
+            this.coin = coin;
+
+            for (int i = 0; i < COLUMN_COUNT; ++i) {
+                columns[i] = new Column(directory);
+            }
+
+            wallets = columns[0];
+            paths = columns[1];
+            depths = columns[2];
+            kinds = columns[3];
+            payloads = columns[4];
+        }
+
+        private void add(int wallet, int[] path, int kind, byte[] payload) throws IOException {
+
+            if (payloadWidth < 0) {
+                payloadWidth = payload.length;
+            } else if (payload.length != payloadWidth) {
+                throw new IllegalStateException(String.format(
+                        "%s address payloads of %d and %d bytes cannot share a segment",
+                        coin,
+                        payloadWidth,
+                        payload.length));
+            }
+
+            wallets.putInt(wallet);
+            for (int i = 0; i < PATH_DEPTH; ++i) {
+                paths.putInt((i < path.length) ? path[i] : 0);
+            }
+            depths.put((byte)path.length);
+            kinds.put((byte)kind);
+            payloads.put(payload);
+
+            ++size;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (Column column : columns) {
+                column.close();
+            }
+        }
+    }
+
+    /**
+     * Column of fixed-width values, buffered into a temporary file.
+     */
+    private static final class Column implements Closeable {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final ByteBuffer buffer =
+                ByteBuffer.allocateDirect(FileUtils.WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        private Column(Path directory) throws IOException {
+            this.path = Files.createTempFile(directory, ".owgb-", ".tmp");
+            this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        private void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        private void put(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        private void put(byte[] values) throws IOException {
+            ensure(values.length);
+            buffer.put(values);
+        }
+
+        private long length() throws IOException {
+            return channel.position() + buffer.position();
+        }
+
+        private void transferTo(FileChannel target) throws IOException {
+
+            flush();
+
+            long length = channel.position();
+            long transferred = 0;
+            while (transferred < length) {
+                transferred += channel.transferTo(transferred, length - transferred, target);
+            }
+        }
+
+        private void ensure(int length) throws IOException {
+            if (buffer.remaining() < length) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -1,13 +1,29 @@
 package com.ashelkov.owg.io.output;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ashelkov.owg.io.util.FileUtils;
 import com.ashelkov.owg.wallet.Wallet;
 
 /**
- * Derived [[Writer]] to output wallet to console.
+ * Derived [[Writer]] to output wallet to console. Wallets are streamed into a large buffer over standard output, which
+ * is flushed after each wallet. Output starts with the first address only for wallets which derive their addresses
+ * lazily (see [[SingleCoinWalletGenerator.setLazy]]); eagerly generated wallets are complete before they are written.
  */
 public class ConsoleWriter extends Writer {
 
-    public ConsoleWriter() {}
+    private static final Logger logger = LoggerFactory.getLogger(ConsoleWriter.class);
+
+    private final BufferedWriter writer;
+
+    public ConsoleWriter() {
+        this.writer = new BufferedWriter(new OutputStreamWriter(System.out), FileUtils.WRITE_BUFFER_SIZE);
+    }
 
     /**
      * Print wallet to console.
@@ -16,8 +32,18 @@ public class ConsoleWriter extends Writer {
      * @param wallet Wallet to output
      */
     public void saveWallet(String mnemonic, Wallet wallet) {
-        System.out.println(mnemonic);
-        System.out.println();
-        System.out.println(wallet.toString());
+        try {
+            writer.write(mnemonic);
+            writer.newLine();
+            writer.newLine();
+
+            wallet.appendTo(writer);
+            writer.newLine();
+            writer.flush();
+
+        } catch (IOException e) {
+            logger.error(e.toString());
+            System.exit(1);
+        }
     }
 }
@@ -0,0 +1,211 @@
+package com.ashelkov.owg.io.output;
+
+import java.io.IOException;
+import java.util.Map;
+
+import com.ashelkov.owg.address.AvalancheAddress;
+import com.ashelkov.owg.address.BIP44Address;
+import com.ashelkov.owg.address.MoneroAddress;
+import com.ashelkov.owg.coin.avax.Chain;
+import com.ashelkov.owg.wallet.MoneroWallet;
+import com.ashelkov.owg.wallet.MultiCoinWallet;
+import com.ashelkov.owg.wallet.SingleCoinWallet;
+import com.ashelkov.owg.wallet.Wallet;
+import com.ashelkov.owg.wallet.XPubWallet;
+import com.ashelkov.owg.wallet.util.BIP44Utils;
+
+/**
+ * Encoder of wallets as newline-delimited JSON objects, as described by [[NdjsonWriter]]. Objects are encoded straight
+ * into the given output as the addresses are traversed (lazily generated addresses are derived as they are written);
+ * the output is pure ASCII.
+ */
+public final class NdjsonEncoder {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Appendable out;
+
+    private int walletNumber = 0;
+
+    /**
+     * @param out Output to which objects are appended
+     */
+    public NdjsonEncoder(Appendable out) {
+        this.out = out;
+    }
+
+    /**
+     * Append the objects of a wallet, numbered one higher than the previous wallet.
+     *
+     * @param mnemonic Mnemonic phrase used to produce wallet
+     * @param wallet Wallet to encode
+     * @throws IOException if the output cannot be written
+     */
+    public void encode(String mnemonic, Wallet wallet) throws IOException {
+
+        ++walletNumber;
+
+        // Output mnemonic
+        out.append("{\"wallet\":");
+        out.append(Integer.toString(walletNumber));
+        out.append(",\"mnemonic\":");
+        appendString(mnemonic);
+        out.append("}\n");
+
+        // Output addresses
+        if (wallet instanceof MultiCoinWallet multiCoinWallet) {
+            for (SingleCoinWallet subWallet : multiCoinWallet.getSubWallets()) {
+                encodeSingleCoinWallet(subWallet);
+            }
+        } else {
+            encodeSingleCoinWallet((SingleCoinWallet) wallet);
+        }
+    }
+
+    /**
+     * @return Number of wallets encoded so far
+     */
+    public int getWalletCount() {
+        return walletNumber;
+    }
+
+    private void encodeSingleCoinWallet(SingleCoinWallet wallet) throws IOException {
+
+        String coin = wallet.getCoin().toString();
+
+        // Output extended public key
+        if (wallet instanceof XPubWallet xPubWallet) {
+            BIP44Address xpub = xPubWallet.getXpub();
+
+            startObject(coin);
+            appendPath(xpub.getPath());
+            appendField("xpub", xpub.getAddress());
+            out.append("}\n");
+        }
+
+        // Output Monero private keys
+        if (wallet instanceof MoneroWallet moneroWallet) {
+            if ((moneroWallet.getPrivateSpendKey() != null) || (moneroWallet.getPrivateViewKey() != null)) {
+                startObject(coin);
+                appendOptionalField("privSpendKey", moneroWallet.getPrivateSpendKey());
+                appendOptionalField("privViewKey", moneroWallet.getPrivateViewKey());
+                out.append("}\n");
+            }
+        }
+
+        // Output addresses
+        for (BIP44Address address : wallet.getAddresses()) {
+            startObject(coin);
+
+            if (address instanceof MoneroAddress moneroAddress) {
+                out.append(",\"account\":");
+                out.append(Integer.toString(moneroAddress.getAccount()));
+                out.append(",\"index\":");
+                out.append(Integer.toString(moneroAddress.getIndex()));
+                appendField("address", moneroAddress.getAddress());
+                appendOptionalField("pubSpendKey", moneroAddress.getPubSpendKey());
+                appendOptionalField("pubViewKey", moneroAddress.getPubViewKey());
+
+            } else if (address instanceof AvalancheAddress avalancheAddress) {
+                appendPath(avalancheAddress.getPath());
+                out.append(",\"addresses\":{");
+
+                boolean first = true;
+                for (Map.Entry<Chain, String> entry : avalancheAddress.getAddressMap().entrySet()) {
+                    if (!first) {
+                        out.append(',');
+                    }
+                    appendString(entry.getKey().toString());
+                    out.append(':');
+                    appendString(entry.getValue());
+                    first = false;
+                }
+
+                out.append('}');
+                appendOptionalField("privKey", avalancheAddress.getPrivKey());
+                appendOptionalField("pubKey", avalancheAddress.getPubKey());
+
+            } else {
+                appendPath(address.getPath());
+                appendField("address", address.getAddress());
+                appendOptionalField("privKey", address.getPrivKey());
+                appendOptionalField("pubKey", address.getPubKey());
+            }
+
+            out.append("}\n");
+        }
+    }
+
+    /**
+     * Open an object, and append the wallet number and coin fields.
+     */
+    private void startObject(String coin) throws IOException {
+        out.append("{\"wallet\":");
+        out.append(Integer.toString(walletNumber));
+        out.append(",\"coin\":\"");
+        out.append(coin);
+        out.append('"');
+    }
+
+    /**
+     * Append a BIP-32 path field. Paths consist only of digits, 'm', '/' and '\'', so need no escaping.
+     */
+    private void appendPath(int[] path) throws IOException {
+        out.append(",\"path\":\"");
+        BIP44Utils.appendPathText(path, out);
+        out.append('"');
+    }
+
+    private void appendField(String name, String value) throws IOException {
+        out.append(",\"");
+        out.append(name);
+        out.append("\":");
+        appendString(value);
+    }
+
+    private void appendOptionalField(String name, String value) throws IOException {
+        if (value != null) {
+            appendField(name, value);
+        }
+    }
+
+    /**
+     * Append a JSON string literal. Runs of characters which need no escaping are appended in one call; quotes,
+     * backslashes, control characters and non-ASCII characters are escaped.
+     */
+    private void appendString(String value) throws IOException {
+
+        out.append('"');
+
+        int start = 0;
+        int length = value.length();
+
+        for (int i = 0; i < length; ++i) {
+            char c = value.charAt(i);
+            if ((c >= 0x20) && (c < 0x7F) && (c != '"') && (c != '\\')) {
+                continue;
+            }
+
+            out.append(value, start, i);
+            start = i + 1;
+
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    out.append("\\u");
+                    out.append(HEX[(c >>> 12) & 0x0F]);
+                    out.append(HEX[(c >>> 8) & 0x0F]);
+                    out.append(HEX[(c >>> 4) & 0x0F]);
+                    out.append(HEX[c & 0x0F]);
+                }
+            }
+        }
+
+        out.append(value, start, length);
+        out.append('"');
+    }
+}
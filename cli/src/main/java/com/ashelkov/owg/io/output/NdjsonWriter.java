@@ -0,0 +1,126 @@
+package com.ashelkov.owg.io.output;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ashelkov.owg.io.util.FileUtils;
+import com.ashelkov.owg.wallet.Wallet;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Derived [[Writer]] to output wallets as newline-delimited JSON ('.ndjson'): one JSON object per line, written to a
+ * single file (kept open until the writer is closed) or, if the output path is '-', to standard output.
+ *
+ * Every object carries the 1-based number of the wallet it belongs to. Each wallet starts with an object holding its
+ * mnemonic, followed by one object per address (and per extended public key or set of Monero private keys):
+ *
+ *   {"wallet":1,"mnemonic":"abandon ... about"}
+ *   {"wallet":1,"coin":"BTC","path":"m/84'/0'/0'","xpub":"zpub..."}
+ *   {"wallet":1,"coin":"BTC","path":"m/84'/0'/0'/0/0","address":"bc1...","privKey":"...","pubKey":"..."}
+ *   {"wallet":1,"coin":"XMR","privSpendKey":"...","privViewKey":"..."}
+ *   {"wallet":1,"coin":"XMR","account":0,"index":1,"address":"8...","pubSpendKey":"...","pubViewKey":"..."}
+ *   {"wallet":1,"coin":"AVAX","path":"m/44'/9000'/0'/0/0","addresses":{"EXCHANGE":"X-avax1..."}}
+ *
+ * Keys are only present if they were generated. Objects are encoded by [[NdjsonEncoder]] straight into the output
+ * buffer.
+ */
+public final class NdjsonWriter extends Writer {
+
+    private static final Logger logger = LoggerFactory.getLogger(NdjsonWriter.class);
+
+    public static final String STDOUT = "-";
+
+    private static final String DEFAULT_FILE_EXT = "ndjson";
+
+    private final Path basePath;
+    private final boolean overwrite;
+    private final String customFilename;
+    private final boolean stdout;
+
+    private Path outputPath = null;
+    private BufferedWriter writer = null;
+    private NdjsonEncoder encoder = null;
+
+    public NdjsonWriter(Path basePath, boolean overwrite, String customFilename) {
+        this.basePath = basePath;
+        this.overwrite = overwrite;
+        this.customFilename = customFilename;
+        this.stdout = STDOUT.equals(basePath.toString());
+    }
+
+    /**
+     * Write the objects of the given wallet, opening the output on the first call.
+     *
+     * @param mnemonic Mnemonic phrase used to produce wallet
+     * @param wallet Wallet to output
+     */
+    public void saveWallet(String mnemonic, Wallet wallet) {
+        try {
+            if (writer == null) {
+                open(wallet);
+            }
+
+            encoder.encode(mnemonic, wallet);
+
+            if (stdout) {
+                writer.flush();
+            }
+
+        } catch (IOException e) {
+            logger.error(e.toString());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Flush the output, and close it if it is a file.
+     *
+     * @throws IOException if the output cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+
+        if (writer == null) {
+            return;
+        }
+
+        if (stdout) {
+            writer.flush();
+            writer = null;
+            return;
+        }
+
+        writer.close();
+        writer = null;
+
+        int saved = encoder.getWalletCount();
+        if (saved == 1) {
+            System.out.println("Saved wallet to file: " + outputPath);
+        } else {
+            System.out.printf("Saved %d wallets to file: %s%n", saved, outputPath);
+        }
+    }
+
+    private void open(Wallet wallet) throws IOException {
+
+        if (stdout) {
+            writer = new BufferedWriter(new OutputStreamWriter(System.out, US_ASCII), FileUtils.WRITE_BUFFER_SIZE);
+            encoder = new NdjsonEncoder(writer);
+            return;
+        }
+
+        String filename = (customFilename != null) ? customFilename : wallet.getIdentifier();
+        outputPath = FileUtils.resolvePath(basePath, filename, DEFAULT_FILE_EXT);
+
+        logger.debug(String.format("Attempting to save wallets to file '%s'", outputPath));
+
+        writer = FileUtils.getBufferedWriter(outputPath, overwrite);
+        encoder = new NdjsonEncoder(writer);
+    }
+}
@@ -5,5 +5,7 @@ package com.ashelkov.owg.io.output;
  */
 public enum OutputFormat {
     CONSOLE,
-    WALLET
+    WALLET,
+    NDJSON,
+    BINARY
 }
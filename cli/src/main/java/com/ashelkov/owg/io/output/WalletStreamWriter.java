@@ -0,0 +1,101 @@
+package com.ashelkov.owg.io.output;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Date;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ashelkov.owg.io.util.FileUtils;
+import com.ashelkov.owg.wallet.Wallet;
+
+/**
+ * Derived [[Writer]] to save any number of wallets to a single '.wal' file, kept open until the writer is closed.
+ * The file starts with a timestamp, followed by the mnemonic and wallet of each saved wallet in turn.
+ */
+public final class WalletStreamWriter extends Writer {
+
+    private static final Logger logger = LoggerFactory.getLogger(WalletStreamWriter.class);
+
+    private static final String DEFAULT_FILE_EXT = "wal";
+    private static final String DEFAULT_FILENAME = "batch";
+
+    private final Path basePath;
+    private final boolean overwrite;
+    private final String customFilename;
+
+    private Path outputPath = null;
+    private BufferedWriter writer = null;
+    private int saved = 0;
+
+    public WalletStreamWriter(Path basePath, boolean overwrite, String customFilename) {
+        this.basePath = basePath;
+        this.overwrite = overwrite;
+        this.customFilename = customFilename;
+    }
+
+    /**
+     * Append the given wallet to the file, opening it on the first call.
+     *
+     * @param mnemonic Mnemonic phrase used to produce wallet
+     * @param wallet Wallet to output
+     */
+    public void saveWallet(String mnemonic, Wallet wallet) {
+        try {
+            if (writer == null) {
+                open();
+            }
+
+            // Output mnemonic
+            writer.write(mnemonic);
+            writer.write('\n');
+            writer.write('\n');
+
+            // Output wallet
+            wallet.appendTo(writer);
+            writer.write('\n');
+            writer.write('\n');
+
+        } catch (IOException e) {
+            logger.error(e.toString());
+            System.exit(1);
+        }
+
+        ++saved;
+    }
+
+    /**
+     * Flush and close the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+
+        if (writer == null) {
+            return;
+        }
+
+        writer.close();
+        writer = null;
+
+        System.out.printf("Saved %d wallets to file: %s%n", saved, outputPath);
+    }
+
+    private void open() throws IOException {
+
+        String filename = (customFilename != null) ? customFilename : DEFAULT_FILENAME;
+        outputPath = FileUtils.resolvePath(basePath, filename, DEFAULT_FILE_EXT);
+
+        logger.debug(String.format("Attempting to save wallets to file '%s'", outputPath));
+
+        writer = FileUtils.getBufferedWriter(outputPath, overwrite);
+
+        // Output timestamp
+        writer.write(new Date(System.currentTimeMillis()).toString());
+        writer.write('\n');
+        writer.write('\n');
+    }
+}
@@ -12,7 +12,8 @@ import com.ashelkov.owg.io.util.FileUtils;
 import com.ashelkov.owg.wallet.Wallet;
 
 /**
- * Derived [[Writer]] to save wallet to OWG custom '.wal' file format.
+ * Derived [[Writer]] to save wallet to OWG custom '.wal' file format. Wallets are streamed into the file, so addresses
+ * of lazily generated wallets are written as they are derived.
  */
 public final class WalletWriter extends Writer {
 
@@ -63,11 +64,9 @@ public final class WalletWriter extends Writer {
             writer.write('\n');
 
             // Output wallet
-            writer.write(wallet.toString());
+            wallet.appendTo(writer);
             writer.write('\n');
 
-            FileUtils.setFilePermissions(outputPath);
-
         } catch (IOException e) {
             logger.error(e.toString());
             System.exit(1);
@@ -1,11 +1,15 @@
 package com.ashelkov.owg.io.output;
 
+import java.io.Closeable;
+import java.io.IOException;
+
 import com.ashelkov.owg.wallet.Wallet;
 
 /**
- * Base class for output methods to save produced wallets.
+ * Base class for output methods to save produced wallets. Writers which keep an output open across several wallets
+ * release it on [[close]].
  */
-public abstract class Writer {
+public abstract class Writer implements Closeable {
 
     /**
      * Output the given wallet.
@@ -14,4 +18,12 @@ public abstract class Writer {
      * @param wallet Wallet to output
      */
     public abstract void saveWallet(String mnemonic, Wallet wallet);
+
+    /**
+     * Release any output held open by this writer.
+     *
+     * @throws IOException if the output cannot be closed
+     */
+    @Override
+    public void close() throws IOException {}
 }
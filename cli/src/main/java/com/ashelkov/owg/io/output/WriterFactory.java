@@ -23,6 +23,8 @@ public final class WriterFactory {
         return switch (format) {
             case CONSOLE -> new ConsoleWriter();
             case WALLET -> new WalletWriter(outputPath, overwrite, outputFilename);
+            case NDJSON -> new NdjsonWriter(outputPath, overwrite, outputFilename);
+            case BINARY -> new BinaryWalletWriter(outputPath, overwrite, outputFilename);
         };
     }
 
@@ -38,4 +40,32 @@ public final class WriterFactory {
     public static Writer buildWriter(OutputFormat format, Path outputPath, boolean overwrite) {
         return buildWriter(format, outputPath, overwrite, null);
     }
+
+    /**
+     * Map output settings to an object of the appropriate class for outputting a batch of produced wallets.
+     *
+     * @param format Type of output to produce
+     * @param outputPath Location to produce output (a directory, unless saving to a single file)
+     * @param overwrite Overwrite existing output of the same name, if true
+     * @param outputFilename Custom filename to use for the output (without extension)
+     * @param singleFile Save every wallet to the same file, if true (only applies to [[OutputFormat.WALLET]]; the
+     *                   [[OutputFormat.NDJSON]] and [[OutputFormat.BINARY]] outputs are always a single file)
+     * @return [[Writer]] object for saving produced wallets
+     */
+    public static Writer buildBatchWriter(
+            OutputFormat format,
+            Path outputPath,
+            boolean overwrite,
+            String outputFilename,
+            boolean singleFile)
+    {
+        return switch (format) {
+            case CONSOLE -> new ConsoleWriter();
+            case WALLET -> singleFile
+                    ? new WalletStreamWriter(outputPath, overwrite, outputFilename)
+                    : new BatchWalletWriter(outputPath, overwrite, outputFilename);
+            case NDJSON -> new NdjsonWriter(outputPath, overwrite, outputFilename);
+            case BINARY -> new BinaryWalletWriter(outputPath, overwrite, outputFilename);
+        };
+    }
 }
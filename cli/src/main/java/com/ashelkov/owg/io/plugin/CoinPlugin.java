@@ -0,0 +1,45 @@
+package com.ashelkov.owg.io.plugin;
+
+import java.util.List;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.io.WalletOptions;
+import com.ashelkov.owg.io.command.coin.CoinSubCommand;
+import com.ashelkov.owg.wallet.SeedContext;
+import com.ashelkov.owg.wallet.generators.SingleCoinWalletGenerator;
+
+/**
+ * Service provider interface for the coins supported by the CLI, discovered through [[CoinPlugins]]. A plugin ties a
+ * coin to its [[SoloCommand]] sub-command and to its wallet generator.
+ *
+ * Plugins are instantiated for every run, so implementations must stay light: the wallet generator of a coin (and the
+ * libraries which it uses) should only be referenced from a nested holder class called by [[createGenerator]]. Returning
+ * the generator directly would make the bytecode verifier load its class along with the plugin; behind the holder, it
+ * is loaded the first time a wallet of that coin is generated.
+ */
+public interface CoinPlugin {
+
+    /**
+     * @return Coin handled by this plugin
+     */
+    Coin getCoin();
+
+    /**
+     * @return Sub-command of [[SoloCommand]] for the coin
+     */
+    CoinSubCommand getCommand();
+
+    /**
+     * @return Names of the path fields used by the coin, in path order (see [[PathUtils]])
+     */
+    List<String> getPathFields();
+
+    /**
+     * Create factory for the coin using given seed context and wallet options.
+     *
+     * @param context Derivation state for the random seed
+     * @param options Keys and coin-specific options to use
+     * @return Factory ready to generate wallet
+     */
+    SingleCoinWalletGenerator createGenerator(SeedContext context, WalletOptions options);
+}
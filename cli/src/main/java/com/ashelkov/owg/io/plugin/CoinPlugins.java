@@ -0,0 +1,62 @@
+package com.ashelkov.owg.io.plugin;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import com.ashelkov.owg.bip.Coin;
+
+/**
+ * Registry of the [[CoinPlugin]] implementations found on the class path through [[ServiceLoader]]. Plugins are
+ * discovered once, the first time the registry is used, and are kept in the order of the [[Coin]] enum.
+ */
+public final class CoinPlugins {
+
+    private static final Map<Coin, CoinPlugin> PLUGINS = load();
+
+    private CoinPlugins() {}
+
+    /**
+     * Get the plugin of a coin.
+     *
+     * @param coin Coin
+     * @return Plugin for the coin
+     * @throws IllegalArgumentException if no plugin for the coin is installed
+     */
+    public static CoinPlugin get(Coin coin) {
+
+        CoinPlugin plugin = PLUGINS.get(coin);
+        if (plugin == null) {
+            throw new IllegalArgumentException(String.format("No plugin installed for coin %s", coin));
+        }
+
+        return plugin;
+    }
+
+    /**
+     * @return All installed plugins, in coin order
+     */
+    public static Collection<CoinPlugin> getAll() {
+        return Collections.unmodifiableCollection(PLUGINS.values());
+    }
+
+    private static Map<Coin, CoinPlugin> load() {
+
+        Map<Coin, CoinPlugin> plugins = new EnumMap<>(Coin.class);
+
+        for (CoinPlugin plugin : ServiceLoader.load(CoinPlugin.class, CoinPlugins.class.getClassLoader())) {
+            CoinPlugin previous = plugins.putIfAbsent(plugin.getCoin(), plugin);
+            if (previous != null) {
+                throw new IllegalStateException(String.format(
+                        "Plugins %s and %s both handle coin %s",
+                        previous.getClass().getName(),
+                        plugin.getClass().getName(),
+                        plugin.getCoin()));
+            }
+        }
+
+        return plugins;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ashelkov.owg.io.plugin.coin;
+
+import java.util.List;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.io.WalletOptions;
+import com.ashelkov.owg.io.command.coin.CoinSubCommand;
+import com.ashelkov.owg.io.command.coin.XRPCommand;
+import com.ashelkov.owg.io.plugin.CoinPlugin;
+import com.ashelkov.owg.io.util.PathUtils;
+import com.ashelkov.owg.wallet.SeedContext;
+import com.ashelkov.owg.wallet.generators.SingleCoinWalletGenerator;
+import com.ashelkov.owg.wallet.generators.XRPWalletGenerator;
+
+/**
+ * [[CoinPlugin]] for XRP wallets.
+ */
+public final class XRPPlugin implements CoinPlugin {
+
+    private static final List<String> PATH_FIELDS = List.of(PathUtils.ACCOUNT);
+
+    @Override
+    public Coin getCoin() {
+        return Coin.XRP;
+    }
+
+    @Override
+    public CoinSubCommand getCommand() {
+        return XRPCommand.getInstance();
+    }
+
+    @Override
+    public List<String> getPathFields() {
+        return PATH_FIELDS;
+    }
+
+    @Override
+    public SingleCoinWalletGenerator createGenerator(SeedContext context, WalletOptions options) {
+        return Factory.create(context, options);
+    }
+
+    /**
+     * Holder of the generator constructor, loaded on first use (see [[CoinPlugin]]).
+     */
+    private static final class Factory {
+
+        static SingleCoinWalletGenerator create(SeedContext context, WalletOptions options) {
+            return new XRPWalletGenerator(
+                    context,
+                    options.isLegacy(),
+                    options.isGenPrivKey(),
+                    options.isGenPubKey());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.ashelkov.owg.io.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Stream which sends the bytes written to it as [[WalletProtocol]] data frames of at most MAX_CHUNK_LENGTH bytes.
+ * Closing the stream sends the final data frame and the empty end frame, but does not close the channel.
+ */
+final class FrameOutputStream extends OutputStream {
+
+    private final WritableByteChannel channel;
+    private final byte[] buffer = new byte[WalletProtocol.MAX_CHUNK_LENGTH];
+
+    private int count = 0;
+    private boolean closed = false;
+
+    FrameOutputStream(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) {
+            flush();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (count == buffer.length) {
+                flush();
+            }
+
+            int chunk = Math.min(length, buffer.length - count);
+            System.arraycopy(bytes, offset, buffer, count, chunk);
+            count += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    /**
+     * Send the buffered bytes, if any, as a data frame.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (count > 0) {
+            WalletProtocol.writeFrame(channel, buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            flush();
+            WalletProtocol.writeFrame(channel, buffer, 0, 0);
+        }
+    }
+}
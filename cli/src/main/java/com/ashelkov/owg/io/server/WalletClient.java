@@ -0,0 +1,88 @@
+package com.ashelkov.owg.io.server;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+import com.ashelkov.owg.io.exception.WalletServerException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Client of the [[WalletServer]]: sends one request per connection, and streams the wallet text of the response.
+ */
+public final class WalletClient {
+
+    private final Path socketPath;
+
+    /**
+     * @param socketPath Path of the server's Unix domain socket
+     */
+    public WalletClient(Path socketPath) {
+        this.socketPath = socketPath;
+    }
+
+    /**
+     * Send a request, and copy the wallet text of the response to the given stream as it arrives.
+     *
+     * @param request 'key=value' lines of the [[WalletRequest]]
+     * @param out Destination of the wallet text
+     * @throws WalletServerException if the server answers with an error status
+     * @throws IOException if the server cannot be reached, or the response is incomplete
+     */
+    public void request(String request, OutputStream out) throws IOException {
+
+        byte[] payload = request.getBytes(UTF_8);
+        if (payload.length > WalletProtocol.MAX_REQUEST_LENGTH) {
+            throw new IllegalArgumentException(String.format(
+                    "Request of %d bytes is too long (maximum is %d)",
+                    payload.length,
+                    WalletProtocol.MAX_REQUEST_LENGTH));
+        }
+
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socketPath));
+
+            // A busy server replies and closes without reading the request, so a failed send may still have a reply
+            IOException sendFailure = null;
+            try {
+                WalletProtocol.writeFrame(channel, payload, 0, payload.length);
+            } catch (IOException e) {
+                sendFailure = e;
+            }
+
+            byte[] status;
+            try {
+                status = WalletProtocol.readFrame(channel, WalletProtocol.MAX_STATUS_LENGTH);
+            } catch (IOException e) {
+                throw (sendFailure != null) ? sendFailure : e;
+            }
+            if ((status == null) || (status.length == 0)) {
+                throw (sendFailure != null)
+                        ? sendFailure
+                        : new EOFException("Server closed the connection without a response");
+            }
+            if (status[0] != WalletProtocol.STATUS_OK) {
+                throw new WalletServerException(status[0], String.format(
+                        "%s: %s",
+                        WalletProtocol.statusName(status[0]),
+                        new String(status, 1, status.length - 1, UTF_8)));
+            }
+
+            byte[] chunk;
+            while ((chunk = WalletProtocol.readFrame(channel, WalletProtocol.MAX_CHUNK_LENGTH)) != null) {
+                if (chunk.length == 0) {
+                    out.flush();
+                    return;
+                }
+                out.write(chunk);
+            }
+
+            throw new EOFException("Response ended before the wallet was complete");
+        }
+    }
+}
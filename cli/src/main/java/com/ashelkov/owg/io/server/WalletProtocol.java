@@ -0,0 +1,142 @@
+package com.ashelkov.owg.io.server;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Wire protocol spoken by the [[WalletServer]] and [[WalletClient]] over a Unix domain socket. Every message is sent as
+ * a frame: a 4-byte big-endian payload length followed by the payload.
+ *
+ *     request:  one frame holding the UTF-8 'key=value' lines of a [[WalletRequest]]
+ *     response: one status frame: status (1) | UTF-8 message
+ *               if the status is OK: the wallet text, as data frames of at most MAX_CHUNK_LENGTH bytes, ended by an
+ *               empty frame
+ *
+ * One request is served per connection. A response which ends without the empty frame is incomplete.
+ */
+public final class WalletProtocol {
+
+    public static final int MAX_REQUEST_LENGTH = 1 << 16;
+    public static final int MAX_CHUNK_LENGTH = 1 << 16;
+    public static final int MAX_STATUS_LENGTH = 1 << 12;
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_BAD_REQUEST = 1;
+    public static final byte STATUS_BUSY = 2;
+    public static final byte STATUS_TIMEOUT = 3;
+    public static final byte STATUS_ERROR = 4;
+
+    private static final int HEADER_LENGTH = 4;
+
+    /**
+     * @param status Response status
+     * @return Name of the status, for messages
+     */
+    public static String statusName(int status) {
+        return switch (status) {
+            case STATUS_OK -> "OK";
+            case STATUS_BAD_REQUEST -> "BAD_REQUEST";
+            case STATUS_BUSY -> "BUSY";
+            case STATUS_TIMEOUT -> "TIMEOUT";
+            case STATUS_ERROR -> "ERROR";
+            default -> String.format("UNKNOWN(%d)", status);
+        };
+    }
+
+    /**
+     * Write one frame.
+     *
+     * @param channel Destination channel
+     * @param payload Buffer holding the payload
+     * @param offset Offset of the payload in the buffer
+     * @param length Length of the payload
+     * @throws IOException if the channel cannot be written
+     */
+    public static void writeFrame(WritableByteChannel channel, byte[] payload, int offset, int length)
+            throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).putInt(0, length);
+        writeFully(channel, header);
+        writeFully(channel, ByteBuffer.wrap(payload, offset, length));
+    }
+
+    /**
+     * Write a status frame.
+     *
+     * @param channel Destination channel
+     * @param status Response status
+     * @param message Message explaining the status (may be empty)
+     * @throws IOException if the channel cannot be written
+     */
+    public static void writeStatus(WritableByteChannel channel, byte status, String message) throws IOException {
+
+        byte[] text = message.getBytes(UTF_8);
+        int length = Math.min(text.length, MAX_STATUS_LENGTH - 1);
+
+        byte[] payload = new byte[length + 1];
+        payload[0] = status;
+        System.arraycopy(text, 0, payload, 1, length);
+
+        writeFrame(channel, payload, 0, payload.length);
+    }
+
+    /**
+     * Read one frame.
+     *
+     * @param channel Source channel
+     * @param maxLength Largest payload to accept
+     * @return Payload, or null if the channel ended cleanly before the frame
+     * @throws EOFException if the channel ends inside the frame
+     * @throws IOException if the payload is too long, or the channel cannot be read
+     */
+    public static byte[] readFrame(ReadableByteChannel channel, int maxLength) throws IOException {
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        if (!readFully(channel, header)) {
+            return null;
+        }
+
+        int length = header.getInt(0);
+        if ((length < 0) || (length > maxLength)) {
+            throw new IOException(String.format("Invalid frame length %d (maximum is %d)", length, maxLength));
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        if (!readFully(channel, payload) && (length > 0)) {
+            throw new EOFException("Connection closed inside frame");
+        }
+
+        return payload.array();
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * @return False if the channel ended before any byte was read
+     * @throws EOFException if the channel ended after some bytes were read
+     */
+    private static boolean readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                if (buffer.position() == 0) {
+                    return false;
+                }
+                throw new EOFException("Connection closed inside frame");
+            }
+        }
+
+        return true;
+    }
+
+    private WalletProtocol() {}
+}
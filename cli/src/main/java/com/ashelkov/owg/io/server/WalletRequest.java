@@ -0,0 +1,324 @@
+package com.ashelkov.owg.io.server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.beust.jcommander.ParameterException;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.coin.avax.Chain;
+import com.ashelkov.owg.io.WalletOptions;
+import com.ashelkov.owg.io.command.MultiCommand;
+import com.ashelkov.owg.io.command.SoloCommand;
+import com.ashelkov.owg.io.command.coin.AvalancheCommand;
+import com.ashelkov.owg.io.output.OutputFormat;
+import com.ashelkov.owg.io.util.PathUtils;
+import com.ashelkov.owg.io.validation.AddressLimitValidator;
+import com.ashelkov.owg.io.validation.BinaryIntegerValidator;
+import com.ashelkov.owg.io.validation.EntropyValidator;
+import com.ashelkov.owg.io.validation.MnemonicValidator;
+import com.ashelkov.owg.io.validation.NonNegativeIntegerValidator;
+import com.ashelkov.owg.wallet.generators.SingleCoinWalletGenerator;
+
+/**
+ * Request to the [[WalletServer]] for one wallet. A request is a set of UTF-8 'key=value' lines, named after the
+ * matching CLI options:
+ *
+ *     command            'solo' or 'multi' (default: multi)
+ *     coin               Coin of a solo wallet (required for solo)
+ *     num-addresses      Number of addresses of a solo wallet (default: 1)
+ *     account            BIP-44 account field, for coins which use it (default: 0)
+ *     change             BIP-44 change field, for coins which use it (default: 0)
+ *     index              BIP-44 index field, for coins which use it (default: 0)
+ *     priv, pub          Output private/public keys: 'true' or 'false' (default: false)
+ *     view, spend        Output Monero private view/spend key: 'true' or 'false' (default: false)
+ *     legacy             Use legacy XRP addresses: 'true' or 'false' (default: false)
+ *     chains             Comma-separated Avalanche chains (default: EXCHANGE)
+ *     custom-mnemonic    Mnemonic from which to generate the wallet (default: a fresh random mnemonic)
+ *     mnemonic-password  Password for the mnemonic
+ *     entropy            Bits of entropy of a fresh mnemonic (default: 256)
+ *     format             'CONSOLE' or 'NDJSON' (default: CONSOLE)
+ *
+ * Values are validated by the same validators as the CLI options; any invalid line or value makes the whole request
+ * invalid.
+ */
+public final class WalletRequest {
+
+    //
+    // Request Keys
+    //
+
+    private static final String KEY_COMMAND = "command";
+    private static final String KEY_COIN = "coin";
+    private static final String KEY_NUM_ADDRESSES = "num-addresses";
+    private static final String KEY_ACCOUNT = PathUtils.ACCOUNT;
+    private static final String KEY_CHANGE = PathUtils.CHANGE;
+    private static final String KEY_INDEX = PathUtils.INDEX;
+    private static final String KEY_PRIV_KEY = "priv";
+    private static final String KEY_PUB_KEY = "pub";
+    private static final String KEY_VIEW_KEY = "view";
+    private static final String KEY_SPEND_KEY = "spend";
+    private static final String KEY_LEGACY = "legacy";
+    private static final String KEY_CHAINS = "chains";
+    private static final String KEY_MNEMONIC = "custom-mnemonic";
+    private static final String KEY_MNEMONIC_PASSWORD = "mnemonic-password";
+    private static final String KEY_ENTROPY = "entropy";
+    private static final String KEY_FORMAT = "format";
+
+    private static final List<String> KEYS = List.of(
+            KEY_COMMAND, KEY_COIN, KEY_NUM_ADDRESSES, KEY_ACCOUNT, KEY_CHANGE, KEY_INDEX, KEY_PRIV_KEY, KEY_PUB_KEY,
+            KEY_VIEW_KEY, KEY_SPEND_KEY, KEY_LEGACY, KEY_CHAINS, KEY_MNEMONIC, KEY_MNEMONIC_PASSWORD, KEY_ENTROPY,
+            KEY_FORMAT);
+
+    private static final char SEPARATOR = '=';
+    private static final String CHAIN_SEPARATOR = ",";
+
+    //
+    // Defaults
+    //
+
+    private static final int DEFAULT_NUM_ADDRESSES = 1;
+    private static final int DEFAULT_ENTROPY = 256;
+
+    private final Coin coin;
+    private final int numAddresses;
+    private final int[] bipPath;
+    private final WalletOptions options;
+    private final String mnemonic;
+    private final String mnemonicPassword;
+    private final int entropy;
+    private final OutputFormat format;
+
+    private WalletRequest(
+            Coin coin,
+            int numAddresses,
+            int[] bipPath,
+            WalletOptions options,
+            String mnemonic,
+            String mnemonicPassword,
+            int entropy,
+            OutputFormat format)
+    {
+        this.coin = coin;
+        this.numAddresses = numAddresses;
+        this.bipPath = bipPath;
+        this.options = options;
+        this.mnemonic = mnemonic;
+        this.mnemonicPassword = mnemonicPassword;
+        this.entropy = entropy;
+        this.format = format;
+    }
+
+    /**
+     * Parse and validate a request.
+     *
+     * @param text 'key=value' lines of the request
+     * @return Request
+     * @throws IllegalArgumentException if the request is malformed or any value is invalid
+     */
+    public static WalletRequest parse(String text) {
+
+        Map<String, String> fields = new HashMap<>();
+
+        for (String line : text.split("\n")) {
+            if (line.isBlank()) {
+                continue;
+            }
+
+            int separator = line.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException(String.format("Invalid request line '%s'", line));
+            }
+
+            String key = line.substring(0, separator).trim();
+            if (!KEYS.contains(key)) {
+                throw new IllegalArgumentException(String.format("Unrecognized request key '%s'", key));
+            }
+            if (fields.put(key, line.substring(separator + 1).trim()) != null) {
+                throw new IllegalArgumentException(String.format("Duplicate request key '%s'", key));
+            }
+        }
+
+        try {
+            return fromFields(fields);
+        } catch (ParameterException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    private static WalletRequest fromFields(Map<String, String> fields) {
+
+        String command = fields.getOrDefault(KEY_COMMAND, MultiCommand.NAME);
+        Coin coin = null;
+        int numAddresses = DEFAULT_NUM_ADDRESSES;
+        int[] bipPath = null;
+
+        switch (command) {
+            case SoloCommand.NAME -> {
+                String coinName = fields.get(KEY_COIN);
+                if (coinName == null) {
+                    throw new IllegalArgumentException("A solo request requires a coin");
+                }
+                coin = parseEnum(Coin.class, KEY_COIN, coinName);
+
+                numAddresses = getInt(fields, KEY_NUM_ADDRESSES, DEFAULT_NUM_ADDRESSES);
+                new NonNegativeIntegerValidator().validate(KEY_NUM_ADDRESSES, numAddresses);
+                new AddressLimitValidator().validate(KEY_NUM_ADDRESSES, numAddresses);
+
+                bipPath = getBipPath(coin, fields);
+            }
+
+            case MultiCommand.NAME -> {
+                for (String key : List.of(KEY_COIN, KEY_NUM_ADDRESSES, KEY_ACCOUNT, KEY_CHANGE, KEY_INDEX)) {
+                    if (fields.containsKey(key)) {
+                        throw new IllegalArgumentException(String.format("A multi request does not accept '%s'", key));
+                    }
+                }
+            }
+
+            default ->
+                throw new IllegalArgumentException(String.format("Unrecognized request command '%s'", command));
+        }
+
+        List<Chain> chains = AvalancheCommand.DEFAULT_CHAINS;
+        if (fields.containsKey(KEY_CHAINS)) {
+            chains = new ArrayList<>();
+            for (String chain : fields.get(KEY_CHAINS).split(CHAIN_SEPARATOR)) {
+                chains.add(parseEnum(Chain.class, KEY_CHAINS, chain.trim()));
+            }
+        }
+
+        WalletOptions options = new WalletOptions(
+                getBoolean(fields, KEY_PRIV_KEY),
+                getBoolean(fields, KEY_PUB_KEY),
+                getBoolean(fields, KEY_VIEW_KEY),
+                getBoolean(fields, KEY_SPEND_KEY),
+                getBoolean(fields, KEY_LEGACY),
+                chains);
+
+        String mnemonic = fields.get(KEY_MNEMONIC);
+        if (mnemonic != null) {
+            new MnemonicValidator().validate(KEY_MNEMONIC, mnemonic);
+        }
+
+        int entropy = getInt(fields, KEY_ENTROPY, DEFAULT_ENTROPY);
+        new EntropyValidator().validate(KEY_ENTROPY, entropy);
+
+        OutputFormat format = parseEnum(OutputFormat.class, KEY_FORMAT, fields.getOrDefault(KEY_FORMAT, "CONSOLE"));
+        if ((format != OutputFormat.CONSOLE) && (format != OutputFormat.NDJSON)) {
+            throw new IllegalArgumentException(String.format("Unsupported request format '%s'", format));
+        }
+
+        return new WalletRequest(
+                coin,
+                numAddresses,
+                bipPath,
+                options,
+                mnemonic,
+                fields.get(KEY_MNEMONIC_PASSWORD),
+                entropy,
+                format);
+    }
+
+    /**
+     * Build the BIP-44 path fields used by a coin, in the same shape as the matching solo subcommand.
+     */
+    private static int[] getBipPath(Coin coin, Map<String, String> fields) {
+
+        int account = getInt(fields, KEY_ACCOUNT, SingleCoinWalletGenerator.DEFAULT_FIELD_VAL);
+        int change = getInt(fields, KEY_CHANGE, SingleCoinWalletGenerator.DEFAULT_FIELD_VAL);
+        int index = getInt(fields, KEY_INDEX, SingleCoinWalletGenerator.DEFAULT_FIELD_VAL);
+
+        new NonNegativeIntegerValidator().validate(KEY_ACCOUNT, account);
+        new BinaryIntegerValidator().validate(KEY_CHANGE, change);
+        new NonNegativeIntegerValidator().validate(KEY_INDEX, index);
+
+        List<String> used = PathUtils.getPathFields(coin);
+        for (String key : PathUtils.ALL_FIELDS) {
+            if (fields.containsKey(key) && !used.contains(key)) {
+                throw new IllegalArgumentException(String.format("Coin %s does not accept '%s'", coin, key));
+            }
+        }
+
+        return PathUtils.buildPath(coin, account, change, index);
+    }
+
+    private static int getInt(Map<String, String> fields, String key, int defaultValue) {
+
+        String value = fields.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Invalid integer '%s' for '%s'", value, key));
+        }
+    }
+
+    private static boolean getBoolean(Map<String, String> fields, String key) {
+
+        String value = fields.get(key);
+        if ((value == null) || value.equals("false")) {
+            return false;
+        } else if (value.equals("true")) {
+            return true;
+        }
+
+        throw new IllegalArgumentException(
+                String.format("Invalid value '%s' for '%s'; must be true or false", value, key));
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String key, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Invalid value '%s' for '%s'", value, key));
+        }
+    }
+
+    //
+    // Getters
+    //
+
+    /**
+     * @return Coin of a solo wallet, or null for a multi-coin wallet
+     */
+    public Coin getCoin() {
+        return coin;
+    }
+
+    public int getNumAddresses() {
+        return numAddresses;
+    }
+
+    public int[] getBipPath() {
+        return bipPath;
+    }
+
+    public WalletOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * @return Mnemonic from which to generate the wallet, or null to generate it from a fresh mnemonic
+     */
+    public String getMnemonic() {
+        return mnemonic;
+    }
+
+    public String getMnemonicPassword() {
+        return mnemonicPassword;
+    }
+
+    public int getEntropy() {
+        return entropy;
+    }
+
+    public OutputFormat getFormat() {
+        return format;
+    }
+}
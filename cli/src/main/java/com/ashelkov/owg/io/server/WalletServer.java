@@ -0,0 +1,304 @@
+package com.ashelkov.owg.io.server;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.EnumSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.web3j.crypto.MnemonicUtils;
+
+import com.ashelkov.owg.io.output.NdjsonEncoder;
+import com.ashelkov.owg.io.output.OutputFormat;
+import com.ashelkov.owg.io.util.FileUtils;
+import com.ashelkov.owg.util.Utils;
+import com.ashelkov.owg.wallet.SeedContext;
+import com.ashelkov.owg.wallet.Wallet;
+import com.ashelkov.owg.wallet.util.Bip39SeedEngine;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Long-running wallet server, listening on a Unix domain socket (readable and writable by the owner only). Each
+ * connection carries one [[WalletRequest]]; the reply follows the [[WalletProtocol]], and the wallet text is streamed
+ * to the client as it is produced, in the CONSOLE or NDJSON layout.
+ *
+ * Requests are served by a fixed pool of worker threads, behind a bounded queue; a connection which arrives when the
+ * queue is full is answered BUSY at once. Every request has a deadline, counted from its arrival: a request which has
+ * not started its reply by then is answered TIMEOUT, and a connection which is still open is closed. Wallet generation
+ * itself cannot be interrupted, so a worker whose request timed out is only freed once the generation finishes.
+ */
+public final class WalletServer implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WalletServer.class);
+
+    private static final EnumSet<PosixFilePermission> SOCKET_PERMISSIONS = EnumSet.of(
+            PosixFilePermission.OWNER_READ,
+            PosixFilePermission.OWNER_WRITE);
+
+    private final Path socketPath;
+    private final int timeoutSeconds;
+    private final BiFunction<WalletRequest, SeedContext, Wallet> walletFactory;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor();
+
+    private ServerSocketChannel serverChannel = null;
+    private volatile boolean closed = false;
+
+    /**
+     * @param socketPath Path at which to create the Unix domain socket
+     * @param threads Number of requests to serve concurrently
+     * @param queueLength Number of requests which may wait for a worker (0 to accept only when a worker is idle)
+     * @param timeoutSeconds Deadline of each request, in seconds from its arrival
+     * @param walletFactory Generates the requested wallet for a seed; called concurrently from the worker threads
+     */
+    public WalletServer(
+            Path socketPath,
+            int threads,
+            int queueLength,
+            int timeoutSeconds,
+            BiFunction<WalletRequest, SeedContext, Wallet> walletFactory)
+    {
+        BlockingQueue<Runnable> queue = (queueLength > 0)
+                ? new ArrayBlockingQueue<>(queueLength)
+                : new SynchronousQueue<>();
+
+        this.socketPath = socketPath;
+        this.timeoutSeconds = timeoutSeconds;
+        this.walletFactory = walletFactory;
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue);
+    }
+
+    /**
+     * Create the socket, and serve connections until the server is closed.
+     *
+     * @throws IOException if the socket cannot be created, or is in use by another server
+     */
+    public void serve() throws IOException {
+
+        removeStaleSocket();
+
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            channel.bind(UnixDomainSocketAddress.of(socketPath));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        // Only a bound socket is removed on close
+        synchronized (this) {
+            serverChannel = channel;
+            if (closed) {
+                close(channel);
+                return;
+            }
+        }
+        FileUtils.setFilePermissions(socketPath, SOCKET_PERMISSIONS);
+
+        logger.info(String.format("Listening on socket '%s'", socketPath));
+
+        while (!closed) {
+            SocketChannel client;
+            try {
+                client = channel.accept();
+            } catch (ClosedChannelException e) {
+                break;
+            }
+
+            Connection connection = new Connection(client);
+            try {
+                workers.execute(connection);
+            } catch (RejectedExecutionException e) {
+                connection.reply(WalletProtocol.STATUS_BUSY, "All workers are busy; try again later");
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * Stop accepting connections, abandon queued requests, and remove the socket.
+     */
+    @Override
+    public synchronized void close() {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (serverChannel != null) {
+            close(serverChannel);
+        }
+
+        workers.shutdownNow();
+        watchdog.shutdownNow();
+    }
+
+    /**
+     * Close the listening channel, and remove its socket.
+     */
+    private void close(ServerSocketChannel channel) {
+        try {
+            channel.close();
+            Files.deleteIfExists(socketPath);
+        } catch (IOException e) {
+            logger.warn(String.format("Failed to remove socket '%s': %s", socketPath, e.getMessage()));
+        }
+    }
+
+    /**
+     * Remove a socket file left behind by a server which is no longer running.
+     *
+     * @throws IOException if the path is not a socket, or a running server is listening on it
+     */
+    private void removeStaleSocket() throws IOException {
+
+        if (!Files.exists(socketPath, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+
+        if (!Files.readAttributes(socketPath, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).isOther()) {
+            throw new IOException(String.format("Path '%s' already exists and is not a socket", socketPath));
+        }
+
+        boolean live;
+        try (SocketChannel probe = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            live = probe.connect(UnixDomainSocketAddress.of(socketPath));
+        } catch (IOException e) {
+            live = false;
+        }
+
+        if (live) {
+            throw new IOException(String.format("Socket '%s' is in use by a running server", socketPath));
+        }
+
+        logger.debug(String.format("Removing stale socket '%s'", socketPath));
+        Files.delete(socketPath);
+    }
+
+    /**
+     * One client connection and its request. Whichever of the worker and the watchdog claims the connection first
+     * sends the status frame; the other stays silent.
+     */
+    private final class Connection implements Runnable {
+
+        private final SocketChannel channel;
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+        private final ScheduledFuture<?> deadline;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+            this.deadline = watchdog.schedule(this::expire, timeoutSeconds, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void run() {
+            try {
+                byte[] frame = WalletProtocol.readFrame(channel, WalletProtocol.MAX_REQUEST_LENGTH);
+                if (frame == null) {
+                    return;
+                }
+
+                WalletRequest request = WalletRequest.parse(new String(frame, UTF_8));
+
+                String mnemonic = request.getMnemonic();
+                if (mnemonic == null) {
+                    byte[] entropy = new byte[request.getEntropy() / 8];
+                    Utils.getSecureRandom().nextBytes(entropy);
+                    mnemonic = MnemonicUtils.generateMnemonic(entropy);
+                }
+
+                byte[] seed = Bip39SeedEngine.generateSeed(mnemonic, request.getMnemonicPassword());
+                Wallet wallet = walletFactory.apply(request, new SeedContext(seed));
+
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+
+                WalletProtocol.writeStatus(channel, WalletProtocol.STATUS_OK, "");
+                try (BufferedWriter out = new BufferedWriter(
+                        new OutputStreamWriter(new FrameOutputStream(channel), UTF_8),
+                        WalletProtocol.MAX_CHUNK_LENGTH))
+                {
+                    if (request.getFormat() == OutputFormat.NDJSON) {
+                        new NdjsonEncoder(out).encode(mnemonic, wallet);
+                    } else {
+                        out.write(mnemonic);
+                        out.newLine();
+                        out.newLine();
+                        wallet.appendTo(out);
+                        out.newLine();
+                    }
+                }
+
+            } catch (IllegalArgumentException e) {
+                reply(WalletProtocol.STATUS_BAD_REQUEST, e.getMessage());
+
+            } catch (IOException e) {
+                logger.debug(String.format("Connection failed: %s", e.getMessage()));
+
+            } catch (Exception e) {
+                logger.error(String.format("Request failed: %s", e));
+                reply(WalletProtocol.STATUS_ERROR, "Wallet generation failed");
+
+            } finally {
+                close();
+            }
+        }
+
+        /**
+         * Send a status frame, unless the connection has already been claimed.
+         */
+        void reply(byte status, String message) {
+            if (claimed.compareAndSet(false, true)) {
+                try {
+                    WalletProtocol.writeStatus(channel, status, (message != null) ? message : "");
+                } catch (IOException e) {
+                    logger.debug(String.format("Failed to send %s reply: %s", WalletProtocol.statusName(status), e));
+                }
+            }
+        }
+
+        void close() {
+            deadline.cancel(false);
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug(String.format("Failed to close connection: %s", e.getMessage()));
+            }
+        }
+
+        private void expire() {
+            reply(WalletProtocol.STATUS_TIMEOUT, String.format("Request timed out after %d seconds", timeoutSeconds));
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug(String.format("Failed to close connection: %s", e.getMessage()));
+            }
+        }
+    }
+}
@@ -3,10 +3,13 @@ package com.ashelkov.owg.io.util;
 import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.util.Set;
@@ -25,6 +28,9 @@ public class FileUtils {
 
     private static final String FILE_DELIMITER = ".";
 
+    // Wallets are streamed straight into the writer, so a large buffer keeps the number of write calls low
+    public static final int WRITE_BUFFER_SIZE = 1 << 16;
+
     /**
      * Create a directory at the given path with default file permissions.
      *
@@ -51,7 +57,8 @@ public class FileUtils {
     }
 
     /**
-     * Create a [[BufferedWriter]] for new file at the given path.
+     * Create a [[BufferedWriter]] for new file at the given path. The file is only readable by its owner before
+     * anything is written to it.
      *
      * @param outputPath Path to new file
      * @param overwrite Overwrite file if true, throw exception if false and file exists already
@@ -61,15 +68,32 @@ public class FileUtils {
     public static BufferedWriter getBufferedWriter(Path outputPath, boolean overwrite)
             throws IOException {
 
-        Path parentDir = outputPath.getParent();
+        createOutputFile(outputPath, overwrite);
 
-        if (!Files.exists(parentDir)) {
-            FileUtils.createDirectory(parentDir);
-        } else if (Files.exists(outputPath) && !overwrite) {
-            throw new FileAlreadyExistsException(outputPath.toString());
-        }
+        return new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(outputPath), US_ASCII),
+                WRITE_BUFFER_SIZE);
+    }
 
-        return Files.newBufferedWriter(outputPath, US_ASCII);
+    /**
+     * Create a writable [[FileChannel]] for new file at the given path. The file is only readable by its owner before
+     * anything is written to it.
+     *
+     * @param outputPath Path to new file
+     * @param overwrite Overwrite file if true, throw exception if false and file exists already
+     * @return FileChannel object for file at path
+     * @throws IOException
+     */
+    public static FileChannel getFileChannel(Path outputPath, boolean overwrite)
+            throws IOException {
+
+        createOutputFile(outputPath, overwrite);
+
+        return FileChannel.open(
+                outputPath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
     }
 
     /**
@@ -161,5 +185,44 @@ public class FileUtils {
         return parentDir.resolve(String.join(FILE_DELIMITER, path.getFileName().toString(), fileExtension));
     }
 
+    /**
+     * Create the parent directory of a new file if it does not exist, or check that the file may be overwritten.
+     *
+     * @param outputPath Path to new file
+     * @param overwrite Overwrite file if true, throw exception if false and file exists already
+     * @throws IOException
+     */
+    private static void prepareOutputPath(Path outputPath, boolean overwrite)
+            throws IOException {
+
+        Path parentDir = outputPath.getParent();
+
+        if (!Files.exists(parentDir)) {
+            FileUtils.createDirectory(parentDir);
+        } else if (Files.exists(outputPath) && !overwrite) {
+            throw new FileAlreadyExistsException(outputPath.toString());
+        }
+    }
+
+    /**
+     * Create a new file with default file permissions, or restrict an existing file which may be overwritten to them.
+     * Output files hold mnemonics and keys, so they must not be readable by others while they are being written.
+     *
+     * @param outputPath Path to new file
+     * @param overwrite Overwrite file if true, throw exception if false and file exists already
+     * @throws IOException
+     */
+    private static void createOutputFile(Path outputPath, boolean overwrite)
+            throws IOException {
+
+        prepareOutputPath(outputPath, overwrite);
+
+        if (Files.exists(outputPath)) {
+            Files.setPosixFilePermissions(outputPath, DEFAULT_FILE_PERMISSIONS);
+        } else {
+            Files.createFile(outputPath, PosixFilePermissions.asFileAttribute(DEFAULT_FILE_PERMISSIONS));
+        }
+    }
+
     private FileUtils() {}
 }
@@ -0,0 +1,57 @@
+package com.ashelkov.owg.io.util;
+
+import java.util.List;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.io.plugin.CoinPlugins;
+
+/**
+ * Utilities for the BIP-44 path fields of wallets requested outside the command line (wallet server requests and job
+ * manifests). Each coin uses the same fields, in the same order, as its solo subcommand.
+ */
+public class PathUtils {
+
+    public static final String ACCOUNT = "account";
+    public static final String CHANGE = "change";
+    public static final String INDEX = "index";
+
+    public static final List<String> ALL_FIELDS = List.of(ACCOUNT, CHANGE, INDEX);
+
+    /**
+     * Get the path fields used by a coin, in path order, as declared by its [[CoinPlugin]].
+     *
+     * @param coin Coin
+     * @return Names of the path fields
+     */
+    public static List<String> getPathFields(Coin coin) {
+        return CoinPlugins.get(coin).getPathFields();
+    }
+
+    /**
+     * Build the partial path of a coin from the values of all path fields; fields which the coin does not use are
+     * ignored. The last element of the partial path is the field incremented when generating several addresses.
+     *
+     * @param coin Coin
+     * @param account Account field value
+     * @param change Change field value
+     * @param index Index field value
+     * @return Partial path
+     */
+    public static int[] buildPath(Coin coin, int account, int change, int index) {
+
+        List<String> fields = getPathFields(coin);
+        int[] path = new int[fields.size()];
+
+        for (int i = 0; i < path.length; ++i) {
+            path[i] = switch (fields.get(i)) {
+                case ACCOUNT -> account;
+                case CHANGE -> change;
+                default -> index;
+            };
+        }
+
+        return path;
+    }
+
+    private PathUtils() {}
+}
@@ -0,0 +1,18 @@
+package com.ashelkov.owg.io.validation;
+
+import com.beust.jcommander.IValueValidator;
+import com.beust.jcommander.ParameterException;
+
+/**
+ * JCommander validator for integer >= 0.
+ */
+public class NonNegativeIntegerValidator implements IValueValidator<Integer> {
+
+    @Override
+    public void validate(String name, Integer value) throws ParameterException {
+        if (value < 0) {
+            throw new ParameterException(
+                    String.format("Invalid input '%d' to '%s'; value must not be negative", value, name));
+        }
+    }
+}
@@ -10,7 +10,7 @@ public class PositiveIntegerValidator implements IValueValidator<Integer> {
 
     @Override
     public void validate(String name, Integer value) throws ParameterException {
-        if (value < 0) {
+        if (value < 1) {
             throw new ParameterException(
                     String.format("Invalid input '%d' to '%s'; value must be positive", value, name));
         }
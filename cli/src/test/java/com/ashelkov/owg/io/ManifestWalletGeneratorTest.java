@@ -0,0 +1,81 @@
+package com.ashelkov.owg.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ashelkov.owg.address.BIP44Address;
+import com.ashelkov.owg.io.plugin.CoinPlugins;
+import com.ashelkov.owg.wallet.SeedContext;
+import com.ashelkov.owg.wallet.SingleCoinWallet;
+import com.ashelkov.owg.wallet.util.Bip39SeedEngine;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for [[ManifestWalletGenerator]]: planning a manifest must not change the addresses it produces.
+ */
+public class ManifestWalletGeneratorTest {
+
+    private static final String MNEMONIC =
+            "abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon about";
+
+    private static final WalletOptions OPTIONS = new WalletOptions(false, false, false, false, false, List.of());
+
+    private static List<ManifestWalletGenerator.Job> parse(String manifest) throws IOException {
+        return ManifestWalletGenerator.parse(new BufferedReader(new StringReader(manifest)));
+    }
+
+    private static List<String> generate(List<ManifestWalletGenerator.Job> jobs) {
+
+        SeedContext context = new SeedContext(Bip39SeedEngine.generateSeed(MNEMONIC, ""));
+        ManifestWalletGenerator generator =
+                new ManifestWalletGenerator(coin -> CoinPlugins.get(coin).createGenerator(context, OPTIONS), 2, 4);
+
+        List<String> addresses = new ArrayList<>();
+        for (SingleCoinWallet wallet : generator.generate(jobs).getSubWallets()) {
+            for (BIP44Address address : wallet.getAddresses()) {
+                addresses.add(address.toString());
+            }
+        }
+
+        return addresses;
+    }
+
+    private static void assertPlanned(String manifest, int plannedJobs, int addresses) throws IOException {
+
+        List<ManifestWalletGenerator.Job> jobs = parse(manifest);
+        List<ManifestWalletGenerator.Job> planned = ManifestWalletGenerator.plan(jobs);
+        List<String> expected = generate(jobs);
+
+        assertEquals(plannedJobs, planned.size());
+        assertEquals(addresses, expected.size());
+        assertEquals(expected, generate(planned));
+    }
+
+    @Test
+    public void testMergeContinuedRanges() throws IOException {
+        assertPlanned("coin=ETH num-addresses=3\ncoin=ETH index=3 num-addresses=2\n", 1, 5);
+        assertPlanned("coin=XLM account=0-4\n", 1, 5);
+        assertPlanned("coin=XMR account=1 num-addresses=2\ncoin=XMR account=1 index=2 num-addresses=3\n", 1, 5);
+    }
+
+    @Test
+    public void testKeepSeparateRanges() throws IOException {
+        assertPlanned("coin=BTC account=0-1 change=0-1 num-addresses=2\n", 4, 8);
+        assertPlanned("coin=ETH num-addresses=3\ncoin=ETH index=4 num-addresses=2\n", 2, 5);
+        assertPlanned("coin=ETH num-addresses=3\ncoin=XLM\ncoin=ETH index=3 num-addresses=2\n", 3, 6);
+    }
+
+    @Test
+    public void testKeepMoneroStandardAddressRange() throws IOException {
+        // The first job yields the standard address and subaddresses 0,1 and 0,2
+        assertPlanned("coin=XMR num-addresses=2\ncoin=XMR index=2 num-addresses=3\n", 2, 6);
+        assertPlanned("coin=XMR num-addresses=2\ncoin=XMR index=3 num-addresses=3\n", 2, 6);
+        assertPlanned("coin=XMR\ncoin=XMR index=1 num-addresses=2\n", 2, 3);
+    }
+}
@@ -0,0 +1,245 @@
+package com.ashelkov.owg.io.output;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.ashelkov.owg.address.AvalancheAddress;
+import com.ashelkov.owg.address.BIP44Address;
+import com.ashelkov.owg.address.MoneroAddress;
+import com.ashelkov.owg.address.codec.AddressCodec;
+import com.ashelkov.owg.address.codec.AddressCodecs;
+import com.ashelkov.owg.address.codec.DecodedAddress;
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.coin.avax.Chain;
+import com.ashelkov.owg.io.binary.BinaryWalletReader;
+import com.ashelkov.owg.wallet.EthereumWallet;
+import com.ashelkov.owg.wallet.MultiCoinWallet;
+import com.ashelkov.owg.wallet.SeedContext;
+import com.ashelkov.owg.wallet.SingleCoinWallet;
+import com.ashelkov.owg.wallet.Wallet;
+import com.ashelkov.owg.wallet.generators.AvalancheWalletGenerator;
+import com.ashelkov.owg.wallet.generators.BitcoinWalletGenerator;
+import com.ashelkov.owg.wallet.generators.EthereumWalletGenerator;
+import com.ashelkov.owg.wallet.generators.MoneroWalletGenerator;
+import com.ashelkov.owg.wallet.generators.XRPWalletGenerator;
+import com.ashelkov.owg.wallet.util.BIP44Utils;
+import com.ashelkov.owg.wallet.util.Bip39SeedEngine;
+import com.ashelkov.owg.wallet.util.EncodingUtils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Round-trip tests for [[BinaryWalletWriter]] and [[com.ashelkov.owg.io.binary.BinaryWalletReader]]: every address
+ * written must be read back with its wallet, path, kind and payload, and must be found by its payload.
+ */
+public class BinaryWalletWriterTest {
+
+    private static final String MNEMONIC =
+            "abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon about";
+
+    private static final SeedContext CONTEXT = new SeedContext(Bip39SeedEngine.generateSeed(MNEMONIC, ""));
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static MultiCoinWallet newMultiWallet(int account) {
+
+        AvalancheWalletGenerator avalanche = new AvalancheWalletGenerator(
+                CONTEXT,
+                List.of(Chain.EXCHANGE, Chain.PLATFORM, Chain.CONTRACT),
+                false,
+                false);
+
+        return new MultiCoinWallet(List.of(
+                new BitcoinWalletGenerator(CONTEXT, false, false).generateWallet(account, 0, 0, 3),
+                new EthereumWalletGenerator(CONTEXT, false, false).generateWallet(account, 2),
+                new MoneroWalletGenerator(CONTEXT, false, false, false).generateWallet(account, 0, 3),
+                new XRPWalletGenerator(CONTEXT, false, false, false).generateWallet(account, 2),
+                avalanche.generateWallet(account, 2)));
+    }
+
+    private Path write(Wallet... wallets) throws IOException {
+
+        Path directory = folder.newFolder().toPath();
+        try (BinaryWalletWriter writer = new BinaryWalletWriter(directory, false, "wallets")) {
+            for (Wallet wallet : wallets) {
+                writer.saveWallet(MNEMONIC, wallet);
+            }
+        }
+
+        return directory.resolve("wallets.owgb");
+    }
+
+    /**
+     * Describe the entries which the given wallets should produce, in the format of
+     * [[com.ashelkov.owg.io.binary.BinaryWalletReader.Entry]], decoding every address from its text.
+     */
+    private static List<String> describe(Coin coin, Wallet... wallets) {
+
+        List<String> result = new ArrayList<>();
+        AddressCodec codec = AddressCodecs.forCoin(coin);
+
+        for (int i = 0; i < wallets.length; ++i) {
+            List<SingleCoinWallet> subWallets = (wallets[i] instanceof MultiCoinWallet multiCoinWallet)
+                    ? multiCoinWallet.getSubWallets()
+                    : List.of((SingleCoinWallet) wallets[i]);
+
+            for (SingleCoinWallet subWallet : subWallets) {
+                if (subWallet.getCoin() != coin) {
+                    continue;
+                }
+
+                for (BIP44Address address : subWallet.getAddresses()) {
+                    int[] path = address.getPath();
+
+                    if (address instanceof MoneroAddress moneroAddress) {
+                        path = new int[] {path[0], path[1], moneroAddress.getAccount(), moneroAddress.getIndex()};
+                        result.add(describe(i + 1, coin, path, codec.decode(address.getAddress())));
+
+                    } else if (address instanceof AvalancheAddress avalancheAddress) {
+                        Map<Chain, String> addressMap = avalancheAddress.getAddressMap();
+                        for (Chain chain : avalancheAddress.getDecodedMap().keySet()) {
+                            result.add(describe(i + 1, coin, path, codec.decode(addressMap.get(chain))));
+                        }
+
+                    } else {
+                        result.add(describe(i + 1, coin, path, codec.decode(address.getAddress())));
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static String describe(int wallet, Coin coin, int[] path, DecodedAddress decoded) {
+        return String.format(
+                "%d\t%s\t%s\t%s\t%s",
+                wallet,
+                coin,
+                BIP44Utils.convertPathToText(path),
+                decoded.getType(),
+                EncodingUtils.bytesToHex(decoded.getPayload()));
+    }
+
+    private static void assertRoundTrip(Path path, int entries, Wallet... wallets) throws IOException {
+
+        try (BinaryWalletReader reader = BinaryWalletReader.open(path)) {
+            assertEquals(entries, reader.size());
+
+            long total = 0;
+            for (BinaryWalletReader.Segment segment : reader.getSegments()) {
+                List<String> actual = new ArrayList<>();
+                segment.scan(0, segment.size(), entry -> actual.add(entry.toString()));
+                assertEquals(describe(segment.getCoin(), wallets), actual);
+
+                for (int i = 0; i < segment.size(); ++i) {
+                    byte[] payload = segment.get(i).getPayload();
+                    int found = segment.indexOf(payload);
+
+                    // Avalanche X-chain and P-chain addresses share a payload
+                    assertTrue(found <= i);
+                    assertArrayEquals(payload, segment.get(found).getPayload());
+                }
+                assertEquals(-1, segment.indexOf(new byte[segment.getPayloadWidth()]));
+                assertEquals(-1, segment.indexOf(new byte[segment.getPayloadWidth() + 1]));
+
+                total += segment.size();
+            }
+
+            assertEquals(entries, total);
+        }
+    }
+
+    @Test
+    public void testMultiWallet() throws IOException {
+
+        // 3 BTC, 2 ETH, the XMR standard address and 3 subaddresses, 2 XRP, and 3 chains for each of 2 AVAX addresses
+        MultiCoinWallet wallet = newMultiWallet(0);
+        Path path = write(wallet);
+
+        assertRoundTrip(path, 17, wallet);
+
+        try (BinaryWalletReader reader = BinaryWalletReader.open(path)) {
+            assertEquals(5, reader.getSegments().size());
+            assertEquals(
+                    List.of(Coin.BTC, Coin.ETH, Coin.XMR, Coin.XRP, Coin.AVAX),
+                    reader.getSegments().stream().map(BinaryWalletReader.Segment::getCoin).toList());
+            assertEquals(
+                    Set.of("P2WPKH", "EIP-55", "standard", "subaddress", "account", "X-chain", "P-chain", "C-chain"),
+                    Set.copyOf(reader.getKinds()));
+            assertEquals(20, reader.getSegment(Coin.BTC).getPayloadWidth());
+            assertEquals(64, reader.getSegment(Coin.XMR).getPayloadWidth());
+        }
+    }
+
+    @Test
+    public void testMoneroSubaddressRange() throws IOException {
+
+        SingleCoinWallet wallet = new MoneroWalletGenerator(CONTEXT, false, false, false).generateWallet(1, 5, 4);
+        Path path = write(wallet);
+
+        assertRoundTrip(path, 4, wallet);
+
+        try (BinaryWalletReader reader = BinaryWalletReader.open(path)) {
+            BinaryWalletReader.Segment segment = reader.getSegment(Coin.XMR);
+
+            assertEquals(List.of("subaddress"), reader.getKinds());
+            for (int i = 0; i < 4; ++i) {
+                BinaryWalletReader.Entry entry = segment.get(i);
+                assertEquals(4, entry.getDepth());
+                assertEquals(1, entry.getPathComponent(2));
+                assertEquals(5 + i, entry.getPathComponent(3));
+            }
+        }
+    }
+
+    @Test
+    public void testBatch() throws IOException {
+
+        MultiCoinWallet first = newMultiWallet(0);
+        MultiCoinWallet second = newMultiWallet(1);
+
+        // Addresses without a payload from their generator are decoded from their text instead
+        List<BIP44Address> textAddresses = new ArrayList<>();
+        for (BIP44Address address : first.getSubWallets().get(1).getAddresses()) {
+            textAddresses.add(new BIP44Address(address.getAddress(), address.getPath()));
+        }
+        EthereumWallet third = new EthereumWallet(textAddresses);
+
+        assertRoundTrip(write(first, second, third), 35, first, second, third);
+    }
+
+    @Test
+    public void testRejectTruncatedFile() throws IOException {
+
+        Path path = write(newMultiWallet(0));
+        long length = Files.size(path);
+
+        for (long truncated : new long[] {length - 1, 100, 40, 8}) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(truncated);
+            }
+
+            try (BinaryWalletReader reader = BinaryWalletReader.open(path)) {
+                fail(String.format("Opened file truncated to %d bytes: %s", truncated, reader));
+            } catch (IOException e) {
+                // Expected
+            }
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.ashelkov.owg.address;
 
+import java.io.IOException;
 import java.util.Map;
 
+import com.ashelkov.owg.address.codec.DecodedAddress;
 import com.ashelkov.owg.coin.avax.Chain;
 import com.ashelkov.owg.wallet.util.BIP44Utils;
 
@@ -14,6 +16,7 @@ import com.ashelkov.owg.wallet.util.BIP44Utils;
 public class AvalancheAddress extends BIP44Address {
 
     protected final Map<Chain, String> addressMap;
+    protected final Map<Chain, DecodedAddress> decodedMap;
 
     /**
      * @param addressMap Map of Avalanche chain to address
@@ -30,38 +33,62 @@ public class AvalancheAddress extends BIP44Address {
      * @param pubKey Public key used to derive the address
      */
     public AvalancheAddress(Map<Chain, String> addressMap, int[] path, String privKey, String pubKey) {
+        this(addressMap, null, path, privKey, pubKey);
+    }
+
+    /**
+     * @param addressMap Map of Avalanche chain to address
+     * @param decodedMap Map of Avalanche chain to the raw payload and kind of its address (or null)
+     * @param path BIP-44 path from which the address was derived
+     * @param privKey Private key used to derive the address
+     * @param pubKey Public key used to derive the address
+     */
+    public AvalancheAddress(
+            Map<Chain, String> addressMap,
+            Map<Chain, DecodedAddress> decodedMap,
+            int[] path,
+            String privKey,
+            String pubKey)
+    {
         super("", path, privKey, pubKey);
         this.addressMap = addressMap;
+        this.decodedMap = decodedMap;
     }
 
     @Override
-    public String toString() {
-
-        StringBuilder result = new StringBuilder();
+    public void appendTo(Appendable out) throws IOException {
 
         // append path
-        result.append('(');
-        result.append(BIP44Utils.convertPathToText(path));
-        result.append(')');
+        out.append('(');
+        BIP44Utils.appendPathText(path, out);
+        out.append(')');
 
         // append addresses for each chain
         for (Map.Entry<Chain, String> entry : addressMap.entrySet()) {
-            result.append('\n');
-            result.append(entry.getKey().toString());
-            result.append('\t');
-            result.append(entry.getValue());
+            out.append('\n');
+            out.append(entry.getKey().toString());
+            out.append('\t');
+            out.append(entry.getValue());
         }
 
-        // append keys, if present
-        if (privKey != null) {
-            result.append("\nPRIV =\t");
-            result.append(privKey);
-        }
-        if (pubKey != null) {
-            result.append("\nPUB =\t");
-            result.append(pubKey);
-        }
+        appendKeys(out);
+    }
 
-        return result.toString();
+    /**
+     * Get the address of each Avalanche chain.
+     *
+     * @return Map of Avalanche chain to address
+     */
+    public Map<Chain, String> getAddressMap() {
+        return addressMap;
+    }
+
+    /**
+     * Get the raw payload and kind of the address of each Avalanche chain, if the generator supplied them.
+     *
+     * @return Map of Avalanche chain to decoded address, or null
+     */
+    public Map<Chain, DecodedAddress> getDecodedMap() {
+        return decodedMap;
     }
 }
@@ -1,5 +1,9 @@
 package com.ashelkov.owg.address;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.ashelkov.owg.address.codec.DecodedAddress;
 import com.ashelkov.owg.bip.Constants;
 import com.ashelkov.owg.wallet.util.BIP44Utils;
 
@@ -16,6 +20,7 @@ public class BIP44Address {
     protected final String privKey;
     protected final String pubKey;
     protected final int[] path;
+    protected final DecodedAddress decoded;
 
     /**
      * @param address Address
@@ -32,6 +37,18 @@ public class BIP44Address {
      * @param pubKey Public key used to derive the address
      */
     public BIP44Address(String address, int[] path, String privKey, String pubKey) {
+        this(address, path, privKey, pubKey, null);
+    }
+
+    /**
+     * @param address Address
+     * @param path BIP-44 path from which the address was derived
+     * @param privKey Private key used to derive the address
+     * @param pubKey Public key used to derive the address
+     * @param decoded Raw payload and kind of the address, as its [[com.ashelkov.owg.address.codec.AddressCodec]]
+     *                would decode them (or null)
+     */
+    public BIP44Address(String address, int[] path, String privKey, String pubKey, DecodedAddress decoded) {
         if (!isValidPurpose(path[0])) {
             String purposeString = BIP44Utils.chainValToString(path[0]);
             throw new IllegalArgumentException(String.format("Bad 'purpose' value for BIP44 path: %s", purposeString));
@@ -41,6 +58,7 @@ public class BIP44Address {
         this.privKey = privKey;
         this.pubKey = pubKey;
         this.path = path;
+        this.decoded = decoded;
     }
 
     /**
@@ -53,30 +71,100 @@ public class BIP44Address {
         return (purpose == (Constants.HARDENED | PURPOSE));
     }
 
-    @Override
-    public String toString() {
-
-        StringBuilder result = new StringBuilder();
+    /**
+     * Write the text representation of this address into a sink.
+     *
+     * @param out Destination of the text
+     * @throws IOException if the sink cannot be written
+     */
+    public void appendTo(Appendable out) throws IOException {
 
         // append BIP-32 path
-        result.append('(');
-        result.append(BIP44Utils.convertPathToText(path));
-        result.append(')');
+        out.append('(');
+        BIP44Utils.appendPathText(path, out);
+        out.append(')');
 
         // append address
-        result.append('\t');
-        result.append(address);
+        out.append('\t');
+        out.append(address);
+
+        appendKeys(out);
+    }
 
-        // append keys, if present
+    /**
+     * Write the private/public keys of this address, if present, into a sink.
+     *
+     * @param out Destination of the text
+     * @throws IOException if the sink cannot be written
+     */
+    protected void appendKeys(Appendable out) throws IOException {
         if (privKey != null) {
-            result.append("\nPRIV =\t");
-            result.append(privKey);
+            out.append("\nPRIV =\t");
+            out.append(privKey);
         }
         if (pubKey != null) {
-            result.append("\nPUB =\t");
-            result.append(pubKey);
+            out.append("\nPUB =\t");
+            out.append(pubKey);
+        }
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder result = new StringBuilder();
+        try {
+            appendTo(result);
+        } catch (IOException e) {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
         }
 
         return result.toString();
     }
+
+    /**
+     * Get the address.
+     *
+     * @return Address
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * Get the BIP-32 path from which the address was derived.
+     *
+     * @return Address path
+     */
+    public int[] getPath() {
+        return path;
+    }
+
+    /**
+     * Get the private key used to derive the address, if it is output.
+     *
+     * @return Private key, or null
+     */
+    public String getPrivKey() {
+        return privKey;
+    }
+
+    /**
+     * Get the public key used to derive the address, if it is output.
+     *
+     * @return Public key, or null
+     */
+    public String getPubKey() {
+        return pubKey;
+    }
+
+    /**
+     * Get the raw payload and kind of the address, if the generator supplied them; they save parsing the text address
+     * again.
+     *
+     * @return Decoded address, or null
+     */
+    public DecodedAddress getDecoded() {
+        return decoded;
+    }
 }
@@ -1,5 +1,6 @@
 package com.ashelkov.owg.address;
 
+import com.ashelkov.owg.address.codec.DecodedAddress;
 import com.ashelkov.owg.bip.Constants;
 
 /**
@@ -28,6 +29,17 @@ public class BIP84Address extends BIP44Address {
         super(address, path, privKey, pubKey);
     }
 
+    /**
+     * @param address Address
+     * @param path BIP-84 path from which the address was derived
+     * @param privKey Private key used to derive the address
+     * @param pubKey Public key used to derive the address
+     * @param decoded Raw payload and kind of the address (or null)
+     */
+    public BIP84Address(String address, int[] path, String privKey, String pubKey, DecodedAddress decoded) {
+        super(address, path, privKey, pubKey, decoded);
+    }
+
     /**
      * Validate that purpose value is acceptable for BIP84 address.
      *
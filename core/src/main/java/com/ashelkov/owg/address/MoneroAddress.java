@@ -1,7 +1,9 @@
 package com.ashelkov.owg.address;
 
+import java.io.IOException;
 import java.util.Arrays;
 
+import com.ashelkov.owg.address.codec.DecodedAddress;
 import com.ashelkov.owg.wallet.util.BIP44Utils;
 
 /**
@@ -34,7 +36,18 @@ public class MoneroAddress extends BIP44Address {
      */
     public MoneroAddress(String address, int[] path, String pubSpendKey, String pubViewKey)
     {
-        super(address, Arrays.copyOfRange(path, 0, 2), null, null);
+        this(address, path, pubSpendKey, pubViewKey, null);
+    }
+
+    /**
+     * @param address Address
+     * @param path An ordered set of indices used to verify that the address was derived from BIP-44 path m/44'/128'/0'
+     *             and which 'account' and 'index' indices were used to compute the address (if it is a subaddress)
+     * @param decoded Raw payload (public spend and view keys) and kind of the address (or null)
+     */
+    public MoneroAddress(String address, int[] path, String pubSpendKey, String pubViewKey, DecodedAddress decoded)
+    {
+        super(address, Arrays.copyOfRange(path, 0, 2), null, null, decoded);
 
         this.pubSpendKey = pubSpendKey;
         this.pubViewKey = pubViewKey;
@@ -43,30 +56,67 @@ public class MoneroAddress extends BIP44Address {
     }
 
     @Override
-    public String toString() {
-        StringBuilder result = new StringBuilder();
+    public void appendTo(Appendable out) throws IOException {
         boolean isSubaddress = (account != 0) || (index != 0);
 
         // append address type
         if (isSubaddress) {
-            result.append(String.format("SUBADDRESS(%d, %d)", account, index));
+            out.append("SUBADDRESS(");
+            out.append(Integer.toString(account));
+            out.append(", ");
+            out.append(Integer.toString(index));
+            out.append(')');
         } else {
-            result.append("STANDARD ADDRESS");
+            out.append("STANDARD ADDRESS");
         }
         // append address
-        result.append('\t');
-        result.append(address);
+        out.append('\t');
+        out.append(address);
 
         // append keys, if present
         if (pubSpendKey != null) {
-            result.append("\n\tPUB SPEND\t");
-            result.append(pubSpendKey);
+            out.append("\n\tPUB SPEND\t");
+            out.append(pubSpendKey);
         }
         if (pubViewKey != null) {
-            result.append("\n\tPUB VIEW\t");
-            result.append(pubViewKey);
+            out.append("\n\tPUB VIEW\t");
+            out.append(pubViewKey);
         }
+    }
 
-        return result.toString();
+    /**
+     * Get the public spend key of the address, if it is output.
+     *
+     * @return Public spend key, or null
+     */
+    public String getPubSpendKey() {
+        return pubSpendKey;
+    }
+
+    /**
+     * Get the public view key of the address, if it is output.
+     *
+     * @return Public view key, or null
+     */
+    public String getPubViewKey() {
+        return pubViewKey;
+    }
+
+    /**
+     * Get the subaddress account index (0 for the standard address).
+     *
+     * @return Account index
+     */
+    public int getAccount() {
+        return account;
+    }
+
+    /**
+     * Get the subaddress index within the account (0 for the standard address).
+     *
+     * @return Subaddress index
+     */
+    public int getIndex() {
+        return index;
     }
 }
@@ -0,0 +1,39 @@
+package com.ashelkov.owg.address.codec;
+
+import com.ashelkov.owg.bip.Coin;
+
+/**
+ * Parser for the text addresses of a single coin: decodes an address, verifies its checksum, and checks that its
+ * version/network fields describe a mainnet address.
+ */
+public interface AddressCodec {
+
+    /**
+     * @return Coin whose addresses are parsed
+     */
+    Coin getCoin();
+
+    /**
+     * Decode and verify an address.
+     *
+     * @param address Text address
+     * @return Decoded address
+     * @throws IllegalArgumentException if the address is malformed, fails its checksum, or is not a mainnet address
+     */
+    DecodedAddress decode(String address);
+
+    /**
+     * Check whether an address is valid.
+     *
+     * @param address Text address
+     * @return True if [[decode]] accepts the address
+     */
+    default boolean isValid(String address) {
+        try {
+            decode(address);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
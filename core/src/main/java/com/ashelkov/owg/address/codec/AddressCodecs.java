@@ -0,0 +1,73 @@
+package com.ashelkov.owg.address.codec;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.wallet.util.DigestUtils;
+import com.ashelkov.owg.wallet.util.EncodingUtils;
+
+/**
+ * Registry of the [[AddressCodec]] for every supported [[Coin]].
+ */
+public final class AddressCodecs {
+
+    private static final Map<Coin, AddressCodec> CODECS = new EnumMap<>(Coin.class);
+
+    static {
+        register(new SegwitAddressCodec(Coin.BTC, "bc"));
+        register(new SegwitAddressCodec(Coin.LTC, "ltc"));
+        register(new Base58CheckAddressCodec(
+                Coin.DOGE,
+                address -> EncodingUtils.decodeBase58Bitcoin(address, DigestUtils::sha256d),
+                Map.of(0x1e, Base58CheckAddressCodec.TYPE_P2PKH, 0x16, Base58CheckAddressCodec.TYPE_P2SH)));
+        register(new EthereumAddressCodec());
+        register(new MoneroAddressCodec());
+        register(new Base58CheckAddressCodec(
+                Coin.XRP,
+                address -> EncodingUtils.decodeBase58XRP(address, DigestUtils::sha256d),
+                Map.of(0x00, Base58CheckAddressCodec.TYPE_ACCOUNT)));
+        register(new StellarAddressCodec());
+        register(new AlgorandAddressCodec());
+        register(new ErgoAddressCodec());
+        register(new SegwitAddressCodec(Coin.HNS, "hs"));
+        register(new AvalancheAddressCodec());
+    }
+
+    /**
+     * Get the codec for a coin.
+     *
+     * @param coin Coin
+     * @return Address codec
+     */
+    public static AddressCodec forCoin(Coin coin) {
+        return CODECS.get(coin);
+    }
+
+    /**
+     * Decode an address of unknown coin, trying every codec in [[Coin]] order. Some formats are shared between coins
+     * (e.g. ETH and AVAX C-chain addresses); such addresses are attributed to the first matching coin.
+     *
+     * @param address Text address
+     * @return Decoded address
+     * @throws IllegalArgumentException if no codec accepts the address
+     */
+    public static DecodedAddress decode(String address) {
+
+        for (AddressCodec codec : CODECS.values()) {
+            try {
+                return codec.decode(address);
+            } catch (IllegalArgumentException e) {
+                // Try the next coin
+            }
+        }
+
+        throw new IllegalArgumentException("Not a valid address for any supported coin");
+    }
+
+    private static void register(AddressCodec codec) {
+        CODECS.put(codec.getCoin(), codec);
+    }
+
+    private AddressCodecs() {}
+}
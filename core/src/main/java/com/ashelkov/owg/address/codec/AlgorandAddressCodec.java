@@ -0,0 +1,48 @@
+package com.ashelkov.owg.address.codec;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.wallet.util.DigestUtils;
+import com.ashelkov.owg.wallet.util.EncodingUtils;
+
+import static com.ashelkov.owg.bip.Constants.CHECKSUM_LENGTH;
+import static com.ashelkov.owg.wallet.util.DigestUtils.SHA_512_256;
+
+/**
+ * [[AddressCodec]] for Algorand addresses: a 32-byte ed25519 public key followed by the last 4 bytes of its
+ * SHA-512/256 digest, base-32 encoded without padding.
+ */
+public class AlgorandAddressCodec implements AddressCodec {
+
+    public static final String TYPE_ACCOUNT = "account";
+
+    private static final int ADDRESS_LENGTH = 58;
+    private static final int KEY_LENGTH = 32;
+
+    @Override
+    public Coin getCoin() {
+        return Coin.ALGO;
+    }
+
+    @Override
+    public DecodedAddress decode(String address) {
+
+        if (address.length() != ADDRESS_LENGTH) {
+            throw new IllegalArgumentException("Invalid address length");
+        }
+
+        byte[] decoded = EncodingUtils.decodeBase32(address);
+        byte[] publicKey = Arrays.copyOf(decoded, KEY_LENGTH);
+        byte[] digest = DigestUtils.unsafeDigest(SHA_512_256, publicKey);
+        byte[] expected = Arrays.copyOfRange(digest, digest.length - CHECKSUM_LENGTH, digest.length);
+        byte[] actual = Arrays.copyOfRange(decoded, KEY_LENGTH, KEY_LENGTH + CHECKSUM_LENGTH);
+
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new IllegalArgumentException("Invalid checksum");
+        }
+
+        return new DecodedAddress(Coin.ALGO, TYPE_ACCOUNT, publicKey);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ashelkov.owg.address.codec;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.wallet.util.Bech32;
+
+/**
+ * [[AddressCodec]] for Avalanche addresses: Bech32 X-chain and P-chain addresses ("X-avax1...", "P-avax1..."), and
+ * C-chain addresses, which are Ethereum addresses.
+ */
+public class AvalancheAddressCodec implements AddressCodec {
+
+    public static final String TYPE_C_CHAIN = "C-chain";
+    public static final String TYPE_P_CHAIN = "P-chain";
+    public static final String TYPE_X_CHAIN = "X-chain";
+
+    private static final String BECH32_HRP = "avax";
+    private static final int PAYLOAD_LENGTH = 20;
+
+    @Override
+    public Coin getCoin() {
+        return Coin.AVAX;
+    }
+
+    @Override
+    public DecodedAddress decode(String address) {
+
+        if (address.startsWith("0x")) {
+            return new DecodedAddress(Coin.AVAX, TYPE_C_CHAIN, EthereumAddressCodec.decodeHex(address));
+        }
+
+        String type;
+        if (address.startsWith("X-")) {
+            type = TYPE_X_CHAIN;
+        } else if (address.startsWith("P-")) {
+            type = TYPE_P_CHAIN;
+        } else {
+            throw new IllegalArgumentException("Avalanche addresses start with 'X-', 'P-' or '0x'");
+        }
+
+        byte[] payload = Bech32.decode(Bech32.Encoding.BECH32, BECH32_HRP, address.substring(2));
+        if (payload.length != PAYLOAD_LENGTH) {
+            throw new IllegalArgumentException("Invalid address length");
+        }
+
+        return new DecodedAddress(Coin.AVAX, type, payload);
+    }
+}
@@ -0,0 +1,56 @@
+package com.ashelkov.owg.address.codec;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.ashelkov.owg.bip.Coin;
+
+/**
+ * [[AddressCodec]] for Base58Check addresses: a version byte followed by a 20-byte hash, protected by a 4-byte
+ * checksum.
+ */
+public class Base58CheckAddressCodec implements AddressCodec {
+
+    public static final String TYPE_P2PKH = "P2PKH";
+    public static final String TYPE_P2SH = "P2SH";
+    public static final String TYPE_ACCOUNT = "account";
+
+    private static final int PAYLOAD_LENGTH = 21;
+
+    private final Coin coin;
+    private final Function<String, byte[]> decoder;
+    private final Map<Integer, String> versionTypes;
+
+    /**
+     * @param coin Coin of the addresses
+     * @param decoder Decodes the base58 text, verifying and stripping the checksum
+     * @param versionTypes Mainnet version bytes, and the kind of address each one denotes
+     */
+    public Base58CheckAddressCodec(Coin coin, Function<String, byte[]> decoder, Map<Integer, String> versionTypes) {
+        this.coin = coin;
+        this.decoder = decoder;
+        this.versionTypes = versionTypes;
+    }
+
+    @Override
+    public Coin getCoin() {
+        return coin;
+    }
+
+    @Override
+    public DecodedAddress decode(String address) {
+
+        byte[] payload = decoder.apply(address);
+        if (payload.length != PAYLOAD_LENGTH) {
+            throw new IllegalArgumentException("Invalid address length");
+        }
+
+        String type = versionTypes.get(payload[0] & 0xFF);
+        if (type == null) {
+            throw new IllegalArgumentException(String.format("Unknown address version %d", payload[0] & 0xFF));
+        }
+
+        return new DecodedAddress(coin, type, Arrays.copyOfRange(payload, 1, PAYLOAD_LENGTH));
+    }
+}
@@ -0,0 +1,43 @@
+package com.ashelkov.owg.address.codec;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.wallet.util.EncodingUtils;
+
+/**
+ * Result of decoding a text address: the coin, the kind of address, and its payload (the public key, key hash, or
+ * script hash which the address encodes, without any version bytes or checksum).
+ */
+public class DecodedAddress {
+
+    private final Coin coin;
+    private final String type;
+    private final byte[] payload;
+
+    /**
+     * @param coin Coin of the address
+     * @param type Kind of address (e.g. "P2WPKH", "subaddress")
+     * @param payload Decoded payload
+     */
+    public DecodedAddress(Coin coin, String type, byte[] payload) {
+        this.coin = coin;
+        this.type = type;
+        this.payload = payload;
+    }
+
+    public Coin getCoin() {
+        return coin;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public byte[] getPayload() {
+        return payload.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s\t%s\t%s", coin, type, EncodingUtils.bytesToHex(payload));
+    }
+}
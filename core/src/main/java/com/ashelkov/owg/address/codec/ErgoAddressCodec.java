@@ -0,0 +1,59 @@
+package com.ashelkov.owg.address.codec;
+
+import java.util.Arrays;
+
+import org.web3j.crypto.Hash;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.wallet.util.EncodingUtils;
+
+/**
+ * [[AddressCodec]] for Ergo addresses: a prefix byte (network type + address type) followed by the content bytes,
+ * protected by a 4-byte Blake2b-256 checksum, all base58-encoded. See
+ * https://ergoplatform.org/en/blog/2019_07_24_ergo_address/ .
+ */
+public class ErgoAddressCodec implements AddressCodec {
+
+    public static final String TYPE_P2PK = "P2PK";
+    public static final String TYPE_P2SH = "P2SH";
+    public static final String TYPE_P2S = "P2S";
+
+    private static final int MAINNET = 0x00;
+    private static final int P2PK = 0x01;
+    private static final int P2SH = 0x02;
+    private static final int P2S = 0x03;
+    private static final int P2PK_CONTENT_LENGTH = 33;
+    private static final int P2SH_CONTENT_LENGTH = 24;
+
+    @Override
+    public Coin getCoin() {
+        return Coin.ERG;
+    }
+
+    @Override
+    public DecodedAddress decode(String address) {
+
+        byte[] payload = EncodingUtils.decodeBase58Bitcoin(address, Hash::blake2b256);
+        if (payload.length < 2) {
+            throw new IllegalArgumentException("Invalid address length");
+        }
+
+        int prefix = payload[0] & 0xFF;
+        if ((prefix & 0xF0) != MAINNET) {
+            throw new IllegalArgumentException("Not a mainnet Ergo address");
+        }
+
+        byte[] content = Arrays.copyOfRange(payload, 1, payload.length);
+        String type = switch (prefix & 0x0F) {
+            case P2PK -> (content.length == P2PK_CONTENT_LENGTH) ? TYPE_P2PK : null;
+            case P2SH -> (content.length == P2SH_CONTENT_LENGTH) ? TYPE_P2SH : null;
+            case P2S -> TYPE_P2S;
+            default -> null;
+        };
+        if (type == null) {
+            throw new IllegalArgumentException("Invalid Ergo address type or length");
+        }
+
+        return new DecodedAddress(Coin.ERG, type, content);
+    }
+}
@@ -0,0 +1,58 @@
+package com.ashelkov.owg.address.codec;
+
+import org.web3j.utils.Numeric;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.wallet.util.Eip55;
+
+/**
+ * [[AddressCodec]] for Ethereum addresses: "0x" followed by 40 hex characters. Mixed-case addresses must carry a valid
+ * [EIP-55](https://eips.ethereum.org/EIPS/eip-55) checksum; all-lowercase and all-uppercase addresses carry none.
+ */
+public class EthereumAddressCodec implements AddressCodec {
+
+    public static final String TYPE_EIP55 = "EIP-55";
+    public static final String TYPE_HEX = "hex";
+
+    @Override
+    public Coin getCoin() {
+        return Coin.ETH;
+    }
+
+    @Override
+    public DecodedAddress decode(String address) {
+        byte[] payload = decodeHex(address);
+        return new DecodedAddress(Coin.ETH, isChecksummed(address) ? TYPE_EIP55 : TYPE_HEX, payload);
+    }
+
+    /**
+     * Decode a hex address, verifying its EIP-55 checksum if it has one.
+     *
+     * @param address Text address
+     * @return 20-byte address
+     */
+    static byte[] decodeHex(String address) {
+
+        if ((address.length() != Eip55.ENCODED_LENGTH) || !address.startsWith("0x")) {
+            throw new IllegalArgumentException("Ethereum addresses are '0x' followed by 40 hex characters");
+        }
+        for (int i = 2; i < Eip55.ENCODED_LENGTH; ++i) {
+            if (Character.digit(address.charAt(i), 16) < 0) {
+                throw new IllegalArgumentException(
+                        String.format("Invalid hex character '%c'", address.charAt(i)));
+            }
+        }
+
+        byte[] payload = Numeric.hexStringToByteArray(address);
+        if (isChecksummed(address) && !Eip55.matchesChecksum(address, payload)) {
+            throw new IllegalArgumentException("Invalid EIP-55 checksum");
+        }
+
+        return payload;
+    }
+
+    private static boolean isChecksummed(String address) {
+        String hex = address.substring(2);
+        return !hex.equals(hex.toLowerCase()) && !hex.equals(hex.toUpperCase());
+    }
+}
@@ -0,0 +1,55 @@
+package com.ashelkov.owg.address.codec;
+
+import java.util.Arrays;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.wallet.util.DigestUtils;
+import com.ashelkov.owg.wallet.util.EncodingUtils;
+
+import static com.ashelkov.owg.wallet.util.DigestUtils.KECCAK_256;
+
+/**
+ * [[AddressCodec]] for Monero mainnet addresses: a network byte, the public spend and view keys, and (for integrated
+ * addresses) a payment ID, protected by a 4-byte Keccak-256 checksum and encoded with Monero's block base58.
+ */
+public class MoneroAddressCodec implements AddressCodec {
+
+    public static final String TYPE_STANDARD = "standard";
+    public static final String TYPE_INTEGRATED = "integrated";
+    public static final String TYPE_SUBADDRESS = "subaddress";
+
+    private static final int STANDARD = 0x12;
+    private static final int INTEGRATED = 0x13;
+    private static final int SUBADDRESS = 0x2a;
+    // Network byte + public spend key + public view key (+ payment ID)
+    private static final int KEYS_LENGTH = 65;
+    private static final int INTEGRATED_LENGTH = 73;
+
+    @Override
+    public Coin getCoin() {
+        return Coin.XMR;
+    }
+
+    @Override
+    public DecodedAddress decode(String address) {
+
+        byte[] payload = EncodingUtils.decodeBase58Monero(
+                address,
+                data -> DigestUtils.unsafeDigest(KECCAK_256, data));
+        if (payload.length == 0) {
+            throw new IllegalArgumentException("Invalid address length");
+        }
+
+        String type = switch (payload[0] & 0xFF) {
+            case STANDARD -> (payload.length == KEYS_LENGTH) ? TYPE_STANDARD : null;
+            case SUBADDRESS -> (payload.length == KEYS_LENGTH) ? TYPE_SUBADDRESS : null;
+            case INTEGRATED -> (payload.length == INTEGRATED_LENGTH) ? TYPE_INTEGRATED : null;
+            default -> null;
+        };
+        if (type == null) {
+            throw new IllegalArgumentException("Invalid Monero network byte or address length");
+        }
+
+        return new DecodedAddress(Coin.XMR, type, Arrays.copyOfRange(payload, 1, payload.length));
+    }
+}
@@ -0,0 +1,50 @@
+package com.ashelkov.owg.address.codec;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.wallet.util.Bech32;
+
+/**
+ * [[AddressCodec]] for segregated witness addresses (Bech32 for witness version 0, Bech32m for later versions).
+ */
+public class SegwitAddressCodec implements AddressCodec {
+
+    public static final String TYPE_P2WPKH = "P2WPKH";
+    public static final String TYPE_P2WSH = "P2WSH";
+    public static final String TYPE_P2TR = "P2TR";
+
+    private final Coin coin;
+    private final String hrp;
+
+    /**
+     * @param coin Coin of the addresses
+     * @param hrp Mainnet human-readable part of the addresses
+     */
+    public SegwitAddressCodec(Coin coin, String hrp) {
+        this.coin = coin;
+        this.hrp = hrp;
+    }
+
+    @Override
+    public Coin getCoin() {
+        return coin;
+    }
+
+    @Override
+    public DecodedAddress decode(String address) {
+
+        Bech32.Decoded decoded = Bech32.decode(address);
+        byte[] program = Bech32.toSegwitProgram(decoded, hrp);
+        int witnessVersion = decoded.getWitnessVersion();
+
+        String type;
+        if (witnessVersion == 0) {
+            type = (program.length == 20) ? TYPE_P2WPKH : TYPE_P2WSH;
+        } else if ((witnessVersion == 1) && (program.length == 32)) {
+            type = TYPE_P2TR;
+        } else {
+            type = "witness v" + witnessVersion;
+        }
+
+        return new DecodedAddress(coin, type, program);
+    }
+}
@@ -0,0 +1,67 @@
+package com.ashelkov.owg.address.codec;
+
+import java.util.Arrays;
+
+import com.ashelkov.owg.bip.Coin;
+import com.ashelkov.owg.wallet.util.EncodingUtils;
+
+/**
+ * [[AddressCodec]] for Stellar account IDs ("G..." StrKeys): a version byte and a 32-byte ed25519 public key,
+ * protected by a little-endian CRC16-XModem checksum, all base-32 encoded. See
+ * https://github.com/stellar/stellar-protocol/blob/master/ecosystem/sep-0023.md .
+ */
+public class StellarAddressCodec implements AddressCodec {
+
+    public static final String TYPE_ACCOUNT = "account";
+
+    private static final int ADDRESS_LENGTH = 56;
+    // Account ID version byte: 6 << 3, which encodes as 'G'
+    private static final int VERSION_ACCOUNT_ID = 0x30;
+    private static final int KEY_LENGTH = 32;
+
+    @Override
+    public Coin getCoin() {
+        return Coin.XLM;
+    }
+
+    @Override
+    public DecodedAddress decode(String address) {
+
+        if (address.length() != ADDRESS_LENGTH) {
+            throw new IllegalArgumentException("Invalid address length");
+        }
+
+        byte[] decoded = EncodingUtils.decodeBase32(address);
+        if ((decoded[0] & 0xFF) != VERSION_ACCOUNT_ID) {
+            throw new IllegalArgumentException("Not a Stellar account ID");
+        }
+
+        int checksum = crc16(decoded, 1 + KEY_LENGTH);
+        int expected = (decoded[1 + KEY_LENGTH] & 0xFF) | ((decoded[2 + KEY_LENGTH] & 0xFF) << 8);
+        if (checksum != expected) {
+            throw new IllegalArgumentException("Invalid checksum");
+        }
+
+        return new DecodedAddress(Coin.XLM, TYPE_ACCOUNT, Arrays.copyOfRange(decoded, 1, 1 + KEY_LENGTH));
+    }
+
+    /**
+     * CRC16-XModem (polynomial 0x1021, initial value 0).
+     *
+     * @param data Input bytes
+     * @param length Number of bytes to checksum
+     * @return 16-bit checksum
+     */
+    private static int crc16(byte[] data, int length) {
+
+        int crc = 0;
+        for (int i = 0; i < length; ++i) {
+            crc ^= (data[i] & 0xFF) << 8;
+            for (int bit = 0; bit < 8; ++bit) {
+                crc = ((crc & 0x8000) != 0) ? ((crc << 1) ^ 0x1021) : (crc << 1);
+            }
+        }
+
+        return crc & 0xFFFF;
+    }
+}
@@ -0,0 +1,157 @@
+package com.ashelkov.owg.coin.xmr;
+
+import net.i2p.crypto.eddsa.math.GroupElement;
+import org.bouncycastle.crypto.digests.KeccakDigest;
+
+import com.ashelkov.owg.wallet.util.Ed25519Utils;
+
+import static com.ashelkov.owg.wallet.util.Ed25519Utils.ED_25519_CURVE_SPEC;
+
+/**
+ * Engine deriving the public keys of Monero subaddresses for a single wallet. For more information regarding Monero
+ * subaddresses, see https://monerodocs.org/public-address/subaddress/ .
+ *
+ * The public keys of subaddress (account, index) are:
+ *
+ *     m = Hs("SubAddr\0" || a || account || index)
+ *     D = m*G + S
+ *     C = a*D = m*A + a*S
+ *
+ * where a is the private view key, S = s*G is the public spend key, and A = a*G is the public view key. Computing C as
+ * m*A + a*S rather than a*D avoids serializing and decompressing D, and replaces a variable-base multiplication with a
+ * fixed-base one: the multiples of A and the point a*S are precomputed once per wallet, so each subaddress costs two
+ * fixed-base multiplications and two additions.
+ *
+ * Instances are thread-safe.
+ */
+public class MoneroSubaddressEngine {
+
+    public static final int KEY_LENGTH = 32;
+
+    // "SubAddr" as null-terminated byte array
+    private static final byte[] SUBADDRESS_PREFIX = {'S', 'u', 'b', 'A', 'd', 'd', 'r', 0x00};
+    // Prefix + Standard Private View Key + Account + Index = 8 + 32 + 4 + 4 = 48
+    private static final int SUBADDRESS_BASE_LENGTH = 48;
+
+    private final byte[] privateViewKey;
+    private final GroupElement publicViewKey;
+    private final GroupElement cachedPublicSpendKey;
+    private final GroupElement cachedViewSpendProduct;
+
+    // Per-thread hash input buffer (pre-filled with the prefix and view key) and Keccak engine
+    private final ThreadLocal<Scratch> scratch;
+
+    /**
+     * @param privateViewKey Private view key of the wallet (32-byte little-endian scalar)
+     * @param publicSpendKey Public spend key of the wallet (32-byte encoded point)
+     */
+    public MoneroSubaddressEngine(byte[] privateViewKey, byte[] publicSpendKey) {
+
+        if ((privateViewKey.length != KEY_LENGTH) || (publicSpendKey.length != KEY_LENGTH)) {
+            throw new IllegalArgumentException("Monero keys must be 32 bytes long");
+        }
+
+        this.privateViewKey = privateViewKey.clone();
+
+        // Decoding with precomputation builds the tables needed for fixed-base multiplication by each point
+        GroupElement spendPoint = ED_25519_CURVE_SPEC.getCurve().createPoint(publicSpendKey, true);
+        this.publicViewKey = ED_25519_CURVE_SPEC
+                .getCurve()
+                .createPoint(ED_25519_CURVE_SPEC.getB().scalarMultiply(privateViewKey).toByteArray(), true);
+        this.cachedPublicSpendKey = spendPoint.toCached();
+        this.cachedViewSpendProduct = spendPoint.scalarMultiply(privateViewKey).toCached();
+
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(this.privateViewKey));
+    }
+
+    /**
+     * Get the public view key (A = a*G) of the wallet.
+     *
+     * @return 32-byte encoded public view key
+     */
+    public byte[] getPublicViewKey() {
+        return publicViewKey.toByteArray();
+    }
+
+    /**
+     * Compute the subaddress secret scalar m = Hs("SubAddr\0" || a || account || index).
+     *
+     * @param account Subaddress account
+     * @param index Subaddress index
+     * @return 32-byte little-endian scalar, reduced modulo the group order
+     */
+    public byte[] deriveSecretScalar(int account, int index) {
+
+        Scratch local = scratch.get();
+        byte[] input = local.input;
+        writeIntLE(account, input, 40);
+        writeIntLE(index, input, 44);
+
+        local.keccak.update(input, 0, SUBADDRESS_BASE_LENGTH);
+        local.keccak.doFinal(local.hash, 0);
+
+        return Ed25519Utils.reduce32(local.hash);
+    }
+
+    /**
+     * Derive the public spend key (D) of a subaddress.
+     *
+     * @param account Subaddress account
+     * @param index Subaddress index
+     * @return 32-byte encoded public spend key
+     */
+    public byte[] derivePublicSpendKey(int account, int index) {
+
+        byte[] m = deriveSecretScalar(account, index);
+
+        return ED_25519_CURVE_SPEC.getB().scalarMultiply(m).add(cachedPublicSpendKey).toByteArray();
+    }
+
+    /**
+     * Derive the public spend key (D) and public view key (C) of a subaddress.
+     *
+     * @param account Subaddress account
+     * @param index Subaddress index
+     * @param publicSpendKeyOut 32-byte array into which to write the public spend key
+     * @param publicViewKeyOut 32-byte array into which to write the public view key
+     */
+    public void derivePublicKeys(int account, int index, byte[] publicSpendKeyOut, byte[] publicViewKeyOut) {
+
+        byte[] m = deriveSecretScalar(account, index);
+
+        byte[] d = ED_25519_CURVE_SPEC.getB().scalarMultiply(m).add(cachedPublicSpendKey).toByteArray();
+        byte[] c = publicViewKey.scalarMultiply(m).add(cachedViewSpendProduct).toByteArray();
+
+        System.arraycopy(d, 0, publicSpendKeyOut, 0, KEY_LENGTH);
+        System.arraycopy(c, 0, publicViewKeyOut, 0, KEY_LENGTH);
+    }
+
+    /**
+     * Write a 32-bit integer into a buffer in little-endian order.
+     *
+     * @param value Integer to write
+     * @param buffer Output buffer
+     * @param offset Offset at which to write
+     */
+    private static void writeIntLE(int value, byte[] buffer, int offset) {
+        buffer[offset] = (byte)value;
+        buffer[offset + 1] = (byte)(value >> 8);
+        buffer[offset + 2] = (byte)(value >> 16);
+        buffer[offset + 3] = (byte)(value >> 24);
+    }
+
+    /**
+     * Thread-confined hashing state.
+     */
+    private static final class Scratch {
+
+        private final byte[] input = new byte[SUBADDRESS_BASE_LENGTH];
+        private final byte[] hash = new byte[KEY_LENGTH];
+        private final KeccakDigest keccak = new KeccakDigest(256);
+
+        private Scratch(byte[] privateViewKey) {
+            System.arraycopy(SUBADDRESS_PREFIX, 0, input, 0, SUBADDRESS_PREFIX.length);
+            System.arraycopy(privateViewKey, 0, input, SUBADDRESS_PREFIX.length, KEY_LENGTH);
+        }
+    }
+}
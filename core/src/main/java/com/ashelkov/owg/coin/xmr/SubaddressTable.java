@@ -0,0 +1,381 @@
+package com.ashelkov.owg.coin.xmr;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Persistent hash table from Monero subaddress public spend key to subaddress (account, index), equivalent to the
+ * subaddress table kept by Monero's wallet2 for scanning incoming payments.
+ *
+ * The table is a memory-mapped file made of a 64-byte header followed by fixed-width 40-byte slots:
+ *
+ *     header: magic (8) | version (4) | capacity (4) | size (4) | accounts (4) | indexes (4) | reserved (4) |
+ *             wallet public spend key (32)
+ *     slot:   subaddress public spend key (32) | account (4) | index (4)
+ *
+ * All integers are little-endian. Slots use open addressing with linear probing, starting from the slot selected by
+ * the first 8 bytes of the key (public keys are uniformly distributed). An all-zero key marks an empty slot. The table
+ * covers the rectangle of subaddresses [0, accounts) x [0, indexes); it grows (and is rehashed into a larger file) as
+ * the rectangle is extended, keeping the load factor at or below 1/2.
+ *
+ * Lookups may run concurrently with each other, but not with insertions.
+ */
+public final class SubaddressTable implements Closeable {
+
+    // "OWGXMRT1" as little-endian bytes
+    public static final long MAGIC = 0x3154524d5847574fL;
+    public static final int VERSION = 1;
+    public static final int HEADER_LENGTH = 64;
+    public static final int SLOT_LENGTH = 40;
+    public static final int MIN_CAPACITY = 1 << 4;
+    // Largest power-of-two slot count whose file still fits in a single mapping
+    public static final int MAX_CAPACITY = 1 << 25;
+
+    private static final int KEY_LENGTH = MoneroSubaddressEngine.KEY_LENGTH;
+
+    private static final int OFFSET_MAGIC = 0;
+    private static final int OFFSET_VERSION = 8;
+    private static final int OFFSET_CAPACITY = 12;
+    private static final int OFFSET_SIZE = 16;
+    private static final int OFFSET_ACCOUNTS = 20;
+    private static final int OFFSET_INDEXES = 24;
+    private static final int OFFSET_SPEND_KEY = 32;
+
+    private final Path path;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int size;
+
+    private SubaddressTable(Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = buffer.getInt(OFFSET_CAPACITY);
+        this.size = buffer.getInt(OFFSET_SIZE);
+    }
+
+    /**
+     * Create a new, empty table file (overwriting any existing file at the same path).
+     *
+     * @param path Location of the table file
+     * @param publicSpendKey Public spend key of the wallet to which the table belongs
+     * @param expectedEntries Number of entries for which to reserve space
+     * @return Open table
+     * @throws IOException if the file cannot be created
+     */
+    public static SubaddressTable create(Path path, byte[] publicSpendKey, long expectedEntries) throws IOException {
+
+        if (publicSpendKey.length != KEY_LENGTH) {
+            throw new IllegalArgumentException("Monero keys must be 32 bytes long");
+        }
+
+        int capacity = capacityFor(expectedEntries);
+        FileChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = map(channel, capacity);
+
+        buffer.putLong(OFFSET_MAGIC, MAGIC);
+        buffer.putInt(OFFSET_VERSION, VERSION);
+        buffer.putInt(OFFSET_CAPACITY, capacity);
+        buffer.putInt(OFFSET_SIZE, 0);
+        buffer.putInt(OFFSET_ACCOUNTS, 0);
+        buffer.putInt(OFFSET_INDEXES, 0);
+        buffer.put(OFFSET_SPEND_KEY, publicSpendKey);
+
+        return new SubaddressTable(path, channel, buffer);
+    }
+
+    /**
+     * Open an existing table file.
+     *
+     * @param path Location of the table file
+     * @return Open table
+     * @throws IOException if the file cannot be read, or is not a subaddress table
+     */
+    public static SubaddressTable open(Path path) throws IOException {
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (channel.size() < HEADER_LENGTH) {
+            channel.close();
+            throw new IOException(String.format("'%s' is not a Monero subaddress table", path));
+        }
+
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_LENGTH);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        int capacity = header.getInt(OFFSET_CAPACITY);
+
+        if ((header.getLong(OFFSET_MAGIC) != MAGIC)
+                || (header.getInt(OFFSET_VERSION) != VERSION)
+                || (Integer.bitCount(capacity) != 1)
+                || (capacity > MAX_CAPACITY)
+                || (channel.size() != fileLength(capacity))) {
+            channel.close();
+            throw new IOException(String.format("'%s' is not a valid Monero subaddress table", path));
+        }
+
+        return new SubaddressTable(path, channel, map(channel, capacity));
+    }
+
+    /**
+     * Get the public spend key of the wallet to which the table belongs.
+     *
+     * @return 32-byte encoded public spend key
+     */
+    public byte[] getPublicSpendKey() {
+        byte[] key = new byte[KEY_LENGTH];
+        buffer.get(OFFSET_SPEND_KEY, key);
+        return key;
+    }
+
+    /**
+     * Get the number of subaddress accounts covered by the table.
+     *
+     * @return Number of accounts
+     */
+    public int getAccounts() {
+        return buffer.getInt(OFFSET_ACCOUNTS);
+    }
+
+    /**
+     * Get the number of subaddress indexes per account covered by the table.
+     *
+     * @return Number of indexes
+     */
+    public int getIndexes() {
+        return buffer.getInt(OFFSET_INDEXES);
+    }
+
+    /**
+     * Record that the table now covers the subaddresses [0, accounts) x [0, indexes). Callers must have inserted all
+     * of the newly covered subaddresses first.
+     *
+     * @param accounts Number of accounts
+     * @param indexes Number of indexes
+     */
+    public void setCoverage(int accounts, int indexes) {
+        buffer.putInt(OFFSET_ACCOUNTS, accounts);
+        buffer.putInt(OFFSET_INDEXES, indexes);
+    }
+
+    /**
+     * Get the number of entries in the table.
+     *
+     * @return Entry count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the number of slots in the table.
+     *
+     * @return Slot count
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Make sure that the table can hold a given number of entries without exceeding its maximum load factor, growing
+     * and rehashing it into a larger file if necessary.
+     *
+     * @param expectedEntries Total number of entries the table must be able to hold
+     * @throws IOException if the table cannot be grown
+     */
+    public void reserve(long expectedEntries) throws IOException {
+
+        int newCapacity = capacityFor(expectedEntries);
+        if (newCapacity <= capacity) {
+            return;
+        }
+
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (SubaddressTable grown = create(tempPath, getPublicSpendKey(), expectedEntries)) {
+            byte[] key = new byte[KEY_LENGTH];
+            for (int slot = 0; slot < capacity; ++slot) {
+                long offset = slotOffset(slot);
+                if (!isEmpty(offset)) {
+                    buffer.get((int)offset, key);
+                    grown.put(key, buffer.getInt((int)offset + KEY_LENGTH), buffer.getInt((int)offset + KEY_LENGTH + 4));
+                }
+            }
+            grown.setCoverage(getAccounts(), getIndexes());
+        }
+
+        close();
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+
+        SubaddressTable reopened = open(path);
+        this.channel = reopened.channel;
+        this.buffer = reopened.buffer;
+        this.capacity = reopened.capacity;
+        this.size = reopened.size;
+    }
+
+    /**
+     * Insert a subaddress, or update its (account, index) if its key is already present.
+     *
+     * @param publicSpendKey 32-byte public spend key of the subaddress
+     * @param account Subaddress account
+     * @param index Subaddress index
+     */
+    public void put(byte[] publicSpendKey, int account, int index) {
+
+        if ((2L * (size + 1)) > capacity) {
+            throw new IllegalStateException("Subaddress table is full; reserve more space first");
+        }
+
+        int slot = findSlot(publicSpendKey);
+        long offset = slotOffset(slot);
+
+        if (isEmpty(offset)) {
+            buffer.put((int)offset, publicSpendKey);
+            buffer.putInt(OFFSET_SIZE, ++size);
+        }
+        buffer.putInt((int)offset + KEY_LENGTH, account);
+        buffer.putInt((int)offset + KEY_LENGTH + 4, index);
+    }
+
+    /**
+     * Look up the subaddress with a given public spend key.
+     *
+     * @param publicSpendKey 32-byte public spend key
+     * @return Array containing the account and index of the subaddress, or null if the key is not in the table
+     */
+    public int[] lookup(byte[] publicSpendKey) {
+
+        long offset = slotOffset(findSlot(publicSpendKey));
+
+        if (isEmpty(offset)) {
+            return null;
+        }
+
+        return new int[] {buffer.getInt((int)offset + KEY_LENGTH), buffer.getInt((int)offset + KEY_LENGTH + 4)};
+    }
+
+    /**
+     * Flush changes to disk and release the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            buffer.force();
+            channel.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "SubaddressTable(path = %s, accounts = %d, indexes = %d, size = %d, capacity = %d)",
+                path,
+                getAccounts(),
+                getIndexes(),
+                size,
+                capacity);
+    }
+
+    /**
+     * Find the slot holding a key, or the empty slot at which the key would be inserted.
+     *
+     * @param key 32-byte key
+     * @return Slot number
+     */
+    private int findSlot(byte[] key) {
+
+        if (key.length != KEY_LENGTH) {
+            throw new IllegalArgumentException("Monero keys must be 32 bytes long");
+        }
+
+        long k0 = readLongLE(key, 0);
+        long k1 = readLongLE(key, 8);
+        long k2 = readLongLE(key, 16);
+        long k3 = readLongLE(key, 24);
+
+        if ((k0 | k1 | k2 | k3) == 0) {
+            throw new IllegalArgumentException("The all-zero key cannot be stored in a subaddress table");
+        }
+
+        int mask = capacity - 1;
+        int slot = (int)(k0 ^ (k0 >>> 32)) & mask;
+
+        while (true) {
+            int offset = (int)slotOffset(slot);
+            long s0 = buffer.getLong(offset);
+            long s1 = buffer.getLong(offset + 8);
+            long s2 = buffer.getLong(offset + 16);
+            long s3 = buffer.getLong(offset + 24);
+
+            if (((s0 | s1 | s2 | s3) == 0) || ((s0 == k0) && (s1 == k1) && (s2 == k2) && (s3 == k3))) {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private boolean isEmpty(long offset) {
+        int o = (int)offset;
+        return (buffer.getLong(o) | buffer.getLong(o + 8) | buffer.getLong(o + 16) | buffer.getLong(o + 24)) == 0;
+    }
+
+    private static long slotOffset(int slot) {
+        return HEADER_LENGTH + ((long)slot * SLOT_LENGTH);
+    }
+
+    private static long fileLength(int capacity) {
+        return slotOffset(capacity);
+    }
+
+    private static long readLongLE(byte[] bytes, int offset) {
+        long result = 0;
+        for (int i = 7; i >= 0; --i) {
+            result = (result << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return result;
+    }
+
+    /**
+     * Compute the smallest power-of-two slot count which keeps the load factor at or below 1/2.
+     *
+     * @param expectedEntries Number of entries
+     * @return Slot count
+     */
+    private static int capacityFor(long expectedEntries) {
+
+        if ((2 * expectedEntries) > MAX_CAPACITY) {
+            throw new IllegalArgumentException(String.format(
+                    "Too many subaddresses for a single table: %d (limit is %d)",
+                    expectedEntries,
+                    MAX_CAPACITY / 2));
+        }
+
+        int capacity = MIN_CAPACITY;
+        while (capacity < (2 * expectedEntries)) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, int capacity) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileLength(capacity));
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
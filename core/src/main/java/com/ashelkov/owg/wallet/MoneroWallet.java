@@ -1,5 +1,6 @@
 package com.ashelkov.owg.wallet;
 
+import java.io.IOException;
 import java.util.List;
 
 import com.ashelkov.owg.address.BIP44Address;
@@ -28,44 +29,58 @@ public class MoneroWallet extends SingleCoinWallet {
     }
 
     @Override
-    public String toString() {
-
-        StringBuilder result = new StringBuilder();
+    public void appendTo(Appendable out) throws IOException {
 
         // warn users of subaddress risks
         if (hasSubaddresses) {
-            result.append("WARNING: Monero subaddresses are not fully supported by most Monero wallets.\n");
-            result.append("         You should think of them as an experimental convenience feature.\n");
-            result.append("         Do your own research and use them at your own risk!\n");
+            out.append("WARNING: Monero subaddresses are not fully supported by most Monero wallets.\n");
+            out.append("         You should think of them as an experimental convenience feature.\n");
+            out.append("         Do your own research and use them at your own risk!\n");
         }
 
         // append coin name
-        result.append(coin);
-        result.append(':');
+        out.append(coin.toString());
+        out.append(':');
 
         // append path (all Monero wallets use the exact same path)
-        result.append("\n(m/");
-        result.append(BIP44Address.PURPOSE);
-        result.append("'/");
-        result.append(XMR);
-        result.append("'/0')");
+        out.append("\n(m/");
+        out.append(Integer.toString(BIP44Address.PURPOSE));
+        out.append("'/");
+        out.append(XMR.toString());
+        out.append("'/0')");
 
         // append private spend/view keys, if present
         if (privateSpendKey != null) {
-            result.append("\n\tPRIV SPEND\t");
-            result.append(privateSpendKey);
+            out.append("\n\tPRIV SPEND\t");
+            out.append(privateSpendKey);
         }
         if (privateViewKey != null) {
-            result.append("\n\tPRIV VIEW\t");
-            result.append(privateViewKey);
+            out.append("\n\tPRIV VIEW\t");
+            out.append(privateViewKey);
         }
 
         // append addresses
         for (BIP44Address address : addresses) {
-            result.append("\n");
-            result.append(address.toString());
+            out.append("\n");
+            address.appendTo(out);
         }
+    }
+
+    /**
+     * Get the private spend key of this wallet, if it is output.
+     *
+     * @return Private spend key, or null
+     */
+    public String getPrivateSpendKey() {
+        return privateSpendKey;
+    }
 
-        return result.toString();
+    /**
+     * Get the private view key of this wallet, if it is output.
+     *
+     * @return Private view key, or null
+     */
+    public String getPrivateViewKey() {
+        return privateViewKey;
     }
 }
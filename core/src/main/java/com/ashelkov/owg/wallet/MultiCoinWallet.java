@@ -1,5 +1,6 @@
 package com.ashelkov.owg.wallet;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -25,17 +26,25 @@ public class MultiCoinWallet extends Wallet {
     }
 
     @Override
-    public String toString() {
+    public void appendTo(Appendable out) throws IOException {
 
-        StringBuilder result = new StringBuilder();
+        boolean first = true;
 
         for (SingleCoinWallet wallet : subWallets) {
-            result.append("\n\n");
-            result.append(wallet.toString());
+            if (!first) {
+                out.append("\n\n");
+            }
+            wallet.appendTo(out);
+            first = false;
         }
+    }
 
-        result.delete(0, 2);
-
-        return result.toString();
+    /**
+     * Get the per-coin wallets of this wallet.
+     *
+     * @return Per-coin wallets
+     */
+    public List<SingleCoinWallet> getSubWallets() {
+        return subWallets;
     }
 }
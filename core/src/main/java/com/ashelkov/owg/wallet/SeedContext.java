@@ -0,0 +1,117 @@
+package com.ashelkov.owg.wallet;
+
+import com.ashelkov.owg.address.BIP44Address;
+import com.ashelkov.owg.address.BIP84Address;
+import com.ashelkov.owg.wallet.util.Bip32NodeCache;
+import com.ashelkov.owg.wallet.util.Slip10NodeCache;
+
+import static com.ashelkov.owg.bip.Constants.HARDENED;
+
+/**
+ * Derivation state shared by every wallet generator working from the same seed.
+ *
+ * Each supported curve has a single master node per seed: the secp256k1 master key pair for
+ * [BIP-32](https://github.com/bitcoin/bips/blob/master/bip-0032.mediawiki) coins, and the ed25519 master node for
+ * [SLIP-0010](https://github.com/satoshilabs/slips/blob/master/slip-0010.md) coins. Both, along with the m/44' and m/84'
+ * purpose nodes, are computed at most once per seed (and only on first use), no matter how many generators use them.
+ */
+public class SeedContext {
+
+    private static final int BIP44_PURPOSE = BIP44Address.PURPOSE | HARDENED;
+    private static final int BIP84_PURPOSE = BIP84Address.PURPOSE | HARDENED;
+
+    private final byte[] seed;
+
+    private volatile Bip32NodeCache secp256k1Nodes;
+    private volatile Slip10NodeCache ed25519Nodes;
+
+    /**
+     * @param seed Random seed, the BIP-39 output
+     */
+    public SeedContext(byte[] seed) {
+
+        if (seed.length == 0) {
+            throw new IllegalArgumentException("Empty seed");
+        }
+
+        this.seed = seed;
+    }
+
+    /**
+     * Get the random seed.
+     *
+     * @return Seed
+     */
+    public byte[] getSeed() {
+        return seed;
+    }
+
+    /**
+     * Get the secp256k1 derivation tree for the seed. The m/44' and m/84' purpose nodes are derived along with the
+     * master key pair, since every secp256k1 coin path starts with one of them.
+     *
+     * @return secp256k1 derivation node cache
+     */
+    public Bip32NodeCache getSecp256k1Nodes() {
+        Bip32NodeCache result = secp256k1Nodes;
+
+        if (result == null) {
+            synchronized (this) {
+                result = secp256k1Nodes;
+                if (result == null) {
+                    result = new Bip32NodeCache(seed);
+                    result.getKeyPair(new int[] {BIP44_PURPOSE});
+                    result.getKeyPair(new int[] {BIP84_PURPOSE});
+                    secp256k1Nodes = result;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the SLIP-0010 ed25519 derivation tree for the seed. The m/44' purpose node is derived along with the master
+     * node, since every ed25519 coin path starts with it.
+     *
+     * @return ed25519 derivation node cache
+     */
+    public Slip10NodeCache getEd25519Nodes() {
+        Slip10NodeCache result = ed25519Nodes;
+
+        if (result == null) {
+            synchronized (this) {
+                result = ed25519Nodes;
+                if (result == null) {
+                    result = new Slip10NodeCache(seed);
+                    result.getNode(BIP44_PURPOSE);
+                    ed25519Nodes = result;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Derive a SLIP-0010 ed25519 private key for a full path. Every node along the path except the last one is
+     * cached, so keys which share a path prefix only cost their final hardened step.
+     *
+     * @param path Path elements; all of them are treated as hardened
+     * @return Private key
+     */
+    public byte[] deriveEd25519PrivateKey(int... path) {
+        return getEd25519Nodes().derivePrivateKey(path);
+    }
+
+    @Override
+    public String toString() {
+        Bip32NodeCache secp256k1 = secp256k1Nodes;
+        Slip10NodeCache ed25519 = ed25519Nodes;
+
+        return String.format(
+                "SeedContext(secp256k1 = %s, ed25519 = %s)",
+                (secp256k1 == null) ? "unused" : secp256k1.toString(),
+                (ed25519 == null) ? "unused" : ed25519.toString());
+    }
+}
@@ -1,5 +1,6 @@
 package com.ashelkov.owg.wallet;
 
+import java.io.IOException;
 import java.util.List;
 
 import com.ashelkov.owg.address.BIP44Address;
@@ -24,21 +25,17 @@ public abstract class SingleCoinWallet extends Wallet {
     }
 
     @Override
-    public String toString() {
-
-        StringBuilder result = new StringBuilder();
+    public void appendTo(Appendable out) throws IOException {
 
         // append coin name
-        result.append(coin);
-        result.append(':');
+        out.append(coin.toString());
+        out.append(':');
 
         // append addresses
         for (BIP44Address address : addresses) {
-            result.append('\n');
-            result.append(address.toString());
+            out.append('\n');
+            address.appendTo(out);
         }
-
-        return result.toString();
     }
 
     /**
@@ -51,6 +48,16 @@ public abstract class SingleCoinWallet extends Wallet {
         return coin.toString();
     }
 
+    /**
+     * Get the addresses of this wallet. For wallets produced by a lazy generator, this is an
+     * [[com.ashelkov.owg.wallet.generators.AddressRange]] which derives the addresses as they are traversed.
+     *
+     * @return Wallet addresses
+     */
+    public List<BIP44Address> getAddresses() {
+        return addresses;
+    }
+
     /**
      * Get the coin type of this wallet.
      *
@@ -1,15 +1,40 @@
 package com.ashelkov.owg.wallet;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 /**
  * Representation of a cryptocurrency "wallet": one or more addresses for one or more cryptocurrencies, all derived from
  * a single random seed.
+ *
+ * Wallets are rendered as text with [[appendTo]], which writes straight into a sink (e.g. a buffered file writer), so
+ * that large wallets never need to be held in memory as a single [[String]].
  */
 public abstract class Wallet {
 
     protected Wallet() {}
 
+    /**
+     * Write the text representation of this wallet into a sink.
+     *
+     * @param out Destination of the text
+     * @throws IOException if the sink cannot be written
+     */
+    public abstract void appendTo(Appendable out) throws IOException;
+
     @Override
-    public abstract String toString();
+    public String toString() {
+
+        StringBuilder result = new StringBuilder();
+        try {
+            appendTo(result);
+        } catch (IOException e) {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+
+        return result.toString();
+    }
 
     /**
      * Get a unique [[String]] identifier for the current wallet type.
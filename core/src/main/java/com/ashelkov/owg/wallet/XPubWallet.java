@@ -1,5 +1,6 @@
 package com.ashelkov.owg.wallet;
 
+import java.io.IOException;
 import java.util.List;
 
 import com.ashelkov.owg.address.BIP44Address;
@@ -21,24 +22,29 @@ public abstract class XPubWallet extends SingleCoinWallet {
     }
 
     @Override
-    public String toString() {
-
-        StringBuilder result = new StringBuilder();
+    public void appendTo(Appendable out) throws IOException {
 
         // append coin name
-        result.append(coin);
-        result.append(':');
+        out.append(coin.toString());
+        out.append(':');
 
         // append xpub
-        result.append('\n');
-        result.append(xpub.toString());
+        out.append('\n');
+        xpub.appendTo(out);
 
         // append addresses
         for (BIP44Address address : addresses) {
-            result.append('\n');
-            result.append(address.toString());
+            out.append('\n');
+            address.appendTo(out);
         }
+    }
 
-        return result.toString();
+    /**
+     * Get the extended public key of this wallet.
+     *
+     * @return Extended public key, as an address at the account path
+     */
+    public BIP44Address getXpub() {
+        return xpub;
     }
 }
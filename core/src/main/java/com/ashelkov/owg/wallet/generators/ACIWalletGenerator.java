@@ -1,5 +1,6 @@
 package com.ashelkov.owg.wallet.generators;
 
+import com.ashelkov.owg.wallet.SeedContext;
 import com.ashelkov.owg.wallet.SingleCoinWallet;
 
 /**
@@ -9,8 +10,8 @@ public abstract class ACIWalletGenerator extends SingleCoinWalletGenerator {
 
     private static final int PATH_LENGTH = 3;
 
-    public ACIWalletGenerator(byte[] seed, boolean genPrivKey, boolean genPubKey) {
-        super(seed, genPrivKey, genPubKey);
+    public ACIWalletGenerator(SeedContext context, boolean genPrivKey, boolean genPubKey) {
+        super(context, genPrivKey, genPubKey);
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.ashelkov.owg.wallet.generators;
 
+import com.ashelkov.owg.wallet.SeedContext;
 import com.ashelkov.owg.wallet.SingleCoinWallet;
 
 /**
@@ -10,8 +11,8 @@ public abstract class AccountIndexWalletGenerator extends SingleCoinWalletGenera
 
     private static final int PATH_LENGTH = 2;
 
-    public AccountIndexWalletGenerator(byte[] seed, boolean genPrivKey, boolean genPubKey) {
-        super(seed, genPrivKey, genPubKey);
+    public AccountIndexWalletGenerator(SeedContext context, boolean genPrivKey, boolean genPubKey) {
+        super(context, genPrivKey, genPubKey);
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.ashelkov.owg.wallet.generators;
 
+import com.ashelkov.owg.wallet.SeedContext;
 import com.ashelkov.owg.wallet.SingleCoinWallet;
 
 /**
@@ -9,8 +10,8 @@ public abstract class AccountWalletGenerator extends SingleCoinWalletGenerator {
 
     private static final int PATH_LENGTH = 1;
 
-    public AccountWalletGenerator(byte[] seed, boolean genPrivKey, boolean genPubKey) {
-        super(seed, genPrivKey, genPubKey);
+    public AccountWalletGenerator(SeedContext context, boolean genPrivKey, boolean genPubKey) {
+        super(context, genPrivKey, genPubKey);
     }
 
     /**
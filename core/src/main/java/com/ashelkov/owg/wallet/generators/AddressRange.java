@@ -0,0 +1,127 @@
+package com.ashelkov.owg.wallet.generators;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+import com.ashelkov.owg.address.BIP44Address;
+
+/**
+ * Lazy, read-only view of the addresses for a contiguous range of values of an incrementing path field.
+ *
+ * No addresses are held in memory: [[get]] derives a single address on demand, and iteration derives the range one
+ * chunk at a time, so that memory use stays flat regardless of the size of the range. Each traversal derives the
+ * addresses again; copy the range into a regular list if it needs to be traversed repeatedly.
+ */
+public class AddressRange extends AbstractList<BIP44Address> implements RandomAccess {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    /**
+     * Function generating the addresses for a contiguous sub-range, in order.
+     */
+    @FunctionalInterface
+    public interface ChunkGenerator {
+
+        /**
+         * @param start First value of the incrementing path field
+         * @param numAddresses Number of addresses to generate
+         * @return Addresses, in range order
+         */
+        List<BIP44Address> generate(int start, int numAddresses);
+    }
+
+    private final int start;
+    private final int size;
+    private final int chunkSize;
+    private final IntFunction<? extends BIP44Address> generator;
+    private final ChunkGenerator chunkGenerator;
+
+    /**
+     * @param start First value of the incrementing path field
+     * @param size Number of addresses in the range
+     * @param chunkSize Number of addresses to generate at once while iterating
+     * @param generator Function generating the address for a single value of the incrementing path field
+     * @param chunkGenerator Function generating the addresses for a sub-range while iterating
+     */
+    public AddressRange(
+            int start,
+            int size,
+            int chunkSize,
+            IntFunction<? extends BIP44Address> generator,
+            ChunkGenerator chunkGenerator)
+    {
+        if ((size < 0) || (chunkSize < 1)) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid address range: size %d, chunk size %d", size, chunkSize));
+        }
+
+        this.start = start;
+        this.size = size;
+        this.chunkSize = chunkSize;
+        this.generator = generator;
+        this.chunkGenerator = chunkGenerator;
+    }
+
+    /**
+     * @param start First value of the incrementing path field
+     * @param size Number of addresses in the range
+     * @param generator Function generating the address for a single value of the incrementing path field
+     */
+    public AddressRange(int start, int size, IntFunction<? extends BIP44Address> generator) {
+        this(start, size, DEFAULT_CHUNK_SIZE, generator, null);
+    }
+
+    @Override
+    public BIP44Address get(int i) {
+
+        if ((i < 0) || (i >= size)) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of range for size %d", i, size));
+        }
+
+        return generator.apply(start + i);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<BIP44Address> iterator() {
+        return (chunkGenerator == null) ? super.iterator() : new ChunkIterator();
+    }
+
+    /**
+     * Iterator which derives the addresses of the range one chunk at a time.
+     */
+    private final class ChunkIterator implements Iterator<BIP44Address> {
+
+        private List<BIP44Address> chunk = List.of();
+        private int chunkStart = 0;
+        private int position = 0;
+
+        @Override
+        public boolean hasNext() {
+            return position < size;
+        }
+
+        @Override
+        public BIP44Address next() {
+
+            if (position >= size) {
+                throw new NoSuchElementException();
+            }
+
+            if ((position - chunkStart) >= chunk.size()) {
+                chunkStart = position;
+                chunk = chunkGenerator.generate(start + position, Math.min(chunkSize, size - position));
+            }
+
+            return chunk.get(position++ - chunkStart);
+        }
+    }
+}
@@ -7,11 +7,15 @@ import org.apache.commons.codec.binary.StringUtils;
 import org.stellar.sdk.KeyPair;
 
 import com.ashelkov.owg.address.BIP44Address;
+import com.ashelkov.owg.address.codec.AlgorandAddressCodec;
+import com.ashelkov.owg.address.codec.DecodedAddress;
 import com.ashelkov.owg.wallet.AlgorandWallet;
+import com.ashelkov.owg.wallet.SeedContext;
 import com.ashelkov.owg.wallet.util.DigestUtils;
 import com.ashelkov.owg.wallet.util.EncodingUtils;
 
 import static com.ashelkov.owg.bip.Coin.ALGO;
+import static com.ashelkov.owg.bip.Coin.XLM;
 import static com.ashelkov.owg.bip.Constants.CHECKSUM_LENGTH;
 import static com.ashelkov.owg.bip.Constants.HARDENED;
 import static com.ashelkov.owg.wallet.util.DigestUtils.SHA_512_256;
@@ -22,6 +26,8 @@ import static com.ashelkov.owg.wallet.util.DigestUtils.SHA_512_256;
 public class AlgorandWalletGenerator extends AccountWalletGenerator {
 
     private static final int ADDRESS_LENGTH = 58;
+    // SHA-512/256 output length; the checksum is its final 4 bytes
+    private static final int DIGEST_LENGTH = 32;
 
     private static final byte[] ENCODE_TABLE = {
         'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'I', 'J', 'K', 'L', 'M',
@@ -29,7 +35,11 @@ public class AlgorandWalletGenerator extends AccountWalletGenerator {
         '2', '3', '4', '5', '6', '7'};
 
     public AlgorandWalletGenerator(byte[] seed, boolean genPrivKey, boolean genPubKey) {
-        super(seed, genPrivKey, genPubKey);
+        this(new SeedContext(seed), genPrivKey, genPubKey);
+    }
+
+    public AlgorandWalletGenerator(SeedContext context, boolean genPrivKey, boolean genPubKey) {
+        super(context, genPrivKey, genPubKey);
     }
 
     /**
@@ -57,11 +67,7 @@ public class AlgorandWalletGenerator extends AccountWalletGenerator {
     @Override
     public AlgorandWallet generateWallet(int account, int numAddresses) {
 
-        List<BIP44Address> addresses = new ArrayList<>(numAddresses);
-
-        for(int i = account; i < (account + numAddresses); ++i) {
-            addresses.add(generateAddress(i));
-        }
+        List<BIP44Address> addresses = generateAddresses(account, numAddresses, this::generateAddress);
 
         return new AlgorandWallet(addresses);
     }
@@ -75,16 +81,22 @@ public class AlgorandWalletGenerator extends AccountWalletGenerator {
     private BIP44Address generateAddress(int account) {
 
         int[] addressPath = getAddressPath(account);
-        byte[] publicKey = KeyPair.fromBip39Seed(seed, account).getPublicKey();
-        byte[] checksum = DigestUtils.unsafeDigest(SHA_512_256, publicKey);
+        // Algorand keys have always been derived at the Stellar path m/44'/148'/account' (the behaviour of
+        // KeyPair.fromBip39Seed); keep doing so, otherwise previously generated wallets would no longer match
+        byte[] publicKey = KeyPair
+                .fromSecretSeed(context.deriveEd25519PrivateKey(getKeyDerivationPath(account)))
+                .getPublicKey();
         byte[] unencodedAddress = new byte[publicKey.length + CHECKSUM_LENGTH];
         System.arraycopy(publicKey, 0, unencodedAddress, 0, publicKey.length);
-        System.arraycopy(
-                checksum,
-                (checksum.length - CHECKSUM_LENGTH),
-                unencodedAddress,
+        DigestUtils.digest(
+                SHA_512_256,
+                publicKey,
+                0,
                 publicKey.length,
-                CHECKSUM_LENGTH);
+                (DIGEST_LENGTH - CHECKSUM_LENGTH),
+                DIGEST_LENGTH,
+                unencodedAddress,
+                publicKey.length);
 
         byte[] encodedAddress = EncodingUtils.to5BitBytesSafe(unencodedAddress);
         // Need to filter down to 58 bytes
@@ -95,7 +107,22 @@ public class AlgorandWalletGenerator extends AccountWalletGenerator {
 
         String address = StringUtils.newStringUtf8(addressBytes);
 
-        return new BIP44Address(address, addressPath);
+        DecodedAddress decoded = new DecodedAddress(ALGO, AlgorandAddressCodec.TYPE_ACCOUNT, publicKey);
+
+        return new BIP44Address(address, addressPath, null, null, decoded);
+    }
+
+    /**
+     * Generate the SLIP-0010 path from which the keys for a given Algorand account value are derived.
+     *
+     * @param account Account value
+     * @return Key derivation path for the given account
+     */
+    private int[] getKeyDerivationPath(int account) {
+        int purpose = BIP44Address.PURPOSE | HARDENED;
+        int coinCode = XLM.getCode() | HARDENED;
+
+        return new int[] {purpose, coinCode, account | HARDENED};
     }
 
     /**
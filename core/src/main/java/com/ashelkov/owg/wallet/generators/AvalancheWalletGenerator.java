@@ -2,15 +2,18 @@ package com.ashelkov.owg.wallet.generators;
 
 import java.util.*;
 
-import org.bitcoinj.core.Bech32;
 import org.web3j.crypto.Bip32ECKeyPair;
-import org.web3j.crypto.Hash;
-import org.web3j.crypto.Keys;
 
 import com.ashelkov.owg.address.AvalancheAddress;
 import com.ashelkov.owg.address.BIP44Address;
+import com.ashelkov.owg.address.codec.AvalancheAddressCodec;
+import com.ashelkov.owg.address.codec.DecodedAddress;
 import com.ashelkov.owg.coin.avax.Chain;
 import com.ashelkov.owg.wallet.AvalancheWallet;
+import com.ashelkov.owg.wallet.SeedContext;
+import com.ashelkov.owg.wallet.util.Bech32;
+import com.ashelkov.owg.wallet.util.DigestUtils;
+import com.ashelkov.owg.wallet.util.Eip55;
 import com.ashelkov.owg.wallet.util.EncodingUtils;
 
 import static com.ashelkov.owg.bip.Coin.AVAX;
@@ -25,23 +28,33 @@ public class AvalancheWalletGenerator extends IndexWalletGenerator {
     private static final Map<Chain, String> CHAIN_CODE_MAP = Map.of(
             Chain.EXCHANGE, "X",
             Chain.PLATFORM, "P");
+    private static final Map<Chain, String> CHAIN_TYPE_MAP = Map.of(
+            Chain.EXCHANGE, AvalancheAddressCodec.TYPE_X_CHAIN,
+            Chain.PLATFORM, AvalancheAddressCodec.TYPE_P_CHAIN);
     private static final String BECH32_HRP = "avax";
     private static final String CHAIN_DELIMITER = "-";
     private static final String PRIVATE_KEY_BASE = "PrivateKey-";
     // [chain code] + [chain delimiter] + [hrp] + "1" + [32 byte address] + [6 byte checksum] = 45
     private static final int ADDRESS_LENGTH = 45;
 
-    private final Bip32ECKeyPair masterKeyPair;
     private final List<Chain> addressChains;
 
     public AvalancheWalletGenerator(byte[] seed, List<Chain> addressChains, boolean genPrivKey, boolean genPubKey) {
-        super(seed, genPrivKey, genPubKey);
+        this(new SeedContext(seed), addressChains, genPrivKey, genPubKey);
+    }
+
+    public AvalancheWalletGenerator(
+            SeedContext context,
+            List<Chain> addressChains,
+            boolean genPrivKey,
+            boolean genPubKey)
+    {
+        super(context, genPrivKey, genPubKey);
 
         if (addressChains.isEmpty()) {
             throw new IllegalArgumentException("No chains selected for AVAX wallet");
         }
 
-        this.masterKeyPair = Bip32ECKeyPair.generateKeyPair(seed);
         this.addressChains = addressChains;
     }
 
@@ -70,11 +83,7 @@ public class AvalancheWalletGenerator extends IndexWalletGenerator {
     @Override
     public AvalancheWallet generateWallet(int index, int numAddresses) {
 
-        List<BIP44Address> addresses = new ArrayList<>(numAddresses);
-
-        for(int i = index; i < (index + numAddresses); ++i) {
-            addresses.add(generateAddress(i));
-        }
+        List<BIP44Address> addresses = generateAddresses(index, numAddresses, this::generateAddress);
 
         return new AvalancheWallet(addresses);
     }
@@ -91,19 +100,32 @@ public class AvalancheWalletGenerator extends IndexWalletGenerator {
     private BIP44Address generateAddress(int index) {
 
         int[] addressPath = getAddressPath(index);
-        Bip32ECKeyPair derivedKeyPair = Bip32ECKeyPair.deriveKeyPair(masterKeyPair, addressPath);
+        Bip32ECKeyPair derivedKeyPair = getNodeCache().deriveKeyPair(addressPath);
         Map<Chain, String> addresses = new HashMap<>(addressChains.size());
+        Map<Chain, DecodedAddress> decodedAddresses = new HashMap<>(addressChains.size());
+        byte[] contractPayload = null;
+        byte[] bech32Payload = null;
 
         for (Chain chain : addressChains) {
             String address;
+            DecodedAddress decoded;
 
             if (chain == Chain.CONTRACT) {
-                address = Keys.toChecksumAddress(Keys.getAddress(derivedKeyPair));
+                if (contractPayload == null) {
+                    contractPayload = Eip55.addressFromPublicKey(derivedKeyPair.getPublicKeyPoint());
+                }
+                address = Eip55.toChecksumAddress(contractPayload);
+                decoded = new DecodedAddress(AVAX, AvalancheAddressCodec.TYPE_C_CHAIN, contractPayload);
             } else {
-                address = generateBech32Address(derivedKeyPair, chain);
+                if (bech32Payload == null) {
+                    bech32Payload = DigestUtils.hash160(derivedKeyPair.getPublicKeyPoint().getEncoded(true));
+                }
+                address = generateBech32Address(bech32Payload, chain);
+                decoded = new DecodedAddress(AVAX, CHAIN_TYPE_MAP.get(chain), bech32Payload);
             }
 
             addresses.put(chain, address);
+            decodedAddresses.put(chain, decoded);
         }
 
         String privKeyText = null;
@@ -126,30 +148,35 @@ public class AvalancheWalletGenerator extends IndexWalletGenerator {
                     true);
         }
 
-        return new AvalancheAddress(addresses, addressPath, privKeyText, pubKeyText);
+        return new AvalancheAddress(addresses, decodedAddresses, addressPath, privKeyText, pubKeyText);
     }
 
     /**
      * Generate the Bech32 encoded text addresses used for the X and P chains on Avalanche. For more information, see
      * https://support.avalabs.org/en/articles/4587392-what-is-bech32 .
      *
-     * @param keyPair The private-public key-pair of the address
+     * @param payload HASH160 of the public key of the address
      * @param chain The Avalanche chain of the address
      * @return Bech32 encoded address
      */
-    private String generateBech32Address(Bip32ECKeyPair keyPair, Chain chain) {
-        StringBuilder addressBuilder = new StringBuilder(ADDRESS_LENGTH);
-        addressBuilder.append(CHAIN_CODE_MAP.get(chain));
-        addressBuilder.append(CHAIN_DELIMITER);
-        addressBuilder.append(
-                Bech32.encode(
-                        Bech32.Encoding.BECH32,
-                        BECH32_HRP,
-                        EncodingUtils.to5BitBytesSafe(
-                                Hash.sha256hash160(
-                                        keyPair.getPublicKeyPoint().getEncoded(true)))));
-
-        return addressBuilder.toString();
+    private String generateBech32Address(byte[] payload, Chain chain) {
+        String chainCode = CHAIN_CODE_MAP.get(chain);
+
+        char[] address = new char[ADDRESS_LENGTH];
+        chainCode.getChars(0, chainCode.length(), address, 0);
+        CHAIN_DELIMITER.getChars(0, CHAIN_DELIMITER.length(), address, chainCode.length());
+        int prefixLength = chainCode.length() + CHAIN_DELIMITER.length();
+        int length = Bech32.encode(
+                Bech32.Encoding.BECH32,
+                BECH32_HRP,
+                -1,
+                payload,
+                0,
+                payload.length,
+                address,
+                prefixLength);
+
+        return new String(address, 0, prefixLength + length);
     }
 
     /**
@@ -4,13 +4,16 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.bitcoinj.core.Bech32;
 import org.web3j.crypto.Bip32ECKeyPair;
-import org.web3j.crypto.Hash;
 
 import com.ashelkov.owg.address.BIP44Address;
 import com.ashelkov.owg.address.BIP84Address;
+import com.ashelkov.owg.address.codec.DecodedAddress;
+import com.ashelkov.owg.address.codec.SegwitAddressCodec;
 import com.ashelkov.owg.wallet.BitcoinWallet;
+import com.ashelkov.owg.wallet.SeedContext;
+import com.ashelkov.owg.wallet.util.Bech32;
+import com.ashelkov.owg.wallet.util.DigestUtils;
 import com.ashelkov.owg.wallet.util.EncodingUtils;
 
 import static com.ashelkov.owg.bip.Coin.BTC;
@@ -37,24 +40,23 @@ public class BitcoinWalletGenerator extends ACIWalletGenerator {
      * @return Private key as String
      */
     public static String generatePrivateKey(byte[] rawKeyBytes, byte blockchainIdPrefix) {
-        byte[] privKeyBase = new byte[34];
-        byte[] privKeyBytes = new byte[38];
+        byte[] privKeyBytes = new byte[34 + CHECKSUM_LENGTH];
 
-        System.arraycopy(rawKeyBytes, 0, privKeyBase, 0, 33);
-        privKeyBase[0] = blockchainIdPrefix;
-        privKeyBase[33] = (byte)0x01;
+        System.arraycopy(rawKeyBytes, 0, privKeyBytes, 0, 33);
+        privKeyBytes[0] = blockchainIdPrefix;
+        privKeyBytes[33] = (byte)0x01;
 
-        System.arraycopy(privKeyBase, 0, privKeyBytes, 0, 34);
-        System.arraycopy(Hash.sha256(Hash.sha256(privKeyBase)), 0, privKeyBytes, 34, CHECKSUM_LENGTH);
+        DigestUtils.sha256dChecksum(privKeyBytes, 0, 34, privKeyBytes, 34);
 
         return EncodingUtils.base58Bitcoin(privKeyBytes);
     }
 
-    private final Bip32ECKeyPair masterKeyPair;
-
     public BitcoinWalletGenerator(byte[] seed, boolean genPrivKey, boolean genPubKey) {
-        super(seed, genPrivKey, genPubKey);
-        this.masterKeyPair = Bip32ECKeyPair.generateKeyPair(seed);
+        this(new SeedContext(seed), genPrivKey, genPubKey);
+    }
+
+    public BitcoinWalletGenerator(SeedContext context, boolean genPrivKey, boolean genPubKey) {
+        super(context, genPrivKey, genPubKey);
     }
 
     /**
@@ -87,10 +89,10 @@ public class BitcoinWalletGenerator extends ACIWalletGenerator {
 
         BIP84Address masterPubKey = generateExtendedKey(account);
 
-        List<BIP44Address> derivedAddresses = new ArrayList<>(numAddresses);
-        for(int i = index; i < (index + numAddresses); ++i) {
-            derivedAddresses.add(generateDerivedAddress(account, change, i));
-        }
+        List<BIP44Address> derivedAddresses = generateAddresses(
+                index,
+                numAddresses,
+                i -> generateDerivedAddress(account, change, i));
 
         return new BitcoinWallet(masterPubKey, derivedAddresses);
     }
@@ -106,18 +108,10 @@ public class BitcoinWalletGenerator extends ACIWalletGenerator {
     private BIP84Address generateDerivedAddress(int account, int change, int index) {
 
         int[] addressPath = getDerivedAddressPath(account, change, index);
-        Bip32ECKeyPair derivedKeyPair = Bip32ECKeyPair.deriveKeyPair(masterKeyPair, addressPath);
+        Bip32ECKeyPair derivedKeyPair = getNodeCache().deriveKeyPair(addressPath);
 
-        byte[] unencodedAddress = EncodingUtils.to5BitBytesSafe(
-                Hash.sha256hash160(
-                        derivedKeyPair
-                                .getPublicKeyPoint()
-                                .getEncoded(true)));
-        byte[] unencodedAddressWithWitness = new byte[unencodedAddress.length + 1];
-        unencodedAddressWithWitness[0] = WITNESS_VERSION;
-        System.arraycopy(unencodedAddress, 0, unencodedAddressWithWitness, 1, unencodedAddress.length);
-
-        String address = Bech32.encode(Bech32.Encoding.BECH32, BECH32_HRP, unencodedAddressWithWitness);
+        byte[] program = DigestUtils.hash160(derivedKeyPair.getPublicKeyPoint().getEncoded(true));
+        String address = Bech32.encodeSegwit(BECH32_HRP, WITNESS_VERSION, program);
 
         String privKeyText = null;
         String pubKeyText = null;
@@ -128,7 +122,9 @@ public class BitcoinWalletGenerator extends ACIWalletGenerator {
             pubKeyText = EncodingUtils.bytesToHex(derivedKeyPair.getPublicKeyPoint().getEncoded(true));
         }
 
-        return new BIP84Address(address, addressPath, privKeyText, pubKeyText);
+        DecodedAddress decoded = new DecodedAddress(BTC, SegwitAddressCodec.TYPE_P2WPKH, program);
+
+        return new BIP84Address(address, addressPath, privKeyText, pubKeyText, decoded);
     }
 
     /**
@@ -140,21 +136,17 @@ public class BitcoinWalletGenerator extends ACIWalletGenerator {
     private BIP84Address generateExtendedKey(int account) {
 
         int[] addressPath = getAccountAddressPath(account);
-        Bip32ECKeyPair accountKeyPair = Bip32ECKeyPair.deriveKeyPair(masterKeyPair, addressPath);
+        Bip32ECKeyPair accountKeyPair = getNodeCache().getKeyPair(addressPath);
 
-        ByteBuffer xpubKeyBuilder = ByteBuffer.allocate(XPUB_CORE_LENGTH);
+        ByteBuffer xpubKeyBuilder = ByteBuffer.allocate(XPUB_CORE_LENGTH + CHECKSUM_LENGTH);
         xpubKeyBuilder.putInt(XPUB_VERSION);
         xpubKeyBuilder.put((byte)(accountKeyPair.getDepth()));
         xpubKeyBuilder.putInt(accountKeyPair.getParentFingerprint());
         xpubKeyBuilder.putInt(addressPath[2]);
         xpubKeyBuilder.put(accountKeyPair.getChainCode());
         xpubKeyBuilder.put(accountKeyPair.getPublicKeyPoint().getEncoded(true));
-        byte[] xpubKeyCore = xpubKeyBuilder.array();
-        byte[] checksum = Hash.sha256(Hash.sha256(xpubKeyCore));
-
-        byte[] xpubKey = new byte[XPUB_CORE_LENGTH + CHECKSUM_LENGTH];
-        System.arraycopy(xpubKeyCore, 0, xpubKey, 0, XPUB_CORE_LENGTH);
-        System.arraycopy(checksum, 0, xpubKey, XPUB_CORE_LENGTH, CHECKSUM_LENGTH);
+        byte[] xpubKey = xpubKeyBuilder.array();
+        DigestUtils.sha256dChecksum(xpubKey, 0, XPUB_CORE_LENGTH, xpubKey, XPUB_CORE_LENGTH);
 
         String xpubKeySerialized = EncodingUtils.base58Bitcoin(xpubKey);
 
@@ -1,19 +1,21 @@
 package com.ashelkov.owg.wallet.generators;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-import org.bitcoinj.core.Base58;
-import org.bitcoinj.core.LegacyAddress;
-import org.bitcoinj.params.MainNetParams;
 import org.web3j.crypto.Bip32ECKeyPair;
-import org.web3j.crypto.Hash;
 
 import com.ashelkov.owg.address.BIP44Address;
+import com.ashelkov.owg.address.codec.Base58CheckAddressCodec;
+import com.ashelkov.owg.address.codec.DecodedAddress;
 import com.ashelkov.owg.wallet.DogecoinWallet;
+import com.ashelkov.owg.wallet.SeedContext;
+import com.ashelkov.owg.wallet.util.DigestUtils;
 import com.ashelkov.owg.wallet.util.EncodingUtils;
 
 import static com.ashelkov.owg.bip.Coin.DOGE;
+import static com.ashelkov.owg.bip.Constants.CHECKSUM_LENGTH;
 import static com.ashelkov.owg.bip.Constants.HARDENED;
 
 /**
@@ -22,13 +24,14 @@ import static com.ashelkov.owg.bip.Constants.HARDENED;
 public class DogecoinWalletGenerator extends ACIWalletGenerator {
 
     private static final byte DOGE_IDENTIFICATION_PREFIX = (byte)0x9E;
-    private static final int P2PKH_VERSION = 30;
-
-    private final Bip32ECKeyPair masterKeyPair;
+    private static final byte P2PKH_VERSION = (byte)30;
 
     public DogecoinWalletGenerator(byte[] seed, boolean genPrivKey, boolean genPubKey) {
-        super(seed, genPrivKey, genPubKey);
-        this.masterKeyPair = Bip32ECKeyPair.generateKeyPair(seed);
+        this(new SeedContext(seed), genPrivKey, genPubKey);
+    }
+
+    public DogecoinWalletGenerator(SeedContext context, boolean genPrivKey, boolean genPubKey) {
+        super(context, genPrivKey, genPubKey);
     }
 
     /**
@@ -58,11 +61,7 @@ public class DogecoinWalletGenerator extends ACIWalletGenerator {
     @Override
     public DogecoinWallet generateWallet(int account, int change, int index, int numAddresses) {
 
-        List<BIP44Address> addresses = new ArrayList<>(numAddresses);
-
-        for(int i = index; i < (index + numAddresses); ++i) {
-            addresses.add(generateAddress(account, change, i));
-        }
+        List<BIP44Address> addresses = generateAddresses(index, numAddresses, i -> generateAddress(account, change, i));
 
         return new DogecoinWallet(addresses);
     }
@@ -78,18 +77,15 @@ public class DogecoinWalletGenerator extends ACIWalletGenerator {
     private BIP44Address generateAddress(int account, int change, int index) {
 
         int[] addressPath = getAddressPath(account, change, index);
-        Bip32ECKeyPair derivedKeyPair = Bip32ECKeyPair.deriveKeyPair(masterKeyPair, addressPath);
-
-        String address = Base58.encodeChecked(
-                P2PKH_VERSION,
-                LegacyAddress
-                    .fromPubKeyHash(
-                            MainNetParams.get(),
-                            Hash.sha256hash160(
-                                    derivedKeyPair
-                                            .getPublicKeyPoint()
-                                            .getEncoded(true)))
-                    .getHash());
+        Bip32ECKeyPair derivedKeyPair = getNodeCache().deriveKeyPair(addressPath);
+
+        byte[] publicKey = derivedKeyPair.getPublicKeyPoint().getEncoded(true);
+        int payloadLength = 1 + DigestUtils.HASH160_LENGTH;
+        byte[] rawAddress = new byte[payloadLength + CHECKSUM_LENGTH];
+        rawAddress[0] = P2PKH_VERSION;
+        DigestUtils.hash160(publicKey, 0, publicKey.length, rawAddress, 1);
+        DigestUtils.sha256dChecksum(rawAddress, 0, payloadLength, rawAddress, payloadLength);
+        String address = EncodingUtils.base58Bitcoin(rawAddress);
 
         String privKeyText = null;
         String pubKeyText = null;
@@ -102,7 +98,12 @@ public class DogecoinWalletGenerator extends ACIWalletGenerator {
             pubKeyText = EncodingUtils.bytesToHex(derivedKeyPair.getPublicKeyPoint().getEncoded(true));
         }
 
-        return new BIP44Address(address, addressPath, privKeyText, pubKeyText);
+        DecodedAddress decoded = new DecodedAddress(
+                DOGE,
+                Base58CheckAddressCodec.TYPE_P2PKH,
+                Arrays.copyOfRange(rawAddress, 1, payloadLength));
+
+        return new BIP44Address(address, addressPath, privKeyText, pubKeyText, decoded);
     }
 
     /**
@@ -1,13 +1,17 @@
 package com.ashelkov.owg.wallet.generators;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.web3j.crypto.Bip32ECKeyPair;
 import org.web3j.crypto.Hash;
 
 import com.ashelkov.owg.address.BIP44Address;
+import com.ashelkov.owg.address.codec.DecodedAddress;
+import com.ashelkov.owg.address.codec.ErgoAddressCodec;
 import com.ashelkov.owg.wallet.ErgoWallet;
+import com.ashelkov.owg.wallet.SeedContext;
 import com.ashelkov.owg.wallet.util.EncodingUtils;
 
 import static com.ashelkov.owg.bip.Coin.ERG;
@@ -29,11 +33,12 @@ public class ErgoWalletGenerator extends IndexWalletGenerator {
     // 0x03 = Pay-to-Script (P2S)
     private static final byte PREFIX_BYTE = (byte)0x01;
 
-    private final Bip32ECKeyPair masterKeyPair;
-
     public ErgoWalletGenerator(byte[] seed, boolean genPrivKey, boolean genPubKey) {
-        super(seed, genPrivKey, genPubKey);
-        this.masterKeyPair = Bip32ECKeyPair.generateKeyPair(seed);
+        this(new SeedContext(seed), genPrivKey, genPubKey);
+    }
+
+    public ErgoWalletGenerator(SeedContext context, boolean genPrivKey, boolean genPubKey) {
+        super(context, genPrivKey, genPubKey);
     }
 
     /**
@@ -61,11 +66,7 @@ public class ErgoWalletGenerator extends IndexWalletGenerator {
     @Override
     public ErgoWallet generateWallet(int index, int numAddresses) {
 
-        List<BIP44Address> addresses = new ArrayList<>(numAddresses);
-
-        for(int i = index; i < (index + numAddresses); ++i) {
-            addresses.add(generateAddress(i));
-        }
+        List<BIP44Address> addresses = generateAddresses(index, numAddresses, this::generateAddress);
 
         return new ErgoWallet(addresses);
     }
@@ -82,7 +83,7 @@ public class ErgoWalletGenerator extends IndexWalletGenerator {
         byte[] addressPreChecksum = new byte[34];
         byte[] addressWithChecksum = new byte[38];
 
-        Bip32ECKeyPair derivedKeyPair = Bip32ECKeyPair.deriveKeyPair(masterKeyPair, addressPath);
+        Bip32ECKeyPair derivedKeyPair = getNodeCache().deriveKeyPair(addressPath);
 
         addressPreChecksum[0] = PREFIX_BYTE;
         System.arraycopy(
@@ -114,7 +115,12 @@ public class ErgoWalletGenerator extends IndexWalletGenerator {
             pubKeyText = EncodingUtils.bytesToHex(derivedKeyPair.getPublicKeyPoint().getEncoded(true));
         }
 
-        return new BIP44Address(address, addressPath, privKeyText, pubKeyText);
+        DecodedAddress decoded = new DecodedAddress(
+                ERG,
+                ErgoAddressCodec.TYPE_P2PK,
+                Arrays.copyOfRange(addressPreChecksum, 1, addressPreChecksum.length));
+
+        return new BIP44Address(address, addressPath, privKeyText, pubKeyText, decoded);
     }
 
     /**
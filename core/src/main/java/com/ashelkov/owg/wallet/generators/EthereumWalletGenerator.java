@@ -4,10 +4,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.web3j.crypto.Bip32ECKeyPair;
-import org.web3j.crypto.Keys;
 
 import com.ashelkov.owg.address.BIP44Address;
+import com.ashelkov.owg.address.codec.DecodedAddress;
+import com.ashelkov.owg.address.codec.EthereumAddressCodec;
 import com.ashelkov.owg.wallet.EthereumWallet;
+import com.ashelkov.owg.wallet.SeedContext;
+import com.ashelkov.owg.wallet.util.Eip55;
 import com.ashelkov.owg.wallet.util.EncodingUtils;
 
 import static com.ashelkov.owg.bip.Coin.ETH;
@@ -18,11 +21,12 @@ import static com.ashelkov.owg.bip.Constants.HARDENED;
  */
 public class EthereumWalletGenerator extends IndexWalletGenerator {
 
-    private final Bip32ECKeyPair masterKeyPair;
-
     public EthereumWalletGenerator(byte[] seed, boolean genPrivKey, boolean genPubKey) {
-        super(seed, genPrivKey, genPubKey);
-        this.masterKeyPair = Bip32ECKeyPair.generateKeyPair(seed);
+        this(new SeedContext(seed), genPrivKey, genPubKey);
+    }
+
+    public EthereumWalletGenerator(SeedContext context, boolean genPrivKey, boolean genPubKey) {
+        super(context, genPrivKey, genPubKey);
     }
 
     /**
@@ -50,11 +54,7 @@ public class EthereumWalletGenerator extends IndexWalletGenerator {
     @Override
     public EthereumWallet generateWallet(int index, int numAddresses) {
 
-        List<BIP44Address> addresses = new ArrayList<>(numAddresses);
-
-        for(int i = index; i < (index + numAddresses); ++i) {
-            addresses.add(generateAddress(i));
-        }
+        List<BIP44Address> addresses = generateAddresses(index, numAddresses, this::generateAddress);
 
         return new EthereumWallet(addresses);
     }
@@ -68,9 +68,10 @@ public class EthereumWalletGenerator extends IndexWalletGenerator {
     private BIP44Address generateAddress(int index) {
 
         int[] addressPath = getAddressPath(index);
-        Bip32ECKeyPair derivedKeyPair = Bip32ECKeyPair.deriveKeyPair(masterKeyPair, addressPath);
+        Bip32ECKeyPair derivedKeyPair = getNodeCache().deriveKeyPair(addressPath);
 
-        String address = Keys.toChecksumAddress(Keys.getAddress(derivedKeyPair));
+        byte[] rawAddress = Eip55.addressFromPublicKey(derivedKeyPair.getPublicKeyPoint());
+        String address = Eip55.toChecksumAddress(rawAddress);
 
         String privKeyText = null;
         String pubKeyText = null;
@@ -85,7 +86,9 @@ public class EthereumWalletGenerator extends IndexWalletGenerator {
                 EncodingUtils.bytesToHex(derivedKeyPair.getPublicKeyPoint().getEncoded(true)));
         }
 
-        return new BIP44Address(address, addressPath, privKeyText, pubKeyText);
+        DecodedAddress decoded = new DecodedAddress(ETH, EthereumAddressCodec.TYPE_EIP55, rawAddress);
+
+        return new BIP44Address(address, addressPath, privKeyText, pubKeyText, decoded);
     }
 
     /**
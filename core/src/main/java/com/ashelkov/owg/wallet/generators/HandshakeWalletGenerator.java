@@ -4,13 +4,15 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.bitcoinj.core.Bech32;
 import org.web3j.crypto.Bip32ECKeyPair;
-import org.web3j.crypto.Hash;
 
 import com.ashelkov.owg.address.BIP44Address;
 import com.ashelkov.owg.address.BIP84Address;
+import com.ashelkov.owg.address.codec.DecodedAddress;
+import com.ashelkov.owg.address.codec.SegwitAddressCodec;
 import com.ashelkov.owg.wallet.HandshakeWallet;
+import com.ashelkov.owg.wallet.SeedContext;
+import com.ashelkov.owg.wallet.util.Bech32;
 import com.ashelkov.owg.wallet.util.DigestUtils;
 import com.ashelkov.owg.wallet.util.EncodingUtils;
 
@@ -30,11 +32,12 @@ public class HandshakeWalletGenerator extends ACIWalletGenerator {
     private static final int XPUB_CORE_LENGTH = 78;
     private static final int XPUB_CHECKSUM_LENGTH = 4;
 
-    private final Bip32ECKeyPair masterKeyPair;
-
     public HandshakeWalletGenerator(byte[] seed, boolean genPrivKey, boolean genPubKey) {
-        super(seed, genPrivKey, genPubKey);
-        this.masterKeyPair = Bip32ECKeyPair.generateKeyPair(seed);
+        this(new SeedContext(seed), genPrivKey, genPubKey);
+    }
+
+    public HandshakeWalletGenerator(SeedContext context, boolean genPrivKey, boolean genPubKey) {
+        super(context, genPrivKey, genPubKey);
     }
 
     /**
@@ -67,10 +70,10 @@ public class HandshakeWalletGenerator extends ACIWalletGenerator {
 
         BIP84Address masterPubKey = generateExtendedKey(account);
 
-        List<BIP44Address> derivedAddresses = new ArrayList<>(numAddresses);
-        for(int i = index; i < (index + numAddresses); ++i) {
-            derivedAddresses.add(generateDerivedAddress(account, change, i));
-        }
+        List<BIP44Address> derivedAddresses = generateAddresses(
+                index,
+                numAddresses,
+                i -> generateDerivedAddress(account, change, i));
 
         return new HandshakeWallet(masterPubKey, derivedAddresses);
     }
@@ -86,17 +89,12 @@ public class HandshakeWalletGenerator extends ACIWalletGenerator {
     private BIP84Address generateDerivedAddress(int account, int change, int index) {
 
         int[] addressPath = getDerivedAddressPath(account, change, index);
-        Bip32ECKeyPair derivedKeyPair = Bip32ECKeyPair.deriveKeyPair(masterKeyPair, addressPath);
+        Bip32ECKeyPair derivedKeyPair = getNodeCache().deriveKeyPair(addressPath);
 
-        byte[] unencodedAddress = EncodingUtils.to5BitBytesSafe(
-                DigestUtils.unsafeDigest(
-                        DigestUtils.BLAKE2B_160,
-                        derivedKeyPair.getPublicKeyPoint().getEncoded(true)));
-        byte[] unencodedAddressWithWitness = new byte[unencodedAddress.length + 1];
-        unencodedAddressWithWitness[0] = WITNESS_VERSION;
-        System.arraycopy(unencodedAddress, 0, unencodedAddressWithWitness, 1, unencodedAddress.length);
-
-        String address = Bech32.encode(Bech32.Encoding.BECH32, BECH32_HRP, unencodedAddressWithWitness);
+        byte[] program = DigestUtils.unsafeDigest(
+                DigestUtils.BLAKE2B_160,
+                derivedKeyPair.getPublicKeyPoint().getEncoded(true));
+        String address = Bech32.encodeSegwit(BECH32_HRP, WITNESS_VERSION, program);
 
         String privKeyText = null;
         String pubKeyText = null;
@@ -109,7 +107,9 @@ public class HandshakeWalletGenerator extends ACIWalletGenerator {
             pubKeyText = EncodingUtils.bytesToHex(derivedKeyPair.getPublicKeyPoint().getEncoded(true));
         }
 
-        return new BIP84Address(address, addressPath, privKeyText, pubKeyText);
+        DecodedAddress decoded = new DecodedAddress(HNS, SegwitAddressCodec.TYPE_P2WPKH, program);
+
+        return new BIP84Address(address, addressPath, privKeyText, pubKeyText, decoded);
     }
 
     /**
@@ -121,21 +121,17 @@ public class HandshakeWalletGenerator extends ACIWalletGenerator {
     private BIP84Address generateExtendedKey(int account) {
 
         int[] addressPath = getAccountAddressPath(account);
-        Bip32ECKeyPair accountKeyPair = Bip32ECKeyPair.deriveKeyPair(masterKeyPair, addressPath);
+        Bip32ECKeyPair accountKeyPair = getNodeCache().getKeyPair(addressPath);
 
-        ByteBuffer xpubKeyBuilder = ByteBuffer.allocate(XPUB_CORE_LENGTH);
+        ByteBuffer xpubKeyBuilder = ByteBuffer.allocate(XPUB_CORE_LENGTH + XPUB_CHECKSUM_LENGTH);
         xpubKeyBuilder.putInt(XPUB_VERSION);
         xpubKeyBuilder.put((byte)(accountKeyPair.getDepth()));
         xpubKeyBuilder.putInt(accountKeyPair.getParentFingerprint());
         xpubKeyBuilder.putInt(addressPath[2]);
         xpubKeyBuilder.put(accountKeyPair.getChainCode());
         xpubKeyBuilder.put(accountKeyPair.getPublicKeyPoint().getEncoded(true));
-        byte[] xpubKeyCore = xpubKeyBuilder.array();
-        byte[] checksum = Hash.sha256(Hash.sha256(xpubKeyCore));
-
-        byte[] xpubKey = new byte[XPUB_CORE_LENGTH + XPUB_CHECKSUM_LENGTH];
-        System.arraycopy(xpubKeyCore, 0, xpubKey, 0, XPUB_CORE_LENGTH);
-        System.arraycopy(checksum, 0, xpubKey, XPUB_CORE_LENGTH, XPUB_CHECKSUM_LENGTH);
+        byte[] xpubKey = xpubKeyBuilder.array();
+        DigestUtils.sha256dChecksum(xpubKey, 0, XPUB_CORE_LENGTH, xpubKey, XPUB_CORE_LENGTH);
 
         String xpubKeySerialized = EncodingUtils.base58Bitcoin(xpubKey);
 
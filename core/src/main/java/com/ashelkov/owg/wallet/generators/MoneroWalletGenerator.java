@@ -1,22 +1,28 @@
 package com.ashelkov.owg.wallet.generators;
 
-import java.math.BigInteger;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 
-import net.i2p.crypto.eddsa.math.GroupElement;
-import org.apache.commons.lang3.ArrayUtils;
-
 import com.ashelkov.owg.address.BIP44Address;
 import com.ashelkov.owg.address.MoneroAddress;
+import com.ashelkov.owg.address.codec.DecodedAddress;
+import com.ashelkov.owg.address.codec.MoneroAddressCodec;
+import com.ashelkov.owg.coin.xmr.MoneroSubaddressEngine;
+import com.ashelkov.owg.coin.xmr.SubaddressTable;
 import com.ashelkov.owg.wallet.MoneroWallet;
+import com.ashelkov.owg.wallet.SeedContext;
 import com.ashelkov.owg.wallet.util.DigestUtils;
 import com.ashelkov.owg.wallet.util.Ed25519Utils;
 import com.ashelkov.owg.wallet.util.EncodingUtils;
+import com.ashelkov.owg.wallet.util.MoneroBase58;
 
 import static com.ashelkov.owg.bip.Coin.XMR;
 import static com.ashelkov.owg.bip.Constants.CHECKSUM_LENGTH;
 import static com.ashelkov.owg.bip.Constants.HARDENED;
+import static com.ashelkov.owg.coin.xmr.MoneroSubaddressEngine.KEY_LENGTH;
 import static com.ashelkov.owg.wallet.util.DigestUtils.KECCAK_256;
 import static com.ashelkov.owg.wallet.util.Ed25519Utils.ED_25519_CURVE_SPEC;
 
@@ -32,26 +38,15 @@ public class MoneroWalletGenerator extends AccountIndexWalletGenerator {
             XMR.getCode() | HARDENED,
             HARDENED
     };
-    // "SubAddr" as byte array
-    public static final byte[] SUBADDRESS_PREFIX = {
-        (byte)0x53,
-        (byte)0x75,
-        (byte)0x62,
-        (byte)0x41,
-        (byte)0x64,
-        (byte)0x64,
-        (byte)0x72,
-        (byte)0x00
-    };
-    // Prefix + Standard Private View Key + Account + Index = 8 + 32 + 4 + 4 = 48
-    public static final int SUBADDRESS_BASE_LENGTH = 48;
     // "Network bytes" represent the network and address type
     // Standard addresses:  18 = mainnet, 53 = testnet
     // Subaddresses:        42 = mainnet, 63 = testnet, 36 = stagenet
     public static final byte MAINNET_ADDRESS_NETWORK_BYTE = 0x12;
     public static final byte MAINNET_SUBADDRESS_NETWORK_BYTE = 0x2a;
 
-    private final byte[] seed;
+    // Number of subaddress keys derived (in parallel) before being inserted into a lookup table
+    private static final int LOOKUP_TABLE_BATCH_SIZE = 4096;
+
     private final boolean genSpendKey;
     private final boolean genViewKey;
 
@@ -61,8 +56,16 @@ public class MoneroWalletGenerator extends AccountIndexWalletGenerator {
             boolean genSpendKey,
             boolean genPrivKey)
     {
-        super(seed, genPrivKey, false);
-        this.seed = seed;
+        this(new SeedContext(seed), genViewKey, genSpendKey, genPrivKey);
+    }
+
+    public MoneroWalletGenerator(
+            SeedContext context,
+            boolean genViewKey,
+            boolean genSpendKey,
+            boolean genPrivKey)
+    {
+        super(context, genPrivKey, false);
         this.genViewKey = genViewKey;
         this.genSpendKey = genSpendKey;
     }
@@ -96,36 +99,30 @@ public class MoneroWalletGenerator extends AccountIndexWalletGenerator {
         if ((account == 0) && (index == 0) && (numAddresses > 1)) {
             numAddresses += 1;
         }
-        List<BIP44Address> addresses = new ArrayList<>(numAddresses);
         boolean hasSubaddresses = (numAddresses > 1) || (account != 0) || (index != 0);
 
-        byte[] privateSpendKey = Ed25519Utils.reduce32(Ed25519Utils.deriveEd25519PrivateKey(seed, ADDRESS_PATH));
-        byte[] privateViewKey = Ed25519Utils.reduce32(DigestUtils.unsafeDigest(KECCAK_256, privateSpendKey));
-        GroupElement publicSpendKey = ED_25519_CURVE_SPEC.getB().scalarMultiply(privateSpendKey);
-        GroupElement publicViewKey = ED_25519_CURVE_SPEC.getB().scalarMultiply(privateViewKey);
-
-        for(int i = index; i < (index + numAddresses); ++i) {
-
-            MoneroAddress address;
-            int[] subaddressPath = getSubaddressPath(account, i);
-
-            if ((account == 0) && (i == 0)) {
-                address = generateMoneroAddress(
-                        MAINNET_ADDRESS_NETWORK_BYTE,
-                        subaddressPath,
-                        publicSpendKey.toByteArray(),
-                        publicViewKey.toByteArray());
-            } else {
-                address = generateSubaddress(
-                        subaddressPath,
-                        publicSpendKey,
-                        privateViewKey,
-                        account,
-                        i);
-            }
+        byte[] privateSpendKey = derivePrivateSpendKey();
+        byte[] privateViewKey = derivePrivateViewKey(privateSpendKey);
+        byte[] publicSpendKey = ED_25519_CURVE_SPEC.getB().scalarMultiply(privateSpendKey).toByteArray();
+        byte[] publicViewKey = ED_25519_CURVE_SPEC.getB().scalarMultiply(privateViewKey).toByteArray();
+        MoneroSubaddressEngine engine = new MoneroSubaddressEngine(privateViewKey, publicSpendKey);
 
-            addresses.add(address);
-        }
+        List<BIP44Address> addresses = generateAddresses(
+                index,
+                numAddresses,
+                i -> {
+                    int[] subaddressPath = getSubaddressPath(account, i);
+
+                    if ((account == 0) && (i == 0)) {
+                        return generateMoneroAddress(
+                                MAINNET_ADDRESS_NETWORK_BYTE,
+                                subaddressPath,
+                                publicSpendKey,
+                                publicViewKey);
+                    } else {
+                        return generateSubaddress(subaddressPath, engine, account, i);
+                    }
+                });
 
         String privateSpendKeyText = null;
         String privateViewKeyText = null;
@@ -141,42 +138,124 @@ public class MoneroWalletGenerator extends AccountIndexWalletGenerator {
         return new MoneroWallet(addresses, privateSpendKeyText, privateViewKeyText, hasSubaddresses);
     }
 
+    /**
+     * Build or extend the subaddress lookup table of the wallet, mapping the public spend key of every subaddress in
+     * [0, accounts) x [0, indexes) to its account and index (the standard address is subaddress 0,0). If the table file
+     * already exists, only the subaddresses which it does not yet cover are derived; coverage never shrinks.
+     *
+     * Subaddress keys are derived in batches, each batch in parallel if the parallelism level allows, and then
+     * inserted into the table sequentially.
+     *
+     * @param path Location of the table file
+     * @param accounts Number of subaddress accounts to cover
+     * @param indexes Number of subaddress indexes per account to cover
+     * @return Open table; the caller is responsible for closing it
+     * @throws IOException if the table file cannot be created, read, or grown
+     */
+    public SubaddressTable buildSubaddressTable(Path path, int accounts, int indexes) throws IOException {
+
+        if ((accounts < 1) || (indexes < 1)) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid subaddress table coverage: %d accounts, %d indexes",
+                    accounts,
+                    indexes));
+        }
+
+        byte[] privateSpendKey = derivePrivateSpendKey();
+        byte[] privateViewKey = derivePrivateViewKey(privateSpendKey);
+        byte[] publicSpendKey = ED_25519_CURVE_SPEC.getB().scalarMultiply(privateSpendKey).toByteArray();
+        MoneroSubaddressEngine engine = new MoneroSubaddressEngine(privateViewKey, publicSpendKey);
+
+        SubaddressTable table;
+        if (Files.exists(path)) {
+            table = SubaddressTable.open(path);
+            if (!Arrays.equals(table.getPublicSpendKey(), publicSpendKey)) {
+                table.close();
+                throw new IllegalArgumentException(
+                        String.format("Subaddress table '%s' belongs to a different wallet", path));
+            }
+        } else {
+            table = SubaddressTable.create(path, publicSpendKey, (long)accounts * indexes);
+        }
+
+        try {
+            int oldAccounts = table.getAccounts();
+            int oldIndexes = table.getIndexes();
+            int newAccounts = Math.max(accounts, oldAccounts);
+            int newIndexes = Math.max(indexes, oldIndexes);
+
+            table.reserve((long)newAccounts * newIndexes);
+
+            byte[][] batch = new byte[LOOKUP_TABLE_BATCH_SIZE][];
+            for (int account = 0; account < newAccounts; ++account) {
+                int first = (account < oldAccounts) ? oldIndexes : 0;
+
+                for (int start = first; start < newIndexes; start += LOOKUP_TABLE_BATCH_SIZE) {
+                    int acc = account;
+                    int begin = start;
+                    int count = Math.min(LOOKUP_TABLE_BATCH_SIZE, newIndexes - start);
+
+                    forEachInRange(
+                            count,
+                            i -> batch[i] = ((acc == 0) && (begin + i == 0))
+                                    ? publicSpendKey
+                                    : engine.derivePublicSpendKey(acc, begin + i));
+
+                    for (int i = 0; i < count; ++i) {
+                        table.put(batch[i], account, start + i);
+                    }
+                }
+            }
+
+            table.setCoverage(newAccounts, newIndexes);
+        } catch (IOException | RuntimeException e) {
+            table.close();
+            throw e;
+        }
+
+        return table;
+    }
+
+    /**
+     * Derive the private spend key of the wallet.
+     *
+     * @return 32-byte little-endian scalar
+     */
+    private byte[] derivePrivateSpendKey() {
+        return Ed25519Utils.reduce32(context.deriveEd25519PrivateKey(ADDRESS_PATH));
+    }
+
+    /**
+     * Derive the private view key of the wallet from its private spend key.
+     *
+     * @param privateSpendKey Private spend key
+     * @return 32-byte little-endian scalar
+     */
+    private static byte[] derivePrivateViewKey(byte[] privateSpendKey) {
+        return Ed25519Utils.reduce32(DigestUtils.unsafeDigest(KECCAK_256, privateSpendKey));
+    }
+
     /**
      * Generate the Monero subaddress for the given 'account' and 'index' values. For more information regarding Monero
      * subaddresses, see https://monerodocs.org/public-address/subaddress/ .
      *
      * @param addressPath Not exactly a BIP-44 path; actually a collection of indices used by the [[MoneroAddress]]
-     * @param standardPrivateViewKey Private view key of the Monero standard address
-     * @param standardPublicSpendKey Public spend key of the Monero standard address
+     * @param engine Subaddress engine for the keys of the Monero standard address
      * @param account Account for which to generate subaddress
      * @param index Index for which to generate subaddress
      * @return Monero subaddress
      */
     private MoneroAddress generateSubaddress(
             int[] addressPath,
-            GroupElement standardPublicSpendKey,
-            byte[] standardPrivateViewKey,
+            MoneroSubaddressEngine engine,
             int account,
             int index)
     {
-        byte[] mBase = new byte[SUBADDRESS_BASE_LENGTH];
-        System.arraycopy(SUBADDRESS_PREFIX, 0, mBase, 0, 8);
-        System.arraycopy(standardPrivateViewKey, 0, mBase, 8, 32);
-        System.arraycopy(EncodingUtils.intToFourBytes(account, true), 0, mBase, 40, 4);
-        System.arraycopy(EncodingUtils.intToFourBytes(index,true ), 0, mBase, 44, 4);
-
-        byte[] mHash = DigestUtils.unsafeDigest(KECCAK_256, mBase);
-        ArrayUtils.reverse(mHash);
-        byte[] m = new BigInteger(mHash).mod(Ed25519Utils.L).toByteArray();
-        ArrayUtils.reverse(m);
-
-        GroupElement D = ED_25519_CURVE_SPEC.getB().scalarMultiply(m).add(standardPublicSpendKey.toCached());
-        GroupElement C = ED_25519_CURVE_SPEC
-                .getCurve()
-                .createPoint(D.toByteArray(), true)
-                .scalarMultiply(standardPrivateViewKey);
-
-        return generateMoneroAddress(MAINNET_SUBADDRESS_NETWORK_BYTE, addressPath, D.toByteArray(), C.toByteArray());
+        byte[] publicSpendKey = new byte[KEY_LENGTH];
+        byte[] publicViewKey = new byte[KEY_LENGTH];
+        engine.derivePublicKeys(account, index, publicSpendKey, publicViewKey);
+
+        return generateMoneroAddress(MAINNET_SUBADDRESS_NETWORK_BYTE, addressPath, publicSpendKey, publicViewKey);
     }
 
     /**
@@ -194,17 +273,14 @@ public class MoneroWalletGenerator extends AccountIndexWalletGenerator {
             byte[] publicSpendKey,
             byte[] publicViewKey)
     {
-        byte[] rawAddressNoChecksum = new byte[65];
-        rawAddressNoChecksum[0] = networkByte;
-        System.arraycopy(publicSpendKey, 0, rawAddressNoChecksum, 1, 32);
-        System.arraycopy(publicViewKey, 0, rawAddressNoChecksum, 33, 32);
-
-        byte[] checksum = DigestUtils.unsafeDigest(KECCAK_256, rawAddressNoChecksum);
-        byte[] rawAddressChecksum = new byte[69];
-        System.arraycopy(rawAddressNoChecksum, 0, rawAddressChecksum, 0, 65);
-        System.arraycopy(checksum, 0, rawAddressChecksum, 65, CHECKSUM_LENGTH);
+        byte[] rawAddress = new byte[MoneroBase58.ADDRESS_LENGTH];
+        int checksumOffset = MoneroBase58.ADDRESS_LENGTH - CHECKSUM_LENGTH;
+        rawAddress[0] = networkByte;
+        System.arraycopy(publicSpendKey, 0, rawAddress, 1, 32);
+        System.arraycopy(publicViewKey, 0, rawAddress, 33, 32);
+        DigestUtils.digest(KECCAK_256, rawAddress, 0, checksumOffset, 0, CHECKSUM_LENGTH, rawAddress, checksumOffset);
 
-        String address = EncodingUtils.base58Monero(rawAddressChecksum);
+        String address = MoneroBase58.encode(rawAddress);
 
         String publicSpendKeyText = null;
         String publicViewKeyText = null;
@@ -215,7 +291,14 @@ public class MoneroWalletGenerator extends AccountIndexWalletGenerator {
             publicViewKeyText = EncodingUtils.bytesToHex(publicViewKey);
         }
 
-        return new MoneroAddress(address, addressPath, publicSpendKeyText, publicViewKeyText);
+        DecodedAddress decoded = new DecodedAddress(
+                XMR,
+                (networkByte == MAINNET_SUBADDRESS_NETWORK_BYTE)
+                        ? MoneroAddressCodec.TYPE_SUBADDRESS
+                        : MoneroAddressCodec.TYPE_STANDARD,
+                Arrays.copyOfRange(rawAddress, 1, checksumOffset));
+
+        return new MoneroAddress(address, addressPath, publicSpendKeyText, publicViewKeyText, decoded);
     }
 
     /**
@@ -1,9 +1,19 @@
 package com.ashelkov.owg.wallet.generators;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.ashelkov.owg.address.BIP44Address;
+import com.ashelkov.owg.wallet.SeedContext;
 import com.ashelkov.owg.wallet.SingleCoinWallet;
+import com.ashelkov.owg.wallet.util.Bip32NodeCache;
 
 /**
  * Base class for factory classes which generate [[SingleCoinWallet]] objects.
@@ -14,22 +24,172 @@ public abstract class SingleCoinWalletGenerator {
     protected static final String PATH_ERROR_TEMPLATE = "wallet generator path length error; expected %d, got %d";
 
     public static final int DEFAULT_FIELD_VAL = 0;
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    // Ranges at or below this size are processed sequentially by a single fork/join task
+    private static final int SEQUENTIAL_THRESHOLD = 32;
 
-    protected final byte[] seed;
+    protected final SeedContext context;
     protected final boolean genPrivKey;
     protected final boolean genPubKey;
 
-    public SingleCoinWalletGenerator(byte[] seed, boolean genPrivKey, boolean genPubKey) {
+    private int parallelism = DEFAULT_PARALLELISM;
+    private boolean lazy = false;
 
-        if (seed.length == 0) {
-            throw new IllegalArgumentException("Empty seed");
-        }
+    // Shared by every range this generator derives in parallel; null while generating on the calling thread
+    private ForkJoinPool pool = null;
 
-        this.seed = seed;
+    public SingleCoinWalletGenerator(SeedContext context, boolean genPrivKey, boolean genPubKey) {
+        this.context = context;
         this.genPrivKey = genPrivKey;
         this.genPubKey = genPubKey;
     }
 
+    /**
+     * Get the cache of secp256k1 derivation nodes for the seed, shared with every other generator using the same
+     * [[SeedContext]].
+     *
+     * @return Derivation node cache
+     */
+    protected Bip32NodeCache getNodeCache() {
+        return context.getSecp256k1Nodes();
+    }
+
+    /**
+     * Get the number of threads used to generate ranges of addresses.
+     *
+     * @return Parallelism level
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Set the number of threads used to generate ranges of addresses. A value of 1 generates every address on the
+     * calling thread; any other value starts a fork/join pool, used for every range until [[shutdown]] is called.
+     *
+     * @param parallelism Parallelism level
+     * @throws IllegalArgumentException
+     */
+    public void setParallelism(int parallelism) {
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(String.format("Invalid parallelism level: %d", parallelism));
+        }
+
+        if (parallelism != this.parallelism) {
+            shutdown();
+            this.parallelism = parallelism;
+            if (parallelism > 1) {
+                pool = new ForkJoinPool(parallelism);
+            }
+        }
+    }
+
+    /**
+     * Stop the fork/join pool started by [[setParallelism]], and go back to generating every address on the calling
+     * thread. The pool's threads are daemons which exit once idle, so a generator which is simply dropped does not
+     * keep the process alive either.
+     */
+    public void shutdown() {
+
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+
+        parallelism = DEFAULT_PARALLELISM;
+    }
+
+    /**
+     * Check whether wallets produced by this generator derive their addresses lazily.
+     *
+     * @return true if addresses are derived on demand, false if they are derived up front
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Set whether wallets produced by this generator derive their addresses lazily. Lazy wallets hold an
+     * [[AddressRange]] instead of a list of addresses: nothing is derived until the addresses are traversed, and
+     * traversal derives them one chunk at a time (in parallel, if the parallelism level allows).
+     *
+     * @param lazy true to derive addresses on demand, false to derive them up front
+     */
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    /**
+     * Generate the addresses for a contiguous range of values of the incrementing path field. In lazy mode, the
+     * addresses are only derived when traversed (see [[AddressRange]]); otherwise, they are all derived before
+     * returning.
+     *
+     * @param start First value of the incrementing path field
+     * @param numAddresses Number of addresses to generate
+     * @param generator Function generating the address for a single value of the incrementing path field
+     * @return Addresses, in range order
+     */
+    protected List<BIP44Address> generateAddresses(
+            int start,
+            int numAddresses,
+            IntFunction<? extends BIP44Address> generator)
+    {
+        if (lazy) {
+            return new AddressRange(
+                    start,
+                    numAddresses,
+                    AddressRange.DEFAULT_CHUNK_SIZE,
+                    generator,
+                    (chunkStart, chunkSize) -> deriveAddresses(chunkStart, chunkSize, generator));
+        }
+
+        return deriveAddresses(start, numAddresses, generator);
+    }
+
+    /**
+     * Derive the addresses for a contiguous range of values of the incrementing path field. Addresses at different
+     * values are independent of each other, so they are derived with [[forEachInRange]]. The result is always in range
+     * order, regardless of parallelism.
+     *
+     * @param start First value of the incrementing path field
+     * @param numAddresses Number of addresses to generate
+     * @param generator Function generating the address for a single value of the incrementing path field
+     * @return Addresses, in range order
+     */
+    private List<BIP44Address> deriveAddresses(
+            int start,
+            int numAddresses,
+            IntFunction<? extends BIP44Address> generator)
+    {
+        BIP44Address[] addresses = new BIP44Address[numAddresses];
+        forEachInRange(numAddresses, i -> addresses[i] = generator.apply(start + i));
+
+        return Arrays.asList(addresses);
+    }
+
+    /**
+     * Run an action for every value in [0, count). When the parallelism level allows, the range is recursively split
+     * and processed on the generator's fork/join pool, so the action must be safe to run concurrently for different
+     * values.
+     *
+     * @param count Number of values
+     * @param action Action to run for each value
+     */
+    protected void forEachInRange(int count, IntConsumer action) {
+
+        ForkJoinPool pool = this.pool;
+
+        if ((pool == null) || (count <= SEQUENTIAL_THRESHOLD)) {
+            for (int i = 0; i < count; ++i) {
+                action.accept(i);
+            }
+        } else {
+            pool.invoke(new RangeTask(0, count, action));
+        }
+    }
+
     /**
      * Core logic for generating a [[SingleCoinWallet]] from a partial path.
      *
@@ -71,4 +231,34 @@ public abstract class SingleCoinWalletGenerator {
         verifyPartialPath(partialPath);
         return generatePathWalletLogic(partialPath, numAddresses);
     }
+
+    /**
+     * Fork/join task which runs an action over a slice of a range, splitting it in half until the slices are small
+     * enough to process sequentially.
+     */
+    private static final class RangeTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+
+        private RangeTask(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+
+            if ((to - from) <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; ++i) {
+                    action.accept(i);
+                }
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RangeTask(from, mid, action), new RangeTask(mid, to, action));
+            }
+        }
+    }
 }
@@ -6,6 +6,9 @@ import java.util.List;
 import org.stellar.sdk.KeyPair;
 
 import com.ashelkov.owg.address.BIP44Address;
+import com.ashelkov.owg.address.codec.DecodedAddress;
+import com.ashelkov.owg.address.codec.StellarAddressCodec;
+import com.ashelkov.owg.wallet.SeedContext;
 import com.ashelkov.owg.wallet.StellarWallet;
 
 import static com.ashelkov.owg.bip.Coin.XLM;
@@ -17,7 +20,11 @@ import static com.ashelkov.owg.bip.Constants.HARDENED;
 public class StellarWalletGenerator extends AccountWalletGenerator {
 
     public StellarWalletGenerator(byte[] seed, boolean genPrivKey) {
-        super(seed, genPrivKey, false);
+        this(new SeedContext(seed), genPrivKey);
+    }
+
+    public StellarWalletGenerator(SeedContext context, boolean genPrivKey) {
+        super(context, genPrivKey, false);
     }
 
     /**
@@ -45,11 +52,7 @@ public class StellarWalletGenerator extends AccountWalletGenerator {
     @Override
     public StellarWallet generateWallet(int account, int numAddresses) {
 
-        List<BIP44Address> addresses = new ArrayList<>(numAddresses);
-
-        for(int i = account; i < (account + numAddresses); ++i) {
-            addresses.add(generateAddress(i));
-        }
+        List<BIP44Address> addresses = generateAddresses(account, numAddresses, this::generateAddress);
 
         return new StellarWallet(addresses);
     }
@@ -63,7 +66,7 @@ public class StellarWalletGenerator extends AccountWalletGenerator {
     private BIP44Address generateAddress(int account) {
 
         int[] addressPath = getAddressPath(account);
-        KeyPair derivedKeyPair = KeyPair.fromBip39Seed(seed, account);
+        KeyPair derivedKeyPair = KeyPair.fromSecretSeed(context.deriveEd25519PrivateKey(addressPath));
 
         String address = derivedKeyPair.getAccountId();
 
@@ -72,7 +75,10 @@ public class StellarWalletGenerator extends AccountWalletGenerator {
             privKeyText = String.valueOf(derivedKeyPair.getSecretSeed());
         }
 
-        return new BIP44Address(address, addressPath, privKeyText, null);
+        DecodedAddress decoded =
+                new DecodedAddress(XLM, StellarAddressCodec.TYPE_ACCOUNT, derivedKeyPair.getPublicKey());
+
+        return new BIP44Address(address, addressPath, privKeyText, null, decoded);
     }
 
     /**
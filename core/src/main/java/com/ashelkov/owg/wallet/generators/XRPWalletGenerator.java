@@ -1,15 +1,18 @@
 package com.ashelkov.owg.wallet.generators;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.IntFunction;
 
 import org.stellar.sdk.KeyPair;
 import org.web3j.crypto.Bip32ECKeyPair;
-import org.web3j.crypto.Hash;
 
-import com.ashelkov.owg.wallet.util.Ed25519Utils;
+import com.ashelkov.owg.wallet.util.DigestUtils;
 import com.ashelkov.owg.wallet.util.EncodingUtils;
 import com.ashelkov.owg.address.BIP44Address;
+import com.ashelkov.owg.address.codec.Base58CheckAddressCodec;
+import com.ashelkov.owg.address.codec.DecodedAddress;
+import com.ashelkov.owg.wallet.SeedContext;
 import com.ashelkov.owg.wallet.XRPWallet;
 
 import static com.ashelkov.owg.bip.Coin.XRP;
@@ -24,12 +27,14 @@ public class XRPWalletGenerator extends AccountWalletGenerator {
     private static final byte MASTER_PUB_KEY_PREFIX = (byte)0xED;
     private static final byte PAYLOAD_PREFIX = (byte)0x00;
 
-    private final Bip32ECKeyPair masterKeyPair;
     private final boolean legacy;
 
     public XRPWalletGenerator(byte[] seed, boolean legacy, boolean genPrivKey, boolean genPubKey) {
-        super(seed, genPrivKey, genPubKey);
-        this.masterKeyPair = Bip32ECKeyPair.generateKeyPair(seed);
+        this(new SeedContext(seed), legacy, genPrivKey, genPubKey);
+    }
+
+    public XRPWalletGenerator(SeedContext context, boolean legacy, boolean genPrivKey, boolean genPubKey) {
+        super(context, genPrivKey, genPubKey);
         this.legacy = legacy;
     }
 
@@ -55,19 +60,8 @@ public class XRPWalletGenerator extends AccountWalletGenerator {
     @Override
     public XRPWallet generateWallet(int account, int numAddresses) {
 
-        List<BIP44Address> addresses = new ArrayList<>(numAddresses);
-
-        for(int i = account; i < (account + numAddresses); ++i) {
-
-            BIP44Address address;
-            if (legacy) {
-                address = generateAddressSECP256k1(i);
-            } else {
-                address = generateAddressED25519(i);
-            }
-
-            addresses.add(address);
-        }
+        IntFunction<BIP44Address> generator = legacy ? this::generateAddressSECP256k1 : this::generateAddressED25519;
+        List<BIP44Address> addresses = generateAddresses(account, numAddresses, generator);
 
         return new XRPWallet(addresses);
     }
@@ -86,18 +80,7 @@ public class XRPWalletGenerator extends AccountWalletGenerator {
 
         int[] addressPath = getAddressPath(account);
 
-        Bip32ECKeyPair derivedKeyPair = Bip32ECKeyPair.deriveKeyPair(masterKeyPair, addressPath);
-
-        byte[] accountID = Hash.sha256hash160(derivedKeyPair.getPublicKeyPoint().getEncoded(true));
-        byte[] payload = new byte[21];
-        System.arraycopy(accountID, 0, payload, 1, 20);
-        payload[0] = PAYLOAD_PREFIX;
-
-        byte[] checksum = Hash.sha256(Hash.sha256(payload));
-        byte[] rawAddress = new byte[25];
-        System.arraycopy(payload, 0, rawAddress, 0, 21);
-        System.arraycopy(checksum, 0, rawAddress, 21, CHECKSUM_LENGTH);
-        String address = EncodingUtils.base58XRP(rawAddress);
+        Bip32ECKeyPair derivedKeyPair = getNodeCache().deriveKeyPair(addressPath);
 
         String privKeyText = null;
         String pubKeyText = null;
@@ -108,7 +91,11 @@ public class XRPWalletGenerator extends AccountWalletGenerator {
             pubKeyText = EncodingUtils.bytesToHex(derivedKeyPair.getPublicKeyPoint().getEncoded(true));
         }
 
-        return new BIP44Address(address, addressPath, privKeyText, pubKeyText);
+        return createAddress(
+                derivedKeyPair.getPublicKeyPoint().getEncoded(true),
+                addressPath,
+                privKeyText,
+                pubKeyText);
     }
 
     /**
@@ -125,24 +112,45 @@ public class XRPWalletGenerator extends AccountWalletGenerator {
         int[] addressPathED25519 = getAddressPathED25519(account);
 
         byte[] rawPublicKey = KeyPair
-                .fromSecretSeed(Ed25519Utils.deriveEd25519PrivateKey(seed, addressPathED25519))
+                .fromSecretSeed(context.deriveEd25519PrivateKey(addressPathED25519))
                 .getPublicKey();
         byte[] masterPublicKey = new byte[33];
         System.arraycopy(rawPublicKey, 0, masterPublicKey, 1, 32);
         masterPublicKey[0] = MASTER_PUB_KEY_PREFIX;
 
-        byte[] accountID = Hash.sha256hash160(masterPublicKey);
-        byte[] payload = new byte[21];
-        System.arraycopy(accountID, 0, payload, 1, 20);
-        payload[0] = PAYLOAD_PREFIX;
+        return createAddress(masterPublicKey, addressPathED25519, null, null);
+    }
+
+    /**
+     * Create the XRP address of a public key: its account ID (the HASH160 of the key), prefixed with the payload type
+     * and followed by a checksum, encoded in XRP base58.
+     *
+     * @param publicKey 33-byte public key (secp256k1 compressed point, or 0xED-prefixed ed25519 key)
+     * @param addressPath BIP-44 path from which the key was derived
+     * @param privKeyText Private key text, or null
+     * @param pubKeyText Public key text, or null
+     * @return XRP address
+     */
+    private static BIP44Address createAddress(
+            byte[] publicKey,
+            int[] addressPath,
+            String privKeyText,
+            String pubKeyText)
+    {
+
+        int payloadLength = 1 + DigestUtils.HASH160_LENGTH;
+        byte[] rawAddress = new byte[payloadLength + CHECKSUM_LENGTH];
+        rawAddress[0] = PAYLOAD_PREFIX;
+        DigestUtils.hash160(publicKey, 0, publicKey.length, rawAddress, 1);
+        DigestUtils.sha256dChecksum(rawAddress, 0, payloadLength, rawAddress, payloadLength);
 
-        byte[] checksum = Hash.sha256(Hash.sha256(payload));
-        byte[] rawAddress = new byte[25];
-        System.arraycopy(payload, 0, rawAddress, 0, 21);
-        System.arraycopy(checksum, 0, rawAddress, 21, CHECKSUM_LENGTH);
         String address = EncodingUtils.base58XRP(rawAddress);
+        DecodedAddress decoded = new DecodedAddress(
+                XRP,
+                Base58CheckAddressCodec.TYPE_ACCOUNT,
+                Arrays.copyOfRange(rawAddress, 1, payloadLength));
 
-        return new BIP44Address(address, addressPathED25519);
+        return new BIP44Address(address, addressPath, privKeyText, pubKeyText, decoded);
     }
 
     /**
@@ -1,5 +1,8 @@
 package com.ashelkov.owg.wallet.util;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 import com.ashelkov.owg.bip.Constants;
 
 /**
@@ -16,22 +19,39 @@ public class BIP44Utils {
      */
     public static String convertPathToText(int[] path) {
 
-        if (path.length == 0) {
-            throw new IllegalArgumentException("Cannot convert empty path to text");
+        StringBuilder result = new StringBuilder();
+        try {
+            appendPathText(path, result);
+        } catch (IOException e) {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
         }
 
-        StringBuilder result = new StringBuilder();
+        return result.toString();
+    }
 
-        result.append("m/");
+    /**
+     * Write a BIP-44 path into a sink in common BIP-44 notation.
+     *
+     * @param path Input path
+     * @param out Destination of the text
+     * @throws IOException if the sink cannot be written
+     */
+    public static void appendPathText(int[] path, Appendable out) throws IOException {
 
-        for (int chainVal : path) {
-            result.append(chainValToString(chainVal));
-            result.append('/');
+        if (path.length == 0) {
+            throw new IllegalArgumentException("Cannot convert empty path to text");
         }
 
-        result.setLength(result.length() - 1);
+        out.append("m");
 
-        return result.toString();
+        for (int chainVal : path) {
+            out.append('/');
+            out.append(Integer.toString(chainVal & ~Constants.HARDENED));
+            if ((chainVal & Constants.HARDENED) != 0) {
+                out.append('\'');
+            }
+        }
     }
 
     /**
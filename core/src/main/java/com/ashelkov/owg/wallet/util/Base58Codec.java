@@ -0,0 +1,305 @@
+package com.ashelkov.owg.wallet.util;
+
+import java.util.Arrays;
+
+/**
+ * Base58 encoder/decoder for a particular alphabet.
+ *
+ * Instead of dividing the input by 58 one byte at a time for every output digit, the input is held as an array of
+ * 32-bit limbs and divided by 58^5 (the largest power of 58 which fits in a limb) per pass, producing five digits per
+ * pass. Decoding runs the same scheme in reverse, multiplying the limbs by 58^5 and adding five digits at a time.
+ *
+ * Encoding writes into caller-supplied char buffers, so that callers which assemble larger strings (or encode many
+ * values) need not allocate intermediate Strings. Instances are immutable and thread-safe.
+ */
+public final class Base58Codec {
+
+    public static final Base58Codec BITCOIN =
+            new Base58Codec("123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz");
+    public static final Base58Codec XRP =
+            new Base58Codec("rpshnaf39wBUDNEGHJKLM4PQRST7VWXYZ2bcdeCg65jkm8oFqi1tuvAxyz");
+
+    private static final int BASE = 58;
+    private static final long LIMB_MASK = 0xFFFFFFFFL;
+    // 58^5, the largest power of 58 which fits in an unsigned 32-bit limb
+    private static final long LIMB_RADIX = 656356768L;
+    private static final int DIGITS_PER_LIMB_RADIX = 5;
+
+    private final char[] alphabet;
+    private final byte[] digits = new byte[128];
+
+    /**
+     * @param alphabet Ordered alphabet of 58 distinct ASCII characters
+     */
+    public Base58Codec(String alphabet) {
+
+        if (alphabet.length() != BASE) {
+            throw new IllegalArgumentException("Base58 alphabet must contain exactly 58 characters");
+        }
+
+        this.alphabet = alphabet.toCharArray();
+
+        Arrays.fill(digits, (byte)-1);
+        for (int i = 0; i < BASE; ++i) {
+            digits[this.alphabet[i]] = (byte)i;
+        }
+    }
+
+    /**
+     * Upper bound on the number of characters needed to encode a number of bytes (log(256) / log(58) < 1.38).
+     *
+     * @param numBytes Number of input bytes
+     * @return Maximum encoded length
+     */
+    public static int maxEncodedLength(int numBytes) {
+        return ((numBytes * 138) / 100) + 1;
+    }
+
+    /**
+     * Upper bound on the number of bytes produced by decoding a number of characters (log(58) / log(256) < 0.733).
+     *
+     * @param numChars Number of input characters
+     * @return Maximum decoded length
+     */
+    public static int maxDecodedLength(int numChars) {
+        return ((numChars * 733) / 1000) + 1;
+    }
+
+    /**
+     * Encode bytes as a base58 [[String]]. Each leading zero byte is encoded as a leading zero digit.
+     *
+     * @param input Bytes to encode
+     * @return Base58-encoded bytes
+     */
+    public String encode(byte[] input) {
+        char[] encoded = new char[maxEncodedLength(input.length)];
+        return new String(encoded, 0, encode(input, 0, input.length, encoded, 0));
+    }
+
+    /**
+     * Encode bytes as base58 into a char buffer. Each leading zero byte is encoded as a leading zero digit.
+     *
+     * @param input Array containing the bytes to encode
+     * @param offset Offset of the bytes in the array
+     * @param length Number of bytes to encode
+     * @param out Output buffer; must have room for [[maxEncodedLength]] characters from 'outOffset'
+     * @param outOffset Offset at which to write the encoded characters
+     * @return Number of characters written
+     */
+    public int encode(byte[] input, int offset, int length, char[] out, int outOffset) {
+
+        int end = outOffset + maxEncodedLength(length);
+        if (end > out.length) {
+            throw new IllegalArgumentException("Output buffer too small for base58 encoding");
+        }
+
+        int zeros = 0;
+        while ((zeros < length) && (input[offset + zeros] == 0)) {
+            ++zeros;
+        }
+
+        // Digits are written right-aligned at the end of the reserved space, then moved to the requested offset
+        int start = writeDigits(input, offset + zeros, length - zeros, out, outOffset, end);
+        for (int i = 0; i < zeros; ++i) {
+            out[--start] = alphabet[0];
+        }
+
+        int written = end - start;
+        System.arraycopy(out, start, out, outOffset, written);
+
+        return written;
+    }
+
+    /**
+     * Encode bytes as a fixed-width base58 number, left-padded with zero digits.
+     *
+     * @param input Array containing the bytes to encode (big-endian number)
+     * @param offset Offset of the bytes in the array
+     * @param length Number of bytes to encode
+     * @param out Output buffer
+     * @param outOffset Offset at which to write the encoded characters
+     * @param width Number of characters to write
+     */
+    public void encodeFixed(byte[] input, int offset, int length, char[] out, int outOffset, int width) {
+        int start = writeDigits(input, offset, length, out, outOffset, outOffset + width);
+        Arrays.fill(out, outOffset, start, alphabet[0]);
+    }
+
+    /**
+     * Decode a base58 [[String]]. Each leading zero digit is decoded as a leading zero byte.
+     *
+     * @param input Base58-encoded characters
+     * @return Decoded bytes
+     */
+    public byte[] decode(CharSequence input) {
+
+        int length = input.length();
+        int zeros = 0;
+        while ((zeros < length) && (input.charAt(zeros) == alphabet[0])) {
+            ++zeros;
+        }
+
+        int[] limbs = readDigits(input, zeros, length - zeros);
+
+        int skip = 0;
+        while ((skip < (limbs.length * 4)) && (limbByte(limbs, skip) == 0)) {
+            ++skip;
+        }
+
+        byte[] result = new byte[zeros + (limbs.length * 4) - skip];
+        for (int i = zeros, j = skip; i < result.length; ++i, ++j) {
+            result[i] = limbByte(limbs, j);
+        }
+
+        return result;
+    }
+
+    /**
+     * Decode a fixed-width base58 number into a fixed number of bytes.
+     *
+     * @param input Base58-encoded characters
+     * @param offset Offset of the characters to decode
+     * @param length Number of characters to decode
+     * @param out Output buffer
+     * @param outOffset Offset at which to write the decoded bytes
+     * @param width Number of bytes to write (big-endian)
+     */
+    public void decodeFixed(CharSequence input, int offset, int length, byte[] out, int outOffset, int width) {
+
+        int[] limbs = readDigits(input, offset, length);
+        int total = limbs.length * 4;
+
+        for (int i = 0; i < (total - width); ++i) {
+            if (limbByte(limbs, i) != 0) {
+                throw new IllegalArgumentException("Base58 value too large for its block");
+            }
+        }
+        for (int i = 0; i < width; ++i) {
+            int j = total - width + i;
+            out[outOffset + i] = (j < 0) ? 0 : limbByte(limbs, j);
+        }
+    }
+
+    /**
+     * Convert a big-endian number to base58 digits, written right-to-left ending just before 'end', without leading
+     * zero digits.
+     *
+     * @param input Array containing the number
+     * @param offset Offset of the number in the array
+     * @param length Length of the number in bytes
+     * @param out Output buffer
+     * @param limit Lowest index of the output buffer which may be written
+     * @param end Index just past the last digit
+     * @return Index of the first digit
+     */
+    private int writeDigits(byte[] input, int offset, int length, char[] out, int limit, int end) {
+
+        int[] limbs = toLimbs(input, offset, length);
+        int first = 0;
+        int pos = end;
+
+        while ((first < limbs.length) && (limbs[first] == 0)) {
+            ++first;
+        }
+
+        while (first < limbs.length) {
+            long remainder = 0;
+            for (int i = first; i < limbs.length; ++i) {
+                long current = (remainder << 32) | (limbs[i] & LIMB_MASK);
+                limbs[i] = (int)(current / LIMB_RADIX);
+                remainder = current % LIMB_RADIX;
+            }
+
+            while ((first < limbs.length) && (limbs[first] == 0)) {
+                ++first;
+            }
+
+            // Every digit of the remainder is significant, unless this was the final (most significant) division
+            boolean last = (first == limbs.length);
+            for (int d = 0; (d < DIGITS_PER_LIMB_RADIX) && (!last || (remainder != 0)); ++d) {
+                if (pos == limit) {
+                    throw new IllegalArgumentException("Output buffer too small for base58 encoding");
+                }
+                out[--pos] = alphabet[(int)(remainder % BASE)];
+                remainder /= BASE;
+            }
+        }
+
+        return pos;
+    }
+
+    /**
+     * Convert base58 digits to a big-endian number held in 32-bit limbs.
+     *
+     * @param input Base58-encoded characters
+     * @param offset Offset of the characters to convert
+     * @param length Number of characters to convert
+     * @return Big-endian limbs
+     */
+    private int[] readDigits(CharSequence input, int offset, int length) {
+
+        int[] limbs = new int[(maxDecodedLength(length) + 3) / 4];
+        int top = limbs.length;
+        int pos = offset;
+        int end = offset + length;
+
+        // The first group takes the leftover digits, so that every following group is full
+        int group = length % DIGITS_PER_LIMB_RADIX;
+        if (group == 0) {
+            group = DIGITS_PER_LIMB_RADIX;
+        }
+
+        while (pos < end) {
+            long value = 0;
+            long multiplier = 1;
+            for (int d = 0; d < group; ++d) {
+                value = (value * BASE) + digit(input.charAt(pos++));
+                multiplier *= BASE;
+            }
+
+            long carry = value;
+            int i = limbs.length - 1;
+            for (; (i >= top) || ((carry != 0) && (i >= 0)); --i) {
+                long current = ((limbs[i] & LIMB_MASK) * multiplier) + carry;
+                limbs[i] = (int)current;
+                carry = current >>> 32;
+            }
+            top = Math.min(top, i + 1);
+
+            group = DIGITS_PER_LIMB_RADIX;
+        }
+
+        return limbs;
+    }
+
+    private int digit(char c) {
+
+        int digit = (c < digits.length) ? digits[c] : -1;
+        if (digit < 0) {
+            throw new IllegalArgumentException(String.format("Invalid base58 character '%c'", c));
+        }
+
+        return digit;
+    }
+
+    private static int[] toLimbs(byte[] input, int offset, int length) {
+
+        int[] limbs = new int[(length + 3) / 4];
+        int pos = offset;
+
+        for (int i = 0; i < limbs.length; ++i) {
+            int count = (i == 0) ? (length - (4 * (limbs.length - 1))) : 4;
+            int limb = 0;
+            for (int k = 0; k < count; ++k) {
+                limb = (limb << 8) | (input[pos++] & 0xFF);
+            }
+            limbs[i] = limb;
+        }
+
+        return limbs;
+    }
+
+    private static byte limbByte(int[] limbs, int i) {
+        return (byte)(limbs[i >> 2] >>> (24 - (8 * (i & 3))));
+    }
+}
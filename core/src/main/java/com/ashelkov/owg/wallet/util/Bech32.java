@@ -0,0 +1,404 @@
+package com.ashelkov.owg.wallet.util;
+
+import java.util.Arrays;
+
+/**
+ * [BIP-173](https://github.com/bitcoin/bips/blob/master/bip-0173.mediawiki) Bech32 and
+ * [BIP-350](https://github.com/bitcoin/bips/blob/master/bip-0350.mediawiki) Bech32m encoder/decoder.
+ *
+ * Encoding converts the 8-bit payload to 5-bit groups, updates the polymod checksum, and emits characters into the
+ * caller's buffer in a single pass, without any intermediate arrays. Only lowercase strings are produced; decoding
+ * accepts strings which are either entirely lowercase or entirely uppercase.
+ */
+public final class Bech32 {
+
+    /**
+     * Checksum variant.
+     */
+    public enum Encoding {
+        BECH32(1),
+        BECH32M(0x2bc830a3);
+
+        private final int constant;
+
+        Encoding(int constant) {
+            this.constant = constant;
+        }
+    }
+
+    /**
+     * Result of decoding a Bech32/Bech32m string: the human-readable part, the checksum variant, and the data as 5-bit
+     * groups (checksum excluded).
+     */
+    public static final class Decoded {
+
+        private final String hrp;
+        private final Encoding encoding;
+        private final byte[] words;
+
+        private Decoded(String hrp, Encoding encoding, byte[] words) {
+            this.hrp = hrp;
+            this.encoding = encoding;
+            this.words = words;
+        }
+
+        public String getHrp() {
+            return hrp;
+        }
+
+        public Encoding getEncoding() {
+            return encoding;
+        }
+
+        public byte[] getWords() {
+            return words.clone();
+        }
+
+        /**
+         * @return First 5-bit group, which holds the witness version of segregated witness addresses
+         */
+        public int getWitnessVersion() {
+            return words[0];
+        }
+    }
+
+    public static final int MAX_LENGTH = 90;
+    public static final char SEPARATOR = '1';
+    public static final int CHECKSUM_LENGTH = 6;
+
+    private static final char[] CHARSET = "qpzry9x8gf2tvdw0s3jn54khce6mua7l".toCharArray();
+    private static final int[] GENERATOR = {0x3b6a57b2, 0x26508e6d, 0x1ea119fa, 0x3d4233dd, 0x2a1462b3};
+    private static final byte[] VALUES = new byte[128];
+
+    // Per-thread output buffer, large enough for any valid string
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+    static {
+        Arrays.fill(VALUES, (byte)-1);
+        for (int i = 0; i < CHARSET.length; ++i) {
+            VALUES[CHARSET[i]] = (byte)i;
+            VALUES[Character.toUpperCase(CHARSET[i])] = (byte)i;
+        }
+    }
+
+    /**
+     * Get the length of the string encoding a payload.
+     *
+     * @param hrp Human-readable part
+     * @param witness True if a witness version precedes the payload
+     * @param numBytes Number of payload bytes
+     * @return Encoded length
+     */
+    public static int encodedLength(String hrp, boolean witness, int numBytes) {
+        return hrp.length() + 1 + (witness ? 1 : 0) + (((numBytes * 8) + 4) / 5) + CHECKSUM_LENGTH;
+    }
+
+    /**
+     * Encode a segregated witness address. Version 0 programs use Bech32; later versions use Bech32m.
+     *
+     * @param hrp Human-readable part (e.g. "bc")
+     * @param witnessVersion Witness version (0-16)
+     * @param program Witness program
+     * @return Segwit address
+     */
+    public static String encodeSegwit(String hrp, int witnessVersion, byte[] program) {
+
+        if ((witnessVersion < 0) || (witnessVersion > 16)) {
+            throw new IllegalArgumentException("Invalid witness version: " + witnessVersion);
+        }
+
+        Encoding encoding = (witnessVersion == 0) ? Encoding.BECH32 : Encoding.BECH32M;
+        return encodeToString(encoding, hrp, witnessVersion, program);
+    }
+
+    /**
+     * Encode an 8-bit payload.
+     *
+     * @param encoding Checksum variant
+     * @param hrp Human-readable part
+     * @param data Payload
+     * @return Bech32/Bech32m string
+     */
+    public static String encode(Encoding encoding, String hrp, byte[] data) {
+        return encodeToString(encoding, hrp, -1, data);
+    }
+
+    /**
+     * Encode an 8-bit payload, optionally preceded by a witness version, into a char buffer.
+     *
+     * @param encoding Checksum variant
+     * @param hrp Human-readable part (lowercase)
+     * @param witnessVersion Witness version to prepend as a single 5-bit group, or -1 for none
+     * @param data Array containing the payload
+     * @param offset Offset of the payload in the array
+     * @param length Length of the payload
+     * @param out Output buffer; must have room for [[encodedLength]] characters from 'outOffset'
+     * @param outOffset Offset at which to write the encoded characters
+     * @return Number of characters written
+     */
+    public static int encode(
+            Encoding encoding,
+            String hrp,
+            int witnessVersion,
+            byte[] data,
+            int offset,
+            int length,
+            char[] out,
+            int outOffset)
+    {
+        int hrpLength = hrp.length();
+        if (encodedLength(hrp, witnessVersion >= 0, length) > MAX_LENGTH) {
+            throw new IllegalArgumentException("Bech32 string would exceed 90 characters");
+        }
+
+        int pos = outOffset;
+        int checksum = expandHrp(hrp);
+        hrp.getChars(0, hrpLength, out, pos);
+        pos += hrpLength;
+        out[pos++] = SEPARATOR;
+
+        if (witnessVersion >= 0) {
+            checksum = polymodStep(checksum) ^ witnessVersion;
+            out[pos++] = CHARSET[witnessVersion];
+        }
+
+        // Regroup 8-bit bytes into 5-bit words, padding the final word with zero bits
+        int accumulator = 0;
+        int bits = 0;
+        for (int i = offset; i < (offset + length); ++i) {
+            accumulator = (accumulator << 8) | (data[i] & 0xFF);
+            bits += 8;
+            while (bits >= 5) {
+                bits -= 5;
+                int word = (accumulator >>> bits) & 0x1F;
+                checksum = polymodStep(checksum) ^ word;
+                out[pos++] = CHARSET[word];
+            }
+        }
+        if (bits > 0) {
+            int word = (accumulator << (5 - bits)) & 0x1F;
+            checksum = polymodStep(checksum) ^ word;
+            out[pos++] = CHARSET[word];
+        }
+
+        for (int i = 0; i < CHECKSUM_LENGTH; ++i) {
+            checksum = polymodStep(checksum);
+        }
+        checksum ^= encoding.constant;
+        for (int i = 0; i < CHECKSUM_LENGTH; ++i) {
+            out[pos++] = CHARSET[(checksum >>> (5 * (CHECKSUM_LENGTH - 1 - i))) & 0x1F];
+        }
+
+        return pos - outOffset;
+    }
+
+    /**
+     * Decode and checksum-verify a Bech32/Bech32m string.
+     *
+     * @param input Encoded string
+     * @return Human-readable part, checksum variant, and 5-bit data
+     */
+    public static Decoded decode(CharSequence input) {
+
+        int length = input.length();
+        if ((length < 8) || (length > MAX_LENGTH)) {
+            throw new IllegalArgumentException("Invalid Bech32 length: " + length);
+        }
+
+        boolean lower = false;
+        boolean upper = false;
+        int separator = -1;
+        for (int i = 0; i < length; ++i) {
+            char c = input.charAt(i);
+            if ((c < 33) || (c > 126)) {
+                throw new IllegalArgumentException(String.format("Invalid Bech32 character '%c'", c));
+            }
+            lower |= (c >= 'a') && (c <= 'z');
+            upper |= (c >= 'A') && (c <= 'Z');
+            if (c == SEPARATOR) {
+                separator = i;
+            }
+        }
+        if (lower && upper) {
+            throw new IllegalArgumentException("Bech32 strings must not mix upper and lower case");
+        }
+        if ((separator < 1) || ((separator + CHECKSUM_LENGTH + 1) > length)) {
+            throw new IllegalArgumentException("Missing or misplaced Bech32 separator");
+        }
+
+        String hrp = input.subSequence(0, separator).toString().toLowerCase();
+        int checksum = expandHrp(hrp);
+        byte[] words = new byte[length - separator - 1 - CHECKSUM_LENGTH];
+
+        for (int i = separator + 1; i < length; ++i) {
+            char c = input.charAt(i);
+            int value = VALUES[c];
+            if (value < 0) {
+                throw new IllegalArgumentException(String.format("Invalid Bech32 character '%c'", c));
+            }
+            checksum = polymodStep(checksum) ^ value;
+
+            int word = i - separator - 1;
+            if (word < words.length) {
+                words[word] = (byte)value;
+            }
+        }
+
+        Encoding encoding;
+        if (checksum == Encoding.BECH32.constant) {
+            encoding = Encoding.BECH32;
+        } else if (checksum == Encoding.BECH32M.constant) {
+            encoding = Encoding.BECH32M;
+        } else {
+            throw new IllegalArgumentException("Invalid Bech32 checksum");
+        }
+
+        return new Decoded(hrp, encoding, words);
+    }
+
+    /**
+     * Decode a Bech32/Bech32m string carrying an 8-bit payload (no witness version).
+     *
+     * @param encoding Expected checksum variant
+     * @param hrp Expected human-readable part
+     * @param input Encoded string
+     * @return Payload
+     */
+    public static byte[] decode(Encoding encoding, String hrp, CharSequence input) {
+
+        Decoded decoded = decode(input);
+        if ((decoded.encoding != encoding) || !decoded.hrp.equals(hrp)) {
+            throw new IllegalArgumentException(
+                    String.format("Expected %s string with prefix '%s'", encoding, hrp));
+        }
+
+        return fromWords(decoded.words, 0, decoded.words.length);
+    }
+
+    /**
+     * Decode a segregated witness address, validating the witness version, checksum variant and program length.
+     *
+     * @param hrp Expected human-readable part (e.g. "bc")
+     * @param input Segwit address
+     * @return Witness program
+     */
+    public static byte[] decodeSegwit(String hrp, CharSequence input) {
+        return toSegwitProgram(decode(input), hrp);
+    }
+
+    /**
+     * Extract the witness program from a decoded segregated witness address, validating the witness version, checksum
+     * variant and program length.
+     *
+     * @param decoded Decoded address
+     * @param hrp Expected human-readable part (e.g. "bc")
+     * @return Witness program
+     */
+    public static byte[] toSegwitProgram(Decoded decoded, String hrp) {
+
+        if (!decoded.hrp.equals(hrp)) {
+            throw new IllegalArgumentException(String.format("Expected address with prefix '%s'", hrp));
+        }
+        if (decoded.words.length == 0) {
+            throw new IllegalArgumentException("Missing witness version");
+        }
+
+        int witnessVersion = decoded.getWitnessVersion();
+        if (witnessVersion > 16) {
+            throw new IllegalArgumentException("Invalid witness version: " + witnessVersion);
+        }
+        if (decoded.encoding != ((witnessVersion == 0) ? Encoding.BECH32 : Encoding.BECH32M)) {
+            throw new IllegalArgumentException("Wrong checksum variant for witness version " + witnessVersion);
+        }
+
+        byte[] program = fromWords(decoded.words, 1, decoded.words.length - 1);
+        if ((program.length < 2)
+                || (program.length > 40)
+                || ((witnessVersion == 0) && (program.length != 20) && (program.length != 32))) {
+            throw new IllegalArgumentException("Invalid witness program length: " + program.length);
+        }
+
+        return program;
+    }
+
+    /**
+     * Regroup 5-bit words into 8-bit bytes; the leftover padding must be fewer than 5 zero bits.
+     *
+     * @param words Array containing 5-bit words
+     * @param offset Offset of the words in the array
+     * @param length Number of words
+     * @return Bytes
+     */
+    public static byte[] fromWords(byte[] words, int offset, int length) {
+
+        byte[] result = new byte[(length * 5) / 8];
+        int accumulator = 0;
+        int bits = 0;
+        int pos = 0;
+
+        for (int i = offset; i < (offset + length); ++i) {
+            accumulator = (accumulator << 5) | words[i];
+            bits += 5;
+            if (bits >= 8) {
+                bits -= 8;
+                result[pos++] = (byte)(accumulator >>> bits);
+            }
+        }
+
+        if ((bits >= 5) || ((accumulator & ((1 << bits) - 1)) != 0)) {
+            throw new IllegalArgumentException("Invalid Bech32 padding");
+        }
+
+        return result;
+    }
+
+    private static String encodeToString(Encoding encoding, String hrp, int witnessVersion, byte[] data) {
+        char[] out = BUFFER.get();
+        int length = encode(encoding, hrp, witnessVersion, data, 0, data.length, out, 0);
+        return new String(out, 0, length);
+    }
+
+    /**
+     * Compute the checksum state after absorbing the expanded human-readable part.
+     *
+     * @param hrp Human-readable part (lowercase)
+     * @return Checksum state
+     */
+    private static int expandHrp(String hrp) {
+
+        int checksum = 1;
+        int length = hrp.length();
+
+        for (int i = 0; i < length; ++i) {
+            checksum = polymodStep(checksum) ^ (hrp.charAt(i) >>> 5);
+        }
+        checksum = polymodStep(checksum);
+        for (int i = 0; i < length; ++i) {
+            checksum = polymodStep(checksum) ^ (hrp.charAt(i) & 0x1F);
+        }
+
+        return checksum;
+    }
+
+    /**
+     * Shift the checksum state by one 5-bit group (the caller XORs in the group itself).
+     *
+     * @param checksum Checksum state
+     * @return Shifted checksum state
+     */
+    private static int polymodStep(int checksum) {
+
+        int top = checksum >>> 25;
+        int result = (checksum & 0x1FFFFFF) << 5;
+
+        for (int i = 0; i < GENERATOR.length; ++i) {
+            if (((top >>> i) & 1) != 0) {
+                result ^= GENERATOR[i];
+            }
+        }
+
+        return result;
+    }
+
+    private Bech32() {}
+}
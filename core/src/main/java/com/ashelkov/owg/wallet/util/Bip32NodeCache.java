@@ -0,0 +1,132 @@
+package com.ashelkov.owg.wallet.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.web3j.crypto.Bip32ECKeyPair;
+
+/**
+ * Cache of intermediate [BIP-32](https://github.com/bitcoin/bips/blob/master/bip-0032.mediawiki) secp256k1 key pairs,
+ * organized as a derivation tree rooted at the master key pair.
+ *
+ * Deriving a key pair from the master key pair requires one HMAC-SHA512 and one EC multiplication per path element.
+ * When generating many addresses which share a path prefix (e.g. m/84'/0'/0'/0), the prefix nodes are derived once and
+ * cached, so that each additional address only costs the derivation of its final child step.
+ */
+public class Bip32NodeCache {
+
+    private final Node root;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param masterKeyPair Master key pair (root of the derivation tree)
+     */
+    public Bip32NodeCache(Bip32ECKeyPair masterKeyPair) {
+        this.root = new Node(masterKeyPair);
+    }
+
+    /**
+     * @param seed Random seed from which to generate the master key pair
+     */
+    public Bip32NodeCache(byte[] seed) {
+        this(Bip32ECKeyPair.generateKeyPair(seed));
+    }
+
+    /**
+     * Derive the key pair for a full BIP-32 path. Every node along the path except the final one is cached; the final
+     * child step is always derived, since leaf nodes are rarely reused.
+     *
+     * @param path BIP-32 path elements
+     * @return Key pair at the given path
+     */
+    public Bip32ECKeyPair deriveKeyPair(int[] path) {
+
+        if (path.length == 0) {
+            return root.keyPair;
+        }
+
+        Node parent = getNode(path, path.length - 1);
+
+        return Bip32ECKeyPair.deriveKeyPair(parent.keyPair, new int[] {path[path.length - 1]});
+    }
+
+    /**
+     * Get the key pair for a full BIP-32 path, caching every node along the path (including the final one). Useful for
+     * nodes which are themselves the prefix of other paths, such as account nodes.
+     *
+     * @param path BIP-32 path elements
+     * @return Key pair at the given path
+     */
+    public Bip32ECKeyPair getKeyPair(int[] path) {
+        return getNode(path, path.length).keyPair;
+    }
+
+    /**
+     * Get the number of cached node lookups which were served without any derivation.
+     *
+     * @return Cache hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of cached node lookups which required a derivation step.
+     *
+     * @return Cache miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Bip32NodeCache(hits = %d, misses = %d)", getHitCount(), getMissCount());
+    }
+
+    /**
+     * Walk the derivation tree along the first 'depth' elements of a path, deriving and caching any missing nodes.
+     *
+     * @param path BIP-32 path elements
+     * @param depth Number of path elements to walk
+     * @return Tree node at the given depth
+     */
+    private Node getNode(int[] path, int depth) {
+
+        Node current = root;
+
+        for (int i = 0; i < depth; ++i) {
+            Node parent = current;
+            current = parent.children.get(path[i]);
+
+            if (current != null) {
+                hits.increment();
+            } else {
+                current = parent.children.computeIfAbsent(
+                        path[i],
+                        childNumber -> {
+                            misses.increment();
+                            return new Node(
+                                    Bip32ECKeyPair.deriveKeyPair(parent.keyPair, new int[] {childNumber}));
+                        });
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Single node of the derivation tree.
+     */
+    private static final class Node {
+
+        private final Bip32ECKeyPair keyPair;
+        private final ConcurrentMap<Integer, Node> children = new ConcurrentHashMap<>();
+
+        private Node(Bip32ECKeyPair keyPair) {
+            this.keyPair = keyPair;
+        }
+    }
+}
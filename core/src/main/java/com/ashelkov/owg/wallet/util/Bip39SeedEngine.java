@@ -0,0 +1,316 @@
+package com.ashelkov.owg.wallet.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * [BIP-39](https://github.com/bitcoin/bips/blob/master/bip-0039.mediawiki) seed generation: PBKDF2-HMAC-SHA512 of the
+ * mnemonic, salted with "mnemonic" + passphrase, over 2048 iterations.
+ *
+ * The HMAC key (the mnemonic) never changes between iterations, so the SHA-512 states after absorbing the inner and
+ * outer key pads are computed once. Every iteration after the first hashes a single 64-byte block on top of each of
+ * them, which is exactly one SHA-512 compression, so the iterations run as 4096 compressions over primitive long[]
+ * state, with no allocation and no intermediate byte arrays.
+ *
+ * Produces the same seeds as web3j's MnemonicUtils.generateSeed (which, like this class, does not apply NFKD
+ * normalization to the mnemonic or passphrase).
+ */
+public final class Bip39SeedEngine {
+
+    public static final int SEED_LENGTH = 64;
+    public static final int ITERATIONS = 2048;
+
+    private static final String SALT_PREFIX = "mnemonic";
+    private static final int BLOCK_LENGTH = 128;
+    private static final int STATE_WORDS = 8;
+    private static final int BLOCK_WORDS = 16;
+    private static final long IPAD = 0x3636363636363636L;
+    private static final long OPAD = 0x5c5c5c5c5c5c5c5cL;
+
+    private static final long[] IV = {
+        0x6a09e667f3bcc908L, 0xbb67ae8584caa73bL, 0x3c6ef372fe94f82bL, 0xa54ff53a5f1d36f1L,
+        0x510e527fade682d1L, 0x9b05688c2b3e6c1fL, 0x1f83d9abfb41bd6bL, 0x5be0cd19137e2179L};
+
+    private static final long[] K = {
+        0x428a2f98d728ae22L, 0x7137449123ef65cdL, 0xb5c0fbcfec4d3b2fL, 0xe9b5dba58189dbbcL, 0x3956c25bf348b538L,
+        0x59f111f1b605d019L, 0x923f82a4af194f9bL, 0xab1c5ed5da6d8118L, 0xd807aa98a3030242L, 0x12835b0145706fbeL,
+        0x243185be4ee4b28cL, 0x550c7dc3d5ffb4e2L, 0x72be5d74f27b896fL, 0x80deb1fe3b1696b1L, 0x9bdc06a725c71235L,
+        0xc19bf174cf692694L, 0xe49b69c19ef14ad2L, 0xefbe4786384f25e3L, 0x0fc19dc68b8cd5b5L, 0x240ca1cc77ac9c65L,
+        0x2de92c6f592b0275L, 0x4a7484aa6ea6e483L, 0x5cb0a9dcbd41fbd4L, 0x76f988da831153b5L, 0x983e5152ee66dfabL,
+        0xa831c66d2db43210L, 0xb00327c898fb213fL, 0xbf597fc7beef0ee4L, 0xc6e00bf33da88fc2L, 0xd5a79147930aa725L,
+        0x06ca6351e003826fL, 0x142929670a0e6e70L, 0x27b70a8546d22ffcL, 0x2e1b21385c26c926L, 0x4d2c6dfc5ac42aedL,
+        0x53380d139d95b3dfL, 0x650a73548baf63deL, 0x766a0abb3c77b2a8L, 0x81c2c92e47edaee6L, 0x92722c851482353bL,
+        0xa2bfe8a14cf10364L, 0xa81a664bbc423001L, 0xc24b8b70d0f89791L, 0xc76c51a30654be30L, 0xd192e819d6ef5218L,
+        0xd69906245565a910L, 0xf40e35855771202aL, 0x106aa07032bbd1b8L, 0x19a4c116b8d2d0c8L, 0x1e376c085141ab53L,
+        0x2748774cdf8eeb99L, 0x34b0bcb5e19b48a8L, 0x391c0cb3c5c95a63L, 0x4ed8aa4ae3418acbL, 0x5b9cca4f7763e373L,
+        0x682e6ff3d6b2b8a3L, 0x748f82ee5defb2fcL, 0x78a5636f43172f60L, 0x84c87814a1f0ab72L, 0x8cc702081a6439ecL,
+        0x90befffa23631e28L, 0xa4506cebde82bde9L, 0xbef9a3f7b2c67915L, 0xc67178f2e372532bL, 0xca273eceea26619cL,
+        0xd186b8c721c0c207L, 0xeada7dd6cde0eb1eL, 0xf57d4f7fee6ed178L, 0x06f067aa72176fbaL, 0x0a637dc5a2c898a6L,
+        0x113f9804bef90daeL, 0x1b710b35131c471bL, 0x28db77f523047d84L, 0x32caab7b40c72493L, 0x3c9ebe0a15c9bebcL,
+        0x431d67c49c100d4cL, 0x4cc5d4becb3e42b6L, 0x597f299cfc657e2aL, 0x5fcb6fab3ad6faecL, 0x6c44198c4a475817L};
+
+    // Per-thread message schedule
+    private static final ThreadLocal<long[]> SCHEDULE = ThreadLocal.withInitial(() -> new long[80]);
+
+    /**
+     * Generate the BIP-39 seed of a mnemonic.
+     *
+     * @param mnemonic Mnemonic phrase
+     * @param passphrase Optional passphrase (null is treated as the empty passphrase)
+     * @return 64-byte seed
+     */
+    public static byte[] generateSeed(String mnemonic, String passphrase) {
+
+        if ((mnemonic == null) || mnemonic.isBlank()) {
+            throw new IllegalArgumentException("Mnemonic is required to generate a seed");
+        }
+
+        byte[] password = mnemonic.getBytes(StandardCharsets.UTF_8);
+        byte[] salt = (SALT_PREFIX + ((passphrase == null) ? "" : passphrase)).getBytes(StandardCharsets.UTF_8);
+
+        return pbkdf2(password, salt);
+    }
+
+    /**
+     * Generate the BIP-39 seeds of several mnemonics, on at most 'threads' threads. Each seed is produced on a single
+     * thread; the mnemonics are shared out between the threads.
+     *
+     * @param mnemonics Mnemonic phrases
+     * @param passphrase Optional passphrase, shared by every mnemonic (null is treated as the empty passphrase)
+     * @param threads Maximum number of seeds to generate at once
+     * @return 64-byte seeds, in the order of the mnemonics
+     */
+    public static List<byte[]> generateSeeds(List<String> mnemonics, String passphrase, int threads) {
+
+        int count = mnemonics.size();
+        byte[][] seeds = new byte[count][];
+        int workers = Math.max(1, Math.min(threads, count));
+
+        if (workers == 1) {
+            for (int i = 0; i < count; ++i) {
+                seeds[i] = generateSeed(mnemonics.get(i), passphrase);
+            }
+            return List.of(seeds);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int w = 0; w < workers; ++w) {
+                int first = w;
+                futures.add(executor.submit(() -> {
+                    for (int i = first; i < count; i += workers) {
+                        seeds[i] = generateSeed(mnemonics.get(i), passphrase);
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating seeds", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return List.of(seeds);
+    }
+
+    /**
+     * PBKDF2-HMAC-SHA512 with a 64-byte output (a single PBKDF2 block).
+     *
+     * @param password HMAC key
+     * @param salt Salt
+     * @return Derived key
+     */
+    private static byte[] pbkdf2(byte[] password, byte[] salt) {
+
+        long[] w = SCHEDULE.get();
+
+        // HMAC keys longer than a block are replaced by their hash
+        byte[] key = (password.length > BLOCK_LENGTH) ? toBytes(sha512(IV, 0, password, w)) : password;
+        long[] keyWords = new long[BLOCK_WORDS];
+        loadWords(key, 0, key.length, keyWords);
+
+        long[] innerState = IV.clone();
+        long[] outerState = IV.clone();
+        for (int i = 0; i < BLOCK_WORDS; ++i) {
+            w[i] = keyWords[i] ^ IPAD;
+        }
+        compress(innerState, w);
+        for (int i = 0; i < BLOCK_WORDS; ++i) {
+            w[i] = keyWords[i] ^ OPAD;
+        }
+        compress(outerState, w);
+
+        // U1 = HMAC(password, salt || INT(1))
+        byte[] message = new byte[salt.length + 4];
+        System.arraycopy(salt, 0, message, 0, salt.length);
+        message[salt.length + 3] = 1;
+
+        long[] u = sha512(innerState, BLOCK_LENGTH, message, w);
+        u = hashBlock(outerState, u, w, new long[STATE_WORDS]);
+
+        long[] result = u.clone();
+        long[] inner = new long[STATE_WORDS];
+
+        // Ui = HMAC(password, U(i-1)); each HMAC is one compression on top of each precomputed pad state
+        for (int iteration = 1; iteration < ITERATIONS; ++iteration) {
+            hashBlock(innerState, u, w, inner);
+            hashBlock(outerState, inner, w, u);
+            for (int i = 0; i < STATE_WORDS; ++i) {
+                result[i] ^= u[i];
+            }
+        }
+
+        return toBytes(result);
+    }
+
+    /**
+     * Finish a SHA-512 hash whose remaining input is one 64-byte value, on top of a state which has already absorbed
+     * exactly one block (a key pad).
+     *
+     * @param state State after absorbing the key pad; not modified
+     * @param value 64-byte value, as words
+     * @param w Message schedule scratch
+     * @param out Output hash, as words
+     * @return 'out'
+     */
+    private static long[] hashBlock(long[] state, long[] value, long[] w, long[] out) {
+
+        System.arraycopy(value, 0, w, 0, STATE_WORDS);
+        w[8] = 0x8000000000000000L;
+        for (int i = 9; i < 15; ++i) {
+            w[i] = 0;
+        }
+        // Total length: key pad block + 64-byte value, in bits
+        w[15] = (BLOCK_LENGTH + SEED_LENGTH) * 8L;
+
+        System.arraycopy(state, 0, out, 0, STATE_WORDS);
+        compress(out, w);
+
+        return out;
+    }
+
+    /**
+     * Hash a message (with SHA-512 padding) on top of a state which has already absorbed 'prefixLength' bytes.
+     *
+     * @param initial Initial state; not modified
+     * @param prefixLength Number of bytes already absorbed by the initial state (a multiple of the block length)
+     * @param message Remaining message
+     * @param w Message schedule scratch
+     * @return Hash, as words
+     */
+    private static long[] sha512(long[] initial, int prefixLength, byte[] message, long[] w) {
+
+        long[] state = initial.clone();
+        long bitLength = ((long)prefixLength + message.length) * 8;
+
+        // Message, 0x80 terminator and 16-byte length, rounded up to whole blocks
+        int paddedLength = ((message.length + 1 + 16 + BLOCK_LENGTH - 1) / BLOCK_LENGTH) * BLOCK_LENGTH;
+        byte[] padded = new byte[paddedLength];
+        System.arraycopy(message, 0, padded, 0, message.length);
+        padded[message.length] = (byte)0x80;
+        for (int i = 0; i < 8; ++i) {
+            padded[paddedLength - 1 - i] = (byte)(bitLength >>> (8 * i));
+        }
+
+        for (int offset = 0; offset < paddedLength; offset += BLOCK_LENGTH) {
+            loadWords(padded, offset, BLOCK_LENGTH, w);
+            compress(state, w);
+        }
+
+        return state;
+    }
+
+    /**
+     * The SHA-512 compression function.
+     *
+     * @param state Hash state, updated in place
+     * @param w Message schedule; the first 16 words hold the block, the rest is overwritten
+     */
+    private static void compress(long[] state, long[] w) {
+
+        for (int t = 16; t < 80; ++t) {
+            long w15 = w[t - 15];
+            long w2 = w[t - 2];
+            long s0 = Long.rotateRight(w15, 1) ^ Long.rotateRight(w15, 8) ^ (w15 >>> 7);
+            long s1 = Long.rotateRight(w2, 19) ^ Long.rotateRight(w2, 61) ^ (w2 >>> 6);
+            w[t] = w[t - 16] + s0 + w[t - 7] + s1;
+        }
+
+        long a = state[0];
+        long b = state[1];
+        long c = state[2];
+        long d = state[3];
+        long e = state[4];
+        long f = state[5];
+        long g = state[6];
+        long h = state[7];
+
+        for (int t = 0; t < 80; ++t) {
+            long s1 = Long.rotateRight(e, 14) ^ Long.rotateRight(e, 18) ^ Long.rotateRight(e, 41);
+            long ch = (e & f) ^ (~e & g);
+            long t1 = h + s1 + ch + K[t] + w[t];
+            long s0 = Long.rotateRight(a, 28) ^ Long.rotateRight(a, 34) ^ Long.rotateRight(a, 39);
+            long maj = (a & b) ^ (a & c) ^ (b & c);
+            long t2 = s0 + maj;
+
+            h = g;
+            g = f;
+            f = e;
+            e = d + t1;
+            d = c;
+            c = b;
+            b = a;
+            a = t1 + t2;
+        }
+
+        state[0] += a;
+        state[1] += b;
+        state[2] += c;
+        state[3] += d;
+        state[4] += e;
+        state[5] += f;
+        state[6] += g;
+        state[7] += h;
+    }
+
+    /**
+     * Load up to a block of bytes as big-endian words, zero-filling the rest of the block.
+     */
+    private static void loadWords(byte[] bytes, int offset, int length, long[] words) {
+        for (int i = 0; i < BLOCK_WORDS; ++i) {
+            long word = 0;
+            for (int k = 0; k < 8; ++k) {
+                int index = (8 * i) + k;
+                word = (word << 8) | ((index < length) ? (bytes[offset + index] & 0xFF) : 0);
+            }
+            words[i] = word;
+        }
+    }
+
+    private static byte[] toBytes(long[] words) {
+
+        byte[] bytes = new byte[words.length * 8];
+        for (int i = 0; i < bytes.length; ++i) {
+            bytes[i] = (byte)(words[i >>> 3] >>> (56 - (8 * (i & 7))));
+        }
+
+        return bytes;
+    }
+
+    private Bip39SeedEngine() {}
+}
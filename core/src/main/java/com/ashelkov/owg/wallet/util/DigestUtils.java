@@ -1,11 +1,19 @@
 package com.ashelkov.owg.wallet.util;
 
+import java.security.DigestException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.Provider;
 import java.security.Security;
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
+import org.bouncycastle.crypto.digests.RIPEMD160Digest;
+import org.bouncycastle.crypto.digests.SHA256Digest;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 
+import static com.ashelkov.owg.bip.Constants.CHECKSUM_LENGTH;
+
 /**
  * NOTE: This code is copied from Algorand SDK cource classes com.algorand.algosdk.util.Digester and
  *       com.algorand.algosdk.util.CryptoProvider.
@@ -13,6 +21,13 @@ import org.bouncycastle.jce.provider.BouncyCastleProvider;
  * ====================================================================================================================
  *
  * Utilities for performing hashes.
+ *
+ * The hash function provider is resolved once, and every thread keeps a pool of [[MessageDigest]] instances (one per
+ * algorithm) obtained directly from it, so that repeated hashing skips the JCA provider search entirely. Digests can
+ * also be written straight into a caller-supplied buffer.
+ *
+ * The Bitcoin-family composite hashes (HASH160 and double SHA-256) are fused: both rounds run on per-thread digest
+ * engines, with the intermediate hash kept in a per-thread buffer.
  */
 public class DigestUtils {
 
@@ -21,14 +36,26 @@ public class DigestUtils {
     public static final String KECCAK_256 = "Keccak-256";
     public static final String SHA_512_256 = "SHA-512/256";
 
+    public static final int HASH160_LENGTH = 20;
+    public static final int SHA256_LENGTH = 32;
+
+    private static final Provider PROVIDER = setupIfNeeded();
+
+    // Per-thread digest instances, by algorithm, and scratch buffer for partial digest output
+    private static final ThreadLocal<Pool> POOL = ThreadLocal.withInitial(Pool::new);
+
     /**
      * Add a hash function provider if one is not yet present.
+     *
+     * @return Hash function provider
      */
-    private static void setupIfNeeded() {
+    private static Provider setupIfNeeded() {
         // Add bouncy castle provider for crypto, if it's not already added
         if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
             Security.addProvider(new BouncyCastleProvider());
         }
+
+        return Security.getProvider(BouncyCastleProvider.PROVIDER_NAME);
     }
 
     /**
@@ -41,10 +68,8 @@ public class DigestUtils {
      */
     public static byte[] digest(String alg, byte[] data) throws NoSuchAlgorithmException {
 
-        setupIfNeeded();
-
-        java.security.MessageDigest digest = java.security.MessageDigest.getInstance(alg);
-        digest.update(Arrays.copyOf(data, data.length));
+        MessageDigest digest = POOL.get().get(alg);
+        digest.update(data);
 
         return digest.digest();
     }
@@ -68,4 +93,184 @@ public class DigestUtils {
 
         return encodedData;
     }
+
+    /**
+     * Hash part of an array using the chosen named algorithm, and write the bytes ['from', 'to') of the hash output into
+     * a buffer. Writing the complete hash (from 0 to the digest length) does not allocate.
+     *
+     * @param alg Algorithm to use
+     * @param data Array containing the input data
+     * @param offset Offset of the input data in the array
+     * @param length Length of the input data
+     * @param from Index of the first hash output byte to write
+     * @param to Index just past the last hash output byte to write
+     * @param out Output buffer
+     * @param outOffset Offset at which to write the hash output
+     * @return Number of bytes written
+     */
+    public static int digest(
+            String alg,
+            byte[] data,
+            int offset,
+            int length,
+            int from,
+            int to,
+            byte[] out,
+            int outOffset)
+    {
+        Pool pool = POOL.get();
+        MessageDigest digest;
+        try {
+            digest = pool.get(alg);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported hash algorithm: " + alg, e);
+        }
+
+        int digestLength = digest.getDigestLength();
+        if ((from < 0) || (from > to) || (to > digestLength)) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid range [%d, %d) of a %d-byte %s hash", from, to, digestLength, alg));
+        }
+
+        digest.update(data, offset, length);
+        try {
+            if ((from == 0) && (to == digestLength)) {
+                digest.digest(out, outOffset, digestLength);
+            } else {
+                byte[] scratch = pool.scratch(digestLength);
+                digest.digest(scratch, 0, digestLength);
+                System.arraycopy(scratch, from, out, outOffset, to - from);
+            }
+        } catch (DigestException e) {
+            throw new IllegalArgumentException("Output buffer too small for " + alg + " hash", e);
+        }
+
+        return to - from;
+    }
+
+    /**
+     * Get the output length of the chosen named algorithm.
+     *
+     * @param alg Algorithm to use
+     * @return Hash output length in bytes
+     * @throws NoSuchAlgorithmException if named hash function not found
+     */
+    public static int getDigestLength(String alg) throws NoSuchAlgorithmException {
+        return POOL.get().get(alg).getDigestLength();
+    }
+
+    /**
+     * Compute RIPEMD-160(SHA-256(data)), as used for Bitcoin-style public key hashes.
+     *
+     * @param data Input data to hash
+     * @return 20-byte hash
+     */
+    public static byte[] hash160(byte[] data) {
+        byte[] hash = new byte[HASH160_LENGTH];
+        hash160(data, 0, data.length, hash, 0);
+        return hash;
+    }
+
+    /**
+     * Compute RIPEMD-160(SHA-256(data)) of part of an array into a buffer.
+     *
+     * @param data Array containing the input data
+     * @param offset Offset of the input data in the array
+     * @param length Length of the input data
+     * @param out Output buffer; must have room for 20 bytes from 'outOffset'
+     * @param outOffset Offset at which to write the hash
+     */
+    public static void hash160(byte[] data, int offset, int length, byte[] out, int outOffset) {
+
+        Pool pool = POOL.get();
+
+        pool.sha256.update(data, offset, length);
+        pool.sha256.doFinal(pool.intermediate, 0);
+        pool.ripemd160.update(pool.intermediate, 0, SHA256_LENGTH);
+        pool.ripemd160.doFinal(out, outOffset);
+    }
+
+    /**
+     * Compute SHA-256(SHA-256(data)).
+     *
+     * @param data Input data to hash
+     * @return 32-byte hash
+     */
+    public static byte[] sha256d(byte[] data) {
+        byte[] hash = new byte[SHA256_LENGTH];
+        sha256d(data, 0, data.length, hash, 0);
+        return hash;
+    }
+
+    /**
+     * Compute SHA-256(SHA-256(data)) of part of an array into a buffer.
+     *
+     * @param data Array containing the input data
+     * @param offset Offset of the input data in the array
+     * @param length Length of the input data
+     * @param out Output buffer; must have room for 32 bytes from 'outOffset'
+     * @param outOffset Offset at which to write the hash
+     */
+    public static void sha256d(byte[] data, int offset, int length, byte[] out, int outOffset) {
+
+        Pool pool = POOL.get();
+
+        pool.sha256.update(data, offset, length);
+        pool.sha256.doFinal(pool.intermediate, 0);
+        pool.sha256.update(pool.intermediate, 0, SHA256_LENGTH);
+        pool.sha256.doFinal(out, outOffset);
+    }
+
+    /**
+     * Write the base58check checksum of part of an array (the first 4 bytes of its double SHA-256) into a buffer.
+     * Typically the checksum is written directly after the data, in the same array.
+     *
+     * @param data Array containing the input data
+     * @param offset Offset of the input data in the array
+     * @param length Length of the input data
+     * @param out Output buffer; must have room for 4 bytes from 'outOffset'
+     * @param outOffset Offset at which to write the checksum
+     */
+    public static void sha256dChecksum(byte[] data, int offset, int length, byte[] out, int outOffset) {
+
+        Pool pool = POOL.get();
+
+        sha256d(data, offset, length, pool.intermediate, 0);
+        System.arraycopy(pool.intermediate, 0, out, outOffset, CHECKSUM_LENGTH);
+    }
+
+    /**
+     * Thread-confined pool of digest instances.
+     */
+    private static final class Pool {
+
+        private final Map<String, MessageDigest> digests = new HashMap<>();
+        private final SHA256Digest sha256 = new SHA256Digest();
+        private final RIPEMD160Digest ripemd160 = new RIPEMD160Digest();
+        private final byte[] intermediate = new byte[SHA256_LENGTH];
+        private byte[] scratch = new byte[64];
+
+        private MessageDigest get(String alg) throws NoSuchAlgorithmException {
+
+            MessageDigest digest = digests.get(alg);
+            if (digest == null) {
+                digest = MessageDigest.getInstance(alg, PROVIDER);
+                digests.put(alg, digest);
+            } else {
+                // A previous call may have been interrupted mid-hash
+                digest.reset();
+            }
+
+            return digest;
+        }
+
+        private byte[] scratch(int length) {
+
+            if (scratch.length < length) {
+                scratch = new byte[length];
+            }
+
+            return scratch;
+        }
+    }
 }
@@ -0,0 +1,133 @@
+package com.ashelkov.owg.wallet.util;
+
+import org.bouncycastle.crypto.digests.KeccakDigest;
+import org.bouncycastle.math.ec.ECPoint;
+
+/**
+ * Ethereum addresses with [EIP-55](https://eips.ethereum.org/EIPS/eip-55) mixed-case checksums.
+ *
+ * Works on the raw 20-byte address: the lowercase hex digits are produced straight from the bytes, hashed as ASCII with
+ * a reused Keccak-256 engine, and written out with their case chosen from the hash, all in per-thread scratch buffers.
+ * No BigIntegers or intermediate Strings are created.
+ */
+public final class Eip55 {
+
+    public static final int ADDRESS_LENGTH = 20;
+    // "0x" + 40 hex characters
+    public static final int ENCODED_LENGTH = 42;
+
+    private static final int HASH_LENGTH = 32;
+    private static final byte[] LOWER_HEX = "0123456789abcdef".getBytes();
+
+    // Per-thread Keccak engine and scratch buffers
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Derive the 20-byte Ethereum address of a secp256k1 public key: the last 20 bytes of the Keccak-256 digest of the
+     * uncompressed point (without its 0x04 prefix).
+     *
+     * @param publicKey Public key point
+     * @return 20-byte address
+     */
+    public static byte[] addressFromPublicKey(ECPoint publicKey) {
+
+        Scratch scratch = SCRATCH.get();
+        byte[] encoded = publicKey.getEncoded(false);
+
+        scratch.keccak.update(encoded, 1, encoded.length - 1);
+        scratch.keccak.doFinal(scratch.hash, 0);
+
+        byte[] address = new byte[ADDRESS_LENGTH];
+        System.arraycopy(scratch.hash, HASH_LENGTH - ADDRESS_LENGTH, address, 0, ADDRESS_LENGTH);
+
+        return address;
+    }
+
+    /**
+     * Derive the EIP-55 checksummed address of a secp256k1 public key.
+     *
+     * @param publicKey Public key point
+     * @return "0x"-prefixed checksummed address
+     */
+    public static String checksumAddressFromPublicKey(ECPoint publicKey) {
+        return toChecksumAddress(addressFromPublicKey(publicKey));
+    }
+
+    /**
+     * Encode a 20-byte address with an EIP-55 checksum.
+     *
+     * @param address 20-byte address
+     * @return "0x"-prefixed checksummed address
+     */
+    public static String toChecksumAddress(byte[] address) {
+        char[] out = SCRATCH.get().chars;
+        toChecksumAddress(address, 0, out, 0);
+        return new String(out, 0, ENCODED_LENGTH);
+    }
+
+    /**
+     * Encode a 20-byte address with an EIP-55 checksum into a char buffer.
+     *
+     * @param address Array containing the address
+     * @param offset Offset of the address in the array
+     * @param out Output buffer; must have room for 42 characters from 'outOffset'
+     * @param outOffset Offset at which to write the encoded address
+     */
+    public static void toChecksumAddress(byte[] address, int offset, char[] out, int outOffset) {
+
+        Scratch scratch = SCRATCH.get();
+        byte[] hex = scratch.hex;
+
+        for (int i = 0; i < ADDRESS_LENGTH; ++i) {
+            int b = address[offset + i] & 0xFF;
+            hex[2 * i] = LOWER_HEX[b >>> 4];
+            hex[(2 * i) + 1] = LOWER_HEX[b & 0x0F];
+        }
+
+        scratch.keccak.update(hex, 0, hex.length);
+        scratch.keccak.doFinal(scratch.hash, 0);
+
+        out[outOffset] = '0';
+        out[outOffset + 1] = 'x';
+        for (int i = 0; i < hex.length; ++i) {
+            int nibble = (scratch.hash[i >>> 1] >>> (((i & 1) == 0) ? 4 : 0)) & 0x0F;
+            char c = (char)hex[i];
+            out[outOffset + 2 + i] = ((c >= 'a') && (nibble >= 8)) ? (char)(c - ('a' - 'A')) : c;
+        }
+    }
+
+    /**
+     * Check the EIP-55 checksum of a "0x"-prefixed, 40-hex-digit address. All-lowercase and all-uppercase addresses
+     * carry no checksum, and are reported as not matching.
+     *
+     * @param address Text address
+     * @param decoded 20-byte address decoded from the text address
+     * @return True if the address is written with the correct EIP-55 checksum
+     */
+    public static boolean matchesChecksum(CharSequence address, byte[] decoded) {
+
+        char[] expected = SCRATCH.get().chars;
+        toChecksumAddress(decoded, 0, expected, 0);
+
+        for (int i = 2; i < ENCODED_LENGTH; ++i) {
+            if (address.charAt(i) != expected[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Thread-confined Keccak engine and scratch buffers.
+     */
+    private static final class Scratch {
+
+        private final KeccakDigest keccak = new KeccakDigest(256);
+        private final byte[] hash = new byte[HASH_LENGTH];
+        private final byte[] hex = new byte[2 * ADDRESS_LENGTH];
+        private final char[] chars = new char[ENCODED_LENGTH];
+    }
+
+    private Eip55() {}
+}
@@ -1,7 +1,9 @@
 package com.ashelkov.owg.wallet.util;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
+import java.util.function.UnaryOperator;
 
 import org.web3j.crypto.Hash;
 
@@ -10,104 +12,31 @@ import org.web3j.crypto.Hash;
  */
 public class EncodingUtils {
 
-    private static final char[] BITCOIN_ALPHABET =
-            "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz".toCharArray();
-    private static final char[] XRP_ALPHABET =
-            "rpshnaf39wBUDNEGHJKLM4PQRST7VWXYZ2bcdeCg65jkm8oFqi1tuvAxyz".toCharArray();
     private static final byte[] HEX_ARRAY = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
     private static final int CHECKSUM_BYTES = 4;
 
-    public static final int MONERO_HOP = 8;
-    public static final int MONERO_RES_LONG = 11;
-    public static final int MONERO_RES_SHORT = 7;
-
-    private static String doEncodeBase58(byte[] input, char[] alphabet) {
-        return doEncodeBase58(input, alphabet, false);
-    }
-
     /**
-     * NOTE: This code is mostly copied from:
-     *       https://github.com/bitcoinj/bitcoinj/blob/master/core/src/main/java/org/bitcoinj/core/Base58.java
-     *
-     * ================================================================================================================
-     *
      * Encodes the given bytes as a base58 string (checksum optionally appended).
      *
      * @param rawInput Bytes to encode
-     * @param alphabet Ordered alphabet used for encoding
+     * @param codec Base58 codec for the desired alphabet
      * @param checksum Append checksum to bytes before encoding if true
      * @return The input bytes as a base58-encoded [[String]]
      */
-    private static String doEncodeBase58(byte[] rawInput, char[] alphabet, boolean checksum) {
-        if (rawInput.length == 0) {
-            return "";
-        }
-
-        // Append checksum, if necessary.
-        byte[] input;
-        if (checksum) {
-            input = EncodingUtils.appendChecksum(rawInput);
-        } else {
-            input = rawInput;
-        }
-
-        // Count leading zeros.
-        int zeros = 0;
-        while (zeros < input.length && input[zeros] == 0) {
-            ++zeros;
-        }
-
-        // Convert base-256 digits to base-58 digits (plus conversion to ASCII characters)
-        input = Arrays.copyOf(input, input.length); // since we modify it in-place
-        char[] encoded = new char[input.length * 2]; // upper bound
-        int outputStart = encoded.length;
-        for (int inputStart = zeros; inputStart < input.length; ) {
-            encoded[--outputStart] = alphabet[divmod(input, inputStart, 256, 58)];
-            if (input[inputStart] == 0) {
-                ++inputStart; // optimization - skip leading zeros
-            }
-        }
-
-        // Preserve exactly as many leading encoded zeros in output as there were leading zeros in input.
-        char encodedZero = alphabet[0];
-        while (outputStart < encoded.length && encoded[outputStart] == encodedZero) {
-            ++outputStart;
-        }
-        while (--zeros >= 0) {
-            encoded[--outputStart] = encodedZero;
-        }
-
-        // Return encoded string (including encoded leading zeros).
-        return new String(encoded, outputStart, encoded.length - outputStart);
+    private static String doEncodeBase58(byte[] rawInput, Base58Codec codec, boolean checksum) {
+        return codec.encode(checksum ? EncodingUtils.appendChecksum(rawInput) : rawInput);
     }
 
     /**
-     * NOTE: This code is mostly copied from:
-     *       https://github.com/bitcoinj/bitcoinj/blob/master/core/src/main/java/org/bitcoinj/core/Base58.java
-     *
-     * ================================================================================================================
+     * Decodes a base58 string and, optionally, verifies and strips its checksum.
      *
-     * Divides a number, represented as an array of bytes each containing a single digit in the specified base, by the
-     * given divisor. The given number is modified in-place to contain the quotient, and the return value is the
-     * remainder.
-     *
-     * @param number The number to divide
-     * @param firstDigit The index within the array of the first non-zero digit (this is used for optimization by
-     *                   skipping the leading zeros)
-     * @param base The base in which the number's digits are represented (up to 256)
-     * @param divisor The number to divide by (up to 256)
-     * @return The remainder of the division operation
+     * @param input Base58-encoded string
+     * @param codec Base58 codec for the alphabet with which the string was encoded
+     * @param checksumDigest Digest from which the checksum is taken (first four bytes), or null for no checksum
+     * @return Decoded bytes (without checksum)
      */
-    private static byte divmod(byte[] number, int firstDigit, int base, int divisor) {
-        // this is just long division which accounts for the base of the input digits
-        int remainder = 0;
-        for (int i = firstDigit; i < number.length; i++) {
-            int digit = (int) number[i] & 0xFF;
-            int temp = remainder * base + digit;
-            number[i] = (byte) (temp / divisor);
-            remainder = temp % divisor;
-        }
-        return (byte) remainder;
+    private static byte[] doDecodeBase58(String input, Base58Codec codec, UnaryOperator<byte[]> checksumDigest) {
+        return verifyChecksum(codec.decode(input), checksumDigest);
     }
 
     /**
@@ -118,7 +47,7 @@ public class EncodingUtils {
      * @return The input bytes as a base58-encoded [[String]]
      */
     public static String base58Bitcoin(byte[] input, boolean checksum) {
-        return doEncodeBase58(input, BITCOIN_ALPHABET, checksum);
+        return doEncodeBase58(input, Base58Codec.BITCOIN, checksum);
     }
 
     /**
@@ -131,6 +60,27 @@ public class EncodingUtils {
         return base58Bitcoin(input, false);
     }
 
+    /**
+     * Decodes a base58 string encoded using the Bitcoin alphabet, verifying and stripping its checksum.
+     *
+     * @param input Base58-encoded string
+     * @param checksumDigest Digest from which the checksum is taken (first four bytes), or null for no checksum
+     * @return Decoded bytes (without checksum)
+     */
+    public static byte[] decodeBase58Bitcoin(String input, UnaryOperator<byte[]> checksumDigest) {
+        return doDecodeBase58(input, Base58Codec.BITCOIN, checksumDigest);
+    }
+
+    /**
+     * Decodes a base58 string encoded using the Bitcoin alphabet (no checksum is verified).
+     *
+     * @param input Base58-encoded string
+     * @return Decoded bytes
+     */
+    public static byte[] decodeBase58Bitcoin(String input) {
+        return decodeBase58Bitcoin(input, null);
+    }
+
     /**
      * Encodes the given bytes as a base58 string using the XRP alphabet (checksum optionally appended).
      *
@@ -139,7 +89,7 @@ public class EncodingUtils {
      * @return The input bytes as a base58-encoded [[String]]
      */
     public static String base58XRP(byte[] input, boolean checksum) {
-        return doEncodeBase58(input, XRP_ALPHABET, checksum);
+        return doEncodeBase58(input, Base58Codec.XRP, checksum);
     }
 
     /**
@@ -152,6 +102,27 @@ public class EncodingUtils {
         return base58XRP(input, false);
     }
 
+    /**
+     * Decodes a base58 string encoded using the XRP alphabet, verifying and stripping its checksum.
+     *
+     * @param input Base58-encoded string
+     * @param checksumDigest Digest from which the checksum is taken (first four bytes), or null for no checksum
+     * @return Decoded bytes (without checksum)
+     */
+    public static byte[] decodeBase58XRP(String input, UnaryOperator<byte[]> checksumDigest) {
+        return doDecodeBase58(input, Base58Codec.XRP, checksumDigest);
+    }
+
+    /**
+     * Decodes a base58 string encoded using the XRP alphabet (no checksum is verified).
+     *
+     * @param input Base58-encoded string
+     * @return Decoded bytes
+     */
+    public static byte[] decodeBase58XRP(String input) {
+        return decodeBase58XRP(input, null);
+    }
+
     /**
      * Encodes the given bytes as a base58 string using the Monero alphabet (no checksum is appended).
      *
@@ -161,31 +132,57 @@ public class EncodingUtils {
      * @return The input bytes as a base58-encoded [[String]]
      */
     public static String base58Monero(byte[] input) {
+        return MoneroBase58.encode(input);
+    }
 
-        StringBuilder result = new StringBuilder();
+    /**
+     * Decodes a base58 string encoded using the Monero alphabet, verifying and stripping its checksum.
+     *
+     * @param input Base58-encoded string
+     * @param checksumDigest Digest from which the checksum is taken (first four bytes), or null for no checksum
+     * @return Decoded bytes (without checksum)
+     */
+    public static byte[] decodeBase58Monero(String input, UnaryOperator<byte[]> checksumDigest) {
+        return verifyChecksum(MoneroBase58.decode(input), checksumDigest);
+    }
 
-        // TODO: Need check that input is exactly 65 bytes in length (though the current code should work for any length)
-        int length = input.length;
-        int hopLength = length - MONERO_HOP;
-        int i;
+    /**
+     * Decodes a base58 string encoded using the Monero alphabet (no checksum is verified).
+     *
+     * @param input Base58-encoded string
+     * @return Decoded bytes
+     */
+    public static byte[] decodeBase58Monero(String input) {
+        return decodeBase58Monero(input, null);
+    }
 
-        for (i = 0; i < hopLength; i += MONERO_HOP) {
-            byte[] chunk = new byte[MONERO_HOP];
-            System.arraycopy(input, i, chunk, 0, MONERO_HOP);
-            String chunk58 = base58Bitcoin(chunk);
+    /**
+     * Verify and strip the checksum at the end of a byte array (the left-most digest bytes are used for the checksum,
+     * as is the case for every coin supported by the OWG).
+     *
+     * @param input Bytes followed by checksum
+     * @param checksumDigest Digest from which the checksum is taken, or null for no checksum
+     * @return The input bytes without the checksum
+     */
+    private static byte[] verifyChecksum(byte[] input, UnaryOperator<byte[]> checksumDigest) {
 
-            result.append(String.valueOf(BITCOIN_ALPHABET[0]).repeat(MONERO_RES_LONG - chunk58.length()));
-            result.append(chunk58);
+        if (checksumDigest == null) {
+            return input;
         }
 
-        byte[] chunk = new byte[length - i];
-        System.arraycopy(input, i, chunk, 0, length - i);
-        String chunk58 = base58Bitcoin(chunk);
+        if (input.length < CHECKSUM_BYTES) {
+            throw new IllegalArgumentException("Encoded data too short to contain a checksum");
+        }
 
-        result.append(String.valueOf(BITCOIN_ALPHABET[0]).repeat(MONERO_RES_SHORT - chunk58.length()));
-        result.append(chunk58);
+        byte[] payload = Arrays.copyOf(input, input.length - CHECKSUM_BYTES);
+        byte[] expected = Arrays.copyOf(checksumDigest.apply(payload), CHECKSUM_BYTES);
+        byte[] actual = Arrays.copyOfRange(input, payload.length, input.length);
 
-        return result.toString();
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new IllegalArgumentException("Invalid checksum");
+        }
+
+        return payload;
     }
 
     /**
@@ -242,6 +239,46 @@ public class EncodingUtils {
         return result;
     }
 
+    /**
+     * Decode an unpadded [RFC 4648](https://datatracker.ietf.org/doc/html/rfc4648#section-6) base-32 string (as used by
+     * Stellar and Algorand addresses). Any bits left over after the last full byte must be zero.
+     *
+     * @param input Base-32 string (uppercase)
+     * @return Decoded bytes
+     */
+    public static byte[] decodeBase32(String input) {
+
+        byte[] result = new byte[(input.length() * 5) / 8];
+        int accumulator = 0;
+        int bits = 0;
+        int pos = 0;
+
+        for (int i = 0; i < input.length(); ++i) {
+            char c = input.charAt(i);
+            int value;
+            if ((c >= 'A') && (c <= 'Z')) {
+                value = c - 'A';
+            } else if ((c >= '2') && (c <= '7')) {
+                value = c - '2' + 26;
+            } else {
+                throw new IllegalArgumentException(String.format("Invalid base-32 character '%c'", c));
+            }
+
+            accumulator = (accumulator << 5) | value;
+            bits += 5;
+            if (bits >= 8) {
+                bits -= 8;
+                result[pos++] = (byte)(accumulator >>> bits);
+            }
+        }
+
+        if ((bits >= 5) || ((accumulator & ((1 << bits) - 1)) != 0)) {
+            throw new IllegalArgumentException("Invalid base-32 padding");
+        }
+
+        return result;
+    }
+
     /**
      * NOTE: Code taken from the top answer to this question:
      *       https://stackoverflow.com/questions/9655181/how-to-convert-a-byte-array-to-a-hex-string-in-java
@@ -0,0 +1,218 @@
+package com.ashelkov.owg.wallet.util;
+
+import java.util.Arrays;
+
+/**
+ * Monero's block-based variant of base58. For full documentation, see https://monerodocs.org/cryptography/base58/ .
+ *
+ * The input is split into 8-byte blocks, each encoded as a fixed-width 11-character base58 number; the final, shorter
+ * block uses the smallest width which can hold it. Since every block fits in a single (unsigned) long, each block is
+ * encoded and decoded with plain 64-bit arithmetic, directly into/out of the caller's buffer. Encoding a 69-byte
+ * address into its 95 characters allocates nothing but the resulting [[String]].
+ */
+public final class MoneroBase58 {
+
+    public static final int BLOCK_LENGTH = 8;
+    public static final int ENCODED_BLOCK_LENGTH = 11;
+    // Network byte + public spend key + public view key + checksum = 1 + 32 + 32 + 4 = 69
+    public static final int ADDRESS_LENGTH = 69;
+    public static final int ENCODED_ADDRESS_LENGTH = 95;
+
+    private static final char[] ALPHABET =
+            "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz".toCharArray();
+    private static final int BASE = 58;
+    // Number of base58 characters in a block, indexed by the number of bytes in the block
+    private static final int[] ENCODED_BLOCK_SIZES = {0, 2, 3, 5, 6, 7, 9, 10, 11};
+    private static final byte[] DIGITS = new byte[128];
+
+    // Per-thread output buffer, large enough for a full address
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[ENCODED_ADDRESS_LENGTH]);
+
+    static {
+        Arrays.fill(DIGITS, (byte)-1);
+        for (int i = 0; i < BASE; ++i) {
+            DIGITS[ALPHABET[i]] = (byte)i;
+        }
+    }
+
+    /**
+     * Get the number of characters needed to encode a number of bytes.
+     *
+     * @param numBytes Number of input bytes
+     * @return Encoded length
+     */
+    public static int encodedLength(int numBytes) {
+        return ((numBytes / BLOCK_LENGTH) * ENCODED_BLOCK_LENGTH) + ENCODED_BLOCK_SIZES[numBytes % BLOCK_LENGTH];
+    }
+
+    /**
+     * Get the number of bytes produced by decoding a number of characters.
+     *
+     * @param numChars Number of input characters
+     * @return Decoded length
+     */
+    public static int decodedLength(int numChars) {
+
+        int tail = Arrays.binarySearch(ENCODED_BLOCK_SIZES, numChars % ENCODED_BLOCK_LENGTH);
+        if (tail < 0) {
+            throw new IllegalArgumentException("Invalid Monero base58 length: " + numChars);
+        }
+
+        return ((numChars / ENCODED_BLOCK_LENGTH) * BLOCK_LENGTH) + tail;
+    }
+
+    /**
+     * Encode bytes as Monero base58.
+     *
+     * @param input Bytes to encode
+     * @return Encoded [[String]]
+     */
+    public static String encode(byte[] input) {
+
+        int length = encodedLength(input.length);
+        char[] out = (length <= ENCODED_ADDRESS_LENGTH) ? BUFFER.get() : new char[length];
+        encode(input, 0, input.length, out, 0);
+
+        return new String(out, 0, length);
+    }
+
+    /**
+     * Encode bytes as Monero base58 into a char buffer.
+     *
+     * @param input Array containing the bytes to encode
+     * @param offset Offset of the bytes in the array
+     * @param length Number of bytes to encode
+     * @param out Output buffer; must have room for [[encodedLength]] characters from 'outOffset'
+     * @param outOffset Offset at which to write the encoded characters
+     * @return Number of characters written
+     */
+    public static int encode(byte[] input, int offset, int length, char[] out, int outOffset) {
+
+        int pos = outOffset;
+        int end = offset + length;
+
+        for (int i = offset; i < end; i += BLOCK_LENGTH) {
+            int blockLength = Math.min(BLOCK_LENGTH, end - i);
+            int width = ENCODED_BLOCK_SIZES[blockLength];
+
+            long value = 0;
+            for (int k = 0; k < blockLength; ++k) {
+                value = (value << 8) | (input[i + k] & 0xFF);
+            }
+
+            encodeBlock(value, out, pos, width);
+            pos += width;
+        }
+
+        return pos - outOffset;
+    }
+
+    /**
+     * Decode a Monero base58 string.
+     *
+     * @param input Encoded characters
+     * @return Decoded bytes
+     */
+    public static byte[] decode(CharSequence input) {
+        byte[] out = new byte[decodedLength(input.length())];
+        decode(input, out, 0);
+        return out;
+    }
+
+    /**
+     * Decode a Monero base58 string into a byte buffer.
+     *
+     * @param input Encoded characters
+     * @param out Output buffer; must have room for [[decodedLength]] bytes from 'outOffset'
+     * @param outOffset Offset at which to write the decoded bytes
+     * @return Number of bytes written
+     */
+    public static int decode(CharSequence input, byte[] out, int outOffset) {
+
+        int numChars = input.length();
+        int numBytes = decodedLength(numChars);
+        int pos = outOffset;
+
+        for (int i = 0; i < numChars; i += ENCODED_BLOCK_LENGTH) {
+            int width = Math.min(ENCODED_BLOCK_LENGTH, numChars - i);
+            int blockLength = Arrays.binarySearch(ENCODED_BLOCK_SIZES, width);
+            long value = decodeBlock(input, i, width, blockLength);
+
+            for (int k = blockLength - 1; k >= 0; --k) {
+                out[pos + k] = (byte)value;
+                value >>>= 8;
+            }
+            pos += blockLength;
+        }
+
+        return numBytes;
+    }
+
+    /**
+     * Encode a block as a fixed-width, zero-padded base58 number.
+     *
+     * @param value Block value (unsigned)
+     * @param out Output buffer
+     * @param offset Offset at which to write the block
+     * @param width Number of characters to write
+     */
+    private static void encodeBlock(long value, char[] out, int offset, int width) {
+
+        int pos = offset + width;
+
+        // The first division must be unsigned; afterwards the quotient is small enough for signed arithmetic
+        if (value < 0) {
+            out[--pos] = ALPHABET[(int)Long.remainderUnsigned(value, BASE)];
+            value = Long.divideUnsigned(value, BASE);
+        }
+        while (pos > offset) {
+            out[--pos] = ALPHABET[(int)(value % BASE)];
+            value /= BASE;
+        }
+    }
+
+    /**
+     * Decode a fixed-width base58 number, checking that it fits in the block.
+     *
+     * @param input Encoded characters
+     * @param offset Offset of the block
+     * @param width Number of characters in the block
+     * @param blockLength Number of bytes in the block
+     * @return Block value (unsigned)
+     */
+    private static long decodeBlock(CharSequence input, int offset, int width, int blockLength) {
+
+        long value = 0;
+        int last = offset + width - 1;
+
+        // 58^10 < 2^63, so every digit but the 11th can be accumulated without overflow
+        for (int i = offset; i < last; ++i) {
+            value = (value * BASE) + digit(input.charAt(i));
+        }
+
+        int lastDigit = digit(input.charAt(last));
+        if ((width == ENCODED_BLOCK_LENGTH)
+                && (Long.compareUnsigned(value, Long.divideUnsigned(-1L - lastDigit, BASE)) > 0)) {
+            throw new IllegalArgumentException("Monero base58 block overflow");
+        }
+        value = (value * BASE) + lastDigit;
+
+        if ((blockLength < BLOCK_LENGTH) && ((value >>> (8 * blockLength)) != 0)) {
+            throw new IllegalArgumentException("Monero base58 block overflow");
+        }
+
+        return value;
+    }
+
+    private static int digit(char c) {
+
+        int digit = (c < DIGITS.length) ? DIGITS[c] : -1;
+        if (digit < 0) {
+            throw new IllegalArgumentException(String.format("Invalid base58 character '%c'", c));
+        }
+
+        return digit;
+    }
+
+    private MoneroBase58() {}
+}
@@ -0,0 +1,233 @@
+package com.ashelkov.owg.wallet.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bouncycastle.crypto.digests.SHA512Digest;
+
+/**
+ * Cache of intermediate [SLIP-0010](https://github.com/satoshilabs/slips/blob/master/slip-0010.md) ed25519 nodes,
+ * organized as a derivation tree rooted at the master node.
+ *
+ * Every ed25519 derivation step is an HMAC-SHA512 keyed by the chain code of the parent node. Each cached node stores
+ * the SHA-512 states of its HMAC after absorbing the inner and outer key pads, so deriving a child of a cached node
+ * costs only two SHA-512 compressions and no key setup. When generating many keys which share a path prefix (e.g.
+ * m/44'/148'), the prefix nodes are derived once, and each additional key only costs its final hardened step. The
+ * SHA-512 engines doing the work are confined to their threads and reused across derivations.
+ */
+public class Slip10NodeCache {
+
+    private static final byte[] MASTER_KEY = "ed25519 seed".getBytes(StandardCharsets.UTF_8);
+    private static final int BLOCK_LENGTH = 128;
+    private static final int NODE_LENGTH = 64;
+    private static final int KEY_LENGTH = 32;
+    private static final byte IPAD = (byte)0x36;
+    private static final byte OPAD = (byte)0x5c;
+
+    // Per-thread scratch engines; cached HMAC states are restored into them before each derivation step
+    private static final ThreadLocal<Engine> ENGINE = ThreadLocal.withInitial(Engine::new);
+
+    private final Node root;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param seed Seed, the BIP-39 output
+     */
+    public Slip10NodeCache(byte[] seed) {
+
+        Engine engine = ENGINE.get();
+        byte[] masterNode = new byte[NODE_LENGTH];
+        engine.hmac(MASTER_KEY, 0, MASTER_KEY.length, seed, masterNode);
+
+        this.root = new Node(masterNode, engine);
+    }
+
+    /**
+     * Get a copy of the node for a full path, caching every node along the path (including the final one). Useful for
+     * nodes which are themselves the prefix of other paths, such as purpose nodes.
+     *
+     * @param path Path elements; all of them are treated as hardened
+     * @return 64-byte node (private key followed by chain code)
+     */
+    public byte[] getNode(int... path) {
+        return getCachedNode(path, path.length).node.clone();
+    }
+
+    /**
+     * Derive the private key for a full path. Every node along the path except the final one is cached; the final
+     * hardened step is always derived, since leaf nodes are rarely reused.
+     *
+     * @param path Path elements; all of them are treated as hardened
+     * @return Private key
+     */
+    public byte[] derivePrivateKey(int... path) {
+
+        if (path.length == 0) {
+            return Arrays.copyOf(root.node, KEY_LENGTH);
+        }
+
+        Node parent = getCachedNode(path, path.length - 1);
+        byte[] child = new byte[NODE_LENGTH];
+        parent.deriveChild(path[path.length - 1], ENGINE.get(), child);
+
+        return Arrays.copyOf(child, KEY_LENGTH);
+    }
+
+    /**
+     * Get the number of cached node lookups which were served without any derivation.
+     *
+     * @return Cache hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of cached node lookups which required a derivation step.
+     *
+     * @return Cache miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Slip10NodeCache(hits = %d, misses = %d)", getHitCount(), getMissCount());
+    }
+
+    /**
+     * Walk the derivation tree along the first 'depth' elements of a path, deriving and caching any missing nodes.
+     *
+     * @param path Path elements; all of them are treated as hardened
+     * @param depth Number of path elements to walk
+     * @return Tree node at the given depth
+     */
+    private Node getCachedNode(int[] path, int depth) {
+
+        Node current = root;
+
+        for (int i = 0; i < depth; ++i) {
+            Node parent = current;
+            current = parent.children.get(path[i]);
+
+            if (current != null) {
+                hits.increment();
+            } else {
+                current = parent.children.computeIfAbsent(
+                        path[i],
+                        index -> {
+                            misses.increment();
+                            Engine engine = ENGINE.get();
+                            byte[] child = new byte[NODE_LENGTH];
+                            parent.deriveChild(index, engine, child);
+                            return new Node(child, engine);
+                        });
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Single node of the derivation tree, along with the HMAC states keyed by its chain code.
+     */
+    private static final class Node {
+
+        private final byte[] node;
+        private final SHA512Digest innerState;
+        private final SHA512Digest outerState;
+        private final ConcurrentMap<Integer, Node> children = new ConcurrentHashMap<>();
+
+        private Node(byte[] node, Engine engine) {
+            this.node = node;
+            this.innerState = engine.keyedState(node, KEY_LENGTH, KEY_LENGTH, IPAD);
+            this.outerState = engine.keyedState(node, KEY_LENGTH, KEY_LENGTH, OPAD);
+        }
+
+        /**
+         * Derive a hardened child node: I = HMAC-SHA512(Key = c_par, Data = 0x00 || k_par || ser32(i')).
+         *
+         * @param index Child index; always treated as hardened
+         * @param engine Scratch engine of the calling thread
+         * @param out 64-byte array into which to write the child node
+         */
+        private void deriveChild(int index, Engine engine, byte[] out) {
+
+            byte[] data = engine.data;
+            data[0] = 0x00;
+            System.arraycopy(node, 0, data, 1, KEY_LENGTH);
+            data[33] = (byte)((index >> 24) | 0x80);
+            data[34] = (byte)(index >> 16);
+            data[35] = (byte)(index >> 8);
+            data[36] = (byte)index;
+
+            SHA512Digest digest = engine.digest;
+            digest.reset(innerState);
+            digest.update(data, 0, 37);
+            digest.doFinal(out, 0);
+
+            digest.reset(outerState);
+            digest.update(out, 0, NODE_LENGTH);
+            digest.doFinal(out, 0);
+        }
+    }
+
+    /**
+     * Thread-confined SHA-512 engine and scratch buffers.
+     */
+    private static final class Engine {
+
+        private final SHA512Digest digest = new SHA512Digest();
+        private final byte[] pad = new byte[BLOCK_LENGTH];
+        private final byte[] inner = new byte[NODE_LENGTH];
+        private final byte[] data = new byte[37];
+
+        /**
+         * Compute the SHA-512 state after absorbing an HMAC key XOR-ed with a pad byte. Keys are at most 32 bytes,
+         * which is shorter than the block length, so they never need to be hashed first.
+         *
+         * @param key Array containing the HMAC key
+         * @param offset Offset of the key in the array
+         * @param length Length of the key
+         * @param padByte HMAC pad byte (inner or outer)
+         * @return Copy of the keyed SHA-512 state
+         */
+        private SHA512Digest keyedState(byte[] key, int offset, int length, byte padByte) {
+
+            Arrays.fill(pad, padByte);
+            for (int i = 0; i < length; ++i) {
+                pad[i] ^= key[offset + i];
+            }
+
+            digest.reset();
+            digest.update(pad, 0, BLOCK_LENGTH);
+
+            return new SHA512Digest(digest);
+        }
+
+        /**
+         * Compute a full HMAC-SHA512 with a short key.
+         *
+         * @param key Array containing the HMAC key
+         * @param offset Offset of the key in the array
+         * @param length Length of the key
+         * @param message Message to authenticate
+         * @param out 64-byte array into which to write the HMAC
+         */
+        private void hmac(byte[] key, int offset, int length, byte[] message, byte[] out) {
+
+            digest.reset(keyedState(key, offset, length, IPAD));
+            digest.update(message, 0, message.length);
+            digest.doFinal(inner, 0);
+
+            digest.reset(keyedState(key, offset, length, OPAD));
+            digest.update(inner, 0, NODE_LENGTH);
+            digest.doFinal(out, 0);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.ashelkov.owg.address.codec;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.web3j.utils.Numeric;
+
+import com.ashelkov.owg.address.AvalancheAddress;
+import com.ashelkov.owg.address.BIP44Address;
+import com.ashelkov.owg.coin.avax.Chain;
+import com.ashelkov.owg.wallet.SeedContext;
+import com.ashelkov.owg.wallet.SingleCoinWallet;
+import com.ashelkov.owg.wallet.generators.AlgorandWalletGenerator;
+import com.ashelkov.owg.wallet.generators.AvalancheWalletGenerator;
+import com.ashelkov.owg.wallet.generators.BitcoinWalletGenerator;
+import com.ashelkov.owg.wallet.generators.DogecoinWalletGenerator;
+import com.ashelkov.owg.wallet.generators.ErgoWalletGenerator;
+import com.ashelkov.owg.wallet.generators.EthereumWalletGenerator;
+import com.ashelkov.owg.wallet.generators.HandshakeWalletGenerator;
+import com.ashelkov.owg.wallet.generators.LitecoinWalletGenerator;
+import com.ashelkov.owg.wallet.generators.MoneroWalletGenerator;
+import com.ashelkov.owg.wallet.generators.StellarWalletGenerator;
+import com.ashelkov.owg.wallet.generators.XRPWalletGenerator;
+import com.ashelkov.owg.wallet.util.Bip39SeedEngine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests for [[AddressCodecs]]: the raw payload and kind which a generator attaches to each address must be exactly
+ * what the codec of its coin decodes from the text address.
+ */
+public class AddressCodecsTest {
+
+    private static final String MNEMONIC =
+            "abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon about";
+
+    private static final SeedContext CONTEXT = new SeedContext(Bip39SeedEngine.generateSeed(MNEMONIC, ""));
+
+    private static void assertDecoded(String address, DecodedAddress expected) {
+
+        assertNotNull(address, expected);
+
+        DecodedAddress actual = AddressCodecs.forCoin(expected.getCoin()).decode(address);
+        assertEquals(address, expected.getType(), actual.getType());
+        assertEquals(
+                address,
+                Numeric.toHexStringNoPrefix(expected.getPayload()),
+                Numeric.toHexStringNoPrefix(actual.getPayload()));
+    }
+
+    private static void assertDecoded(SingleCoinWallet wallet) {
+        for (BIP44Address address : wallet.getAddresses()) {
+            assertEquals(wallet.getCoin(), address.getDecoded().getCoin());
+            assertDecoded(address.getAddress(), address.getDecoded());
+        }
+    }
+
+    @Test
+    public void testSegwitPayloads() {
+        assertDecoded(new BitcoinWalletGenerator(CONTEXT, false, false).generateWallet(0, 0, 0, 3));
+        assertDecoded(new LitecoinWalletGenerator(CONTEXT, false, false).generateWallet(1, 1, 0, 3));
+        assertDecoded(new HandshakeWalletGenerator(CONTEXT, false, false).generateWallet(0, 0, 5, 3));
+    }
+
+    @Test
+    public void testBase58CheckPayloads() {
+        assertDecoded(new DogecoinWalletGenerator(CONTEXT, false, false).generateWallet(0, 0, 0, 3));
+        assertDecoded(new XRPWalletGenerator(CONTEXT, false, false, false).generateWallet(0, 3));
+        assertDecoded(new XRPWalletGenerator(CONTEXT, true, false, false).generateWallet(0, 3));
+    }
+
+    @Test
+    public void testAccountPayloads() {
+        assertDecoded(new EthereumWalletGenerator(CONTEXT, false, false).generateWallet(0, 3));
+        assertDecoded(new StellarWalletGenerator(CONTEXT, false).generateWallet(0, 3));
+        assertDecoded(new AlgorandWalletGenerator(CONTEXT, false, false).generateWallet(0, 3));
+        assertDecoded(new ErgoWalletGenerator(CONTEXT, false, false).generateWallet(0, 3));
+    }
+
+    @Test
+    public void testMoneroPayloads() {
+        MoneroWalletGenerator generator = new MoneroWalletGenerator(CONTEXT, false, false, false);
+
+        // Standard address, then subaddresses
+        assertDecoded(generator.generateWallet(0, 0, 3));
+        assertDecoded(generator.generateWallet(2, 7, 3));
+    }
+
+    @Test
+    public void testAvalanchePayloads() {
+        AvalancheWalletGenerator generator = new AvalancheWalletGenerator(
+                CONTEXT,
+                List.of(Chain.EXCHANGE, Chain.PLATFORM, Chain.CONTRACT),
+                false,
+                false);
+
+        for (BIP44Address address : generator.generateWallet(0, 3).getAddresses()) {
+            Map<Chain, DecodedAddress> decodedMap = ((AvalancheAddress)address).getDecodedMap();
+
+            assertEquals(3, decodedMap.size());
+            for (Map.Entry<Chain, String> entry : ((AvalancheAddress)address).getAddressMap().entrySet()) {
+                assertDecoded(entry.getValue(), decodedMap.get(entry.getKey()));
+            }
+        }
+    }
+}
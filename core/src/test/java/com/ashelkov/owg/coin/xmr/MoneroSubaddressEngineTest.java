@@ -0,0 +1,76 @@
+package com.ashelkov.owg.coin.xmr;
+
+import org.junit.Test;
+import org.web3j.utils.Numeric;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Known-answer tests for [[MoneroSubaddressEngine]], using the keys of the all-'abandon' test mnemonic. Expected values
+ * were computed with an independent implementation of Keccak-256 and ed25519.
+ */
+public class MoneroSubaddressEngineTest {
+
+    private static final String PRIVATE_VIEW_KEY = "84b0087a63854856686f80596a5a1a6090795b4d1311139173262170d7e7180f";
+    private static final String PUBLIC_SPEND_KEY = "51fd81faa5e2641bca8a5c43d764ab276033c12b459fd9f5c9c23b7733af67e6";
+    private static final String PUBLIC_VIEW_KEY = "eb8855fd7d21670f9bdfc0cdcfa54172e80322c4eaee5ce30d85cb9ec90d21d1";
+
+    private static MoneroSubaddressEngine newEngine() {
+        return new MoneroSubaddressEngine(
+                Numeric.hexStringToByteArray(PRIVATE_VIEW_KEY),
+                Numeric.hexStringToByteArray(PUBLIC_SPEND_KEY));
+    }
+
+    private static void assertSubaddress(int account, int index, String m, String spendKey, String viewKey) {
+
+        MoneroSubaddressEngine engine = newEngine();
+
+        assertEquals(m, Numeric.toHexStringNoPrefix(engine.deriveSecretScalar(account, index)));
+        assertEquals(spendKey, Numeric.toHexStringNoPrefix(engine.derivePublicSpendKey(account, index)));
+
+        byte[] spendKeyOut = new byte[MoneroSubaddressEngine.KEY_LENGTH];
+        byte[] viewKeyOut = new byte[MoneroSubaddressEngine.KEY_LENGTH];
+        engine.derivePublicKeys(account, index, spendKeyOut, viewKeyOut);
+
+        assertEquals(spendKey, Numeric.toHexStringNoPrefix(spendKeyOut));
+        assertEquals(viewKey, Numeric.toHexStringNoPrefix(viewKeyOut));
+    }
+
+    @Test
+    public void testPublicViewKey() {
+        assertEquals(PUBLIC_VIEW_KEY, Numeric.toHexStringNoPrefix(newEngine().getPublicViewKey()));
+    }
+
+    @Test
+    public void testSubaddress01() {
+        assertSubaddress(
+                0,
+                1,
+                "61db23727a3292f968617d0ca439c13326766d71d65bf7b4fe381acff0f09d05",
+                "30c1760fca224ceb67240cb3b3bf643250c2a65458f0caa6ed8553673d9b8b2b",
+                "0211df93fc521af728252316270b996ac103e505d2cd8c048fe17c65fea97190");
+    }
+
+    @Test
+    public void testSubaddress10() {
+        assertSubaddress(
+                1,
+                0,
+                "237326599becb65854630a39e7a1b6c0ad8e5811c98648ddbcdeb6ef66d3c604",
+                "beada967814aff094c46ff99a4c639ae4ab92d920eda1ad9a69f7e32e579dda7",
+                "30ad97facfaffd95f036eefee91713d46af8a0b41cb59269d477588e377997a0");
+    }
+
+    /**
+     * The scalar of subaddress (0, 38) is below 2^248; it must still be encoded on 32 bytes.
+     */
+    @Test
+    public void testSubaddressWithShortScalar() {
+        assertSubaddress(
+                0,
+                38,
+                "6415f92d47a65e85ea50b202079cd1309338a4f2da89cb41bc598460c2390b00",
+                "c970ee928835c1d4f2c51645d7f97cacf25480dae4748750f1ef8ec3e5b1adcd",
+                "b30485c31558cfc950b6bbaf889639345151f0df8ee0a0bab7a36a89b63aab10");
+    }
+}
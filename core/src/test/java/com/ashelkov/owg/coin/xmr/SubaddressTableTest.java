@@ -0,0 +1,224 @@
+package com.ashelkov.owg.coin.xmr;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.web3j.utils.Numeric;
+
+import com.ashelkov.owg.wallet.SeedContext;
+import com.ashelkov.owg.wallet.generators.MoneroWalletGenerator;
+import com.ashelkov.owg.wallet.util.Bip39SeedEngine;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for [[SubaddressTable]], using the keys of the all-'abandon' test mnemonic (see
+ * [[MoneroSubaddressEngineTest]]).
+ */
+public class SubaddressTableTest {
+
+    private static final String MNEMONIC =
+            "abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon about";
+
+    private static final String PRIVATE_VIEW_KEY = "84b0087a63854856686f80596a5a1a6090795b4d1311139173262170d7e7180f";
+    private static final String PUBLIC_SPEND_KEY = "51fd81faa5e2641bca8a5c43d764ab276033c12b459fd9f5c9c23b7733af67e6";
+
+    // Public spend keys of subaddresses (0, 1), (1, 0) and (0, 38)
+    private static final String SPEND_KEY_0_1 = "30c1760fca224ceb67240cb3b3bf643250c2a65458f0caa6ed8553673d9b8b2b";
+    private static final String SPEND_KEY_1_0 = "beada967814aff094c46ff99a4c639ae4ab92d920eda1ad9a69f7e32e579dda7";
+    private static final String SPEND_KEY_0_38 = "c970ee928835c1d4f2c51645d7f97cacf25480dae4748750f1ef8ec3e5b1adcd";
+
+    private static final MoneroSubaddressEngine ENGINE = new MoneroSubaddressEngine(
+            Numeric.hexStringToByteArray(PRIVATE_VIEW_KEY),
+            Numeric.hexStringToByteArray(PUBLIC_SPEND_KEY));
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static byte[] key(String hex) {
+        return Numeric.hexStringToByteArray(hex);
+    }
+
+    private static void assertLookup(SubaddressTable table, String spendKey, int account, int index) {
+        assertArrayEquals(new int[] {account, index}, table.lookup(key(spendKey)));
+    }
+
+    private static void assertLookup(SubaddressTable table, int account, int index) {
+        assertArrayEquals(new int[] {account, index}, table.lookup(ENGINE.derivePublicSpendKey(account, index)));
+    }
+
+    private Path newPath() throws IOException {
+        return folder.newFolder().toPath().resolve("wallet.xmrt");
+    }
+
+    @Test
+    public void testCreateAndLookup() throws IOException {
+
+        try (SubaddressTable table = SubaddressTable.create(newPath(), key(PUBLIC_SPEND_KEY), 4)) {
+            assertEquals(SubaddressTable.MIN_CAPACITY, table.capacity());
+            assertEquals(0, table.size());
+
+            table.put(key(SPEND_KEY_0_1), 0, 1);
+            table.put(key(SPEND_KEY_1_0), 1, 0);
+            table.put(key(SPEND_KEY_0_38), 0, 38);
+
+            assertEquals(3, table.size());
+            assertLookup(table, SPEND_KEY_0_1, 0, 1);
+            assertLookup(table, SPEND_KEY_1_0, 1, 0);
+            assertLookup(table, SPEND_KEY_0_38, 0, 38);
+            assertNull(table.lookup(key(PUBLIC_SPEND_KEY)));
+
+            // Inserting a key again updates its entry
+            table.put(key(SPEND_KEY_0_38), 7, 8);
+            assertEquals(3, table.size());
+            assertLookup(table, SPEND_KEY_0_38, 7, 8);
+        }
+    }
+
+    @Test
+    public void testInvalidKeys() throws IOException {
+
+        try (SubaddressTable table = SubaddressTable.create(newPath(), key(PUBLIC_SPEND_KEY), 4)) {
+            try {
+                table.put(new byte[32], 0, 1);
+                fail("Stored the all-zero key");
+            } catch (IllegalArgumentException e) {
+                // Expected
+            }
+            try {
+                table.lookup(new byte[31]);
+                fail("Looked up a 31-byte key");
+            } catch (IllegalArgumentException e) {
+                // Expected
+            }
+        }
+
+        try {
+            SubaddressTable.create(newPath(), key(PUBLIC_SPEND_KEY), (SubaddressTable.MAX_CAPACITY / 2) + 1);
+            fail("Created a table larger than the maximum capacity");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testGrowPastLoadFactor() throws IOException {
+
+        int indexes = SubaddressTable.MIN_CAPACITY / 2;
+
+        try (SubaddressTable table = SubaddressTable.create(newPath(), key(PUBLIC_SPEND_KEY), 1)) {
+            for (int index = 0; index < indexes; ++index) {
+                table.put(ENGINE.derivePublicSpendKey(1, index), 1, index);
+            }
+
+            // The table is at its maximum load factor of 1/2
+            try {
+                table.put(ENGINE.derivePublicSpendKey(1, indexes), 1, indexes);
+                fail("Exceeded the maximum load factor");
+            } catch (IllegalStateException e) {
+                // Expected
+            }
+
+            table.reserve(100);
+            assertEquals(256, table.capacity());
+            assertEquals(indexes, table.size());
+
+            for (int index = indexes; index < 100; ++index) {
+                table.put(ENGINE.derivePublicSpendKey(1, index), 1, index);
+            }
+            for (int index = 0; index < 100; ++index) {
+                assertLookup(table, 1, index);
+            }
+            assertEquals(100, table.size());
+
+            // Reserving no more than the current capacity keeps the table as is
+            table.reserve(50);
+            assertEquals(256, table.capacity());
+        }
+    }
+
+    @Test
+    public void testReopen() throws IOException {
+
+        Path path = newPath();
+        try (SubaddressTable table = SubaddressTable.create(path, key(PUBLIC_SPEND_KEY), 4)) {
+            table.put(key(SPEND_KEY_0_1), 0, 1);
+            table.put(key(SPEND_KEY_1_0), 1, 0);
+            table.setCoverage(2, 3);
+        }
+
+        try (SubaddressTable table = SubaddressTable.open(path)) {
+            assertArrayEquals(key(PUBLIC_SPEND_KEY), table.getPublicSpendKey());
+            assertEquals(2, table.getAccounts());
+            assertEquals(3, table.getIndexes());
+            assertEquals(2, table.size());
+            assertEquals(SubaddressTable.MIN_CAPACITY, table.capacity());
+            assertLookup(table, SPEND_KEY_0_1, 0, 1);
+            assertLookup(table, SPEND_KEY_1_0, 1, 0);
+        }
+
+        // A truncated file is not a table
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(path) - 1);
+        }
+        try (SubaddressTable table = SubaddressTable.open(path)) {
+            fail(String.format("Opened a truncated table: %s", table));
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testBuildAndExtendFromGenerator() throws IOException {
+
+        Path path = newPath();
+        SeedContext context = new SeedContext(Bip39SeedEngine.generateSeed(MNEMONIC, ""));
+        MoneroWalletGenerator generator = new MoneroWalletGenerator(context, false, false, false);
+
+        try (SubaddressTable table = generator.buildSubaddressTable(path, 2, 40)) {
+            assertEquals(80, table.size());
+            assertEquals(256, table.capacity());
+            assertLookup(table, PUBLIC_SPEND_KEY, 0, 0);
+            assertLookup(table, SPEND_KEY_0_1, 0, 1);
+            assertLookup(table, SPEND_KEY_1_0, 1, 0);
+            assertLookup(table, SPEND_KEY_0_38, 0, 38);
+            assertNull(table.lookup(ENGINE.derivePublicSpendKey(2, 0)));
+        }
+
+        // Extending the coverage grows the table and keeps the entries already present
+        try (SubaddressTable table = generator.buildSubaddressTable(path, 3, 50)) {
+            assertEquals(3, table.getAccounts());
+            assertEquals(50, table.getIndexes());
+            assertEquals(150, table.size());
+            assertEquals(512, table.capacity());
+            assertLookup(table, SPEND_KEY_0_38, 0, 38);
+            assertLookup(table, 0, 45);
+            assertLookup(table, 1, 49);
+            assertLookup(table, 2, 0);
+        }
+
+        // Coverage never shrinks
+        try (SubaddressTable table = generator.buildSubaddressTable(path, 1, 1)) {
+            assertEquals(3, table.getAccounts());
+            assertEquals(50, table.getIndexes());
+            assertEquals(150, table.size());
+        }
+
+        SeedContext otherContext = new SeedContext(Bip39SeedEngine.generateSeed(MNEMONIC, "passphrase"));
+        try {
+            new MoneroWalletGenerator(otherContext, false, false, false).buildSubaddressTable(path, 1, 1).close();
+            fail("Extended the table of a different wallet");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+}
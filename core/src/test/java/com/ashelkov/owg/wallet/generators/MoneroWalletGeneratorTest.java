@@ -0,0 +1,62 @@
+package com.ashelkov.owg.wallet.generators;
+
+import org.junit.Test;
+
+import com.ashelkov.owg.wallet.MoneroWallet;
+import com.ashelkov.owg.wallet.SeedContext;
+import com.ashelkov.owg.wallet.util.Bip39SeedEngine;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Known-answer tests for [[MoneroWalletGenerator]], for the all-'abandon' test mnemonic. Expected addresses were
+ * computed with an independent implementation of Keccak-256, ed25519 and Monero base58.
+ */
+public class MoneroWalletGeneratorTest {
+
+    private static final String MNEMONIC =
+            "abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon about";
+
+    private static MoneroWalletGenerator newGenerator() {
+        SeedContext context = new SeedContext(Bip39SeedEngine.generateSeed(MNEMONIC, ""));
+        return new MoneroWalletGenerator(context, false, false, false);
+    }
+
+    private static String getAddress(int account, int index) {
+        MoneroWallet wallet = newGenerator().generateWallet(account, index, 1);
+
+        assertEquals(1, wallet.getAddresses().size());
+        return wallet.getAddresses().get(0).getAddress();
+    }
+
+    @Test
+    public void testStandardAddress() {
+        assertEquals(
+                "44jKQv6ZKMd5ecLLmkNJGi7azgSptEq8ki7TFiat1TfLfdDQ1tQ7ZYa3cRh7X2uRwvLDjddWh97ajeyhR2seKSECQeDx1WR",
+                newGenerator().generateDefaultWallet().getAddresses().get(0).getAddress());
+    }
+
+    @Test
+    public void testSubaddress() {
+        assertEquals(
+                "84JQzHWT7SjgNhmiYDb7bh9R894vS4m8VUvQib2W9s4e8CEUTg97NdoiLjP9oUBwcLJreYA2ZKdQP1mFw4EzfNALHJbCDyq",
+                getAddress(0, 1));
+        assertEquals(
+                "89gMN28NBgi2ZCi11YyfaxW9rHCEKk9UddQVCDAkvL5rUxxKqNLXdTAS5bCkmSNogncXiihL8RFmKJhgcmFqmakNK5cvKyq",
+                getAddress(1, 0));
+    }
+
+    /**
+     * Regression test: the subaddress scalar m of (0, 38) and (1, 1) is below 2^248, so its minimal encoding is
+     * shorter than 32 bytes. Unpadded, it made scalar multiplication fail.
+     */
+    @Test
+    public void testSubaddressWithShortScalar() {
+        assertEquals(
+                "8A61QaRCKtLccsCP5fzXx7VvoKm7ipxrAEYGaDJryfZebQYN7tjDpDUag1cEdjxz4G9kYiT7hr8fZYEPjuFa4UjL2qVRoVC",
+                getAddress(0, 38));
+        assertEquals(
+                "87p7uZBuB5cCF4q4mbWFTyiRj3oYGQBLaNSk1ZznZVBddQmGnxZwwmLQqvDr3vXYqYTiXVW22TWwqVuYTpbgiaUqEYyKoBm",
+                getAddress(1, 1));
+    }
+}
@@ -0,0 +1,126 @@
+package com.ashelkov.owg.wallet.util;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+import org.web3j.utils.Numeric;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for [[Base58Codec]]: the Bitcoin Core base58 test vectors, and round trips checked against a straightforward
+ * [[BigInteger]] implementation.
+ */
+public class Base58CodecTest {
+
+    // From Bitcoin Core, src/test/data/base58_encode_decode.json
+    private static final String[][] VECTORS = {
+            {"", ""},
+            {"61", "2g"},
+            {"626262", "a3gV"},
+            {"636363", "aPEr"},
+            {"73696d706c792061206c6f6e6720737472696e67", "2cFupjhnEsSn59qHXstmK2ffpLv2"},
+            {"00eb15231dfceb60925886b67d065299925915aeb172c06647", "1NS17iag9jJgTHD1VXjvLCEnZuQ3rJDE9L"},
+            {"516b6fcd0f", "ABnLTmg"},
+            {"bf4f89001e670274dd", "3SEo3LWLoPntC"},
+            {"572e4794", "3EFU7m"},
+            {"ecac89cad93923c02321", "EJDM8drfXA6uyA"},
+            {"10c8511e", "Rt5zm"},
+            {"00000000000000000000", "1111111111"},
+            {
+                "000111d38e5fc9071ffcd20b4a763cc9ae4f252bb4e48fd66a835e252ada93ff480d6dd43dc62a641155a5",
+                "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz"
+            },
+    };
+
+    private static final String BITCOIN_ALPHABET = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz";
+
+    /**
+     * Reference encoder: repeated division of the whole number by 58, one '1' per leading zero byte.
+     */
+    private static String referenceEncode(byte[] input) {
+
+        StringBuilder result = new StringBuilder();
+        BigInteger value = new BigInteger(1, input);
+        BigInteger base = BigInteger.valueOf(58);
+
+        while (value.signum() > 0) {
+            BigInteger[] quotientAndRemainder = value.divideAndRemainder(base);
+            result.append(BITCOIN_ALPHABET.charAt(quotientAndRemainder[1].intValue()));
+            value = quotientAndRemainder[0];
+        }
+        for (int i = 0; (i < input.length) && (input[i] == 0); ++i) {
+            result.append(BITCOIN_ALPHABET.charAt(0));
+        }
+
+        return result.reverse().toString();
+    }
+
+    @Test
+    public void testVectors() {
+        for (String[] vector : VECTORS) {
+            byte[] bytes = Numeric.hexStringToByteArray(vector[0]);
+
+            assertEquals(vector[1], Base58Codec.BITCOIN.encode(bytes));
+            assertArrayEquals(bytes, Base58Codec.BITCOIN.decode(vector[1]));
+        }
+    }
+
+    @Test
+    public void testRoundTripWithLeadingZeros() {
+
+        Random random = new Random(58);
+
+        for (int zeros = 0; zeros <= 6; ++zeros) {
+            for (int length = zeros; length <= 80; ++length) {
+                byte[] bytes = new byte[length];
+                random.nextBytes(bytes);
+                for (int i = 0; i < zeros; ++i) {
+                    bytes[i] = 0;
+                }
+                if (length > zeros) {
+                    bytes[zeros] |= 1;
+                }
+
+                String encoded = Base58Codec.BITCOIN.encode(bytes);
+
+                assertEquals(referenceEncode(bytes), encoded);
+                assertArrayEquals(bytes, Base58Codec.BITCOIN.decode(encoded));
+            }
+        }
+    }
+
+    @Test
+    public void testXrpAlphabet() {
+        String address = "rHb9CJAWyB4rj91VRWn96DkukG4bwdtyTh";
+        byte[] bytes = Numeric.hexStringToByteArray("00b5f762798a53d543a014caf8b297cff8f2f937e8bf32ba9f");
+
+        assertEquals(address, Base58Codec.XRP.encode(bytes));
+        assertArrayEquals(bytes, Base58Codec.XRP.decode(address));
+    }
+
+    @Test
+    public void testFixedWidth() {
+        byte[] bytes = Numeric.hexStringToByteArray("000061");
+        char[] out = new char[6];
+
+        Base58Codec.BITCOIN.encodeFixed(bytes, 0, bytes.length, out, 0, out.length);
+        assertEquals("11112g", new String(out));
+
+        byte[] decoded = new byte[3];
+        Base58Codec.BITCOIN.decodeFixed("11112g", 0, 6, decoded, 0, decoded.length);
+        assertArrayEquals(bytes, decoded);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFixedWidthOverflow() {
+        Base58Codec.BITCOIN.decodeFixed("zzz", 0, 3, new byte[2], 0, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCharacter() {
+        Base58Codec.BITCOIN.decode("1O");
+    }
+}
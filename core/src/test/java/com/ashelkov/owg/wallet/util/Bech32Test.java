@@ -0,0 +1,166 @@
+package com.ashelkov.owg.wallet.util;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.web3j.utils.Numeric;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Tests for [[Bech32]], using the test vectors of BIP-173 and BIP-350.
+ */
+public class Bech32Test {
+
+    private static final String[] VALID_BECH32 = {
+            "A12UEL5L",
+            "a12uel5l",
+            "an83characterlonghumanreadablepartthatcontainsthenumber1andtheexcludedcharactersbio1tt5tgs",
+            "abcdef1qpzry9x8gf2tvdw0s3jn54khce6mua7lmqqqxw",
+            "11qqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqc8247j",
+            "split1checkupstagehandshakeupstreamerranterredcaperred2y9e3w",
+            "?1ezyfcl",
+    };
+
+    private static final String[] VALID_BECH32M = {
+            "A1LQFN3A",
+            "a1lqfn3a",
+            "an83characterlonghumanreadablepartthatcontainsthetheexcludedcharactersbioandnumber11sg7hg6",
+            "abcdef1l7aum6echk45nj3s0wdvt2fg8x9yrzpqzd3ryx",
+            "11llllllllllllllllllllllllllllllllllllllllllllllllllllllllllllllllllllllllllllllllllludsr8",
+            "split1checkupstagehandshakeupstreamerranterredcaperredlc445v",
+            "?1v759aa",
+    };
+
+    private static final String[] INVALID = {
+            // BIP-173
+            " 1nwldj5",
+            "\u007F1axkwrx",
+            "\u00801eym55h",
+            "an84characterslonghumanreadablepartthatcontainsthenumber1andtheexcludedcharactersbio1569pvx",
+            "pzry9x0s0muk",
+            "1pzry9x0s0muk",
+            "x1b4n0q5v",
+            "li1dgmt3",
+            "de1lg7wt\u00FF",
+            "A1G7SGD8",
+            "10a06t8",
+            "1qzzfhee",
+            // BIP-350
+            " 1xj0phk",
+            "\u007F1g6xzxy",
+            "\u00801vctc34",
+            "an84characterslonghumanreadablepartthatcontainsthetheexcludedcharactersbioandnumber11d6pts4",
+            "qyrz8wqd2c9m",
+            "1qyrz8wqd2c9m",
+            "y1b0jsk6g",
+            "lt1igcx5c0",
+            "in1muywd",
+            "mm1crxm3i",
+            "au1s5cgom",
+            "M1VUXWEZ",
+            "16plkw9",
+            "1p2gdwpf",
+    };
+
+    // Address and scriptPubKey, from BIP-350
+    private static final String[][] VALID_SEGWIT = {
+            {"BC1QW508D6QEJXTDG4Y5R3ZARVARY0C5XW7KV8F3T4", "0014751e76e8199196d454941c45d1b3a323f1433bd6"},
+            {
+                "tb1qrp33g0q5c5txsp9arysrx4k6zdkfs4nce4xj0gdcccefvpysxf3q0sl5k7",
+                "00201863143c14c5166804bd19203356da136c985678cd4d27a1b8c6329604903262"
+            },
+            {
+                "bc1pw508d6qejxtdg4y5r3zarvary0c5xw7kw508d6qejxtdg4y5r3zarvary0c5xw7kt5nd6y",
+                "5128751e76e8199196d454941c45d1b3a323f1433bd6751e76e8199196d454941c45d1b3a323f1433bd6"
+            },
+            {"BC1SW50QGDZ25J", "6002751e"},
+            {"bc1zw508d6qejxtdg4y5r3zarvaryvaxxpcs", "5210751e76e8199196d454941c45d1b3a323"},
+            {
+                "tb1qqqqqp399et2xygdj5xreqhjjvcmzhxw4aywxecjdzew6hylgvsesrxh6hy",
+                "0020000000c4a5cad46221b2a187905e5266362b99d5e91c6ce24d165dab93e86433"
+            },
+            {
+                "tb1pqqqqp399et2xygdj5xreqhjjvcmzhxw4aywxecjdzew6hylgvsesf3hn0c",
+                "5120000000c4a5cad46221b2a187905e5266362b99d5e91c6ce24d165dab93e86433"
+            },
+            {
+                "bc1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vqzk5jj0",
+                "512079be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798"
+            },
+    };
+
+    // From BIP-350
+    private static final String[] INVALID_SEGWIT = {
+            "tc1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vq5zuyut",
+            "bc1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vqh2y7hd",
+            "tb1z0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vqglt7rf",
+            "BC1S0XLXVLHEMJA6C4DQV22UAPCTQUPFHLXM9H8Z3K2E72Q4K9HCZ7VQ54WELL",
+            "bc1qw508d6qejxtdg4y5r3zarvary0c5xw7kemeawh",
+            "tb1q0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vq24jc47",
+            "bc1p38j9r5y49hruaue7wxjce0updqjuyyx0kh56v8s25huc6995vvpql3jow4",
+            "BC130XLXVLHEMJA6C4DQV22UAPCTQUPFHLXM9H8Z3K2E72Q4K9HCZ7VQ7ZWS8R",
+            "bc1pw5dgrnzv",
+            "bc1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7v8n0nx0muaewav253zgeav",
+            "BC1QR508D6QEJXTDG4Y5R3ZARVARYV98GJ9P",
+            "tb1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vq47Zagq",
+            "bc1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7v07qwwzcrf",
+            "tb1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vpggkg4j",
+            "bc1gmk9yu",
+    };
+
+    @Test
+    public void testValidChecksums() {
+        for (String input : VALID_BECH32) {
+            assertEquals(input, Bech32.Encoding.BECH32, Bech32.decode(input).getEncoding());
+        }
+        for (String input : VALID_BECH32M) {
+            assertEquals(input, Bech32.Encoding.BECH32M, Bech32.decode(input).getEncoding());
+        }
+    }
+
+    @Test
+    public void testInvalidStrings() {
+        for (String input : INVALID) {
+            assertThrows(input, IllegalArgumentException.class, () -> Bech32.decode(input));
+        }
+    }
+
+    @Test
+    public void testValidSegwitAddresses() {
+        for (String[] vector : VALID_SEGWIT) {
+            String address = vector[0];
+            String hrp = address.substring(0, 2).toLowerCase();
+            byte[] scriptPubKey = Numeric.hexStringToByteArray(vector[1]);
+
+            int opcode = scriptPubKey[0] & 0xFF;
+            int witnessVersion = (opcode == 0) ? 0 : (opcode - 0x50);
+            byte[] program = Arrays.copyOfRange(scriptPubKey, 2, scriptPubKey.length);
+
+            assertEquals(address, witnessVersion, Bech32.decode(address).getWitnessVersion());
+            assertArrayEquals(address, program, Bech32.decodeSegwit(hrp, address));
+            assertEquals(address.toLowerCase(), Bech32.encodeSegwit(hrp, witnessVersion, program));
+        }
+    }
+
+    @Test
+    public void testInvalidSegwitAddresses() {
+        for (String address : INVALID_SEGWIT) {
+            assertThrows(address, IllegalArgumentException.class, () -> Bech32.decodeSegwit("bc", address));
+            assertThrows(address, IllegalArgumentException.class, () -> Bech32.decodeSegwit("tb", address));
+        }
+    }
+
+    @Test
+    public void testPayloadRoundTrip() {
+        byte[] data = Numeric.hexStringToByteArray("00112233445566778899aabbccddeeff");
+
+        for (Bech32.Encoding encoding : Bech32.Encoding.values()) {
+            String encoded = Bech32.encode(encoding, "test", data);
+
+            assertArrayEquals(data, Bech32.decode(encoding, "test", encoded));
+        }
+    }
+}
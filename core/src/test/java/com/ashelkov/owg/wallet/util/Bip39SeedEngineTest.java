@@ -0,0 +1,105 @@
+package com.ashelkov.owg.wallet.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.web3j.utils.Numeric;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for [[Bip39SeedEngine]], using the reference BIP-39 test vectors (https://github.com/trezor/python-mnemonic,
+ * vectors.json), which all use the passphrase "TREZOR".
+ */
+public class Bip39SeedEngineTest {
+
+    private static final String PASSPHRASE = "TREZOR";
+
+    private static final String[][] VECTORS = {
+            {
+                "abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon about",
+                "c55257c360c07c72029aebc1b53c05ed0362ada38ead3e3e9efa3708e5349553"
+                        + "1f09a6987599d18264c1e1c92f2cf141630c7a3c4ab7c81b2f001698e7463b04"
+            },
+            {
+                "legal winner thank year wave sausage worth useful legal winner thank yellow",
+                "2e8905819b8723fe2c1d161860e5ee1830318dbf49a83bd451cfb8440c28bd6f"
+                        + "a457fe1296106559a3c80937a1c1069be3a3a5bd381ee6260e8d9739fce1f607"
+            },
+            {
+                "letter advice cage absurd amount doctor acoustic avoid letter advice cage above",
+                "d71de856f81a8acc65e6fc851a38d4d7ec216fd0796d0a6827a3ad6ed5511a30"
+                        + "fa280f12eb2e47ed2ac03b5c462a0358d18d69fe4f985ec81778c1b370b652a8"
+            },
+            {
+                "zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo wrong",
+                "ac27495480225222079d7be181583751e86f571027b0497b5b5d11218e0a8a13"
+                        + "332572917f0f8e5a589620c6f15b11c61dee327651a14c34e18231052e48c069"
+            },
+            {
+                "abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon "
+                        + "abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon art",
+                "bda85446c68413707090a52022edd26a1c9462295029f2e60cd7c4f2bbd30971"
+                        + "70af7a4d73245cafa9c3cca8d561a7c3de6f5d4a10be8ed2a5e608d68f92fcc8"
+            },
+            {
+                "zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo zoo vote",
+                "dd48c104698c30cfe2b6142103248622fb7bb0ff692eebb00089b32d22484e16"
+                        + "13912f0a5b694407be899ffd31ed3992c456cdf60f5d4564b8ba3f05a69890ad"
+            },
+            {
+                "scheme spot photo card baby mountain device kick cradle pact join borrow",
+                "ea725895aaae8d4c1cf682c1bfd2d358d52ed9f0f0591131b559e2724bb234fc"
+                        + "a05aa9c02c57407e04ee9dc3b454aa63fbff483a8b11de949624b9f1831a9612"
+            },
+    };
+
+    @Test
+    public void testTrezorVectors() {
+        for (String[] vector : VECTORS) {
+            assertEquals(
+                    vector[0],
+                    vector[1],
+                    Numeric.toHexStringNoPrefix(Bip39SeedEngine.generateSeed(vector[0], PASSPHRASE)));
+        }
+    }
+
+    @Test
+    public void testEmptyPassphrase() {
+        String expected = "5eb00bbddcf069084889a8ab9155568165f5c453ccb85e70811aaed6f6da5fc1"
+         + "9a5ac40b389cd370d086206dec8aa6c43daea6690f20ad3d8d48b2d2ce9e38e4";
+
+        assertEquals(expected, Numeric.toHexStringNoPrefix(Bip39SeedEngine.generateSeed(VECTORS[0][0], "")));
+        assertEquals(expected, Numeric.toHexStringNoPrefix(Bip39SeedEngine.generateSeed(VECTORS[0][0], null)));
+    }
+
+    @Test
+    public void testNonAsciiPassphrase() {
+        // Passphrases are UTF-8 encoded (without normalization)
+        String expected = "8bd233c46cb559b1f55d6a2b1646b698f2e673714eb2ddcbb9580b6c3ba74d6e"
+         + "0e2ca7744d9d5d6c574fee88815f7e8cd99a6aba80280c1430994314ab2eefbb";
+
+        assertEquals(
+                expected,
+                Numeric.toHexStringNoPrefix(Bip39SeedEngine.generateSeed(VECTORS[0][0], "p\u00E4ssw\u00F6rd")));
+    }
+
+    @Test
+    public void testGenerateSeeds() {
+
+        List<String> mnemonics = new ArrayList<>();
+        for (String[] vector : VECTORS) {
+            mnemonics.add(vector[0]);
+        }
+
+        for (int threads = 1; threads <= 4; ++threads) {
+            List<byte[]> seeds = Bip39SeedEngine.generateSeeds(mnemonics, PASSPHRASE, threads);
+
+            assertEquals(VECTORS.length, seeds.size());
+            for (int i = 0; i < VECTORS.length; ++i) {
+                assertEquals(VECTORS[i][1], Numeric.toHexStringNoPrefix(seeds.get(i)));
+            }
+        }
+    }
+}
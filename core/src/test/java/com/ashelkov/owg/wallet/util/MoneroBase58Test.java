@@ -0,0 +1,126 @@
+package com.ashelkov.owg.wallet.util;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.web3j.utils.Numeric;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for [[MoneroBase58]]: the Monero block encoding test vectors (tests/unit_tests/base58.cpp), the encoded length
+ * of every partial block, and round trips across block boundaries.
+ */
+public class MoneroBase58Test {
+
+    private static final String[][] BLOCK_VECTORS = {
+            {"00", "11"},
+            {"39", "1z"},
+            {"ff", "5Q"},
+            {"0000", "111"},
+            {"0039", "11z"},
+            {"0100", "15R"},
+            {"ffff", "LUv"},
+            {"000000", "11111"},
+            {"000039", "1111z"},
+            {"010000", "11LUw"},
+            {"ffffff", "2UzHL"},
+            {"00000039", "11111z"},
+            {"ffffffff", "7YXq9G"},
+            {"0000000039", "111111z"},
+            {"ffffffffff", "VtB5VXc"},
+            {"000000000039", "11111111z"},
+            {"ffffffffffff", "3CUsUpv9t"},
+            {"00000000000039", "111111111z"},
+            {"ffffffffffffff", "Ahg1opVcGW"},
+            {"0000000000000039", "1111111111z"},
+            {"ffffffffffffffff", "jpXCZedGfVQ"},
+            {"0000000000000000", "11111111111"},
+            {"0000000000000001", "11111111112"},
+            {"0000000000000008", "11111111119"},
+            {"0000000000000009", "1111111111A"},
+            {"000000000000003a", "11111111121"},
+            {"00ffffffffffffff", "1Ahg1opVcGW"},
+            {"06156013762879f7", "22222222222"},
+            {"05e022ba374b2a00", "1z111111111"},
+    };
+
+    // Encoded length of a final block, indexed by its number of bytes
+    private static final int[] PARTIAL_BLOCK_LENGTHS = {0, 2, 3, 5, 6, 7, 9, 10, 11};
+
+    @Test
+    public void testBlockVectors() {
+        for (String[] vector : BLOCK_VECTORS) {
+            byte[] bytes = Numeric.hexStringToByteArray(vector[0]);
+
+            assertEquals(vector[1], MoneroBase58.encode(bytes));
+            assertArrayEquals(bytes, MoneroBase58.decode(vector[1]));
+        }
+    }
+
+    @Test
+    public void testMultipleBlocks() {
+        byte[] bytes = Numeric.hexStringToByteArray("06156013762879f7ffffffffff");
+
+        assertEquals("22222222222VtB5VXc", MoneroBase58.encode(bytes));
+        assertArrayEquals(bytes, MoneroBase58.decode("22222222222VtB5VXc"));
+    }
+
+    @Test
+    public void testPartialBlockLengths() {
+        for (int blocks = 0; blocks <= 9; ++blocks) {
+            for (int tail = 0; tail < MoneroBase58.BLOCK_LENGTH; ++tail) {
+                int numBytes = (blocks * MoneroBase58.BLOCK_LENGTH) + tail;
+                int numChars = (blocks * MoneroBase58.ENCODED_BLOCK_LENGTH) + PARTIAL_BLOCK_LENGTHS[tail];
+
+                assertEquals(numChars, MoneroBase58.encodedLength(numBytes));
+                assertEquals(numBytes, MoneroBase58.decodedLength(numChars));
+            }
+        }
+
+        assertEquals(MoneroBase58.ENCODED_ADDRESS_LENGTH, MoneroBase58.encodedLength(MoneroBase58.ADDRESS_LENGTH));
+    }
+
+    @Test
+    public void testRoundTrip() {
+
+        Random random = new Random(95);
+
+        for (int length = 0; length <= 80; ++length) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+
+            String encoded = MoneroBase58.encode(bytes);
+
+            assertEquals(MoneroBase58.encodedLength(length), encoded.length());
+            assertArrayEquals(bytes, MoneroBase58.decode(encoded));
+        }
+    }
+
+    @Test
+    public void testStandardAddress() {
+        String address =
+                "44jKQv6ZKMd5ecLLmkNJGi7azgSptEq8ki7TFiat1TfLfdDQ1tQ7ZYa3cRh7X2uRwvLDjddWh97ajeyhR2seKSECQeDx1WR";
+        byte[] bytes = MoneroBase58.decode(address);
+
+        assertEquals(MoneroBase58.ADDRESS_LENGTH, bytes.length);
+        assertEquals(address, MoneroBase58.encode(bytes));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLength() {
+        // No block encodes to 4 characters
+        MoneroBase58.decodedLength(MoneroBase58.ENCODED_BLOCK_LENGTH + 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFullBlockOverflow() {
+        MoneroBase58.decode("jpXCZedGfVR");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPartialBlockOverflow() {
+        MoneroBase58.decode("5R");
+    }
+}